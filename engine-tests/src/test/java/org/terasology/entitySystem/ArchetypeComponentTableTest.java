@@ -0,0 +1,198 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.entitySystem;
+
+import gnu.trove.iterator.TLongObjectIterator;
+import gnu.trove.list.TLongList;
+import org.junit.Before;
+import org.junit.Test;
+import org.terasology.entitySystem.entity.internal.ArchetypeComponentTable;
+import org.terasology.entitySystem.stubs.IntegerComponent;
+import org.terasology.entitySystem.stubs.StringComponent;
+
+import java.util.ConcurrentModificationException;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ */
+public class ArchetypeComponentTableTest {
+
+    private ArchetypeComponentTable store;
+
+    @Before
+    public void setup() {
+        store = new ArchetypeComponentTable();
+    }
+
+    @Test
+    public void testPutAndGet() {
+        StringComponent comp = new StringComponent("Test");
+        assertNull(store.put(1, comp));
+        assertSame(comp, store.get(1, StringComponent.class));
+        assertNull(store.get(1, IntegerComponent.class));
+        assertNull(store.get(2, StringComponent.class));
+    }
+
+    @Test
+    public void testReplaceComponent() {
+        StringComponent original = new StringComponent("Original");
+        StringComponent replacement = new StringComponent("Replacement");
+        store.put(1, original);
+        assertSame(original, store.put(1, replacement));
+        assertSame(replacement, store.get(1, StringComponent.class));
+        assertEquals(1, store.getComponentCount(StringComponent.class));
+    }
+
+    @Test
+    public void testAddingComponentKeepsExistingComponents() {
+        StringComponent stringComp = new StringComponent("Test");
+        IntegerComponent intComp = new IntegerComponent(3);
+        store.put(1, stringComp);
+        store.put(1, intComp);
+        assertSame(stringComp, store.get(1, StringComponent.class));
+        assertSame(intComp, store.get(1, IntegerComponent.class));
+        assertEquals(2, store.getArchetypeCount());
+    }
+
+    @Test
+    public void testRemoveComponent() {
+        StringComponent stringComp = new StringComponent("Test");
+        IntegerComponent intComp = new IntegerComponent(3);
+        store.put(1, stringComp);
+        store.put(1, intComp);
+        assertSame(intComp, store.remove(1, IntegerComponent.class));
+        assertNull(store.get(1, IntegerComponent.class));
+        assertSame(stringComp, store.get(1, StringComponent.class));
+        assertNull(store.remove(1, IntegerComponent.class));
+    }
+
+    @Test
+    public void testRemovingLastComponentRemovesEntity() {
+        store.put(1, new StringComponent("Test"));
+        store.remove(1, StringComponent.class);
+        assertEquals(0, store.numEntities());
+        assertTrue(store.getComponentsInNewList(1).isEmpty());
+    }
+
+    @Test
+    public void testRemovalKeepsOtherEntitiesIntact() {
+        for (int i = 1; i <= 10; ++i) {
+            store.put(i, new IntegerComponent(i));
+        }
+        store.remove(3);
+        store.remove(1, IntegerComponent.class);
+        assertEquals(8, store.numEntities());
+        for (int i = 4; i <= 10; ++i) {
+            assertEquals(i, store.get(i, IntegerComponent.class).value);
+        }
+        assertEquals(2, store.get(2, IntegerComponent.class).value);
+    }
+
+    @Test
+    public void testRemoveAndReturnComponents() {
+        StringComponent stringComp = new StringComponent("Test");
+        IntegerComponent intComp = new IntegerComponent(3);
+        store.put(1, stringComp);
+        store.put(1, intComp);
+        List<Component> components = store.removeAndReturnComponentsOf(1);
+        assertEquals(2, components.size());
+        assertTrue(components.contains(stringComp));
+        assertTrue(components.contains(intComp));
+        assertEquals(0, store.numEntities());
+    }
+
+    @Test
+    public void testEntityIdsWithMultipleComponents() {
+        store.put(1, new StringComponent("1"));
+        store.put(2, new StringComponent("2"));
+        store.put(2, new IntegerComponent(2));
+        store.put(3, new IntegerComponent(3));
+        store.put(4, new IntegerComponent(4));
+        store.put(4, new StringComponent("4"));
+
+        TLongList ids = store.getEntityIdsWith(componentClasses(StringComponent.class, IntegerComponent.class));
+        assertEquals(2, ids.size());
+        assertTrue(ids.contains(2));
+        assertTrue(ids.contains(4));
+        assertEquals(3, store.getEntityIdsWith(componentClasses(IntegerComponent.class)).size());
+    }
+
+    @Test
+    public void testComponentIterator() {
+        store.put(1, new IntegerComponent(1));
+        store.put(2, new IntegerComponent(2));
+        store.put(2, new StringComponent("2"));
+        store.put(3, new StringComponent("3"));
+
+        int sum = 0;
+        int count = 0;
+        TLongObjectIterator<IntegerComponent> iterator = store.componentIterator(IntegerComponent.class);
+        while (iterator.hasNext()) {
+            iterator.advance();
+            assertEquals(iterator.key(), iterator.value().value);
+            sum += iterator.value().value;
+            count++;
+        }
+        assertEquals(2, count);
+        assertEquals(3, sum);
+    }
+
+    @Test
+    public void testComponentIteratorAllowsReplacingComponents() {
+        store.put(1, new IntegerComponent(1));
+        store.put(2, new IntegerComponent(2));
+
+        TLongObjectIterator<IntegerComponent> iterator = store.componentIterator(IntegerComponent.class);
+        while (iterator.hasNext()) {
+            iterator.advance();
+            store.put(iterator.key(), new IntegerComponent(10));
+        }
+        assertEquals(10, store.get(1, IntegerComponent.class).value);
+        assertEquals(10, store.get(2, IntegerComponent.class).value);
+    }
+
+    @Test(expected = ConcurrentModificationException.class)
+    public void testComponentIteratorFailsWhenEntityChangesArchetype() {
+        store.put(1, new IntegerComponent(1));
+        store.put(2, new IntegerComponent(2));
+
+        TLongObjectIterator<IntegerComponent> iterator = store.componentIterator(IntegerComponent.class);
+        iterator.advance();
+        store.put(iterator.key(), new StringComponent("moved"));
+        iterator.hasNext();
+    }
+
+    @Test(expected = ConcurrentModificationException.class)
+    public void testComponentIteratorFailsWhenEntityRemoved() {
+        store.put(1, new IntegerComponent(1));
+        store.put(2, new IntegerComponent(2));
+
+        TLongObjectIterator<IntegerComponent> iterator = store.componentIterator(IntegerComponent.class);
+        iterator.advance();
+        store.remove(iterator.key());
+        iterator.value();
+    }
+
+    @SafeVarargs
+    private static Class<? extends Component>[] componentClasses(Class<? extends Component>... componentClasses) {
+        return componentClasses;
+    }
+}
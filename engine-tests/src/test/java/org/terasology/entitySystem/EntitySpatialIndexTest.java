@@ -0,0 +1,138 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.entitySystem;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.entitySystem.entity.internal.ComponentTable;
+import org.terasology.entitySystem.entity.internal.PojoEntityManager;
+import org.terasology.entitySystem.stubs.StringComponent;
+import org.terasology.logic.location.EntitySpatialIndex;
+import org.terasology.logic.location.Location;
+import org.terasology.logic.location.LocationComponent;
+import org.terasology.math.AABB;
+import org.terasology.math.geom.Vector3f;
+import org.terasology.math.geom.Vector3i;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ */
+public class EntitySpatialIndexTest {
+
+    private PojoEntityManager entityManager;
+    private EntitySpatialIndex index;
+
+    @Before
+    public void setup() {
+        entityManager = new PojoEntityManager(new ComponentTable(), true);
+        index = entityManager.getSpatialIndex();
+    }
+
+    @Test
+    public void testEntitiesInChunk() {
+        EntityRef first = createAt(1, 1, 1);
+        EntityRef second = createAt(31, 63, 31);
+        EntityRef other = createAt(-1, 1, 1);
+        entityManager.create(new StringComponent("Not located"));
+
+        Collection<EntityRef> entities = index.getEntitiesInChunk(new Vector3i(0, 0, 0));
+        assertEquals(2, entities.size());
+        assertTrue(entities.contains(first));
+        assertTrue(entities.contains(second));
+        assertTrue(index.getEntitiesInChunk(new Vector3i(-1, 0, 0)).contains(other));
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    public void testSavedLocationMovesEntity() {
+        EntityRef entity = createAt(1, 1, 1);
+        LocationComponent location = entity.getComponent(LocationComponent.class);
+        location.setWorldPosition(new Vector3f(40, 1, 1));
+        entity.saveComponent(location);
+
+        assertTrue(index.getEntitiesInChunk(new Vector3i(0, 0, 0)).isEmpty());
+        assertTrue(index.getEntitiesInChunk(new Vector3i(1, 0, 0)).contains(entity));
+    }
+
+    @Test
+    public void testRemovedAndDestroyedEntitiesAreNotIndexed() {
+        EntityRef removed = createAt(1, 1, 1);
+        EntityRef destroyed = createAt(2, 2, 2);
+        removed.removeComponent(LocationComponent.class);
+        destroyed.destroy();
+
+        assertTrue(index.getEntitiesInChunk(new Vector3i(0, 0, 0)).isEmpty());
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    public void testDeactivatedEntitiesAreNotIndexed() {
+        EntityRef entity = createAt(1, 1, 1);
+        entityManager.deactivateForStorage(entity);
+
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    public void testChildrenFollowTheirParent() {
+        EntityRef parent = createAt(1, 1, 1);
+        EntityRef child = createAt(2, 1, 1);
+        Location.attachChild(parent, child);
+
+        LocationComponent parentLocation = parent.getComponent(LocationComponent.class);
+        parentLocation.setWorldPosition(new Vector3f(100, 1, 1));
+        parent.saveComponent(parentLocation);
+
+        Collection<EntityRef> entities = index.getEntitiesInChunk(new Vector3i(3, 0, 0));
+        assertTrue(entities.contains(parent));
+        assertTrue(entities.contains(child));
+    }
+
+    @Test
+    public void testEntitiesInRegion() {
+        EntityRef inside = createAt(10, 10, 10);
+        EntityRef insideOtherChunk = createAt(-10, 10, 10);
+        createAt(50, 10, 10);
+
+        Collection<EntityRef> entities = index.getEntitiesInRegion(AABB.createMinMax(new Vector3f(-20, 0, 0), new Vector3f(20, 20, 20)));
+        assertEquals(2, entities.size());
+        assertTrue(entities.contains(inside));
+        assertTrue(entities.contains(insideOtherChunk));
+    }
+
+    @Test
+    public void testNearestEntities() {
+        EntityRef nearest = createAt(1, 0, 0);
+        EntityRef second = createAt(-5, 0, 0);
+        EntityRef third = createAt(0, 0, 40);
+        EntityRef far = createAt(1000, 0, 0);
+
+        assertEquals(Arrays.asList(nearest, second, third), index.getNearestEntities(new Vector3f(), 3));
+        assertEquals(Arrays.asList(nearest, second, third, far), index.getNearestEntities(new Vector3f(), 10));
+        assertFalse(index.getNearestEntities(new Vector3f(990, 0, 0), 1).contains(nearest));
+    }
+
+    private EntityRef createAt(float x, float y, float z) {
+        return entityManager.create(new LocationComponent(new Vector3f(x, y, z)));
+    }
+}
@@ -28,6 +28,7 @@
 import org.terasology.engine.bootstrap.EntitySystemSetupUtil;
 import org.terasology.engine.module.ModuleManager;
 import org.terasology.entitySystem.entity.EntityManager;
+import org.terasology.entitySystem.entity.EntityQuery;
 import org.terasology.entitySystem.entity.EntityRef;
 import org.terasology.entitySystem.entity.internal.PojoEntityManager;
 import org.terasology.entitySystem.entity.lifecycleEvents.BeforeDeactivateComponent;
@@ -382,4 +383,57 @@ public void testDestructionOfUnloadedEntitiesPrevented() {
         entity.destroy();
         assertTrue(entity.exists());
     }
+
+    @Test
+    public void testQueryContainsExistingEntities() {
+        EntityRef entity1 = entityManager.create(new StringComponent("1"), new IntegerComponent(1));
+        entityManager.create(new StringComponent("2"));
+        EntityQuery query = entityManager.createQuery(StringComponent.class, IntegerComponent.class);
+        assertEquals(1, query.size());
+        assertTrue(query.contains(entity1));
+    }
+
+    @Test
+    public void testQueryUpdatedOnComponentChanges() {
+        EntityQuery query = entityManager.createQuery(StringComponent.class, IntegerComponent.class);
+        EntityRef entity = entityManager.create(new StringComponent("Test"));
+        assertTrue(query.isEmpty());
+        entity.addComponent(new IntegerComponent(1));
+        assertTrue(query.contains(entity));
+        entity.removeComponent(StringComponent.class);
+        assertFalse(query.contains(entity));
+    }
+
+    @Test
+    public void testQueryUpdatedOnDestructionAndDeactivation() {
+        EntityQuery query = entityManager.createQuery(StringComponent.class);
+        EntityRef entity1 = entityManager.create(new StringComponent("1"));
+        EntityRef entity2 = entityManager.create(new StringComponent("2"));
+        entity1.destroy();
+        entityManager.deactivateForStorage(entity2);
+        assertTrue(query.isEmpty());
+    }
+
+    @Test
+    public void testQueryIterationUnaffectedByDestruction() {
+        EntityQuery query = entityManager.createQuery(StringComponent.class);
+        for (int i = 0; i < 5; ++i) {
+            entityManager.create(new StringComponent(Integer.toString(i)));
+        }
+        int visited = 0;
+        for (EntityRef entity : query) {
+            entity.destroy();
+            visited++;
+        }
+        assertEquals(5, visited);
+        assertTrue(query.isEmpty());
+    }
+
+    @Test
+    public void testReleasedQueryNoLongerUpdated() {
+        EntityQuery query = entityManager.createQuery(StringComponent.class);
+        query.release();
+        entityManager.create(new StringComponent("Test"));
+        assertTrue(query.isEmpty());
+    }
 }
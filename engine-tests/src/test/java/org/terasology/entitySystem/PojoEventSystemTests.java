@@ -212,6 +212,40 @@ public void testEventReceiverRegistration() {
         assertEquals(1, receiver.eventList.size());
     }
 
+    @Test
+    public void testHandlerRegisteredAfterDispatchReceivesEvent() {
+        StringComponent component = entity.addComponent(new StringComponent());
+        TestEventHandler firstHandler = new TestEventHandler();
+        eventSystem.registerEventHandler(firstHandler);
+        entity.send(new TestEvent());
+        eventSystem.send(entity, new TestEvent(), component);
+
+        TestEventHandler secondHandler = new TestEventHandler();
+        eventSystem.registerEventHandler(secondHandler);
+        entity.send(new TestEvent());
+        eventSystem.send(entity, new TestEvent(), component);
+
+        assertEquals(4, firstHandler.receivedList.size());
+        assertEquals(2, secondHandler.receivedList.size());
+        assertEquals(1, secondHandler.unfilteredEvents.size());
+    }
+
+    @Test
+    public void testHandlerUnregisteredAfterDispatchNoLongerReceivesEvent() {
+        StringComponent component = entity.addComponent(new StringComponent());
+        TestEventHandler handler = new TestEventHandler();
+        eventSystem.registerEventHandler(handler);
+        entity.send(new TestEvent());
+        eventSystem.send(entity, new TestEvent(), component);
+
+        eventSystem.unregisterEventHandler(handler);
+        entity.send(new TestEvent());
+        eventSystem.send(entity, new TestEvent(), component);
+
+        assertEquals(2, handler.receivedList.size());
+        assertEquals(1, handler.unfilteredEvents.size());
+    }
+
     private static class TestEvent extends AbstractConsumableEvent {
 
     }
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.network.internal;
+
+import org.junit.Test;
+import org.terasology.entitySystem.event.Event;
+import org.terasology.entitySystem.stubs.IntegerComponent;
+import org.terasology.persistence.serializers.EventSerializer;
+import org.terasology.persistence.serializers.SerializedFieldCache;
+import org.terasology.protobuf.EntityData;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class BroadcastSerializationCacheTest {
+
+    private BroadcastSerializationCache cache = new BroadcastSerializationCache();
+
+    @Test
+    public void testEventIsSerializedOncePerBroadcast() {
+        Event event = mock(Event.class);
+        EventSerializer eventSerializer = mock(EventSerializer.class);
+        EntityData.Event serialized = EntityData.Event.newBuilder().setType(1).build();
+        when(eventSerializer.serialize(event)).thenReturn(serialized);
+
+        cache.beginBroadcast(event);
+        assertSame(serialized, cache.serializeEvent(event, eventSerializer));
+        assertSame(serialized, cache.serializeEvent(event, eventSerializer));
+        cache.endBroadcast();
+        verify(eventSerializer, times(1)).serialize(event);
+        assertEquals(1, cache.getAvoidedSerializationsSinceLastCall());
+
+        cache.beginBroadcast(event);
+        cache.serializeEvent(event, eventSerializer);
+        cache.endBroadcast();
+        verify(eventSerializer, times(2)).serialize(event);
+    }
+
+    @Test
+    public void testChangedEventIsSerializedAgainInNextBroadcast() {
+        Event event = mock(Event.class);
+        EventSerializer eventSerializer = mock(EventSerializer.class);
+        EntityData.Event first = EntityData.Event.newBuilder().setType(1).build();
+        EntityData.Event changed = EntityData.Event.newBuilder().setType(2).build();
+        when(eventSerializer.serialize(event)).thenReturn(first, changed);
+
+        cache.beginBroadcast(event);
+        assertSame(first, cache.serializeEvent(event, eventSerializer));
+        cache.endBroadcast();
+        cache.beginBroadcast(event);
+        assertSame(changed, cache.serializeEvent(event, eventSerializer));
+        assertSame(changed, cache.serializeEvent(event, eventSerializer));
+        cache.endBroadcast();
+    }
+
+    @Test
+    public void testEventOutsideBroadcastIsNotShared() {
+        Event event = mock(Event.class);
+        EventSerializer eventSerializer = mock(EventSerializer.class);
+        when(eventSerializer.serialize(event)).thenReturn(EntityData.Event.newBuilder().setType(1).build());
+
+        cache.serializeEvent(event, eventSerializer);
+        cache.serializeEvent(event, eventSerializer);
+        verify(eventSerializer, times(2)).serialize(event);
+        assertEquals(0, cache.getAvoidedSerializationsSinceLastCall());
+    }
+
+    @Test
+    public void testInvalidatedComponentFieldsAreForgotten() {
+        SerializedFieldCache fieldCache = cache.getFieldCache();
+        IntegerComponent component = new IntegerComponent(3);
+        EntityData.Value value = EntityData.Value.newBuilder().addInteger(3).build();
+        fieldCache.put(component, (byte) 1, value);
+
+        assertSame(value, fieldCache.get(component, (byte) 1));
+        assertNull(fieldCache.get(new IntegerComponent(3), (byte) 1));
+        assertEquals(1, cache.getAvoidedSerializationsSinceLastCall());
+
+        cache.invalidate(component);
+        assertNull(fieldCache.get(component, (byte) 1));
+        assertEquals(0, cache.getAvoidedSerializationsSinceLastCall());
+    }
+}
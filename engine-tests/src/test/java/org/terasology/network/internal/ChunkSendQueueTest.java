@@ -0,0 +1,80 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.network.internal;
+
+import org.junit.Test;
+import org.terasology.math.geom.Vector3i;
+import org.terasology.world.chunks.Chunk;
+
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+public class ChunkSendQueueTest {
+
+    private ChunkSendQueue queue = new ChunkSendQueue();
+
+    @Test
+    public void testNearestChunkComesFirst() {
+        Chunk far = addChunk(new Vector3i(5, 0, 0));
+        Chunk near = addChunk(new Vector3i(1, 0, 0));
+        Chunk middle = addChunk(new Vector3i(0, 3, 0));
+
+        assertSame(near, queue.poll());
+        assertSame(middle, queue.poll());
+        assertSame(far, queue.poll());
+        assertNull(queue.poll());
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void testMovingCenterReordersChunks() {
+        Chunk first = addChunk(new Vector3i(1, 0, 0));
+        Chunk second = addChunk(new Vector3i(10, 0, 0));
+
+        queue.setCenter(new Vector3i(9, 0, 0));
+
+        assertSame(second, queue.poll());
+        assertSame(first, queue.poll());
+    }
+
+    @Test
+    public void testRemovedChunkIsSkipped() {
+        addChunk(new Vector3i(1, 0, 0));
+        Chunk other = addChunk(new Vector3i(2, 0, 0));
+
+        queue.remove(new Vector3i(1, 0, 0));
+
+        assertSame(other, queue.poll());
+        assertNull(queue.poll());
+    }
+
+    @Test
+    public void testReaddedChunkIsReplaced() {
+        addChunk(new Vector3i(1, 0, 0));
+        Chunk replacement = addChunk(new Vector3i(1, 0, 0));
+
+        assertSame(replacement, queue.poll());
+        assertNull(queue.poll());
+    }
+
+    private Chunk addChunk(Vector3i pos) {
+        Chunk chunk = mock(Chunk.class);
+        queue.add(pos, chunk);
+        return chunk;
+    }
+}
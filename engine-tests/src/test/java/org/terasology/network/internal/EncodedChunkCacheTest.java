@@ -0,0 +1,109 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.network.internal;
+
+import org.junit.Test;
+import org.terasology.math.geom.Vector3i;
+import org.terasology.protobuf.EntityData;
+import org.terasology.world.chunks.Chunk;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class EncodedChunkCacheTest {
+
+    private EncodedChunkCache cache = new EncodedChunkCache();
+
+    @Test
+    public void testChunkIsEncodedOnceForRepeatedRequests() {
+        Chunk chunk = createChunk(new Vector3i(1, 2, 3), 0);
+
+        EntityData.ChunkStore first = cache.getEncodedChunk(chunk);
+        EntityData.ChunkStore second = cache.getEncodedChunk(chunk);
+
+        assertSame(first, second);
+        verify(chunk, times(1)).encode();
+        assertEquals(1, cache.getHitsSinceLastCall());
+        assertEquals(1, cache.getMissesSinceLastCall());
+        assertTrue(cache.getMemoryUsage() > 0);
+    }
+
+    @Test
+    public void testChangedChunkIsEncodedAgain() {
+        Chunk chunk = createChunk(new Vector3i(1, 2, 3), 0);
+        EntityData.ChunkStore first = cache.getEncodedChunk(chunk);
+
+        when(chunk.getContentVersion()).thenReturn(1);
+
+        assertNotSame(first, cache.getEncodedChunk(chunk));
+        verify(chunk, times(2)).encode();
+    }
+
+    @Test
+    public void testReloadedChunkIsEncodedAgain() {
+        cache.getEncodedChunk(createChunk(new Vector3i(1, 2, 3), 0));
+        Chunk reloaded = createChunk(new Vector3i(1, 2, 3), 0);
+
+        cache.getEncodedChunk(reloaded);
+
+        verify(reloaded).encode();
+        assertEquals(0, cache.getHitsSinceLastCall());
+    }
+
+    @Test
+    public void testInvalidate() {
+        Chunk chunk = createChunk(new Vector3i(1, 2, 3), 0);
+        cache.getEncodedChunk(chunk);
+
+        cache.invalidate(new Vector3i(1, 2, 3));
+
+        assertEquals(0, cache.getMemoryUsage());
+        cache.getEncodedChunk(chunk);
+        verify(chunk, times(2)).encode();
+    }
+
+    @Test
+    public void testLeastRecentlyUsedChunksAreEvicted() {
+        Chunk chunk1 = createChunk(new Vector3i(1, 0, 0), 0);
+        Chunk chunk2 = createChunk(new Vector3i(2, 0, 0), 0);
+        int size = cache.getEncodedChunk(chunk1).getSerializedSize();
+        cache = new EncodedChunkCache(size);
+        cache.getEncodedChunk(chunk1);
+        cache.getEncodedChunk(chunk2);
+
+        assertEquals(size, cache.getMemoryUsage());
+        assertEquals(2, cache.getMissesSinceLastCall());
+        cache.getEncodedChunk(chunk2);
+        cache.getEncodedChunk(chunk1);
+        assertEquals(1, cache.getHitsSinceLastCall());
+        assertEquals(1, cache.getMissesSinceLastCall());
+    }
+
+    private Chunk createChunk(Vector3i pos, int contentVersion) {
+        Chunk chunk = mock(Chunk.class);
+        when(chunk.getPosition()).thenReturn(pos);
+        when(chunk.getContentVersion()).thenReturn(contentVersion);
+        when(chunk.encode()).thenAnswer(invocation -> EntityData.ChunkStore.newBuilder()
+                .setX(pos.x).setY(pos.y).setZ(pos.z));
+        return chunk;
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.network.internal;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.logic.location.LocationComponent;
+import org.terasology.math.geom.Vector3f;
+import org.terasology.math.geom.Vector3i;
+import org.terasology.network.ClientComponent;
+import org.terasology.network.NetworkComponent;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class InterestManagerTest {
+
+    private NetworkSystemImpl networkSystem;
+    private NetClient client;
+    private InterestManager interestManager;
+
+    @Before
+    public void setup() {
+        networkSystem = mock(NetworkSystemImpl.class);
+        client = mock(NetClient.class);
+        interestManager = new InterestManager(networkSystem);
+
+        EntityRef character = createEntity(new Vector3f(0, 0, 0));
+        ClientComponent clientComp = new ClientComponent();
+        clientComp.character = character;
+        EntityRef clientEntity = mock(EntityRef.class);
+        when(clientEntity.getComponent(ClientComponent.class)).thenReturn(clientComp);
+        when(client.getEntity()).thenReturn(clientEntity);
+        when(client.isRelevantChunk(new Vector3i(0, 0, 0))).thenReturn(true);
+    }
+
+    @Test
+    public void testEntityInSentChunkIsRelevant() {
+        EntityRef entity = createEntity(new Vector3f(5, 5, 5));
+        assertTrue(interestManager.isRelevant(client, entity, new NetworkComponent()));
+    }
+
+    @Test
+    public void testEntityOutsideSentChunksIsNotRelevant() {
+        EntityRef entity = createEntity(new Vector3f(500, 5, 5));
+        assertFalse(interestManager.isRelevant(client, entity, new NetworkComponent()));
+    }
+
+    @Test
+    public void testOwnedAndAlwaysReplicatedEntitiesAreRelevant() {
+        EntityRef owned = createEntity(new Vector3f(500, 5, 5));
+        when(networkSystem.getOwner(owned)).thenReturn(client);
+        assertTrue(interestManager.isRelevant(client, owned, new NetworkComponent()));
+
+        EntityRef always = createEntity(new Vector3f(500, 5, 5));
+        NetworkComponent alwaysComp = new NetworkComponent();
+        alwaysComp.replicateMode = NetworkComponent.ReplicateMode.ALWAYS;
+        assertTrue(interestManager.isRelevant(client, always, alwaysComp));
+    }
+
+    @Test
+    public void testEntityWithoutPositionIsRelevant() {
+        assertTrue(interestManager.isRelevant(client, mock(EntityRef.class), new NetworkComponent()));
+    }
+
+    @Test
+    public void testUpdateIntervalGrowsWithDistance() {
+        assertEquals(1, interestManager.getUpdateInterval(client, createEntity(new Vector3f(10, 0, 0)), 32));
+        assertEquals(2, interestManager.getUpdateInterval(client, createEntity(new Vector3f(40, 0, 0)), 32));
+        assertEquals(4, interestManager.getUpdateInterval(client, createEntity(new Vector3f(70, 0, 0)), 32));
+        assertEquals(8, interestManager.getUpdateInterval(client, createEntity(new Vector3f(1000, 0, 0)), 32));
+        assertEquals(1, interestManager.getUpdateInterval(client, createEntity(new Vector3f(1000, 0, 0)), 0));
+    }
+
+    private EntityRef createEntity(Vector3f position) {
+        LocationComponent location = new LocationComponent();
+        location.setWorldPosition(position);
+        EntityRef entity = mock(EntityRef.class);
+        when(entity.getComponent(LocationComponent.class)).thenReturn(location);
+        return entity;
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.network.internal;
+
+import com.google.common.collect.Lists;
+import org.jboss.netty.channel.Channel;
+import org.jboss.netty.channel.ChannelPipeline;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.terasology.context.Context;
+import org.terasology.context.internal.ContextImpl;
+import org.terasology.engine.Time;
+import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.identity.PublicIdentityCertificate;
+import org.terasology.math.geom.Vector3i;
+import org.terasology.network.ClientComponent;
+import org.terasology.protobuf.EntityData;
+import org.terasology.protobuf.NetData;
+import org.terasology.registry.CoreRegistry;
+import org.terasology.world.block.Block;
+import org.terasology.world.chunks.Chunk;
+import org.terasology.world.chunks.ChunkConstants;
+import org.terasology.world.propagation.BlockChange;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class NetClientTest {
+
+    private final Vector3i relevantChunk = new Vector3i(0, 0, 0);
+    private final Vector3i otherChunk = new Vector3i(1, 0, 0);
+    private Channel channel;
+    private EncodedChunkCache encodedChunkCache;
+    private NetClient client;
+    private Block stone;
+
+    @Before
+    public void setup() {
+        Context context = new ContextImpl();
+        context.put(Time.class, mock(Time.class));
+        CoreRegistry.setContext(context);
+
+        channel = mock(Channel.class);
+        when(channel.getPipeline()).thenReturn(mock(ChannelPipeline.class));
+        encodedChunkCache = mock(EncodedChunkCache.class);
+        when(encodedChunkCache.getEncodedChunk(any())).thenReturn(EntityData.ChunkStore.getDefaultInstance());
+        NetworkSystemImpl networkSystem = mock(NetworkSystemImpl.class);
+        when(networkSystem.getEncodedChunkCache()).thenReturn(encodedChunkCache);
+        when(networkSystem.getBandwidthPerClient()).thenReturn(1);
+
+        ClientComponent clientComponent = new ClientComponent();
+        clientComponent.character = mock(EntityRef.class);
+        EntityRef clientEntity = mock(EntityRef.class);
+        when(clientEntity.getComponent(ClientComponent.class)).thenReturn(clientComponent);
+        client = spy(new NetClient(channel, networkSystem, mock(PublicIdentityCertificate.class)));
+        doReturn(clientEntity).when(client).getEntity();
+
+        stone = new Block();
+        stone.setId((short) 3);
+
+        // Sending the chunk makes it relevant to the client
+        Chunk chunk = mock(Chunk.class);
+        when(chunk.getPosition()).thenReturn(relevantChunk);
+        client.onChunkRelevant(relevantChunk, chunk);
+        client.update(true);
+    }
+
+    @Test
+    public void testBlocksChangedSentAsBatchPerRelevantChunk() {
+        Vector3i first = new Vector3i(1, 2, 3);
+        Vector3i second = new Vector3i(ChunkConstants.SIZE_X - 1, 2, 3);
+        client.onBlocksChanged(Arrays.asList(change(first), change(new Vector3i(ChunkConstants.SIZE_X, 2, 3)), change(second)));
+
+        NetData.NetMessage message = sendMessage();
+        assertEquals(0, message.getBlockChangeCount());
+        assertEquals(1, message.getBlockChangeBatchCount());
+        NetData.BlockChangeBatchMessage batch = message.getBlockChangeBatch(0);
+        assertEquals(NetMessageUtil.convert(relevantChunk), batch.getChunkPos());
+        assertEquals(Arrays.asList(NetMessageUtil.getBlockIndex(first), NetMessageUtil.getBlockIndex(second)), batch.getBlockIndexList());
+        assertEquals(Arrays.asList((int) stone.getId(), (int) stone.getId()), batch.getNewBlockList());
+        verify(encodedChunkCache).invalidate(relevantChunk);
+        verify(encodedChunkCache).invalidate(otherChunk);
+    }
+
+    @Test
+    public void testBlockChangedSentSingly() {
+        client.onBlockChanged(new Vector3i(1, 2, 3), stone, null);
+        client.onBlockChanged(new Vector3i(ChunkConstants.SIZE_X, 2, 3), stone, null);
+
+        NetData.NetMessage message = sendMessage();
+        assertEquals(1, message.getBlockChangeCount());
+        assertEquals(NetMessageUtil.convert(new Vector3i(1, 2, 3)), message.getBlockChange(0).getPos());
+        assertEquals(0, message.getBlockChangeBatchCount());
+    }
+
+    @Test
+    public void testBlockChangedAfterQueuedBatchSentAsBatch() {
+        Vector3i batched = new Vector3i(1, 2, 3);
+        Vector3i single = new Vector3i(4, 5, 6);
+        client.onBlocksChanged(Lists.newArrayList(change(batched)));
+        client.onBlockChanged(single, stone, null);
+
+        NetData.NetMessage message = sendMessage();
+        assertEquals(0, message.getBlockChangeCount());
+        assertEquals(2, message.getBlockChangeBatchCount());
+        assertEquals(Arrays.asList(NetMessageUtil.getBlockIndex(batched)), message.getBlockChangeBatch(0).getBlockIndexList());
+        assertEquals(Arrays.asList(NetMessageUtil.getBlockIndex(single)), message.getBlockChangeBatch(1).getBlockIndexList());
+
+        client.onBlockChanged(single, stone, null);
+        message = sendMessage();
+        assertEquals(1, message.getBlockChangeCount());
+        assertEquals(0, message.getBlockChangeBatchCount());
+    }
+
+    @Test
+    public void testBlocksChangedInIrrelevantChunksDropped() {
+        client.onBlocksChanged(Lists.newArrayList(change(new Vector3i(ChunkConstants.SIZE_X, 2, 3))));
+
+        NetData.NetMessage message = sendMessage();
+        assertEquals(0, message.getBlockChangeCount());
+        assertEquals(0, message.getBlockChangeBatchCount());
+    }
+
+    private BlockChange change(Vector3i pos) {
+        return new BlockChange(pos, null, stone);
+    }
+
+    private NetData.NetMessage sendMessage() {
+        client.update(true);
+        ArgumentCaptor<NetData.NetMessage> captor = ArgumentCaptor.forClass(NetData.NetMessage.class);
+        verify(channel, atLeastOnce()).write(captor.capture());
+        List<NetData.NetMessage> messages = captor.getAllValues();
+        return messages.get(messages.size() - 1);
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.network.internal;
+
+import org.junit.Test;
+import org.terasology.math.geom.Vector3i;
+import org.terasology.world.chunks.ChunkConstants;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+public class NetMessageUtilTest {
+
+    @Test
+    public void testBlockIndexRoundTrip() {
+        Vector3i chunkPos = new Vector3i(-2, 1, 3);
+        Vector3i[] positions = {
+                new Vector3i(-2 * ChunkConstants.SIZE_X, ChunkConstants.SIZE_Y, 3 * ChunkConstants.SIZE_Z),
+                new Vector3i(-ChunkConstants.SIZE_X - 1, 2 * ChunkConstants.SIZE_Y - 1, 4 * ChunkConstants.SIZE_Z - 1),
+                new Vector3i(-2 * ChunkConstants.SIZE_X + 5, ChunkConstants.SIZE_Y + 17, 3 * ChunkConstants.SIZE_Z + 9),
+        };
+        for (Vector3i pos : positions) {
+            assertEquals(pos, NetMessageUtil.getBlockPosition(chunkPos, NetMessageUtil.getBlockIndex(pos)));
+        }
+    }
+
+    @Test
+    public void testBlockIndexIsUniqueWithinChunk() {
+        int first = NetMessageUtil.getBlockIndex(new Vector3i(1, 0, 0));
+        assertNotEquals(first, NetMessageUtil.getBlockIndex(new Vector3i(0, 1, 0)));
+        assertNotEquals(first, NetMessageUtil.getBlockIndex(new Vector3i(0, 0, 1)));
+        assertEquals(ChunkConstants.SIZE_X * ChunkConstants.SIZE_Y * ChunkConstants.SIZE_Z - 1,
+                NetMessageUtil.getBlockIndex(new Vector3i(ChunkConstants.SIZE_X - 1, ChunkConstants.SIZE_Y - 1, ChunkConstants.SIZE_Z - 1)));
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.network.internal.compression;
+
+import org.jboss.netty.buffer.ChannelBuffer;
+import org.jboss.netty.buffer.ChannelBuffers;
+import org.jboss.netty.handler.codec.compression.CompressionException;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class Lz4CompressorTest {
+
+    private static final byte[] NO_DICTIONARY = new byte[0];
+
+    @Test
+    public void testEmptyInput() {
+        assertArrayEquals(new byte[0], roundTrip(new byte[0], NO_DICTIONARY));
+    }
+
+    @Test
+    public void testShortInput() {
+        byte[] data = "abc".getBytes(StandardCharsets.UTF_8);
+        assertArrayEquals(data, roundTrip(data, NO_DICTIONARY));
+    }
+
+    @Test
+    public void testRepetitiveInputCompresses() {
+        byte[] data = new byte[10000];
+        for (int i = 0; i < data.length; ++i) {
+            data[i] = (byte) (i % 7);
+        }
+        assertArrayEquals(data, roundTrip(data, NO_DICTIONARY));
+        assertTrue(compress(data, NO_DICTIONARY).length < data.length / 10);
+    }
+
+    @Test
+    public void testRandomInput() {
+        byte[] data = new byte[70000];
+        new Random(42).nextBytes(data);
+        assertArrayEquals(data, roundTrip(data, NO_DICTIONARY));
+        assertTrue(compress(data, NO_DICTIONARY).length <= Lz4Compressor.maxCompressedLength(data.length));
+    }
+
+    @Test
+    public void testDictionaryImprovesCompression() {
+        byte[] dictionary = "entity position rotation velocity health inventory".getBytes(StandardCharsets.UTF_8);
+        byte[] data = "velocity position health rotation inventory".getBytes(StandardCharsets.UTF_8);
+        assertArrayEquals(data, roundTrip(data, dictionary));
+        assertTrue(compress(data, dictionary).length < compress(data, NO_DICTIONARY).length);
+    }
+
+    @Test
+    public void testCompressorIsReusable() {
+        byte[] dictionary = "some dictionary content".getBytes(StandardCharsets.UTF_8);
+        Lz4Compressor compressor = new Lz4Compressor(dictionary);
+        Lz4Decompressor decompressor = new Lz4Decompressor(dictionary);
+        Random random = new Random(7);
+        for (int i = 0; i < 20; ++i) {
+            byte[] data = new byte[random.nextInt(5000)];
+            for (int j = 0; j < data.length; ++j) {
+                data[j] = (byte) random.nextInt(4);
+            }
+            byte[] compressed = new byte[Lz4Compressor.maxCompressedLength(data.length)];
+            int compressedLength = compressor.compress(data, 0, data.length, compressed, 0);
+            byte[] output = decompressor.decompress(compressed, 0, compressedLength, data.length);
+            assertArrayEquals(data, Arrays.copyOfRange(output, decompressor.getOutputOffset(), decompressor.getOutputOffset() + data.length));
+        }
+    }
+
+    @Test(expected = CompressionException.class)
+    public void testTruncatedInputIsRejected() {
+        byte[] data = new byte[1000];
+        byte[] compressed = compress(data, NO_DICTIONARY);
+        new Lz4Decompressor(NO_DICTIONARY).decompress(compressed, 0, compressed.length - 1, data.length);
+    }
+
+    @Test
+    public void testFrameCodecRoundTrip() throws Exception {
+        CompressionMetrics encoderMetrics = new CompressionMetrics();
+        Lz4FrameEncoder encoder = new Lz4FrameEncoder(NO_DICTIONARY, encoderMetrics);
+        Lz4FrameDecoder decoder = new Lz4FrameDecoder(NO_DICTIONARY, new CompressionMetrics());
+        byte[] data = new byte[4096];
+
+        ChannelBuffer encoded = (ChannelBuffer) encoder.encode(null, null, ChannelBuffers.wrappedBuffer(data));
+        ChannelBuffer decoded = (ChannelBuffer) decoder.decode(null, null, encoded);
+
+        assertEquals(ChannelBuffers.wrappedBuffer(data), decoded);
+        assertEquals(data.length, encoderMetrics.getUncompressedBytes());
+        assertTrue(encoderMetrics.getRatio() > 1);
+    }
+
+    private static byte[] compress(byte[] data, byte[] dictionary) {
+        byte[] compressed = new byte[Lz4Compressor.maxCompressedLength(data.length)];
+        int length = new Lz4Compressor(dictionary).compress(data, 0, data.length, compressed, 0);
+        return Arrays.copyOf(compressed, length);
+    }
+
+    private static byte[] roundTrip(byte[] data, byte[] dictionary) {
+        byte[] compressed = compress(data, dictionary);
+        Lz4Decompressor decompressor = new Lz4Decompressor(dictionary);
+        byte[] output = decompressor.decompress(compressed, 0, compressed.length, data.length);
+        return Arrays.copyOfRange(output, decompressor.getOutputOffset(), decompressor.getOutputOffset() + data.length);
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.persistence.internal;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import org.junit.After;
+import org.junit.Test;
+import org.terasology.math.geom.Vector3i;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ParallelChunkCompressorTest {
+
+    private static final int CHUNK_COUNT = 50;
+
+    private final AtomicInteger builtChunks = new AtomicInteger();
+    private final Set<Thread> compressingThreads = Sets.newConcurrentHashSet();
+    private final ParallelChunkCompressor parallelCompressor = new ParallelChunkCompressor(4);
+
+    @After
+    public void teardown() {
+        parallelCompressor.shutdown();
+    }
+
+    @Test
+    public void testParallelOutputMatchesSequential() throws IOException {
+        Map<Vector3i, CompressedChunkBuilder> chunks = createChunks();
+        RecordingWriter sequential = new RecordingWriter(Integer.MAX_VALUE);
+        new ParallelChunkCompressor(1).compressAndWrite(chunks, sequential);
+        RecordingWriter parallel = new RecordingWriter(Integer.MAX_VALUE);
+        parallelCompressor.compressAndWrite(chunks, parallel);
+
+        assertEquals(Lists.newArrayList(chunks.keySet()), sequential.positions);
+        assertEquals(sequential.positions, parallel.positions);
+        for (int i = 0; i < CHUNK_COUNT; i++) {
+            assertArrayEquals(sequential.compressedChunks.get(i), parallel.compressedChunks.get(i));
+        }
+    }
+
+    @Test
+    public void testWriteFailureStopsCompression() {
+        Map<Vector3i, CompressedChunkBuilder> chunks = createChunks();
+        RecordingWriter writer = new RecordingWriter(5);
+        try {
+            parallelCompressor.compressAndWrite(chunks, writer);
+            fail("Expected the write failure to be passed on");
+        } catch (IOException e) {
+            // expected
+        }
+
+        assertEquals(Lists.newArrayList(chunks.keySet()).subList(0, 5), writer.positions);
+        assertTrue(builtChunks.get() < CHUNK_COUNT);
+    }
+
+    @Test
+    public void testCompressionFailureStopsWriting() throws IOException {
+        Map<Vector3i, CompressedChunkBuilder> chunks = createChunks();
+        Vector3i failingPos = new Vector3i(7, 0, 0);
+        chunks.put(failingPos, new CompressedChunkBuilder(null, null, false) {
+            @Override
+            public synchronized byte[] buildEncodedChunk() {
+                throw new IllegalStateException("Chunk can't be compressed");
+            }
+        });
+        RecordingWriter writer = new RecordingWriter(Integer.MAX_VALUE);
+        try {
+            parallelCompressor.compressAndWrite(chunks, writer);
+            fail("Expected the compression failure to be passed on");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+
+        assertEquals(Lists.newArrayList(chunks.keySet()).subList(0, 7), writer.positions);
+    }
+
+    @Test
+    public void testThreadsReusedUntilShutdown() throws IOException {
+        parallelCompressor.compressAndWrite(createChunks(), new RecordingWriter(Integer.MAX_VALUE));
+        parallelCompressor.compressAndWrite(createChunks(), new RecordingWriter(Integer.MAX_VALUE));
+        assertTrue(compressingThreads.size() <= 4);
+
+        parallelCompressor.shutdown();
+        RecordingWriter writer = new RecordingWriter(Integer.MAX_VALUE);
+        parallelCompressor.compressAndWrite(createChunks(), writer);
+        assertEquals(CHUNK_COUNT, writer.positions.size());
+    }
+
+    private Map<Vector3i, CompressedChunkBuilder> createChunks() {
+        Map<Vector3i, CompressedChunkBuilder> chunks = Maps.newLinkedHashMap();
+        for (int i = 0; i < CHUNK_COUNT; i++) {
+            chunks.put(new Vector3i(i, 0, 0), new TestChunkBuilder(i));
+        }
+        return chunks;
+    }
+
+    /**
+     * Produces data unique to its chunk, later chunks in the map are compressed faster so that they complete out of order.
+     */
+    private final class TestChunkBuilder extends CompressedChunkBuilder {
+        private final int index;
+
+        TestChunkBuilder(int index) {
+            super(null, null, false);
+            this.index = index;
+        }
+
+        @Override
+        public synchronized byte[] buildEncodedChunk() {
+            builtChunks.incrementAndGet();
+            compressingThreads.add(Thread.currentThread());
+            try {
+                TimeUnit.MILLISECONDS.sleep((CHUNK_COUNT - index) % 4);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return new byte[]{(byte) index, (byte) (index * 31), (byte) (index >> 8)};
+        }
+    }
+
+    private static final class RecordingWriter implements ParallelChunkCompressor.CompressedChunkWriter {
+        private final int failingWrite;
+        private final List<Vector3i> positions = Lists.newArrayList();
+        private final List<byte[]> compressedChunks = Lists.newArrayList();
+
+        /**
+         * @param failingWrite the number of chunks written before the writer fails.
+         */
+        RecordingWriter(int failingWrite) {
+            this.failingWrite = failingWrite;
+        }
+
+        @Override
+        public void write(Vector3i chunkPos, byte[] compressedChunk) throws IOException {
+            if (positions.size() == failingWrite) {
+                throw new IOException("Disk full");
+            }
+            positions.add(chunkPos);
+            compressedChunks.add(compressedChunk);
+        }
+    }
+}
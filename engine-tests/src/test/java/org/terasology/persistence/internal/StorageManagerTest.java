@@ -33,6 +33,7 @@
 import org.terasology.entitySystem.entity.internal.EngineEntityManager;
 import org.terasology.entitySystem.stubs.EntityRefComponent;
 import org.terasology.entitySystem.stubs.StringComponent;
+import org.terasology.logic.location.Location;
 import org.terasology.logic.location.LocationComponent;
 import org.terasology.math.geom.Vector3f;
 import org.terasology.math.geom.Vector3i;
@@ -68,6 +69,7 @@
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -263,6 +265,25 @@ public void testStoreAndRestoreChunkStore() {
         assertEquals(testBlock, restored.getChunk().getBlock(0, 0, 0));
     }
 
+    @Test
+    public void testUnchangedChunkIsSkippedByNextSave() {
+        ChunkImpl chunk = new ChunkImpl(CHUNK_POS, blockManager, biomeManager);
+        chunk.setBlock(0, 0, 0, testBlock);
+        chunk.markReady();
+        ChunkProvider chunkProvider = mock(ChunkProvider.class);
+        when(chunkProvider.getAllChunks()).thenReturn(Arrays.asList(chunk));
+        CoreRegistry.put(ChunkProvider.class, chunkProvider);
+
+        esm.waitForCompletionOfPreviousSaveAndStartSaving();
+        esm.waitForCompletionOfPreviousSaveAndStartSaving();
+        esm.finishSavingAndShutdown();
+        assertEquals(1, esm.getSkippedChunkCount());
+        assertFalse(chunk.isModifiedSinceSave());
+
+        ChunkStore restored = esm.loadChunkStore(CHUNK_POS);
+        assertEquals(testBlock, restored.getChunk().getBlock(0, 0, 0));
+    }
+
     @Test
     public void testChunkSurvivesStorageSaveAndRestore() throws Exception {
         Chunk chunk = new ChunkImpl(CHUNK_POS, blockManager, biomeManager);
@@ -294,6 +315,79 @@ public void testChunkSurvivesStorageSaveAndRestore() throws Exception {
         assertEquals(testBlock2, restored.getChunk().getBlock(0, 4, 2));
     }
 
+    @Test
+    public void testChunkSurvivesStorageInRegionFiles() throws Exception {
+        Chunk chunk = new ChunkImpl(CHUNK_POS, blockManager, biomeManager);
+        chunk.setBlock(0, 0, 0, testBlock);
+        chunk.setBlock(0, 4, 2, testBlock2);
+        chunk.markReady();
+        ChunkProvider chunkProvider = mock(ChunkProvider.class);
+        when(chunkProvider.getAllChunks()).thenReturn(Arrays.asList(chunk));
+        CoreRegistry.put(ChunkProvider.class, chunkProvider);
+
+        esm.setChunkStorageFormat(ChunkStorageFormat.REGION_FILES);
+        esm.waitForCompletionOfPreviousSaveAndStartSaving();
+        esm.finishSavingAndShutdown();
+
+        StorageManager newSM = new ReadWriteStorageManager(savePath, moduleEnvironment, entityManager, blockManager,
+                biomeManager, ChunkStorageFormat.REGION_FILES);
+        ChunkStore restored = newSM.loadChunkStore(CHUNK_POS);
+        assertNotNull(restored);
+        assertEquals(testBlock, restored.getChunk().getBlock(0, 0, 0));
+        assertEquals(testBlock2, restored.getChunk().getBlock(0, 4, 2));
+        assertNull(newSM.loadChunkStore(new Vector3i(CHUNK_POS.x + 1, CHUNK_POS.y, CHUNK_POS.z)));
+    }
+
+    @Test
+    public void testChunkZipsGetConvertedToRegionFiles() throws Exception {
+        Chunk chunk = new ChunkImpl(CHUNK_POS, blockManager, biomeManager);
+        chunk.setBlock(0, 0, 0, testBlock);
+        chunk.markReady();
+        ChunkProvider chunkProvider = mock(ChunkProvider.class);
+        when(chunkProvider.getAllChunks()).thenReturn(Arrays.asList(chunk));
+        CoreRegistry.put(ChunkProvider.class, chunkProvider);
+
+        esm.setChunkStorageFormat(ChunkStorageFormat.ZIP_FILES);
+        esm.waitForCompletionOfPreviousSaveAndStartSaving();
+        esm.finishSavingAndShutdown();
+
+        StorageManager newSM = new ReadWriteStorageManager(savePath, moduleEnvironment, entityManager, blockManager,
+                biomeManager, ChunkStorageFormat.REGION_FILES);
+        newSM.checkAndRepairSaveIfNecessary();
+
+        StoragePathProvider pathProvider = new StoragePathProvider(savePath);
+        Path chunkZipPath = pathProvider.getChunkZipPath(pathProvider.getChunkZipPosition(CHUNK_POS));
+        assertFalse(Files.exists(chunkZipPath));
+        Path backupPath = pathProvider.getChunkZipBackupPath().resolve(chunkZipPath.getFileName().toString());
+        assertTrue(Files.isRegularFile(backupPath));
+        assertTrue(Files.isRegularFile(pathProvider.getChunkRegionPath(pathProvider.getChunkRegionPosition(CHUNK_POS))));
+        ChunkStore restored = newSM.loadChunkStore(CHUNK_POS);
+        assertNotNull(restored);
+        assertEquals(testBlock, restored.getChunk().getBlock(0, 0, 0));
+    }
+
+    @Test
+    public void testChunkZipsStayWithoutRegionFiles() throws Exception {
+        Chunk chunk = new ChunkImpl(CHUNK_POS, blockManager, biomeManager);
+        chunk.setBlock(0, 0, 0, testBlock);
+        chunk.markReady();
+        ChunkProvider chunkProvider = mock(ChunkProvider.class);
+        when(chunkProvider.getAllChunks()).thenReturn(Arrays.asList(chunk));
+        CoreRegistry.put(ChunkProvider.class, chunkProvider);
+
+        esm.setStoreChunksInZips(true);
+        esm.waitForCompletionOfPreviousSaveAndStartSaving();
+        esm.finishSavingAndShutdown();
+
+        StorageManager newSM = new ReadWriteStorageManager(savePath, moduleEnvironment, entityManager, blockManager,
+                biomeManager);
+        newSM.checkAndRepairSaveIfNecessary();
+
+        StoragePathProvider pathProvider = new StoragePathProvider(savePath);
+        assertTrue(Files.isRegularFile(pathProvider.getChunkZipPath(pathProvider.getChunkZipPosition(CHUNK_POS))));
+        assertFalse(Files.exists(pathProvider.getChunkRegionPath(pathProvider.getChunkRegionPosition(CHUNK_POS))));
+    }
+
     @Test
     public void testEntitySurvivesStorageInChunkStore() throws Exception {
         Chunk chunk = new ChunkImpl(CHUNK_POS, blockManager, biomeManager);
@@ -328,6 +422,43 @@ public void testEntitySurvivesStorageInChunkStore() throws Exception {
         assertTrue(ref.isActive());
     }
 
+    @Test
+    public void testAttachedEntitiesSurviveStorageInChunkStore() throws Exception {
+        Chunk chunk = new ChunkImpl(CHUNK_POS, blockManager, biomeManager);
+        chunk.setBlock(0, 0, 0, testBlock);
+        chunk.markReady();
+        ChunkProvider chunkProvider = mock(ChunkProvider.class);
+        when(chunkProvider.getAllChunks()).thenReturn(Arrays.asList(chunk));
+        CoreRegistry.put(ChunkProvider.class, chunkProvider);
+        Vector3f positionInChunk = new Vector3f(chunk.getAABB().getMin());
+        positionInChunk.x += 1;
+        positionInChunk.y += 1;
+        positionInChunk.z += 1;
+        EntityRef parent = entityManager.create(new LocationComponent(positionInChunk));
+        EntityRef child = entityManager.create(new LocationComponent());
+        Location.attachChild(parent, child);
+        long parentId = parent.getId();
+        long childId = child.getId();
+
+        esm.waitForCompletionOfPreviousSaveAndStartSaving();
+        esm.finishSavingAndShutdown();
+
+        EntitySystemSetupUtil.addReflectionBasedLibraries(context);
+        EntitySystemSetupUtil.addEntityManagementRelatedClasses(context);
+        EngineEntityManager newEntityManager = context.get(EngineEntityManager.class);
+        StorageManager newSM = new ReadWriteStorageManager(savePath, moduleEnvironment, newEntityManager, blockManager,
+                biomeManager, false);
+        newSM.loadGlobalStore();
+
+        ChunkStore restored = newSM.loadChunkStore(CHUNK_POS);
+        restored.restoreEntities();
+        EntityRef restoredParent = newEntityManager.getEntity(parentId);
+        EntityRef restoredChild = newEntityManager.getEntity(childId);
+        assertTrue(restoredParent.isActive());
+        assertTrue(restoredChild.isActive());
+        assertEquals(restoredParent, restoredChild.getComponent(LocationComponent.class).getParent());
+    }
+
 
     @Test
     public void testCanSavePlayerWithoutUnloading() throws Exception {
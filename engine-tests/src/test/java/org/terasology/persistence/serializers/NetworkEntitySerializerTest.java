@@ -0,0 +1,146 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.persistence.serializers;
+
+import com.google.common.collect.ImmutableMap;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.terasology.context.Context;
+import org.terasology.context.internal.ContextImpl;
+import org.terasology.engine.SimpleUri;
+import org.terasology.engine.bootstrap.EntitySystemSetupUtil;
+import org.terasology.engine.module.ModuleManager;
+import org.terasology.entitySystem.Component;
+import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.entitySystem.entity.internal.EngineEntityManager;
+import org.terasology.entitySystem.metadata.ComponentLibrary;
+import org.terasology.entitySystem.stubs.ListOfObjectComponent;
+import org.terasology.network.NetworkSystem;
+import org.terasology.persistence.typeHandling.TypeSerializationLibrary;
+import org.terasology.protobuf.EntityData;
+import org.terasology.registry.CoreRegistry;
+import org.terasology.testUtil.ModuleManagerFactory;
+
+import java.util.Collections;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.mockito.Mockito.mock;
+
+public class NetworkEntitySerializerTest {
+
+    private static final Set<Class<? extends Component>> NONE = Collections.emptySet();
+    private static final Set<Class<? extends Component>> LIST_OF_OBJECT = Collections.singleton(ListOfObjectComponent.class);
+
+    private static Context context;
+    private EngineEntityManager entityManager;
+    private ComponentLibrary componentLibrary;
+    private NetworkEntitySerializer serializer;
+    private ReplicatedEntityState replicatedState;
+
+    @BeforeClass
+    public static void setupClass() throws Exception {
+        context = new ContextImpl();
+        CoreRegistry.setContext(context);
+        context.put(ModuleManager.class, ModuleManagerFactory.create());
+    }
+
+    @Before
+    public void setup() {
+        context.put(NetworkSystem.class, mock(NetworkSystem.class));
+        EntitySystemSetupUtil.addReflectionBasedLibraries(context);
+        EntitySystemSetupUtil.addEntityManagementRelatedClasses(context);
+        entityManager = context.get(EngineEntityManager.class);
+        componentLibrary = entityManager.getComponentLibrary();
+        componentLibrary.register(new SimpleUri("test", "listOfObject"), ListOfObjectComponent.class);
+
+        serializer = new NetworkEntitySerializer(entityManager, componentLibrary, context.get(TypeSerializationLibrary.class));
+        serializer.setIdMapping(ImmutableMap.<Class<? extends Component>, Integer>of(ListOfObjectComponent.class, 1));
+        replicatedState = new ReplicatedEntityState();
+    }
+
+    @Test
+    public void testAddedComponentSentInFull() {
+        EntityRef entity = entityManager.create(createComponent("a"));
+
+        EntityData.PackedEntity data = serializeChanges(entity, LIST_OF_OBJECT, NONE);
+
+        assertEquals(componentLibrary.getMetadata(ListOfObjectComponent.class).getFieldCount(), data.getFieldValueCount());
+    }
+
+    @Test
+    public void testUnchangedFieldsLeftOut() {
+        EntityRef entity = entityManager.create(createComponent("a"));
+        serializeChanges(entity, LIST_OF_OBJECT, NONE);
+
+        assertNull(serializeChanges(entity, NONE, LIST_OF_OBJECT));
+    }
+
+    @Test
+    public void testOnlyChangedFieldSent() {
+        EntityRef entity = entityManager.create(createComponent("a"));
+        serializeChanges(entity, LIST_OF_OBJECT, NONE);
+        ListOfObjectComponent component = entity.getComponent(ListOfObjectComponent.class);
+        component.shortName = "b";
+        entity.saveComponent(component);
+
+        EntityData.PackedEntity data = serializeChanges(entity, NONE, LIST_OF_OBJECT);
+
+        assertEquals(1, data.getFieldValueCount());
+        assertEquals(componentLibrary.getMetadata(ListOfObjectComponent.class).getField("shortName").getId(),
+                data.getFieldIds().byteAt(0));
+        assertEquals(1, data.getComponentFieldCounts().byteAt(0));
+
+        EntityRef receiver = entityManager.create(createComponent("a"));
+        serializer.deserializeOnto(receiver, data);
+        assertEquals("b", receiver.getComponent(ListOfObjectComponent.class).shortName);
+    }
+
+    @Test
+    public void testForgottenStateSendsAllFields() {
+        EntityRef entity = entityManager.create(createComponent("a"));
+        serializeChanges(entity, LIST_OF_OBJECT, NONE);
+        replicatedState.removeComponent(ListOfObjectComponent.class);
+
+        EntityData.PackedEntity data = serializeChanges(entity, NONE, LIST_OF_OBJECT);
+
+        assertEquals(componentLibrary.getMetadata(ListOfObjectComponent.class).getFieldCount(), data.getFieldValueCount());
+    }
+
+    @Test
+    public void testAllFieldsSentWithoutState() {
+        EntityRef entity = entityManager.create(createComponent("a"));
+
+        EntityData.PackedEntity data = serializer.serialize(entity, NONE, LIST_OF_OBJECT, NONE,
+                FieldSerializeCheck.NullCheck.<Component>newInstance());
+
+        assertEquals(componentLibrary.getMetadata(ListOfObjectComponent.class).getFieldCount(), data.getFieldValueCount());
+    }
+
+    private EntityData.PackedEntity serializeChanges(EntityRef entity, Set<Class<? extends Component>> added,
+                                                     Set<Class<? extends Component>> changed) {
+        return serializer.serialize(entity, added, changed, NONE, FieldSerializeCheck.NullCheck.<Component>newInstance(),
+                replicatedState);
+    }
+
+    private static ListOfObjectComponent createComponent(String shortName) {
+        ListOfObjectComponent component = new ListOfObjectComponent();
+        component.shortName = shortName;
+        return component;
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.persistence.serializers;
+
+import org.junit.Test;
+import org.terasology.entitySystem.stubs.IntegerComponent;
+import org.terasology.entitySystem.stubs.StringComponent;
+import org.terasology.protobuf.EntityData;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ */
+public class ReplicatedEntityStateTest {
+
+    private ReplicatedEntityState state = new ReplicatedEntityState();
+
+    @Test
+    public void testUnknownFieldIsChanged() {
+        assertTrue(state.update(IntegerComponent.class, (byte) 1, intValue(3)));
+    }
+
+    @Test
+    public void testEqualValueIsUnchanged() {
+        state.update(IntegerComponent.class, (byte) 1, intValue(3));
+        assertFalse(state.update(IntegerComponent.class, (byte) 1, intValue(3)));
+        assertTrue(state.update(IntegerComponent.class, (byte) 1, intValue(4)));
+    }
+
+    @Test
+    public void testFieldsAreTrackedPerComponent() {
+        state.update(IntegerComponent.class, (byte) 1, intValue(3));
+        assertTrue(state.update(StringComponent.class, (byte) 1, intValue(3)));
+    }
+
+    @Test
+    public void testRemovedComponentIsForgotten() {
+        state.update(IntegerComponent.class, (byte) 1, intValue(3));
+        state.removeComponent(IntegerComponent.class);
+        assertTrue(state.update(IntegerComponent.class, (byte) 1, intValue(3)));
+    }
+
+    private static EntityData.Value intValue(int value) {
+        return EntityData.Value.newBuilder().addInteger(value).build();
+    }
+}
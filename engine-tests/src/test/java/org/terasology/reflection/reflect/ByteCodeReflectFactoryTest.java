@@ -15,7 +15,10 @@
  */
 package org.terasology.reflection.reflect;
 
+import com.google.common.io.ByteStreams;
 import org.junit.Test;
+import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.entitySystem.event.Event;
 import org.terasology.entitySystem.stubs.GetterSetterComponent;
 import org.terasology.entitySystem.stubs.IntegerComponent;
 import org.terasology.entitySystem.stubs.StringComponent;
@@ -23,9 +26,17 @@
 import org.terasology.logic.location.LocationComponent;
 import org.terasology.math.geom.Vector3f;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Field;
+
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 /**
  */
@@ -81,4 +92,100 @@ public void testAccessIntegerField() throws Exception {
         assertEquals(1, fieldAccessor.getValue(comp));
     }
 
+    @Test
+    public void testCreateEventHandlerInvoker() throws Exception {
+        ReflectFactory reflectFactory = new ByteCodeReflectFactory();
+        EventHandlerInvoker invoker = reflectFactory.createEventHandlerInvoker(
+                TestHandler.class.getMethod("onEvent", TestEvent.class, EntityRef.class, StringComponent.class));
+        StringComponent comp = new StringComponent("Test");
+        EntityRef entity = mock(EntityRef.class);
+        when(entity.getComponent(StringComponent.class)).thenReturn(comp);
+        TestHandler handler = new TestHandler();
+        TestEvent event = new TestEvent();
+
+        invoker.invoke(handler, event, entity);
+        assertSame(event, handler.receivedEvent);
+        assertSame(entity, handler.receivedEntity);
+        assertSame(comp, handler.receivedComponent);
+    }
+
+    @Test
+    public void testEventHandlerInvokerReused() throws Exception {
+        ReflectFactory reflectFactory = new ByteCodeReflectFactory();
+        EventHandlerInvoker first = reflectFactory.createEventHandlerInvoker(
+                TestHandler.class.getMethod("onEvent", TestEvent.class, EntityRef.class, StringComponent.class));
+        EventHandlerInvoker second = new ByteCodeReflectFactory().createEventHandlerInvoker(
+                TestHandler.class.getMethod("onEvent", TestEvent.class, EntityRef.class, StringComponent.class));
+        // The reflection based fallback would use the same class as well, so check for the generated invoker
+        assertTrue(first.getClass().getName().startsWith(TestHandler.class.getName() + "_onEvent_"));
+        assertTrue(first.getClass().getName().endsWith("_EventHandlerInvoker"));
+        assertEquals(first.getClass(), second.getClass());
+    }
+
+    @Test
+    public void testEventHandlerInvokerForHandlerLoadedByAnotherClassLoader() throws Exception {
+        ReflectFactory reflectFactory = new ByteCodeReflectFactory();
+        EventHandlerInvoker first = reflectFactory.createEventHandlerInvoker(
+                TestHandler.class.getMethod("onEvent", TestEvent.class, EntityRef.class, StringComponent.class));
+
+        ClassLoader reloadingClassLoader = new ReloadingClassLoader(getClass().getClassLoader(), TestHandler.class.getName());
+        Class<?> reloadedHandlerType = reloadingClassLoader.loadClass(TestHandler.class.getName());
+        EventHandlerInvoker second = reflectFactory.createEventHandlerInvoker(
+                reloadedHandlerType.getMethod("onEvent", TestEvent.class, EntityRef.class, StringComponent.class));
+        assertNotSame(first.getClass(), second.getClass());
+        assertSame(reloadingClassLoader, second.getClass().getClassLoader());
+
+        Object handler = reloadedHandlerType.newInstance();
+        TestEvent event = new TestEvent();
+        second.invoke(handler, event, mock(EntityRef.class));
+        Field receivedEvent = reloadedHandlerType.getDeclaredField("receivedEvent");
+        receivedEvent.setAccessible(true);
+        assertSame(event, receivedEvent.get(handler));
+    }
+
+    public static class TestEvent implements Event {
+    }
+
+    public static class TestHandler {
+        private Event receivedEvent;
+        private EntityRef receivedEntity;
+        private StringComponent receivedComponent;
+
+        public void onEvent(TestEvent event, EntityRef entity, StringComponent component) {
+            receivedEvent = event;
+            receivedEntity = entity;
+            receivedComponent = component;
+        }
+    }
+
+    /**
+     * Defines the given class itself instead of delegating it to its parent, as a module loaded a second time would.
+     */
+    private static class ReloadingClassLoader extends ClassLoader {
+        private final String reloadedClassName;
+
+        ReloadingClassLoader(ClassLoader parent, String reloadedClassName) {
+            super(parent);
+            this.reloadedClassName = reloadedClassName;
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            if (!name.equals(reloadedClassName)) {
+                return super.loadClass(name, resolve);
+            }
+            synchronized (getClassLoadingLock(name)) {
+                Class<?> loadedClass = findLoadedClass(name);
+                if (loadedClass == null) {
+                    try (InputStream stream = getParent().getResourceAsStream(name.replace('.', '/') + ".class")) {
+                        byte[] bytes = ByteStreams.toByteArray(stream);
+                        loadedClass = defineClass(name, bytes, 0, bytes.length);
+                    } catch (IOException e) {
+                        throw new ClassNotFoundException(name, e);
+                    }
+                }
+                return loadedClass;
+            }
+        }
+    }
 }
@@ -0,0 +1,158 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.rendering.primitives;
+
+import com.google.common.collect.Maps;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.terasology.math.geom.Vector3i;
+import org.terasology.world.ChunkView;
+import org.terasology.world.block.Block;
+
+import java.nio.IntBuffer;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ */
+public class ChunkMeshBufferBuilderTest {
+    private static final int SUNLIGHT_OFFSET = 6;
+    private static final int LIGHT_OFFSET = 7;
+    private static final int AMBIENT_OCCLUSION_OFFSET = 8;
+    private static final float DELTA = 0.0001f;
+
+    private Block air;
+    private Block stone;
+    private Block leaves;
+
+    private Map<Vector3i, Block> blocks = Maps.newHashMap();
+    private Map<Vector3i, Byte> light = Maps.newHashMap();
+    private ChunkView view;
+    private ChunkMeshBufferBuilder builder;
+
+    @Before
+    public void setup() {
+        air = new Block();
+        air.setTranslucent(true);
+        air.setShadowCasting(false);
+        stone = new Block();
+        leaves = new Block();
+        leaves.setTranslucent(true);
+
+        view = mock(ChunkView.class);
+        when(view.getBlock(anyInt(), anyInt(), anyInt())).thenAnswer(invocation -> blocks.getOrDefault(positionOf(invocation), air));
+        when(view.getSunlight(anyInt(), anyInt(), anyInt())).thenAnswer(invocation -> blocks.containsKey(positionOf(invocation)) ? (byte) 0 : (byte) 15);
+        when(view.getLight(anyInt(), anyInt(), anyInt())).thenAnswer(invocation -> light.getOrDefault(positionOf(invocation), (byte) 0));
+
+        builder = new ChunkMeshBufferBuilder();
+    }
+
+    @Test
+    public void testVertexLayout() {
+        ChunkMesh mesh = createTopFaceCornerMesh(0.5f, 0.5f, 0.5f);
+        assertEquals(1, builder.build(view, mesh));
+
+        IntBuffer vertices = mesh.getVertexElements(ChunkMesh.RenderType.OPAQUE).finalVertices;
+        assertEquals(ChunkMeshBufferBuilder.VERTEX_SIZE, vertices.limit());
+        assertEquals(0.5f, Float.intBitsToFloat(vertices.get(0)), 0);
+        assertEquals(0.25f, Float.intBitsToFloat(vertices.get(3)), 0);
+        assertEquals(0.75f, Float.intBitsToFloat(vertices.get(4)), 0);
+        assertEquals(2.0f, Float.intBitsToFloat(vertices.get(5)), 0);
+        assertEquals(1.0f, Float.intBitsToFloat(vertices.get(SUNLIGHT_OFFSET)), DELTA);
+        assertEquals(0.0f, Float.intBitsToFloat(vertices.get(LIGHT_OFFSET)), DELTA);
+        assertEquals(1.0f, Float.intBitsToFloat(vertices.get(AMBIENT_OCCLUSION_OFFSET)), DELTA);
+        assertEquals(0xFFFFFFFF, vertices.get(9));
+        assertEquals(1.0f, Float.intBitsToFloat(vertices.get(11)), 0);
+
+        IntBuffer indices = mesh.getVertexElements(ChunkMesh.RenderType.OPAQUE).finalIndices;
+        assertEquals(1, indices.limit());
+        assertEquals(0, indices.get(0));
+    }
+
+    @Test
+    public void testOccludingBlocksDarkenVertex() {
+        blocks.put(new Vector3i(1, 1, 1), stone);
+        ChunkMesh mesh = createTopFaceCornerMesh(0.5f, 0.5f, 0.5f);
+        builder.build(view, mesh);
+        assertEquals(0.7f, getValue(mesh, AMBIENT_OCCLUSION_OFFSET), DELTA);
+
+        blocks.put(new Vector3i(0, 1, 0), leaves);
+        mesh = createTopFaceCornerMesh(0.5f, 0.5f, 0.5f);
+        builder.build(view, mesh);
+        assertEquals(0.6f, getValue(mesh, AMBIENT_OCCLUSION_OFFSET), DELTA);
+    }
+
+    @Test
+    public void testLightIsAveragedOverLitSamples() {
+        light.put(new Vector3i(1, 1, 1), (byte) 12);
+        light.put(new Vector3i(0, 0, 0), (byte) 6);
+        blocks.put(new Vector3i(1, 0, 1), stone);
+        ChunkMesh mesh = createTopFaceCornerMesh(0.5f, 0.5f, 0.5f);
+        builder.build(view, mesh);
+
+        assertEquals(1.0f, getValue(mesh, SUNLIGHT_OFFSET), DELTA);
+        assertEquals(0.6f, getValue(mesh, LIGHT_OFFSET), DELTA);
+    }
+
+    @Test
+    public void testVertexOutsideOfPaddedChunk() {
+        blocks.put(new Vector3i(1, 101, 1), stone);
+        light.put(new Vector3i(1, 101, 1), (byte) 15);
+        ChunkMesh mesh = createTopFaceCornerMesh(0.5f, 100.5f, 0.5f);
+        builder.build(view, mesh);
+
+        assertEquals(0.7f, getValue(mesh, AMBIENT_OCCLUSION_OFFSET), DELTA);
+        assertEquals(1.0f, getValue(mesh, LIGHT_OFFSET), DELTA);
+    }
+
+    @Test
+    public void testChangesAreSeenByNextMesh() {
+        blocks.put(new Vector3i(1, 1, 1), stone);
+        ChunkMesh mesh = createTopFaceCornerMesh(0.5f, 0.5f, 0.5f);
+        builder.build(view, mesh);
+        assertEquals(0.7f, getValue(mesh, AMBIENT_OCCLUSION_OFFSET), DELTA);
+
+        blocks.clear();
+        mesh = createTopFaceCornerMesh(0.5f, 0.5f, 0.5f);
+        builder.build(view, mesh);
+        assertEquals(1.0f, getValue(mesh, AMBIENT_OCCLUSION_OFFSET), DELTA);
+    }
+
+    private float getValue(ChunkMesh mesh, int offset) {
+        return Float.intBitsToFloat(mesh.getVertexElements(ChunkMesh.RenderType.OPAQUE).finalVertices.get(offset));
+    }
+
+    private static Vector3i positionOf(InvocationOnMock invocation) {
+        return new Vector3i((Integer) invocation.getArgument(0), (Integer) invocation.getArgument(1), (Integer) invocation.getArgument(2));
+    }
+
+    private ChunkMesh createTopFaceCornerMesh(float x, float y, float z) {
+        ChunkMesh mesh = new ChunkMesh(null);
+        ChunkMesh.VertexElements elements = mesh.getVertexElements(ChunkMesh.RenderType.OPAQUE);
+        elements.vertices.add(new float[]{x, y, z});
+        elements.normals.add(new float[]{0, 1, 0});
+        elements.tex.add(new float[]{0.25f, 0.75f});
+        elements.color.add(new float[]{1, 1, 1, 1});
+        elements.flags.add(2);
+        elements.indices.add(0);
+        return mesh;
+    }
+}
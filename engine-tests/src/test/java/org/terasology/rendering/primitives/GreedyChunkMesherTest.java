@@ -0,0 +1,223 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.rendering.primitives;
+
+import com.google.common.collect.Maps;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.terasology.math.Side;
+import org.terasology.math.geom.Vector2f;
+import org.terasology.math.geom.Vector3f;
+import org.terasology.math.geom.Vector3i;
+import org.terasology.world.ChunkView;
+import org.terasology.world.block.Block;
+import org.terasology.world.block.BlockAppearance;
+import org.terasology.world.block.BlockPart;
+import org.terasology.world.block.shapes.BlockMeshPart;
+
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ */
+public class GreedyChunkMesherTest {
+    private static final float TILE_SIZE = 1f / 16f;
+    private static final float DELTA = 0.0001f;
+
+    private Block air;
+    private Block stone;
+    private Block dirt;
+
+    private Map<Vector3i, Block> blocks = Maps.newHashMap();
+    private Map<Vector3i, Byte> light = Maps.newHashMap();
+    private ChunkView view;
+    private ChunkMeshBufferBuilder bufferBuilder;
+    private GreedyChunkMesher mesher;
+
+    @Before
+    public void setup() {
+        air = new Block();
+        air.setTranslucent(true);
+        air.setShadowCasting(false);
+        stone = createCube(new Vector2f(2 * TILE_SIZE, TILE_SIZE));
+        dirt = createCube(new Vector2f(3 * TILE_SIZE, TILE_SIZE));
+
+        view = mock(ChunkView.class);
+        when(view.getBlock(anyInt(), anyInt(), anyInt())).thenAnswer(invocation -> blocks.getOrDefault(positionOf(invocation), air));
+        when(view.getSunlight(anyInt(), anyInt(), anyInt())).thenAnswer(invocation -> blocks.containsKey(positionOf(invocation)) ? (byte) 0 : (byte) 15);
+        when(view.getLight(anyInt(), anyInt(), anyInt())).thenAnswer(invocation -> light.getOrDefault(positionOf(invocation), (byte) 0));
+
+        bufferBuilder = new ChunkMeshBufferBuilder();
+        mesher = new GreedyChunkMesher();
+    }
+
+    @Test
+    public void testFlatLayerIsMergedIntoOneQuadPerSide() {
+        for (int x = 0; x < 4; x++) {
+            for (int z = 0; z < 4; z++) {
+                blocks.put(new Vector3i(x, 1, z), stone);
+            }
+        }
+        ChunkMesh mesh = generate();
+
+        assertEquals(6 * 4, mesh.getVertexElements(ChunkMesh.RenderType.OPAQUE).vertexCount);
+        assertEquals(6 * 6, mesh.getVertexElements(ChunkMesh.RenderType.OPAQUE).indices.size());
+        assertEquals(16 + 16 + 4 * 4, mesh.getMergedFaceCount());
+        assertEquals(6, mesh.getMergedQuadCount());
+        assertEquals((48 - 6) * 4, mesh.getMergedVertexReduction());
+    }
+
+    @Test
+    public void testMergedQuadRepeatsTile() {
+        for (int x = 0; x < 3; x++) {
+            blocks.put(new Vector3i(x, 1, 0), stone);
+        }
+        ChunkMesh mesh = generate();
+
+        ChunkMesh.VertexElements elements = mesh.getVertexElements(ChunkMesh.RenderType.OPAQUE);
+        int topVertices = 0;
+        for (int vertex = 0; vertex < elements.vertexCount; vertex++) {
+            if (elements.normals.get(vertex * 3 + 1) > 0) {
+                topVertices++;
+                float x = elements.vertices.get(vertex * 3);
+                float u = elements.tex.get(vertex * 2);
+                float v = elements.tex.get(vertex * 2 + 1);
+                assertEquals(x < 0 ? -0.5f : 2.5f, x, DELTA);
+                assertEquals(x < 0 ? 0 : 3, u, DELTA);
+                assertEquals(elements.vertices.get(vertex * 3 + 2) < 0 ? 1 : 0, v, DELTA);
+                // The stone tile is the third one of the second row
+                assertEquals(ChunkVertexFlag.NORMAL.getValue() + GreedyChunkMesher.TILE_INDEX_STRIDE * (16 + 2 + 1), elements.flags.get(vertex));
+            }
+        }
+        assertEquals(4, topVertices);
+    }
+
+    @Test
+    public void testSingleFacesKeepTheirTexCoords() {
+        blocks.put(new Vector3i(0, 1, 0), stone);
+        ChunkMesh mesh = generate();
+
+        ChunkMesh.VertexElements elements = mesh.getVertexElements(ChunkMesh.RenderType.OPAQUE);
+        assertEquals(6 * 4, elements.vertexCount);
+        for (int vertex = 0; vertex < elements.vertexCount; vertex++) {
+            assertEquals(ChunkVertexFlag.NORMAL.getValue(), elements.flags.get(vertex));
+            float u = elements.tex.get(vertex * 2);
+            assertEquals(true, u > 2 * TILE_SIZE && u < 3 * TILE_SIZE);
+        }
+    }
+
+    @Test
+    public void testDifferentTilesAreNotMerged() {
+        blocks.put(new Vector3i(0, 1, 0), stone);
+        blocks.put(new Vector3i(1, 1, 0), dirt);
+        ChunkMesh mesh = generate();
+
+        assertEquals(10 * 4, mesh.getVertexElements(ChunkMesh.RenderType.OPAQUE).vertexCount);
+        assertEquals(10, mesh.getMergedQuadCount());
+        assertEquals(0, mesh.getMergedVertexReduction());
+    }
+
+    @Test
+    public void testUnevenlyLitFacesAreNotMerged() {
+        for (int x = 0; x < 3; x++) {
+            blocks.put(new Vector3i(x, 1, 0), stone);
+        }
+        // Lights the top face of the middle block only at its corners
+        light.put(new Vector3i(1, 2, 0), (byte) 15);
+        ChunkMesh mesh = generate();
+
+        ChunkMesh.VertexElements elements = mesh.getVertexElements(ChunkMesh.RenderType.OPAQUE);
+        int topVertices = 0;
+        for (int vertex = 0; vertex < elements.vertexCount; vertex++) {
+            if (elements.normals.get(vertex * 3 + 1) > 0) {
+                topVertices++;
+                assertEquals(ChunkVertexFlag.NORMAL.getValue(), elements.flags.get(vertex));
+            }
+        }
+        assertEquals(3 * 4, topVertices);
+    }
+
+    @Test
+    public void testOtherShapesUseTheirMeshGenerator() {
+        Block slab = new Block();
+        BlockMeshGenerator generator = mock(BlockMeshGenerator.class);
+        slab.setMeshGenerator(generator);
+        blocks.put(new Vector3i(0, 1, 0), slab);
+        blocks.put(new Vector3i(1, 1, 0), stone);
+        ChunkMesh mesh = generate();
+
+        verify(generator).generateChunkMesh(view, mesh, 0, 1, 0);
+        assertEquals(6, mesh.getMergedFaceCount());
+    }
+
+    private ChunkMesh generate() {
+        ChunkMesh mesh = new ChunkMesh(null);
+        bufferBuilder.begin(view);
+        try {
+            mesher.generateChunkMesh(view, mesh, bufferBuilder, TILE_SIZE, 4, 0);
+        } finally {
+            bufferBuilder.end();
+        }
+        return mesh;
+    }
+
+    private static Vector3i positionOf(InvocationOnMock invocation) {
+        return new Vector3i((Integer) invocation.getArgument(0), (Integer) invocation.getArgument(1), (Integer) invocation.getArgument(2));
+    }
+
+    private static Block createCube(Vector2f tile) {
+        Block block = new Block();
+        block.setMeshGenerator(new BlockMeshGeneratorSingleShape(block));
+        Map<BlockPart, BlockMeshPart> parts = Maps.newEnumMap(BlockPart.class);
+        Map<BlockPart, Vector2f> atlasPositions = Maps.newEnumMap(BlockPart.class);
+        for (Side side : Side.values()) {
+            parts.put(BlockPart.fromSide(side), createFace(side.getVector3i()).mapTexCoords(tile, TILE_SIZE));
+            block.setFullSide(side, true);
+        }
+        for (BlockPart part : BlockPart.values()) {
+            atlasPositions.put(part, tile);
+        }
+        block.setPrimaryAppearance(new BlockAppearance(parts, atlasPositions));
+        return block;
+    }
+
+    private static BlockMeshPart createFace(Vector3i normal) {
+        float[][] corners = {{-0.5f, -0.5f}, {0.5f, -0.5f}, {0.5f, 0.5f}, {-0.5f, 0.5f}};
+        Vector3f[] vertices = new Vector3f[corners.length];
+        Vector3f[] normals = new Vector3f[corners.length];
+        Vector2f[] texCoords = new Vector2f[corners.length];
+        for (int i = 0; i < corners.length; i++) {
+            float a = corners[i][0];
+            float b = corners[i][1];
+            if (normal.x != 0) {
+                vertices[i] = new Vector3f(0.5f * normal.x, a, b);
+            } else if (normal.y != 0) {
+                vertices[i] = new Vector3f(a, 0.5f * normal.y, b);
+            } else {
+                vertices[i] = new Vector3f(a, b, 0.5f * normal.z);
+            }
+            normals[i] = new Vector3f(normal.x, normal.y, normal.z);
+            texCoords[i] = new Vector2f(a + 0.5f, 0.5f - b);
+        }
+        return new BlockMeshPart(vertices, normals, texCoords, new int[]{0, 1, 2, 0, 2, 3});
+    }
+}
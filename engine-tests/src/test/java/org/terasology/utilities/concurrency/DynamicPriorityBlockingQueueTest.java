@@ -0,0 +1,92 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.utilities.concurrency;
+
+import com.google.common.collect.Lists;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ */
+public class DynamicPriorityBlockingQueueTest {
+
+    private int target;
+    private DynamicPriorityBlockingQueue<Integer> queue;
+
+    @Before
+    public void setup() {
+        target = 0;
+        queue = new DynamicPriorityBlockingQueue<>((a, b) -> Integer.compare(Math.abs(a - target), Math.abs(b - target)));
+    }
+
+    @Test
+    public void testPollReturnsElementsInPriorityOrder() {
+        for (int value : new int[]{5, -3, 8, 1, -7, 2, 0, 4}) {
+            queue.offer(value);
+        }
+        List<Integer> result = Lists.newArrayList();
+        Integer next;
+        while ((next = queue.poll()) != null) {
+            result.add(Math.abs(next));
+        }
+        assertEquals(Lists.newArrayList(0, 1, 2, 3, 4, 5, 7, 8), result);
+    }
+
+    @Test
+    public void testReprioritizeReordersQueuedElements() {
+        for (int i = 0; i < 100; ++i) {
+            queue.offer(i);
+        }
+        target = 100;
+        queue.reprioritize();
+        assertEquals(99, (int) queue.peek());
+        for (int i = 99; i >= 0; --i) {
+            assertEquals(i, (int) queue.poll());
+        }
+        assertNull(queue.poll());
+    }
+
+    @Test
+    public void testElementsOfferedAfterReprioritizeAreOrdered() {
+        queue.offer(10);
+        queue.offer(20);
+        target = 20;
+        queue.reprioritize();
+        queue.offer(15);
+        assertEquals(20, (int) queue.poll());
+        assertEquals(15, (int) queue.poll());
+        assertEquals(10, (int) queue.poll());
+    }
+
+    @Test
+    public void testDrainTo() throws InterruptedException {
+        for (int i = 0; i < 10; ++i) {
+            queue.put(i);
+        }
+        List<Integer> drained = Lists.newArrayList();
+        assertEquals(3, queue.drainTo(drained, 3));
+        assertEquals(Lists.newArrayList(0, 1, 2), drained);
+        assertEquals(7, queue.drainTo(drained));
+        assertEquals(0, queue.size());
+        assertNull(queue.poll(1, TimeUnit.MILLISECONDS));
+    }
+}
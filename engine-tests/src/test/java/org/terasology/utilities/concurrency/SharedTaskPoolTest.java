@@ -0,0 +1,81 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.utilities.concurrency;
+
+import org.junit.Test;
+import org.terasology.monitoring.ThreadMonitor;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ */
+public class SharedTaskPoolTest {
+
+    @Test
+    public void testSharedTaskMastersProcessAllTasks() throws InterruptedException {
+        TaskMaster<Task> first = TaskMaster.createSharedPriorityTaskMaster("First", TaskLane.HIGH, (a, b) -> 0);
+        TaskMaster<Task> second = TaskMaster.createSharedPriorityTaskMaster("Second", TaskLane.LOW, (a, b) -> 0);
+        CountDownLatch latch = new CountDownLatch(200);
+        for (int i = 0; i < 100; ++i) {
+            first.put(new CountingTask(latch));
+            second.put(new CountingTask(latch));
+        }
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+        first.shutdown(new ShutdownTask(), true);
+        second.shutdown(new ShutdownTask(), true);
+
+        assertEquals(100, first.getMonitor().getCompletedTasks());
+        assertEquals(100, second.getMonitor().getCompletedTasks());
+        assertEquals(0, first.getMonitor().getQueueDepth());
+        assertEquals(0, first.getMonitor().getActiveTasks());
+    }
+
+    @Test
+    public void testMonitorRegisteredWhileRunning() {
+        TaskMaster<Task> taskMaster = TaskMaster.createSharedPriorityTaskMaster("Monitored", TaskLane.NORMAL, (a, b) -> 0);
+        assertTrue(ThreadMonitor.getTaskQueueMonitors().contains(taskMaster.getMonitor()));
+        taskMaster.shutdown(new ShutdownTask(), false);
+        assertFalse(ThreadMonitor.getTaskQueueMonitors().contains(taskMaster.getMonitor()));
+    }
+
+    private static final class CountingTask implements Task {
+        private final CountDownLatch latch;
+
+        CountingTask(CountDownLatch latch) {
+            this.latch = latch;
+        }
+
+        @Override
+        public String getName() {
+            return "Count";
+        }
+
+        @Override
+        public void run() {
+            latch.countDown();
+        }
+
+        @Override
+        public boolean isTerminateSignal() {
+            return false;
+        }
+    }
+}
@@ -39,6 +39,8 @@
 import org.terasology.world.chunks.internal.ChunkImpl;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 
 public class ChunkTest extends TerasologyTestingEnvironment {
@@ -79,5 +81,51 @@ public void testGetAabb() {
         assertEquals(new Vector3f(ChunkConstants.SIZE_X, ChunkConstants.SIZE_Y, ChunkConstants.SIZE_Z), chunk.getAABB().getMax());
     }
 
+    @Test
+    public void testApplyDeflation() {
+        ChunkImpl chunkImpl = (ChunkImpl) chunk;
+        chunk.setBlock(new Vector3i(1, 2, 3), solid);
+        assertTrue(chunkImpl.isDeflationOutdated());
+        int inflatedSize = chunk.getEstimatedMemoryConsumptionInBytes();
+
+        assertTrue(chunkImpl.applyDeflation(chunkImpl.createDeflatedData()));
+        assertFalse(chunkImpl.isDeflationOutdated());
+        assertTrue(chunk.getEstimatedMemoryConsumptionInBytes() < inflatedSize);
+        assertEquals(solid, chunk.getBlock(new Vector3i(1, 2, 3)));
+    }
+
+    @Test
+    public void testDeflationDiscardedAfterChange() {
+        ChunkImpl chunkImpl = (ChunkImpl) chunk;
+        ChunkImpl.DeflatedData data = chunkImpl.createDeflatedData();
+        chunk.setBlock(new Vector3i(1, 2, 3), solid);
+
+        assertFalse(chunkImpl.applyDeflation(data));
+        assertTrue(chunkImpl.isDeflationOutdated());
+        assertEquals(solid, chunk.getBlock(new Vector3i(1, 2, 3)));
+    }
+
+    @Test
+    public void testDeflationDiscardedAfterLightChange() {
+        ChunkImpl chunkImpl = (ChunkImpl) chunk;
+        ChunkImpl.DeflatedData data = chunkImpl.createDeflatedData();
+        chunk.setLight(new Vector3i(1, 2, 3), (byte) 5);
+
+        assertFalse(chunkImpl.applyDeflation(data));
+        assertEquals(5, chunk.getLight(new Vector3i(1, 2, 3)));
+    }
+
+    @Test
+    public void testChangeBlockAfterDeflation() {
+        ChunkImpl chunkImpl = (ChunkImpl) chunk;
+        chunk.setBlock(new Vector3i(1, 2, 3), solid);
+        chunkImpl.applyDeflation(chunkImpl.createDeflatedData());
+
+        chunk.setBlock(new Vector3i(3, 2, 1), solid);
+        assertEquals(solid, chunk.getBlock(new Vector3i(1, 2, 3)));
+        assertEquals(solid, chunk.getBlock(new Vector3i(3, 2, 1)));
+        assertTrue(chunkImpl.isDeflationOutdated());
+    }
+
 }
 
@@ -44,6 +44,7 @@
 import org.terasology.entitySystem.stubs.RetainedOnBlockChangeComponent;
 import org.terasology.entitySystem.stubs.StringComponent;
 import org.terasology.entitySystem.systems.BaseComponentSystem;
+import org.terasology.math.Region3i;
 import org.terasology.math.geom.Vector3i;
 import org.terasology.network.NetworkComponent;
 import org.terasology.testUtil.WorldProviderCoreStub;
@@ -57,6 +58,7 @@
 import org.terasology.world.block.loader.BlockFamilyDefinitionData;
 import org.terasology.world.internal.EntityAwareWorldProvider;
 
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 
@@ -244,6 +246,21 @@ public void testPrefabUpdatedWhenBlockChanged() {
         assertEquals(blockWithDifferentString.getPrefab().get().getName(), worldProvider.getBlockEntityAt(new Vector3i(0, 0, 0)).getParentPrefab().getName());
     }
 
+    @Test
+    public void testPrefabUpdatedWhenBlocksChanged() {
+        worldProvider.setBlock(Vector3i.zero(), blockWithString);
+        worldProvider.setBlocks(Collections.singletonMap(Vector3i.zero(), blockWithDifferentString));
+        assertEquals(blockWithDifferentString.getPrefab().get().getName(), worldProvider.getBlockEntityAt(new Vector3i(0, 0, 0)).getParentPrefab().getName());
+    }
+
+    @Test
+    public void testPrefabUpdatedWhenRegionFilled() {
+        worldProvider.setBlock(Vector3i.zero(), blockWithString);
+        worldProvider.setBlocks(Region3i.createFromMinMax(Vector3i.zero(), new Vector3i(1, 1, 1)), blockWithDifferentString);
+        assertEquals(blockWithDifferentString.getPrefab().get().getName(), worldProvider.getBlockEntityAt(new Vector3i(0, 0, 0)).getParentPrefab().getName());
+        assertEquals(blockWithDifferentString.getPrefab().get().getName(), worldProvider.getBlockEntityAt(new Vector3i(1, 1, 1)).getParentPrefab().getName());
+    }
+
     @Test
     public void testEntityNotRemovedIfForceBlockActiveComponentAdded() {
         EntityRef blockEntity = worldProvider.getBlockEntityAt(new Vector3i(0, 0, 0));
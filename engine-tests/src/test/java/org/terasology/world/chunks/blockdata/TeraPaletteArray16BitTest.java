@@ -0,0 +1,162 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.world.chunks.blockdata;
+
+import org.junit.Test;
+import org.terasology.world.chunks.deflate.TeraStandardDeflator;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TeraPaletteArray16BitTest {
+
+    private static final int SIZE_X = 32;
+    private static final int SIZE_Y = 64;
+    private static final int SIZE_Z = 32;
+
+    @Test
+    public void testNewArrayIsZero() {
+        TeraPaletteArray16Bit array = new TeraPaletteArray16Bit(SIZE_X, SIZE_Y, SIZE_Z);
+        assertEquals(0, array.get(5, 10, 7));
+        assertEquals(1, array.getPaletteSize());
+        assertEquals(1, array.getBitsPerEntry());
+    }
+
+    @Test
+    public void testSetReturnsPreviousValue() {
+        TeraPaletteArray16Bit array = new TeraPaletteArray16Bit(SIZE_X, SIZE_Y, SIZE_Z);
+        assertEquals(0, array.set(1, 2, 3, 42));
+        assertEquals(42, array.set(1, 2, 3, -7));
+        assertEquals(-7, array.get(1, 2, 3));
+    }
+
+    @Test
+    public void testConditionalSet() {
+        TeraPaletteArray16Bit array = new TeraPaletteArray16Bit(SIZE_X, SIZE_Y, SIZE_Z);
+        assertFalse(array.set(1, 2, 3, 5, 1));
+        assertEquals(0, array.get(1, 2, 3));
+        assertTrue(array.set(1, 2, 3, 5, 0));
+        assertEquals(5, array.get(1, 2, 3));
+    }
+
+    @Test
+    public void testPaletteGrowthKeepsValues() {
+        TeraPaletteArray16Bit array = new TeraPaletteArray16Bit(SIZE_X, SIZE_Y, SIZE_Z);
+        short[] expected = new short[SIZE_X * SIZE_Y * SIZE_Z];
+        Random random = new Random(7);
+        for (int i = 0; i < expected.length; i++) {
+            // grow the palette past all bit widths, including ones whose entries span two longs
+            short value = (short) random.nextInt(1 + i / 8);
+            expected[i] = value;
+            array.set(i % SIZE_X, i / (SIZE_X * SIZE_Z), (i / SIZE_X) % SIZE_Z, value);
+        }
+        assertEquals(13, array.getBitsPerEntry());
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i], array.get(i % SIZE_X, i / (SIZE_X * SIZE_Z), (i / SIZE_X) % SIZE_Z));
+        }
+    }
+
+    @Test
+    public void testCreateFromValues() {
+        short[] values = terrain();
+        TeraPaletteArray16Bit array = new TeraPaletteArray16Bit(SIZE_X, SIZE_Y, SIZE_Z, values);
+        assertEquals(4, array.getPaletteSize());
+        assertEquals(2, array.getBitsPerEntry());
+        assertSameContent(new TeraDenseArray16Bit(SIZE_X, SIZE_Y, SIZE_Z, values), array);
+    }
+
+    @Test
+    public void testCopyIsIndependent() {
+        TeraPaletteArray16Bit array = new TeraPaletteArray16Bit(SIZE_X, SIZE_Y, SIZE_Z, terrain());
+        TeraArray copy = array.copy();
+        copy.set(0, 0, 0, 99);
+        assertEquals(99, copy.get(0, 0, 0));
+        assertEquals(1, array.get(0, 0, 0));
+    }
+
+    @Test
+    public void testSerialization() {
+        TeraPaletteArray16Bit array = new TeraPaletteArray16Bit(SIZE_X, SIZE_Y, SIZE_Z, terrain());
+        array.set(3, 40, 3, 1234);
+        TeraPaletteArray16Bit.SerializationHandler handler = new TeraPaletteArray16Bit.SerializationHandler();
+        ByteBuffer buffer = handler.serialize(array, ByteBuffer.allocate(handler.computeMinimumBufferSize(array)));
+        buffer.rewind();
+        assertSameContent(array, handler.deserialize(buffer));
+    }
+
+    @Test
+    public void testDeflatorChoosesPaletteForFewValues() {
+        short[] values = terrain();
+        TeraDenseArray16Bit dense = new TeraDenseArray16Bit(SIZE_X, SIZE_Y, SIZE_Z, values);
+        TeraArray deflated = new TeraStandardDeflator().deflate(dense);
+        assertTrue(deflated instanceof TeraPaletteArray16Bit);
+        assertTrue(deflated.getEstimatedMemoryConsumptionInBytes() < dense.getEstimatedMemoryConsumptionInBytes() / 4);
+        assertSameContent(dense, deflated);
+    }
+
+    @Test
+    public void testDeflatorDropsUnusedPaletteValues() {
+        TeraPaletteArray16Bit array = new TeraPaletteArray16Bit(SIZE_X, SIZE_Y, SIZE_Z, terrain());
+        for (int i = 0; i < 20; i++) {
+            array.set(0, 0, 0, 100 + i);
+        }
+        array.set(0, 0, 0, 1);
+        TeraArray deflated = new TeraStandardDeflator().deflate(array);
+        assertEquals(4, ((TeraPaletteArray16Bit) deflated).getPaletteSize());
+        assertSameContent(array, deflated);
+    }
+
+    @Test
+    public void testDeflatorTurnsUniformPaletteIntoSparseArray() {
+        TeraPaletteArray16Bit array = new TeraPaletteArray16Bit(SIZE_X, SIZE_Y, SIZE_Z);
+        array.set(1, 1, 1, 5);
+        array.set(1, 1, 1, 0);
+        TeraArray deflated = new TeraStandardDeflator().deflate(array);
+        assertTrue(deflated instanceof TeraSparseArray16Bit);
+        assertSameContent(array, deflated);
+    }
+
+    private static short[] terrain() {
+        short[] values = new short[SIZE_X * SIZE_Y * SIZE_Z];
+        for (int i = 0; i < values.length; i++) {
+            int y = i / (SIZE_X * SIZE_Z);
+            int x = i % SIZE_X;
+            int height = 30 + x % 5;
+            if (y < height - 3) {
+                values[i] = 1;
+            } else if (y < height) {
+                values[i] = 2;
+            } else if (y == height) {
+                values[i] = 3;
+            }
+        }
+        return values;
+    }
+
+    private static void assertSameContent(TeraArray expected, TeraArray actual) {
+        for (int y = 0; y < SIZE_Y; y++) {
+            for (int z = 0; z < SIZE_Z; z++) {
+                for (int x = 0; x < SIZE_X; x++) {
+                    assertEquals(expected.get(x, y, z), actual.get(x, y, z));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,216 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.world.generation;
+
+import org.junit.Test;
+import org.terasology.context.Context;
+import org.terasology.context.internal.ContextImpl;
+import org.terasology.math.Region3i;
+import org.terasology.math.geom.Vector3i;
+import org.terasology.world.chunks.CoreChunk;
+import org.terasology.world.generation.facets.base.BaseFacet2D;
+import org.terasology.world.generation.facets.base.BaseFacet3D;
+import org.terasology.world.generator.plugin.WorldGeneratorPluginLibrary;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ColumnFacetCacheTest {
+
+    private Context context = new ContextImpl();
+
+    @Test
+    public void testStackedChunksShareColumnFacets() {
+        HeightProvider heightProvider = new HeightProvider();
+        HeightUpdater heightUpdater = new HeightUpdater();
+        DensityProvider densityProvider = new DensityProvider();
+        FacetRecorder<HeightFacet> recorder = new FacetRecorder<>(HeightFacet.class);
+        WorldImpl world = build(recorder, heightProvider, heightUpdater, densityProvider);
+
+        world.rasterizeChunk(chunkAt(0, 0, 0), null);
+        HeightFacet first = recorder.facet;
+        world.rasterizeChunk(chunkAt(0, 1, 0), null);
+
+        assertSame(first, recorder.facet);
+        assertEquals(1, first.updates);
+        assertEquals(1, heightProvider.processed);
+        assertEquals(1, heightUpdater.processed);
+        assertEquals(2, densityProvider.processed);
+        assertEquals(1, world.getColumnFacetStats().hitCount());
+    }
+
+    @Test
+    public void testUnsharedChainResolvesColumnFacetsFromCache() {
+        HeightProvider heightProvider = new HeightProvider();
+        DensityProvider densityProvider = new DensityProvider();
+        WorldImpl world = build(new FacetRecorder<>(DensityFacet.class), heightProvider, densityProvider);
+
+        world.rasterizeChunk(chunkAt(0, 0, 0), null);
+        world.rasterizeChunk(chunkAt(0, -1, 0), null);
+
+        assertEquals(1, heightProvider.processed);
+        assertEquals(2, densityProvider.processed);
+    }
+
+    @Test
+    public void testDifferentColumnsAreGeneratedSeparately() {
+        HeightProvider heightProvider = new HeightProvider();
+        FacetRecorder<HeightFacet> recorder = new FacetRecorder<>(HeightFacet.class);
+        WorldImpl world = build(recorder, heightProvider);
+
+        world.rasterizeChunk(chunkAt(0, 0, 0), null);
+        HeightFacet first = recorder.facet;
+        world.rasterizeChunk(chunkAt(1, 0, 0), null);
+
+        assertNotSame(first, recorder.facet);
+        assertEquals(2, heightProvider.processed);
+        assertEquals(0, world.getColumnFacetStats().hitCount());
+    }
+
+    @Test
+    public void testFacetDerivedFrom3DFacetIsNotShared() {
+        HeightProvider heightProvider = new HeightProvider();
+        WorldImpl world = build(new FacetRecorder<>(HeightFacet.class), heightProvider, new OtherDensityProvider(), new DensityToHeightUpdater());
+
+        world.rasterizeChunk(chunkAt(0, 0, 0), null);
+        world.rasterizeChunk(chunkAt(0, 1, 0), null);
+
+        assertEquals(2, heightProvider.processed);
+        assertEquals(0, world.getColumnFacetStats().requestCount());
+    }
+
+    @Test
+    public void testWorldDataIsNotCached() {
+        HeightProvider heightProvider = new HeightProvider();
+        WorldImpl world = build(new FacetRecorder<>(HeightFacet.class), heightProvider);
+        Region3i region = Region3i.createFromMinAndSize(new Vector3i(), new Vector3i(4, 4, 4));
+
+        world.getWorldData(region).getFacet(HeightFacet.class);
+        world.getWorldData(region).getFacet(HeightFacet.class);
+
+        assertEquals(2, heightProvider.processed);
+    }
+
+    private WorldImpl build(WorldRasterizer rasterizer, FacetProvider... providers) {
+        WorldBuilder worldBuilder = new WorldBuilder(context.get(WorldGeneratorPluginLibrary.class));
+        worldBuilder.setSeed(12);
+        for (FacetProvider provider : providers) {
+            worldBuilder.addProvider(provider);
+        }
+        worldBuilder.addRasterizer(rasterizer);
+        return (WorldImpl) worldBuilder.build();
+    }
+
+    private static CoreChunk chunkAt(int x, int y, int z) {
+        CoreChunk chunk = mock(CoreChunk.class);
+        when(chunk.getRegion()).thenReturn(Region3i.createFromMinAndSize(new Vector3i(x * 4, y * 4, z * 4), new Vector3i(4, 4, 4)));
+        return chunk;
+    }
+
+    public static class HeightFacet extends BaseFacet2D {
+        public int updates;
+
+        public HeightFacet(Region3i targetRegion, Border3D border) {
+            super(targetRegion, border);
+        }
+    }
+
+    public static class DensityFacet extends BaseFacet3D {
+        public DensityFacet(Region3i targetRegion, Border3D border) {
+            super(targetRegion, border);
+        }
+    }
+
+    public static class OtherDensityFacet extends BaseFacet3D {
+        public OtherDensityFacet(Region3i targetRegion, Border3D border) {
+            super(targetRegion, border);
+        }
+    }
+
+    @Produces(HeightFacet.class)
+    public static class HeightProvider implements FacetProvider {
+        private int processed;
+
+        @Override
+        public void process(GeneratingRegion region) {
+            processed++;
+            region.setRegionFacet(HeightFacet.class, new HeightFacet(region.getRegion(), region.getBorderForFacet(HeightFacet.class)));
+        }
+    }
+
+    @Updates(@Facet(HeightFacet.class))
+    public static class HeightUpdater implements FacetProvider {
+        private int processed;
+
+        @Override
+        public void process(GeneratingRegion region) {
+            processed++;
+            region.getRegionFacet(HeightFacet.class).updates++;
+        }
+    }
+
+    @Produces(DensityFacet.class)
+    @Requires(@Facet(HeightFacet.class))
+    public static class DensityProvider implements FacetProvider {
+        private int processed;
+
+        @Override
+        public void process(GeneratingRegion region) {
+            processed++;
+            region.setRegionFacet(DensityFacet.class, new DensityFacet(region.getRegion(), region.getBorderForFacet(DensityFacet.class)));
+        }
+    }
+
+    @Produces(OtherDensityFacet.class)
+    public static class OtherDensityProvider implements FacetProvider {
+
+        @Override
+        public void process(GeneratingRegion region) {
+            region.setRegionFacet(OtherDensityFacet.class, new OtherDensityFacet(region.getRegion(), region.getBorderForFacet(OtherDensityFacet.class)));
+        }
+    }
+
+    @Updates(@Facet(HeightFacet.class))
+    @Requires(@Facet(OtherDensityFacet.class))
+    public static class DensityToHeightUpdater implements FacetProvider {
+
+        @Override
+        public void process(GeneratingRegion region) {
+            region.getRegionFacet(HeightFacet.class).updates++;
+        }
+    }
+
+    private static class FacetRecorder<T extends WorldFacet> implements WorldRasterizer {
+        private final Class<T> facetType;
+        private T facet;
+
+        FacetRecorder(Class<T> facetType) {
+            this.facetType = facetType;
+        }
+
+        @Override
+        public void initialize() {
+        }
+
+        @Override
+        public void generateChunk(CoreChunk chunk, Region chunkRegion) {
+            facet = chunkRegion.getFacet(facetType);
+        }
+    }
+}
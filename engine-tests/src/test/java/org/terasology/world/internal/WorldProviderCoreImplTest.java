@@ -0,0 +1,194 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.world.internal;
+
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.terasology.context.internal.ContextImpl;
+import org.terasology.engine.SimpleUri;
+import org.terasology.math.Region3i;
+import org.terasology.math.geom.Vector3i;
+import org.terasology.world.WorldChangeListener;
+import org.terasology.world.block.Block;
+import org.terasology.world.chunks.Chunk;
+import org.terasology.world.chunks.ChunkConstants;
+import org.terasology.world.chunks.internal.GeneratingChunkProvider;
+import org.terasology.world.propagation.BlockChange;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class WorldProviderCoreImplTest {
+
+    private final Map<Vector3i, Chunk> chunks = Maps.newHashMap();
+    private final Block air = new Block();
+    private final Block stone = new Block();
+    private WorldProviderCoreImpl worldProvider;
+    private WorldChangeListener listener;
+
+    @Before
+    public void setup() {
+        GeneratingChunkProvider chunkProvider = mock(GeneratingChunkProvider.class);
+        when(chunkProvider.getChunk(any(Vector3i.class))).thenAnswer(invocation -> chunks.get(invocation.<Vector3i>getArgument(0)));
+        when(chunkProvider.getChunk(anyInt(), anyInt(), anyInt())).thenAnswer(invocation ->
+                chunks.get(new Vector3i(invocation.<Integer>getArgument(0), invocation.<Integer>getArgument(1), invocation.<Integer>getArgument(2))));
+        worldProvider = new WorldProviderCoreImpl("test", "seed", 0, new SimpleUri("test:generator"), chunkProvider, air, new ContextImpl());
+        listener = mock(WorldChangeListener.class);
+        worldProvider.registerListener(listener);
+    }
+
+    @Test
+    public void testSetBlocksInRegionAcrossChunks() {
+        Chunk first = addChunk(new Vector3i(0, 0, 0));
+        Chunk second = addChunk(new Vector3i(1, 0, 0));
+        // Region spans the unloaded chunk (-1, 0, 0), all of first along x and the first two blocks of second
+        Region3i region = Region3i.createFromMinMax(new Vector3i(-2, 1, 1), new Vector3i(ChunkConstants.SIZE_X + 1, 2, 2));
+
+        assertEquals((ChunkConstants.SIZE_X + 2) * 2 * 2, worldProvider.setBlocks(region, stone));
+        assertSame(stone, worldProvider.getBlock(0, 1, 1));
+        assertSame(stone, worldProvider.getBlock(ChunkConstants.SIZE_X + 1, 2, 2));
+        verify(first, times(1)).setDirty(true);
+        verify(second, times(1)).setDirty(true);
+    }
+
+    @Test
+    public void testSetBlocksInRegionCountsOnlyChangedBlocks() {
+        addChunk(new Vector3i(0, 0, 0));
+        Region3i region = Region3i.createFromMinMax(new Vector3i(1, 1, 1), new Vector3i(2, 2, 2));
+        worldProvider.setBlocks(Region3i.createFromMinMax(new Vector3i(1, 1, 1), new Vector3i(1, 1, 1)), stone);
+
+        assertEquals(7, worldProvider.setBlocks(region, stone));
+        assertEquals(0, worldProvider.setBlocks(region, stone));
+    }
+
+    @Test
+    public void testOnlyBorderNeighboursMarkedDirty() {
+        Chunk chunk = addChunk(new Vector3i(0, 0, 0));
+        Chunk borderNeighbour = addChunk(new Vector3i(-1, 0, 0));
+        Chunk otherNeighbour = addChunk(new Vector3i(0, 1, 0));
+        Chunk diagonalNeighbour = addChunk(new Vector3i(-1, 0, -1));
+        Map<Vector3i, Block> blocks = Maps.newHashMap();
+        blocks.put(new Vector3i(0, 5, 5), stone);
+        blocks.put(new Vector3i(0, 6, 5), stone);
+        blocks.put(new Vector3i(3, 5, 5), stone);
+
+        worldProvider.setBlocks(blocks);
+
+        verify(chunk, times(1)).setDirty(true);
+        verify(borderNeighbour, times(1)).setDirty(true);
+        verify(otherNeighbour, never()).setDirty(true);
+        verify(diagonalNeighbour, never()).setDirty(true);
+    }
+
+    @Test
+    public void testSetBlocksReturnsNullForUnloadedChunks() {
+        addChunk(new Vector3i(0, 0, 0));
+        Map<Vector3i, Block> blocks = Maps.newHashMap();
+        blocks.put(new Vector3i(1, 1, 1), stone);
+        blocks.put(new Vector3i(-1, 1, 1), stone);
+
+        Map<Vector3i, Block> result = worldProvider.setBlocks(blocks);
+
+        assertSame(air, result.get(new Vector3i(1, 1, 1)));
+        assertNull(result.get(new Vector3i(-1, 1, 1)));
+        assertEquals(2, result.size());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testListenersNotifiedOnceWithEachChange() {
+        addChunk(new Vector3i(0, 0, 0));
+        addChunk(new Vector3i(1, 0, 0));
+        Region3i region = Region3i.createFromMinMax(new Vector3i(ChunkConstants.SIZE_X - 2, 0, 0), new Vector3i(ChunkConstants.SIZE_X + 1, 1, 1));
+
+        worldProvider.setBlocks(region, stone);
+
+        ArgumentCaptor<Collection<BlockChange>> changes = ArgumentCaptor.forClass((Class) Collection.class);
+        verify(listener, times(1)).onBlocksChanged(changes.capture());
+        verify(listener, never()).onBlockChanged(any(), any(), any());
+        Set<Vector3i> positions = Sets.newHashSet();
+        for (BlockChange change : changes.getValue()) {
+            positions.add(change.getPosition());
+            assertSame(air, change.getFrom());
+            assertSame(stone, change.getTo());
+        }
+        assertEquals(Sets.newHashSet(region), positions);
+        assertEquals(positions.size(), changes.getValue().size());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testNotifiedChangesUnaffectedByLaterChanges() {
+        addChunk(new Vector3i(0, 0, 0));
+        Map<Vector3i, Block> blocks = Maps.newHashMap();
+        blocks.put(new Vector3i(1, 1, 1), stone);
+
+        worldProvider.setBlocks(blocks);
+        blocks.put(new Vector3i(1, 1, 1), air);
+        worldProvider.setBlocks(blocks);
+
+        ArgumentCaptor<Collection<BlockChange>> changes = ArgumentCaptor.forClass((Class) Collection.class);
+        verify(listener, times(2)).onBlocksChanged(changes.capture());
+        BlockChange first = changes.getAllValues().get(0).iterator().next();
+        assertSame(air, first.getFrom());
+        assertSame(stone, first.getTo());
+    }
+
+    @Test
+    public void testListenersNotNotifiedWithoutChanges() {
+        Map<Vector3i, Block> blocks = Maps.newHashMap();
+        blocks.put(new Vector3i(1, 1, 1), stone);
+
+        worldProvider.setBlocks(blocks);
+
+        verify(listener, never()).onBlocksChanged(any());
+    }
+
+    private Chunk addChunk(Vector3i chunkPos) {
+        Map<Vector3i, Block> blocks = Maps.newHashMap();
+        Chunk chunk = mock(Chunk.class);
+        when(chunk.getPosition()).thenReturn(chunkPos);
+        when(chunk.getRegion()).thenReturn(Region3i.createFromMinAndSize(new Vector3i(chunkPos.x * ChunkConstants.SIZE_X,
+                chunkPos.y * ChunkConstants.SIZE_Y, chunkPos.z * ChunkConstants.SIZE_Z), ChunkConstants.CHUNK_SIZE));
+        when(chunk.getBlock(anyInt(), anyInt(), anyInt())).thenAnswer(invocation -> {
+            Block block = blocks.get(new Vector3i(invocation.<Integer>getArgument(0), invocation.<Integer>getArgument(1),
+                    invocation.<Integer>getArgument(2)));
+            return (block != null) ? block : air;
+        });
+        when(chunk.setBlock(anyInt(), anyInt(), anyInt(), any(Block.class))).thenAnswer(invocation -> {
+            Block oldBlock = blocks.put(new Vector3i(invocation.<Integer>getArgument(0), invocation.<Integer>getArgument(1),
+                    invocation.<Integer>getArgument(2)), invocation.getArgument(3));
+            return (oldBlock != null) ? oldBlock : air;
+        });
+        chunks.put(chunkPos, chunk);
+        return chunk;
+    }
+}
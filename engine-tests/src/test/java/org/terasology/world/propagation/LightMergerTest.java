@@ -0,0 +1,70 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.world.propagation;
+
+import org.junit.After;
+import org.junit.Test;
+import org.terasology.math.geom.Vector3i;
+import org.terasology.world.chunks.Chunk;
+import org.terasology.world.chunks.internal.GeneratingChunkProvider;
+import org.terasology.world.propagation.light.LightMerger;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class LightMergerTest {
+
+    private LightMerger<String> merger = new LightMerger<>(mock(GeneratingChunkProvider.class), 3);
+
+    @After
+    public void teardown() {
+        merger.shutdown();
+    }
+
+    @Test
+    public void testOverlappingNeighbourhoodsAreNotMergedTogether() {
+        assertTrue(merger.beginMerge(chunkAt(0, 0, 0), "a"));
+        assertFalse(merger.canMerge(new Vector3i(2, 2, -2)));
+        assertFalse(merger.beginMerge(chunkAt(1, 0, 0), "b"));
+        assertTrue(merger.beginMerge(chunkAt(3, 0, 0), "c"));
+        assertTrue(merger.beginMerge(chunkAt(0, -1, 3), "d"));
+        assertTrue(merger.isBatchFull());
+        assertFalse(merger.beginMerge(chunkAt(10, 10, 10), "e"));
+    }
+
+    @Test
+    public void testCompleteMergesReturnsWholeBatch() {
+        merger.beginMerge(chunkAt(0, 0, 0), "a");
+        merger.beginMerge(chunkAt(0, 5, 0), "b");
+
+        assertEquals(Arrays.asList("a", "b"), merger.completeMerges());
+        assertTrue(merger.completeMerges().isEmpty());
+        assertTrue(merger.canMerge(new Vector3i(1, 0, 0)));
+        assertEquals(2, merger.getMergedChunkCount());
+        assertEquals(2, merger.getAverageBatchSize(), 0.001f);
+    }
+
+    private static Chunk chunkAt(int x, int y, int z) {
+        Chunk chunk = mock(Chunk.class);
+        when(chunk.getPosition()).thenReturn(new Vector3i(x, y, z));
+        return chunk;
+    }
+}
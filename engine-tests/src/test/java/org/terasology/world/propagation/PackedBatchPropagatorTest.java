@@ -0,0 +1,163 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.world.propagation;
+
+import com.google.common.collect.Lists;
+import org.junit.Before;
+import org.junit.Test;
+import org.terasology.TerasologyTestingEnvironment;
+import org.terasology.assets.ResourceUrn;
+import org.terasology.assets.management.AssetManager;
+import org.terasology.math.Region3i;
+import org.terasology.math.geom.Vector3i;
+import org.terasology.registry.CoreRegistry;
+import org.terasology.world.block.Block;
+import org.terasology.world.block.BlockManager;
+import org.terasology.world.block.BlockUri;
+import org.terasology.world.block.family.SymmetricBlockFamilyFactory;
+import org.terasology.world.block.internal.BlockManagerImpl;
+import org.terasology.world.block.loader.BlockFamilyDefinition;
+import org.terasology.world.block.loader.BlockFamilyDefinitionData;
+import org.terasology.world.block.shapes.BlockShape;
+import org.terasology.world.block.tiles.NullWorldAtlas;
+import org.terasology.world.chunks.ChunkConstants;
+import org.terasology.world.propagation.light.LightPropagationRules;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class PackedBatchPropagatorTest extends TerasologyTestingEnvironment {
+
+    private Block air;
+    private Block fullLight;
+    private Block solid;
+    private LightPropagationRules lightRules;
+
+    private Region3i testingRegion = Region3i.createFromMinMax(new Vector3i(-20, -20, -20), new Vector3i(20, 20, 20));
+
+    @Before
+    public void setup() throws Exception {
+        super.setup();
+        lightRules = new LightPropagationRules();
+        AssetManager assetManager = CoreRegistry.get(AssetManager.class);
+        BlockManagerImpl blockManager = new BlockManagerImpl(new NullWorldAtlas(), assetManager, true);
+        CoreRegistry.put(BlockManager.class, blockManager);
+
+        BlockFamilyDefinitionData fullLightData = new BlockFamilyDefinitionData();
+        fullLightData.getBaseSection().setDisplayName("Torch");
+        fullLightData.getBaseSection().setShape(assetManager.getAsset("engine:cube", BlockShape.class).get());
+        fullLightData.getBaseSection().setLuminance(ChunkConstants.MAX_LIGHT);
+        fullLightData.getBaseSection().setTranslucent(true);
+        fullLightData.setFamilyFactory(new SymmetricBlockFamilyFactory());
+        assetManager.loadAsset(new ResourceUrn("engine:torch"), fullLightData, BlockFamilyDefinition.class);
+        fullLight = blockManager.getBlock(new BlockUri(new ResourceUrn("engine:torch")));
+
+        BlockFamilyDefinitionData solidData = new BlockFamilyDefinitionData();
+        solidData.getBaseSection().setDisplayName("Stone");
+        solidData.getBaseSection().setShape(assetManager.getAsset("engine:cube", BlockShape.class).get());
+        solidData.getBaseSection().setTranslucent(false);
+        solidData.setFamilyFactory(new SymmetricBlockFamilyFactory());
+        assetManager.loadAsset(new ResourceUrn("engine:stone"), solidData, BlockFamilyDefinition.class);
+        solid = blockManager.getBlock(new BlockUri(new ResourceUrn("engine:stone")));
+
+        air = blockManager.getBlock(BlockManager.AIR_ID);
+    }
+
+    @Test
+    public void testPackingRoundTrip() {
+        int[] coordinates = {0, 1, -1, (1 << 20) - 1, -(1 << 20), ChunkConstants.SIZE_Y};
+        Vector3i unpacked = new Vector3i();
+        for (int x : coordinates) {
+            for (int y : coordinates) {
+                for (int z : coordinates) {
+                    PackedBatchPropagator.unpack(PackedBatchPropagator.pack(x, y, z), unpacked);
+                    assertEquals(new Vector3i(x, y, z), unpacked);
+                }
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testPackingRejectsCoordinateAboveRange() {
+        PackedBatchPropagator.pack(0, 1 << 20, 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testPackingRejectsCoordinateBelowRange() {
+        PackedBatchPropagator.pack(-(1 << 20) - 1, 0, 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testPositionSetRejectsNegativeValues() {
+        new PackedPositionSet().add(-2);
+    }
+
+    @Test
+    public void testPositionSetKeepsInsertionOrder() {
+        PackedPositionSet set = new PackedPositionSet();
+        for (long i = 100; i > 0; --i) {
+            assertTrue(set.add(i));
+        }
+        assertFalse(set.add(50));
+        set.remove(40);
+        assertEquals(100, set.iterationLength());
+        assertEquals(100, set.get(0));
+        assertEquals(PackedPositionSet.REMOVED, set.get(60));
+        assertTrue(set.add(40));
+        assertEquals(40, set.get(100));
+
+        set.clear();
+        assertTrue(set.isEmpty());
+        assertEquals(0, set.iterationLength());
+        assertTrue(set.add(50));
+    }
+
+    @Test
+    public void testMatchesStandardPropagator() {
+        StubPropagatorWorldView standardWorld = new StubPropagatorWorldView(testingRegion, air);
+        StubPropagatorWorldView packedWorld = new StubPropagatorWorldView(testingRegion, air);
+        BatchPropagator standard = new StandardBatchPropagator(lightRules, standardWorld);
+        BatchPropagator packed = new PackedBatchPropagator(lightRules, packedWorld);
+        Block[] blocks = {air, solid, fullLight};
+
+        Random random = new Random(4);
+        for (int round = 0; round < 10; ++round) {
+            List<BlockChange> standardChanges = Lists.newArrayList();
+            List<BlockChange> packedChanges = Lists.newArrayList();
+            for (int i = 0; i < 50; ++i) {
+                Vector3i pos = new Vector3i(random.nextInt(31) - 15, random.nextInt(31) - 15, random.nextInt(31) - 15);
+                Block from = standardWorld.getBlockAt(pos);
+                Block to = blocks[random.nextInt(blocks.length)];
+                if (from != to) {
+                    standardWorld.setBlockAt(pos, to);
+                    packedWorld.setBlockAt(pos, to);
+                    standardChanges.add(new BlockChange(pos, from, to));
+                    packedChanges.add(new BlockChange(pos, from, to));
+                }
+            }
+            standard.process(standardChanges);
+            packed.process(packedChanges);
+
+            for (Vector3i pos : testingRegion) {
+                assertEquals("Mismatch at " + pos, standardWorld.getValueAt(pos), packedWorld.getValueAt(pos));
+            }
+        }
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.benchmark.chunks.arrays;
+
+import org.terasology.world.chunks.blockdata.TeraArray;
+
+import java.util.Random;
+
+/**
+ * BenchmarkTeraArrayRandomAccess implements a read and write performance benchmark for tera arrays
+ * which accesses the elements in random order, the way block lookups and edits do.
+ *
+ */
+public class BenchmarkTeraArrayRandomAccess extends BenchmarkTeraArray {
+
+    private static final int ACCESSES = 65536;
+
+    private final boolean write;
+    private final int[] positions = new int[ACCESSES * 3];
+    private final int[] values = new int[ACCESSES];
+
+    /**
+     * @param array the array to access
+     * @param write true to set the elements, false to get them
+     * @param distinctValues the number of distinct values to write
+     */
+    public BenchmarkTeraArrayRandomAccess(TeraArray array, boolean write, int distinctValues) {
+        super(array);
+        this.write = write;
+        Random random = new Random(1);
+        for (int i = 0; i < ACCESSES; i++) {
+            positions[i * 3] = random.nextInt(array.getSizeX());
+            positions[i * 3 + 1] = random.nextInt(array.getSizeY());
+            positions[i * 3 + 2] = random.nextInt(array.getSizeZ());
+            values[i] = random.nextInt(distinctValues);
+        }
+    }
+
+    @Override
+    public String getTitle() {
+        return array.getClass().getSimpleName() + " random " + (write ? "write" : "read") + " performance";
+    }
+
+    @Override
+    public void run() {
+        int tmp = 0;
+        for (int i = 0; i < ACCESSES; i++) {
+            int x = positions[i * 3];
+            int y = positions[i * 3 + 1];
+            int z = positions[i * 3 + 2];
+            if (write) {
+                array.set(x, y, z, values[i]);
+            } else {
+                tmp += array.get(x, y, z);
+            }
+        }
+    }
+
+}
@@ -18,10 +18,16 @@
 import org.terasology.benchmark.Benchmarks;
 import org.terasology.benchmark.Benchmark;
 import org.terasology.benchmark.PrintToConsoleCallback;
+import org.terasology.world.chunks.blockdata.TeraArray;
+import org.terasology.world.chunks.blockdata.TeraDenseArray16Bit;
 import org.terasology.world.chunks.blockdata.TeraDenseArray8Bit;
+import org.terasology.world.chunks.blockdata.TeraPaletteArray16Bit;
+import org.terasology.world.chunks.blockdata.TeraSparseArray16Bit;
 
+import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Random;
 
 /**
  * TeraArraysBenchmark simplifies the execution of the benchmarks for tera arrays.
@@ -48,10 +54,73 @@ public final class TeraArraysBenchmark {
     private TeraArraysBenchmark() {
     }
 
+    /**
+     * @return block ids of a chunk of size 32x64x32 with layered terrain, some ores and air
+     */
+    private static short[] createTerrain() {
+        final Random random = new Random(5);
+        final short[] data = new short[32 * 64 * 32];
+        for (int x = 0; x < 32; x++) {
+            for (int z = 0; z < 32; z++) {
+                final int height = 36 + random.nextInt(4);
+                for (int y = 0; y < height; y++) {
+                    short id;
+                    if (y == height - 1) {
+                        id = 4;
+                    } else if (y > height - 4) {
+                        id = 3;
+                    } else if (random.nextInt(50) == 0) {
+                        id = (short) (5 + random.nextInt(4));
+                    } else {
+                        id = 2;
+                    }
+                    data[y * 32 * 32 + z * 32 + x] = id;
+                }
+            }
+        }
+        return data;
+    }
+
+    private static TeraArray createSparse(short[] data) {
+        final short[][] inflated = new short[64][];
+        final short[] deflated = new short[64];
+        for (int y = 0; y < 64; y++) {
+            final short[] row = Arrays.copyOfRange(data, y * 32 * 32, (y + 1) * 32 * 32);
+            boolean uniform = true;
+            for (short value : row) {
+                uniform &= value == row[0];
+            }
+            if (uniform) {
+                deflated[y] = row[0];
+            } else {
+                inflated[y] = row;
+            }
+        }
+        return new TeraSparseArray16Bit(32, 64, 32, inflated, deflated);
+    }
+
+    private static void printMemoryConsumption(TeraArray... arrays) {
+        for (TeraArray array : arrays) {
+            System.out.println(array.getClass().getSimpleName() + " memory consumption: " + array.getEstimatedMemoryConsumptionInBytes() + " bytes");
+        }
+    }
+
     public static void main(String[] args) {
 
         final List<Benchmark> benchmarks = new LinkedList<>();
 
+        final short[] terrain = createTerrain();
+        final TeraArray dense16Bit = new TeraDenseArray16Bit(32, 64, 32, terrain);
+        final TeraArray sparse16Bit = createSparse(terrain);
+        final TeraArray palette16Bit = new TeraPaletteArray16Bit(32, 64, 32, terrain);
+        printMemoryConsumption(dense16Bit, sparse16Bit, palette16Bit);
+
+        for (TeraArray array : new TeraArray[]{dense16Bit, sparse16Bit, palette16Bit}) {
+            benchmarks.add(new BenchmarkTeraArrayRead(array.copy()));
+            benchmarks.add(new BenchmarkTeraArrayRandomAccess(array.copy(), false, 8));
+            benchmarks.add(new BenchmarkTeraArrayRandomAccess(array.copy(), true, 8));
+        }
+
         benchmarks.add(new BenchmarkTeraArraySerializeObject(new TeraDenseArray8Bit.SerializationHandler(), new TeraDenseArray8Bit(16, 256, 16)));
         benchmarks.add(new BenchmarkTeraArraySerializeToBuffer(new TeraDenseArray8Bit.SerializationHandler(), new TeraDenseArray8Bit(16, 256, 16)));
         benchmarks.add(new BenchmarkTeraArraySerializeToByteString(new TeraDenseArray8Bit.SerializationHandler(), new TeraDenseArray8Bit(16, 256, 16)));
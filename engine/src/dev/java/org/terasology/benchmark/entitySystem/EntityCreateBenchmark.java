@@ -19,6 +19,8 @@
 import com.google.common.collect.Lists;
 import org.terasology.benchmark.AbstractBenchmark;
 import org.terasology.entitySystem.Component;
+import org.terasology.entitySystem.entity.internal.ComponentStore;
+import org.terasology.entitySystem.entity.internal.ComponentTable;
 import org.terasology.entitySystem.entity.internal.PojoEntityManager;
 import org.terasology.logic.location.LocationComponent;
 import org.terasology.rendering.logic.MeshComponent;
@@ -26,13 +28,21 @@
 import org.terasology.world.block.BlockComponent;
 
 import java.util.List;
+import java.util.function.Supplier;
 
 public class EntityCreateBenchmark extends AbstractBenchmark {
 
     private List<List<Component>> rawEntityData;
 
+    private final Supplier<ComponentStore> storeFactory;
+
     public EntityCreateBenchmark() {
-        super("Create Entities", 10000, new int[]{10000});
+        this("Create Entities", ComponentTable::new);
+    }
+
+    public EntityCreateBenchmark(String title, Supplier<ComponentStore> storeFactory) {
+        super(title, 10000, new int[]{10000});
+        this.storeFactory = storeFactory;
     }
 
     @Override
@@ -56,7 +66,7 @@ public void setup() {
 
     @Override
     public void run() {
-        PojoEntityManager entityManager = new PojoEntityManager();
+        PojoEntityManager entityManager = new PojoEntityManager(storeFactory.get());
         rawEntityData.forEach(entityManager::create);
     }
 }
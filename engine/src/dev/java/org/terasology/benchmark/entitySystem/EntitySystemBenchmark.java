@@ -22,6 +22,7 @@
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.terasology.benchmark.Benchmark;
+import org.terasology.entitySystem.entity.internal.ArchetypeComponentTable;
 
 import java.util.List;
 
@@ -40,6 +41,11 @@ public static void main(String[] args) {
         benchmarks.add(new EntityCreateBenchmark());
         benchmarks.add(new IterateSingleComponentBenchmark());
         benchmarks.add(new IterateMultipleComponentBenchmark());
+        benchmarks.add(new EntityCreateBenchmark("Create Entities (archetype storage)", ArchetypeComponentTable::new));
+        benchmarks.add(new IterateSingleComponentBenchmark("Iterate Entities Single Component (archetype storage)",
+                ArchetypeComponentTable::new));
+        benchmarks.add(new IterateMultipleComponentBenchmark("Iterate entities by multiple components (archetype storage)",
+                ArchetypeComponentTable::new));
         Benchmarks.execute(benchmarks, new PrintToConsoleCallback());
 
     }
@@ -20,6 +20,8 @@
 import org.terasology.benchmark.AbstractBenchmark;
 import org.terasology.entitySystem.Component;
 import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.entitySystem.entity.internal.ComponentStore;
+import org.terasology.entitySystem.entity.internal.ComponentTable;
 import org.terasology.entitySystem.entity.internal.PojoEntityManager;
 import org.terasology.logic.location.LocationComponent;
 import org.terasology.rendering.logic.MeshComponent;
@@ -27,6 +29,7 @@
 import org.terasology.world.block.BlockComponent;
 
 import java.util.List;
+import java.util.function.Supplier;
 
 /**
  *
@@ -36,8 +39,15 @@ public class IterateMultipleComponentBenchmark extends AbstractBenchmark {
     private List<List<Component>> rawEntityData;
     private PojoEntityManager entityManager;
 
+    private final Supplier<ComponentStore> storeFactory;
+
     public IterateMultipleComponentBenchmark() {
-        super("Iterate entities by multiple components", 10000, new int[]{10000});
+        this("Iterate entities by multiple components", ComponentTable::new);
+    }
+
+    public IterateMultipleComponentBenchmark(String title, Supplier<ComponentStore> storeFactory) {
+        super(title, 10000, new int[]{10000});
+        this.storeFactory = storeFactory;
     }
 
     @Override
@@ -58,7 +68,7 @@ public void setup() {
             rawEntityData.add(entityData);
         }
 
-        entityManager = new PojoEntityManager();
+        entityManager = new PojoEntityManager(storeFactory.get());
         for (List<Component> rawEntity : rawEntityData) {
             entityManager.create(rawEntity);
         }
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.benchmark.propagation;
+
+import com.google.common.collect.Lists;
+import org.terasology.benchmark.AbstractBenchmark;
+import org.terasology.math.Side;
+import org.terasology.math.geom.Vector3i;
+import org.terasology.world.block.Block;
+import org.terasology.world.propagation.BatchPropagator;
+import org.terasology.world.propagation.BlockChange;
+import org.terasology.world.propagation.PropagationRules;
+import org.terasology.world.propagation.PropagatorWorldView;
+import org.terasology.world.propagation.light.LightPropagationRules;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.BiFunction;
+
+/**
+ * Measures light propagation for a large block edit: a sphere of stone among light sources is blasted away and then
+ * filled in again, as an explosion followed by a repair would do.
+ */
+public class BatchPropagatorBenchmark extends AbstractBenchmark {
+    private static final int SIZE = 64;
+    private static final int RADIUS = 10;
+
+    private final BiFunction<PropagationRules, PropagatorWorldView, BatchPropagator> propagatorFactory;
+
+    private ArrayWorldView world;
+    private BatchPropagator propagator;
+    private List<BlockChange> blast;
+    private List<BlockChange> repair;
+
+    public BatchPropagatorBenchmark(String propagatorName, BiFunction<PropagationRules, PropagatorWorldView, BatchPropagator> propagatorFactory) {
+        super("Light propagation for a blast via " + propagatorName, 20, new int[]{100});
+        this.propagatorFactory = propagatorFactory;
+    }
+
+    @Override
+    public void setup() {
+        Block air = new Block();
+        air.setTranslucent(true);
+        Block stone = new Block();
+        for (Side side : Side.values()) {
+            stone.setFullSide(side, true);
+        }
+        Block torch = new Block();
+        torch.setTranslucent(true);
+        torch.setLuminance((byte) 15);
+
+        world = new ArrayWorldView(air);
+        LightPropagationRules rules = new LightPropagationRules();
+        propagator = propagatorFactory.apply(rules, world);
+
+        blast = Lists.newArrayList();
+        repair = Lists.newArrayList();
+        List<BlockChange> torches = Lists.newArrayList();
+        Vector3i center = new Vector3i(SIZE / 2, SIZE / 2, SIZE / 2);
+        for (int x = 0; x < SIZE; ++x) {
+            for (int y = 0; y < SIZE; ++y) {
+                for (int z = 0; z < SIZE; ++z) {
+                    Vector3i pos = new Vector3i(x, y, z);
+                    if (pos.distanceSquared(center) <= RADIUS * RADIUS) {
+                        world.setBlockAt(pos, stone);
+                        blast.add(new BlockChange(pos, stone, air));
+                        repair.add(new BlockChange(pos, air, stone));
+                    } else if (x % 8 == 0 && y % 8 == 0 && z % 8 == 0) {
+                        world.setBlockAt(pos, torch);
+                        torches.add(new BlockChange(pos, air, torch));
+                    }
+                }
+            }
+        }
+        propagator.process(torches);
+    }
+
+    @Override
+    public void run() {
+        for (BlockChange change : blast) {
+            world.setBlockAt(change.getPosition(), change.getTo());
+        }
+        propagator.process(blast);
+        for (BlockChange change : repair) {
+            world.setBlockAt(change.getPosition(), change.getTo());
+        }
+        propagator.process(repair);
+    }
+
+    private static final class ArrayWorldView implements PropagatorWorldView {
+        private final Block[] blocks = new Block[SIZE * SIZE * SIZE];
+        private final byte[] values = new byte[SIZE * SIZE * SIZE];
+
+        ArrayWorldView(Block fill) {
+            Arrays.fill(blocks, fill);
+        }
+
+        @Override
+        public byte getValueAt(Vector3i pos) {
+            int index = indexOf(pos);
+            return index < 0 ? UNAVAILABLE : values[index];
+        }
+
+        @Override
+        public void setValueAt(Vector3i pos, byte value) {
+            values[indexOf(pos)] = value;
+        }
+
+        @Override
+        public Block getBlockAt(Vector3i pos) {
+            int index = indexOf(pos);
+            return index < 0 ? null : blocks[index];
+        }
+
+        void setBlockAt(Vector3i pos, Block block) {
+            blocks[indexOf(pos)] = block;
+        }
+
+        private static int indexOf(Vector3i pos) {
+            if (pos.x < 0 || pos.y < 0 || pos.z < 0 || pos.x >= SIZE || pos.y >= SIZE || pos.z >= SIZE) {
+                return -1;
+            }
+            return pos.x + SIZE * (pos.y + SIZE * pos.z);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.benchmark.reflectFactory;
+
+import org.terasology.benchmark.AbstractBenchmark;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.entitySystem.entity.internal.PojoEntityManager;
+import org.terasology.entitySystem.entity.lifecycleEvents.OnChangedComponent;
+import org.terasology.logic.location.LocationComponent;
+import org.terasology.reflection.reflect.EventHandlerInvoker;
+import org.terasology.reflection.reflect.ReflectFactory;
+
+import java.lang.reflect.Method;
+import java.util.function.Function;
+
+/**
+ * Measures the invocation of an event handler method with a single component parameter.
+ */
+public class EventHandlerInvocationBenchmark extends AbstractBenchmark {
+
+    private static final Logger logger = LoggerFactory.getLogger(EventHandlerInvocationBenchmark.class);
+    private Function<Method, EventHandlerInvoker> invokerFactory;
+    private EventHandlerInvoker invoker;
+    private EventHandler handler;
+    private EntityRef entity;
+    private OnChangedComponent event;
+
+    public EventHandlerInvocationBenchmark(ReflectFactory reflectFactory) {
+        this(reflectFactory.getClass().getSimpleName(), reflectFactory::createEventHandlerInvoker);
+    }
+
+    public EventHandlerInvocationBenchmark(String invokerName, Function<Method, EventHandlerInvoker> invokerFactory) {
+        super("Event handler invocation via " + invokerName, 100000000, new int[]{100000000, 100000000});
+        this.invokerFactory = invokerFactory;
+    }
+
+    @Override
+    public void setup() {
+        handler = new EventHandler();
+        entity = new PojoEntityManager().create(new LocationComponent());
+        event = OnChangedComponent.newInstance();
+        try {
+            invoker = invokerFactory.apply(EventHandler.class.getMethod("onEvent", OnChangedComponent.class, EntityRef.class, LocationComponent.class));
+        } catch (NoSuchMethodException e) {
+            logger.error("Failed to establish event handler invoker", e);
+        }
+    }
+
+    @Override
+    public void run() {
+        invoker.invoke(handler, event, entity);
+    }
+
+    @Override
+    public void finish(boolean aborted) {
+        logger.info("Handler received {} events", handler.count);
+    }
+
+    public static class EventHandler {
+        private long count;
+
+        public void onEvent(OnChangedComponent event, EntityRef entity, LocationComponent location) {
+            if (location != null) {
+                count++;
+            }
+        }
+    }
+}
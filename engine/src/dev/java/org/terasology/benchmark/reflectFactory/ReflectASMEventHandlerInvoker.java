@@ -0,0 +1,54 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.benchmark.reflectFactory;
+
+import com.esotericsoftware.reflectasm.MethodAccess;
+import org.terasology.entitySystem.Component;
+import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.entitySystem.event.Event;
+import org.terasology.reflection.reflect.EventHandlerInvoker;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+
+/**
+ * Invokes event handlers the way the event system does without a reflect factory, for comparison with the invokers
+ * created by the reflect factories.
+ */
+public class ReflectASMEventHandlerInvoker implements EventHandlerInvoker {
+    private MethodAccess methodAccess;
+    private int methodIndex;
+    private Class<? extends Component>[] componentParams;
+
+    @SuppressWarnings("unchecked")
+    public ReflectASMEventHandlerInvoker(Method method) {
+        methodAccess = MethodAccess.get(method.getDeclaringClass());
+        methodIndex = methodAccess.getIndex(method.getName(), method.getParameterTypes());
+        Class<?>[] types = method.getParameterTypes();
+        componentParams = (Class<? extends Component>[]) Arrays.copyOfRange(types, 2, types.length);
+    }
+
+    @Override
+    public void invoke(Object handler, Event event, EntityRef entity) {
+        Object[] params = new Object[2 + componentParams.length];
+        params[0] = event;
+        params[1] = entity;
+        for (int i = 0; i < componentParams.length; ++i) {
+            params[i + 2] = entity.getComponent(componentParams[i]);
+        }
+        methodAccess.invoke(handler, methodIndex, params);
+    }
+}
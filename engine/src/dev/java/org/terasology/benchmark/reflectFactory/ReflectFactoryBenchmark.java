@@ -45,6 +45,9 @@ public static void main(String[] args) {
         benchmarks.add(new GetterSetterAccessBenchmark(new ByteCodeReflectFactory()));
         benchmarks.add(new ConstructionBenchmark(new ReflectionReflectFactory()));
         benchmarks.add(new ConstructionBenchmark(new ByteCodeReflectFactory()));
+        benchmarks.add(new EventHandlerInvocationBenchmark(new ReflectionReflectFactory()));
+        benchmarks.add(new EventHandlerInvocationBenchmark("ReflectASM", ReflectASMEventHandlerInvoker::new));
+        benchmarks.add(new EventHandlerInvocationBenchmark(new ByteCodeReflectFactory()));
 
         Benchmarks.execute(benchmarks, new PrintToConsoleCallback());
 
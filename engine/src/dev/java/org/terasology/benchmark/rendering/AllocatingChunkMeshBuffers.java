@@ -0,0 +1,188 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.benchmark.rendering;
+
+import gnu.trove.iterator.TIntIterator;
+import org.lwjgl.BufferUtils;
+import org.terasology.math.Direction;
+import org.terasology.math.TeraMath;
+import org.terasology.math.geom.Vector3f;
+import org.terasology.rendering.RenderMath;
+import org.terasology.rendering.primitives.ChunkMesh;
+import org.terasology.world.ChunkView;
+import org.terasology.world.block.Block;
+
+/**
+ * The buffer assembly of ChunkTessellator before it moved to ChunkMeshBufferBuilder, kept as the baseline of the
+ * tessellation benchmark. It allocates vectors and arrays for every vertex and looks up each sample through the view.
+ */
+final class AllocatingChunkMeshBuffers {
+
+    private AllocatingChunkMeshBuffers() {
+    }
+
+    static int build(ChunkView chunkView, ChunkMesh mesh) {
+        int vertexCount = 0;
+        for (ChunkMesh.RenderType type : ChunkMesh.RenderType.values()) {
+            ChunkMesh.VertexElements elements = mesh.getVertexElements(type);
+            elements.finalVertices = BufferUtils.createIntBuffer(
+                    elements.vertices.size() + elements.tex.size() + elements.tex.size()
+                            + elements.flags.size() + elements.color.size() + elements.normals.size());
+
+            int cTex = 0;
+            int cColor = 0;
+            int cFlags = 0;
+            for (int i = 0; i < elements.vertices.size(); i += 3, cTex += 2, cColor += 4, cFlags++) {
+                Vector3f vertexPos = new Vector3f(
+                        elements.vertices.get(i),
+                        elements.vertices.get(i + 1),
+                        elements.vertices.get(i + 2));
+
+                elements.finalVertices.put(Float.floatToIntBits(vertexPos.x));
+                elements.finalVertices.put(Float.floatToIntBits(vertexPos.y));
+                elements.finalVertices.put(Float.floatToIntBits(vertexPos.z));
+
+                elements.finalVertices.put(Float.floatToIntBits(elements.tex.get(cTex)));
+                elements.finalVertices.put(Float.floatToIntBits(elements.tex.get(cTex + 1)));
+
+                elements.finalVertices.put(Float.floatToIntBits(elements.flags.get(cFlags)));
+
+                float[] result = new float[3];
+                Vector3f normal = new Vector3f(elements.normals.get(i), elements.normals.get(i + 1), elements.normals.get(i + 2));
+                calcLightingValuesForVertexPos(chunkView, vertexPos, result, normal);
+
+                elements.finalVertices.put(Float.floatToIntBits(result[0]));
+                elements.finalVertices.put(Float.floatToIntBits(result[1]));
+                elements.finalVertices.put(Float.floatToIntBits(result[2]));
+
+                final int packedColor = RenderMath.packColor(
+                        elements.color.get(cColor),
+                        elements.color.get(cColor + 1),
+                        elements.color.get(cColor + 2),
+                        elements.color.get(cColor + 3));
+                elements.finalVertices.put(packedColor);
+
+                elements.finalVertices.put(Float.floatToIntBits(normal.x));
+                elements.finalVertices.put(Float.floatToIntBits(normal.y));
+                elements.finalVertices.put(Float.floatToIntBits(normal.z));
+                vertexCount++;
+            }
+
+            elements.finalIndices = BufferUtils.createIntBuffer(elements.indices.size());
+            TIntIterator indexIterator = elements.indices.iterator();
+            while (indexIterator.hasNext()) {
+                elements.finalIndices.put(indexIterator.next());
+            }
+
+            elements.finalVertices.flip();
+            elements.finalIndices.flip();
+        }
+        return vertexCount;
+    }
+
+    private static void calcLightingValuesForVertexPos(ChunkView chunkView, Vector3f vertexPos, float[] output, Vector3f normal) {
+        float[] lights = new float[8];
+        float[] blockLights = new float[8];
+        Block[] blocks = new Block[4];
+
+        Direction dir = Direction.inDirection(normal);
+        switch (dir) {
+            case LEFT:
+            case RIGHT:
+                blocks[0] = chunkView.getBlock((vertexPos.x + 0.8f * normal.x), (vertexPos.y + 0.1f), (vertexPos.z + 0.1f));
+                blocks[1] = chunkView.getBlock((vertexPos.x + 0.8f * normal.x), (vertexPos.y + 0.1f), (vertexPos.z - 0.1f));
+                blocks[2] = chunkView.getBlock((vertexPos.x + 0.8f * normal.x), (vertexPos.y - 0.1f), (vertexPos.z - 0.1f));
+                blocks[3] = chunkView.getBlock((vertexPos.x + 0.8f * normal.x), (vertexPos.y - 0.1f), (vertexPos.z + 0.1f));
+                break;
+            case FORWARD:
+            case BACKWARD:
+                blocks[0] = chunkView.getBlock((vertexPos.x + 0.1f), (vertexPos.y + 0.1f), (vertexPos.z + 0.8f * normal.z));
+                blocks[1] = chunkView.getBlock((vertexPos.x + 0.1f), (vertexPos.y - 0.1f), (vertexPos.z + 0.8f * normal.z));
+                blocks[2] = chunkView.getBlock((vertexPos.x - 0.1f), (vertexPos.y - 0.1f), (vertexPos.z + 0.8f * normal.z));
+                blocks[3] = chunkView.getBlock((vertexPos.x - 0.1f), (vertexPos.y + 0.1f), (vertexPos.z + 0.8f * normal.z));
+                break;
+            default:
+                blocks[0] = chunkView.getBlock((vertexPos.x + 0.1f), (vertexPos.y + 0.8f * normal.y), (vertexPos.z + 0.1f));
+                blocks[1] = chunkView.getBlock((vertexPos.x + 0.1f), (vertexPos.y + 0.8f * normal.y), (vertexPos.z - 0.1f));
+                blocks[2] = chunkView.getBlock((vertexPos.x - 0.1f), (vertexPos.y + 0.8f * normal.y), (vertexPos.z - 0.1f));
+                blocks[3] = chunkView.getBlock((vertexPos.x - 0.1f), (vertexPos.y + 0.8f * normal.y), (vertexPos.z + 0.1f));
+        }
+
+        lights[0] = chunkView.getSunlight((vertexPos.x + 0.1f), (vertexPos.y + 0.8f), (vertexPos.z + 0.1f));
+        lights[1] = chunkView.getSunlight((vertexPos.x + 0.1f), (vertexPos.y + 0.8f), (vertexPos.z - 0.1f));
+        lights[2] = chunkView.getSunlight((vertexPos.x - 0.1f), (vertexPos.y + 0.8f), (vertexPos.z - 0.1f));
+        lights[3] = chunkView.getSunlight((vertexPos.x - 0.1f), (vertexPos.y + 0.8f), (vertexPos.z + 0.1f));
+
+        lights[4] = chunkView.getSunlight((vertexPos.x + 0.1f), (vertexPos.y - 0.1f), (vertexPos.z + 0.1f));
+        lights[5] = chunkView.getSunlight((vertexPos.x + 0.1f), (vertexPos.y - 0.1f), (vertexPos.z - 0.1f));
+        lights[6] = chunkView.getSunlight((vertexPos.x - 0.1f), (vertexPos.y - 0.1f), (vertexPos.z - 0.1f));
+        lights[7] = chunkView.getSunlight((vertexPos.x - 0.1f), (vertexPos.y - 0.1f), (vertexPos.z + 0.1f));
+
+        blockLights[0] = chunkView.getLight((vertexPos.x + 0.1f), (vertexPos.y + 0.8f), (vertexPos.z + 0.1f));
+        blockLights[1] = chunkView.getLight((vertexPos.x + 0.1f), (vertexPos.y + 0.8f), (vertexPos.z - 0.1f));
+        blockLights[2] = chunkView.getLight((vertexPos.x - 0.1f), (vertexPos.y + 0.8f), (vertexPos.z - 0.1f));
+        blockLights[3] = chunkView.getLight((vertexPos.x - 0.1f), (vertexPos.y + 0.8f), (vertexPos.z + 0.1f));
+
+        blockLights[4] = chunkView.getLight((vertexPos.x + 0.1f), (vertexPos.y - 0.1f), (vertexPos.z + 0.1f));
+        blockLights[5] = chunkView.getLight((vertexPos.x + 0.1f), (vertexPos.y - 0.1f), (vertexPos.z - 0.1f));
+        blockLights[6] = chunkView.getLight((vertexPos.x - 0.1f), (vertexPos.y - 0.1f), (vertexPos.z - 0.1f));
+        blockLights[7] = chunkView.getLight((vertexPos.x - 0.1f), (vertexPos.y - 0.1f), (vertexPos.z + 0.1f));
+
+        float resultLight = 0;
+        float resultBlockLight = 0;
+        int counterLight = 0;
+        int counterBlockLight = 0;
+
+        int occCounter = 0;
+        int occCounterBillboard = 0;
+        for (int i = 0; i < 8; i++) {
+            if (lights[i] > 0) {
+                resultLight += lights[i];
+                counterLight++;
+            }
+            if (blockLights[i] > 0) {
+                resultBlockLight += blockLights[i];
+                counterBlockLight++;
+            }
+
+            if (i < 4) {
+                Block b = blocks[i];
+
+                if (b.isShadowCasting() && !b.isTranslucent()) {
+                    occCounter++;
+                } else if (b.isShadowCasting()) {
+                    occCounterBillboard++;
+                }
+            }
+        }
+
+        double resultAmbientOcclusion = (TeraMath.pow(0.40, occCounter) + TeraMath.pow(0.80, occCounterBillboard)) / 2.0;
+
+        if (counterLight == 0) {
+            output[0] = 0;
+        } else {
+            output[0] = resultLight / counterLight / 15f;
+        }
+
+        if (counterBlockLight == 0) {
+            output[1] = 0;
+        } else {
+            output[1] = resultBlockLight / counterBlockLight / 15f;
+        }
+
+        output[2] = (float) resultAmbientOcclusion;
+    }
+}
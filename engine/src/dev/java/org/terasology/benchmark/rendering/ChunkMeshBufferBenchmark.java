@@ -0,0 +1,212 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.benchmark.rendering;
+
+import org.terasology.benchmark.AbstractBenchmark;
+import org.terasology.math.Region3i;
+import org.terasology.math.geom.Vector3i;
+import org.terasology.rendering.primitives.ChunkMesh;
+import org.terasology.world.ChunkView;
+import org.terasology.world.block.Block;
+import org.terasology.world.block.BlockManager;
+import org.terasology.world.block.BlockUri;
+import org.terasology.world.block.family.BlockFamily;
+import org.terasology.world.chunks.Chunk;
+import org.terasology.world.chunks.ChunkConstants;
+import org.terasology.world.chunks.internal.ChunkImpl;
+import org.terasology.world.internal.ChunkViewCoreImpl;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.function.ToIntBiFunction;
+
+/**
+ * Measures the assembly of the final vertex buffers of a chunk mesh, which includes lighting every vertex, for a hilly
+ * chunk with trees of translucent leaves and a few light sources. The block vertices are generated once during setup.
+ */
+public class ChunkMeshBufferBenchmark extends AbstractBenchmark {
+    private static final int[][] FACE_NORMALS = {{0, 1, 0}, {0, -1, 0}, {1, 0, 0}, {-1, 0, 0}, {0, 0, 1}, {0, 0, -1}};
+    private static final int[][] FACE_TANGENTS = {{1, 0, 0}, {1, 0, 0}, {0, 0, 1}, {0, 0, 1}, {1, 0, 0}, {1, 0, 0}};
+    private static final int[][] FACE_BITANGENTS = {{0, 0, 1}, {0, 0, 1}, {0, 1, 0}, {0, 1, 0}, {0, 1, 0}, {0, 1, 0}};
+    private static final float[][] CORNERS = {{-0.5f, -0.5f}, {0.5f, -0.5f}, {0.5f, 0.5f}, {-0.5f, 0.5f}};
+
+    private final ToIntBiFunction<ChunkView, ChunkMesh> bufferBuilder;
+
+    private ChunkView view;
+    private ChunkMesh mesh;
+    private int vertexCount;
+
+    public ChunkMeshBufferBenchmark(String builderName, ToIntBiFunction<ChunkView, ChunkMesh> bufferBuilder) {
+        super("Chunk mesh buffers via " + builderName, 100, new int[]{500});
+        this.bufferBuilder = bufferBuilder;
+    }
+
+    public int getVertexCount() {
+        return vertexCount;
+    }
+
+    @Override
+    public void setup() {
+        Block air = new Block();
+        air.setTranslucent(true);
+        air.setShadowCasting(false);
+        Block stone = new Block();
+        Block leaves = new Block();
+        leaves.setTranslucent(true);
+        BlockManager blockManager = new ArrayBlockManager(air, stone, leaves);
+
+        Vector3i[] lightSources = {new Vector3i(8, 30, 8), new Vector3i(24, 20, 20), new Vector3i(34, 26, -4)};
+        Chunk[] chunks = new Chunk[9];
+        for (int chunkX = -1; chunkX <= 1; ++chunkX) {
+            for (int chunkZ = -1; chunkZ <= 1; ++chunkZ) {
+                Chunk chunk = new ChunkImpl(chunkX, 0, chunkZ, blockManager, null);
+                for (int x = 0; x < ChunkConstants.SIZE_X; ++x) {
+                    for (int z = 0; z < ChunkConstants.SIZE_Z; ++z) {
+                        int worldX = chunkX * ChunkConstants.SIZE_X + x;
+                        int worldZ = chunkZ * ChunkConstants.SIZE_Z + z;
+                        int height = 24 + (int) Math.round(8 * Math.sin(worldX * 0.3) * Math.cos(worldZ * 0.25));
+                        for (int y = 0; y < ChunkConstants.SIZE_Y; ++y) {
+                            if (y <= height) {
+                                chunk.setBlock(x, y, z, stone);
+                            } else if (y <= height + 4 && (worldX * 7 + worldZ * 13) % 11 == 0) {
+                                chunk.setBlock(x, y, z, leaves);
+                            } else {
+                                chunk.setSunlight(x, y, z, ChunkConstants.MAX_SUNLIGHT);
+                            }
+                            for (Vector3i source : lightSources) {
+                                int distance = Math.abs(worldX - source.x) + Math.abs(y - source.y) + Math.abs(worldZ - source.z);
+                                if (distance < ChunkConstants.MAX_LIGHT && chunk.getLight(x, y, z) < ChunkConstants.MAX_LIGHT - distance) {
+                                    chunk.setLight(x, y, z, (byte) (ChunkConstants.MAX_LIGHT - distance));
+                                }
+                            }
+                        }
+                    }
+                }
+                chunks[(chunkX + 1) + 3 * (chunkZ + 1)] = chunk;
+            }
+        }
+        view = new ChunkViewCoreImpl(chunks, Region3i.createFromCenterExtents(Vector3i.zero(), new Vector3i(1, 0, 1)), new Vector3i(1, 0, 1), air);
+
+        mesh = new ChunkMesh(null);
+        for (int x = 0; x < ChunkConstants.SIZE_X; ++x) {
+            for (int z = 0; z < ChunkConstants.SIZE_Z; ++z) {
+                for (int y = 0; y < ChunkConstants.SIZE_Y; ++y) {
+                    Block block = view.getBlock(x, y, z);
+                    if (block == stone) {
+                        addFaces(mesh.getVertexElements(ChunkMesh.RenderType.OPAQUE), x, y, z, stone);
+                    } else if (block == leaves) {
+                        addFaces(mesh.getVertexElements(ChunkMesh.RenderType.BILLBOARD), x, y, z, leaves);
+                    }
+                }
+            }
+        }
+        vertexCount = bufferBuilder.applyAsInt(view, mesh);
+    }
+
+    @Override
+    public void run() {
+        bufferBuilder.applyAsInt(view, mesh);
+    }
+
+    private void addFaces(ChunkMesh.VertexElements elements, int x, int y, int z, Block block) {
+        int[] position = {x, y, z};
+        for (int face = 0; face < FACE_NORMALS.length; ++face) {
+            int[] normal = FACE_NORMALS[face];
+            if (view.getBlock(x + normal[0], y + normal[1], z + normal[2]) == block) {
+                continue;
+            }
+            int[] tangent = FACE_TANGENTS[face];
+            int[] bitangent = FACE_BITANGENTS[face];
+            for (float[] corner : CORNERS) {
+                for (int axis = 0; axis < 3; ++axis) {
+                    elements.vertices.add(position[axis] + 0.5f * normal[axis] + corner[0] * tangent[axis] + corner[1] * bitangent[axis]);
+                    elements.normals.add(normal[axis]);
+                }
+                elements.tex.add(corner[0] + 0.5f);
+                elements.tex.add(corner[1] + 0.5f);
+                elements.color.add(new float[]{1.0f, 1.0f, 1.0f, 1.0f});
+                elements.flags.add(0);
+            }
+            int first = elements.vertexCount;
+            elements.indices.add(new int[]{first, first + 1, first + 2, first + 2, first + 3, first});
+            elements.vertexCount += CORNERS.length;
+        }
+    }
+
+    /**
+     * Resolves the handful of blocks of the benchmark by id.
+     */
+    private static final class ArrayBlockManager extends BlockManager {
+        private final Block[] blocks;
+
+        ArrayBlockManager(Block... blocks) {
+            this.blocks = blocks;
+            for (int id = 0; id < blocks.length; ++id) {
+                blocks[id].setId((short) id);
+            }
+        }
+
+        @Override
+        public Block getBlock(short id) {
+            return blocks[id];
+        }
+
+        @Override
+        public Map<String, Short> getBlockIdMap() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public BlockFamily getBlockFamily(String uri) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public BlockFamily getBlockFamily(BlockUri uri) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Block getBlock(String uri) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Block getBlock(BlockUri uri) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Collection<BlockUri> listRegisteredBlockUris() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Collection<BlockFamily> listRegisteredBlockFamilies() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public int getBlockFamilyCount() {
+            return blocks.length;
+        }
+
+        @Override
+        public Collection<Block> listRegisteredBlocks() {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
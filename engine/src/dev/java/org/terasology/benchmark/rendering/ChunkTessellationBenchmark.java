@@ -0,0 +1,56 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.benchmark.rendering;
+
+import com.google.common.collect.Lists;
+import org.terasology.benchmark.Benchmark;
+import org.terasology.benchmark.BenchmarkResult;
+import org.terasology.benchmark.Benchmarks;
+import org.terasology.benchmark.PrintToConsoleCallback;
+import org.terasology.rendering.primitives.ChunkMeshBufferBuilder;
+
+import java.util.List;
+
+/**
+ * Compares the vertex throughput of the chunk mesh buffer assembly with the previous, allocating implementation.
+ */
+public final class ChunkTessellationBenchmark {
+
+    private ChunkTessellationBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        final List<ChunkMeshBufferBenchmark> benchmarks = Lists.newArrayList();
+
+        benchmarks.add(new ChunkMeshBufferBenchmark("AllocatingChunkMeshBuffers", AllocatingChunkMeshBuffers::build));
+        benchmarks.add(new ChunkMeshBufferBenchmark("ChunkMeshBufferBuilder", new ChunkMeshBufferBuilder()::build));
+
+        List<BenchmarkResult> results = Benchmarks.execute(Lists.<Benchmark>newArrayList(benchmarks), new PrintToConsoleCallback());
+
+        for (int i = 0; i < results.size(); ++i) {
+            BenchmarkResult result = results.get(i);
+            long vertices = 0;
+            long time = 0;
+            for (int rep = 0; rep < result.getRepetitions(); ++rep) {
+                vertices += (long) result.getRepetitions(rep) * benchmarks.get(i).getVertexCount();
+                time += result.getRunTime(rep);
+            }
+            if (!result.isAborted() && time > 0) {
+                System.out.println(result.getTitle() + ": " + vertices * 1000 / time + " vertices/s");
+            }
+        }
+    }
+}
@@ -19,6 +19,7 @@
 import com.google.common.collect.Lists;
 
 import org.terasology.engine.TerasologyConstants;
+import org.terasology.network.FrameCompression;
 
 import java.util.Collections;
 import java.util.List;
@@ -34,6 +35,26 @@ public class NetworkConfig {
      */
     private int upstreamBandwidth;
 
+    /**
+     * Whether entity updates only contain the component fields whose values differ from the last sent ones
+     */
+    private boolean fieldDeltaReplication = true;
+
+    /**
+     * Distance in blocks after which the update rate of entities for a client halves, or 0 to always use the full rate
+     */
+    private int entityUpdateTierDistance = 32;
+
+    /**
+     * The compression of the frames sent from the server, requested when joining a server
+     */
+    private FrameCompression compression = FrameCompression.LZ4;
+
+    /**
+     * File with sample message data that LZ4 frame compression is primed with when hosting, relative to the home path
+     */
+    private String compressionDictionary = "";
+
     /**
      * The port that is used for hosting
      */
@@ -61,6 +82,38 @@ public void setUpstreamBandwidth(int upstreamBandwidth) {
         this.upstreamBandwidth = upstreamBandwidth;
     }
 
+    public boolean isFieldDeltaReplication() {
+        return fieldDeltaReplication;
+    }
+
+    public void setFieldDeltaReplication(boolean fieldDeltaReplication) {
+        this.fieldDeltaReplication = fieldDeltaReplication;
+    }
+
+    public int getEntityUpdateTierDistance() {
+        return entityUpdateTierDistance;
+    }
+
+    public void setEntityUpdateTierDistance(int entityUpdateTierDistance) {
+        this.entityUpdateTierDistance = entityUpdateTierDistance;
+    }
+
+    public FrameCompression getCompression() {
+        return compression;
+    }
+
+    public void setCompression(FrameCompression compression) {
+        this.compression = compression;
+    }
+
+    public String getCompressionDictionary() {
+        return compressionDictionary;
+    }
+
+    public void setCompressionDictionary(String compressionDictionary) {
+        this.compressionDictionary = compressionDictionary;
+    }
+
     public int getServerPort() {
         return serverPort;
     }
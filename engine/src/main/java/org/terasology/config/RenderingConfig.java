@@ -68,6 +68,7 @@ public class RenderingConfig extends AbstractSubscribable {
     public static final String RENDER_NEAREST = "RenderNearest";
     public static final String PARTICLE_EFFECT_LIMIT = "ParticleEffectLimit";
     public static final String MESH_LIMIT = "MeshLimit";
+    public static final String GREEDY_MESHING = "GreedyMeshing";
     public static final String V_SYNC = "VSync";
     public static final String FRAME_LIMIT = "FrameLimit";
     public static final String FBO_SCALE = "FboScale";
@@ -114,6 +115,7 @@ public class RenderingConfig extends AbstractSubscribable {
     private int particleEffectLimit;
     private int frameLimit;
     private int meshLimit;
+    private boolean greedyMeshing;
     private boolean inscattering;
     private boolean localReflections;
     private boolean vSync;
@@ -563,6 +565,17 @@ public void setMeshLimit(int meshLimit) {
         this.meshLimit = meshLimit;
         propertyChangeSupport.firePropertyChange(MESH_LIMIT, oldLimit, this.meshLimit);
     }
+
+    public boolean isGreedyMeshing() {
+        return greedyMeshing;
+    }
+
+    public void setGreedyMeshing(boolean greedyMeshing) {
+        boolean oldValue = this.greedyMeshing;
+        this.greedyMeshing = greedyMeshing;
+        propertyChangeSupport.firePropertyChange(GREEDY_MESHING, oldValue, this.greedyMeshing);
+    }
+
     public boolean isVSync() {
         return this.vSync;
     }
@@ -26,11 +26,15 @@ public class SystemConfig {
 
     private long dayNightLengthInMs;
     private int maxThreads;
+    private int taskPoolThreads;
     private int maxSecondsBetweenSaves;
     private int maxUnloadedChunksPercentageTillSave;
     private boolean debugEnabled;
     private boolean monitoringEnabled;
     private boolean writeSaveGamesEnabled;
+    private boolean archetypeEntityStorageEnabled;
+    private boolean chunkRegionFilesEnabled;
+    private int chunkMemoryBudgetMb;
     private String locale;
 
     public long getDayNightLengthInMs() {
@@ -49,6 +53,17 @@ public void setMaxThreads(int maxThreads) {
         this.maxThreads = maxThreads;
     }
 
+    /**
+     * @return The number of threads of the shared task pool, zero or less meaning one per available processor
+     */
+    public int getTaskPoolThreads() {
+        return taskPoolThreads;
+    }
+
+    public void setTaskPoolThreads(int taskPoolThreads) {
+        this.taskPoolThreads = taskPoolThreads;
+    }
+
     public int getMaxSecondsBetweenSaves() {
         return maxSecondsBetweenSaves;
     }
@@ -93,6 +108,37 @@ public void setWriteSaveGamesEnabled(boolean writeSaveGamesEnabled) {
         this.writeSaveGamesEnabled = writeSaveGamesEnabled;
     }
 
+    public boolean isArchetypeEntityStorageEnabled() {
+        return archetypeEntityStorageEnabled;
+    }
+
+    public void setArchetypeEntityStorageEnabled(boolean archetypeEntityStorageEnabled) {
+        this.archetypeEntityStorageEnabled = archetypeEntityStorageEnabled;
+    }
+
+    /**
+     * @return Whether the chunks of a world get stored in region files instead of zips. Existing chunk zips of a world
+     * get converted when it gets loaded with this option enabled.
+     */
+    public boolean isChunkRegionFilesEnabled() {
+        return chunkRegionFilesEnabled;
+    }
+
+    public void setChunkRegionFilesEnabled(boolean chunkRegionFilesEnabled) {
+        this.chunkRegionFilesEnabled = chunkRegionFilesEnabled;
+    }
+
+    /**
+     * @return The memory the loaded chunks of a server should use at most in megabytes, 0 for no limit
+     */
+    public int getChunkMemoryBudgetMb() {
+        return chunkMemoryBudgetMb;
+    }
+
+    public void setChunkMemoryBudgetMb(int chunkMemoryBudgetMb) {
+        this.chunkMemoryBudgetMb = chunkMemoryBudgetMb;
+    }
+
     public Locale getLocale() {
         if (locale == null) {
             setLocale(Locale.getDefault(Category.DISPLAY));
@@ -16,12 +16,16 @@
 
 package org.terasology.engine.bootstrap;
 
+import org.terasology.config.Config;
 import org.terasology.context.Context;
 import org.terasology.engine.SimpleUri;
 import org.terasology.engine.module.ModuleManager;
 import org.terasology.entitySystem.Component;
 import org.terasology.entitySystem.entity.EntityManager;
 import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.entitySystem.entity.internal.ArchetypeComponentTable;
+import org.terasology.entitySystem.entity.internal.ComponentStore;
+import org.terasology.entitySystem.entity.internal.ComponentTable;
 import org.terasology.entitySystem.entity.internal.EngineEntityManager;
 import org.terasology.entitySystem.entity.internal.PojoEntityManager;
 import org.terasology.entitySystem.event.Event;
@@ -35,11 +39,13 @@
 import org.terasology.entitySystem.prefab.internal.PojoPrefabManager;
 import org.terasology.entitySystem.systems.internal.DoNotAutoRegister;
 import org.terasology.logic.behavior.asset.NodesClassLibrary;
+import org.terasology.logic.location.EntitySpatialIndex;
 import org.terasology.module.ModuleEnvironment;
 import org.terasology.network.NetworkSystem;
 import org.terasology.persistence.typeHandling.TypeSerializationLibrary;
 import org.terasology.persistence.typeHandling.extensionTypes.EntityRefTypeHandler;
 import org.terasology.reflection.copy.CopyStrategyLibrary;
+import org.terasology.reflection.reflect.ByteCodeReflectFactory;
 import org.terasology.reflection.reflect.ReflectFactory;
 import org.terasology.reflection.reflect.ReflectionReflectFactory;
 import org.terasology.rendering.nui.properties.OneOfProviderFactory;
@@ -78,6 +84,8 @@ public static void addReflectionBasedLibraries(Context context) {
      * <li>{@link org.terasology.persistence.typeHandling.TypeSerializationLibrary}</li>
      * </ul>
      * <p>
+     * If a {@link Config} is available, its system settings select the component storage of the entity manager.
+     * <p>
      * The method will make objects for the following classes available in the context:
      * <ul>
      * <li>{@link EngineEntityManager}</li>
@@ -93,9 +101,10 @@ public static void addEntityManagementRelatedClasses(Context context) {
         NetworkSystem networkSystem = context.get(NetworkSystem.class);
 
         // Entity Manager
-        PojoEntityManager entityManager = new PojoEntityManager();
+        PojoEntityManager entityManager = new PojoEntityManager(createComponentStore(context), true);
         context.put(EntityManager.class, entityManager);
         context.put(EngineEntityManager.class, entityManager);
+        context.put(EntitySpatialIndex.class, entityManager.getSpatialIndex());
 
         // Standard serialization library
         TypeSerializationLibrary typeSerializationLibrary = context.get(TypeSerializationLibrary.class);
@@ -111,7 +120,7 @@ public static void addEntityManagementRelatedClasses(Context context) {
         entityManager.setComponentLibrary(library.getComponentLibrary());
 
         // Event System
-        EventSystem eventSystem = new EventSystemImpl(library.getEventLibrary(), networkSystem);
+        EventSystem eventSystem = new EventSystemImpl(library.getEventLibrary(), networkSystem, new ByteCodeReflectFactory());
         entityManager.setEventSystem(eventSystem);
         context.put(EventSystem.class, eventSystem);
 
@@ -127,6 +136,14 @@ public static void addEntityManagementRelatedClasses(Context context) {
         registerEvents(entityManager.getEventSystem(), environment);
     }
 
+    private static ComponentStore createComponentStore(Context context) {
+        Config config = context.get(Config.class);
+        if (config != null && config.getSystem().isArchetypeEntityStorageEnabled()) {
+            return new ArchetypeComponentTable();
+        }
+        return new ComponentTable();
+    }
+
     private static void registerComponents(ComponentLibrary library, ModuleEnvironment environment) {
         for (Class<? extends Component> componentType : environment.getSubtypesOf(Component.class)) {
             if (componentType.getAnnotation(DoNotAutoRegister.class) == null) {
@@ -33,6 +33,7 @@
 import org.terasology.logic.players.LocalPlayer;
 import org.terasology.module.ModuleEnvironment;
 import org.terasology.persistence.StorageManager;
+import org.terasology.persistence.internal.ChunkStorageFormat;
 import org.terasology.persistence.internal.ReadOnlyStorageManager;
 import org.terasology.persistence.internal.ReadWriteStorageManager;
 import org.terasology.rendering.backdrop.BackdropProvider;
@@ -115,20 +116,25 @@ public boolean step() {
         // Init. a new world
         EngineEntityManager entityManager = (EngineEntityManager) context.get(EntityManager.class);
         boolean writeSaveGamesEnabled = context.get(Config.class).getSystem().isWriteSaveGamesEnabled();
+        ChunkStorageFormat chunkStorageFormat = context.get(Config.class).getSystem().isChunkRegionFilesEnabled()
+                ? ChunkStorageFormat.REGION_FILES : ChunkStorageFormat.ZIP_FILES;
         Path savePath = PathManager.getInstance().getSavePath(gameManifest.getTitle());
         StorageManager storageManager;
         try {
             storageManager = writeSaveGamesEnabled
-                    ? new ReadWriteStorageManager(savePath, environment, entityManager, blockManager, biomeManager)
-                    : new ReadOnlyStorageManager(savePath, environment, entityManager, blockManager, biomeManager);
+                    ? new ReadWriteStorageManager(savePath, environment, entityManager, blockManager, biomeManager,
+                    chunkStorageFormat)
+                    : new ReadOnlyStorageManager(savePath, environment, entityManager, blockManager, biomeManager,
+                    chunkStorageFormat);
         } catch (IOException e) {
             logger.error("Unable to create storage manager!", e);
             context.get(GameEngine.class).changeState(new StateMainMenu("Unable to create storage manager!"));
             return true; // We need to return true, otherwise the loading state will just call us again immediately
         }
         context.put(StorageManager.class, storageManager);
+        long chunkMemoryBudget = context.get(Config.class).getSystem().getChunkMemoryBudgetMb() * 1024L * 1024L;
         LocalChunkProvider chunkProvider = new LocalChunkProvider(storageManager, entityManager, worldGenerator,
-                blockManager, biomeManager);
+                blockManager, biomeManager, chunkMemoryBudget);
         context.get(ComponentSystemManager.class).register(new RelevanceSystem(chunkProvider), "engine:relevanceSystem");
         Block unloadedBlock = blockManager.getBlock(BlockManager.UNLOADED_ID);
         WorldProviderCoreImpl worldProviderCore = new WorldProviderCoreImpl(worldInfo, chunkProvider, unloadedBlock, context);
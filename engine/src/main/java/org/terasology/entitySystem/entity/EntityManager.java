@@ -135,6 +135,15 @@ public interface EntityManager {
      */
     Iterable<EntityRef> getEntitiesWith(Class<? extends Component>... componentClasses);
 
+    /**
+     * Creates a live view over all entities with the provided component types. Unlike {@link #getEntitiesWith(Class[])}
+     * the result is maintained incrementally, so it is suited for systems that iterate the same entities every frame.
+     *
+     * @param componentClasses At least one component type
+     * @return A query that must be released once it is no longer used.
+     */
+    EntityQuery createQuery(Class<? extends Component>... componentClasses);
+
     /**
      * @param componentClasses
      * @return A count of entities with the provided component types
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.entitySystem.entity;
+
+/**
+ * A live view of all active entities that have a given set of components, created through
+ * {@link EntityManager#createQuery(Class[])}.
+ * <br><br>
+ * The view is kept up to date by the entity manager as components are added and removed and entities are
+ * (de)activated, so iterating it costs only the size of the result. Each iteration works on the state of the view at
+ * the time the iteration started, so entities may safely be changed or destroyed while iterating.
+ * <br><br>
+ * A query should be created once (e.g. in a system's initialise) and released when no longer needed.
+ */
+public interface EntityQuery extends Iterable<EntityRef> {
+
+    /**
+     * @return The number of entities currently matching the query
+     */
+    int size();
+
+    boolean isEmpty();
+
+    /**
+     * @param entity
+     * @return Whether the entity currently matches the query
+     */
+    boolean contains(EntityRef entity);
+
+    /**
+     * Stops the entity manager from maintaining this query. The query will be empty afterwards.
+     */
+    void release();
+}
@@ -0,0 +1,452 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.entitySystem.entity.internal;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import gnu.trove.iterator.TLongIterator;
+import gnu.trove.iterator.TLongObjectIterator;
+import gnu.trove.list.TLongList;
+import gnu.trove.list.array.TLongArrayList;
+import gnu.trove.map.TLongObjectMap;
+import gnu.trove.map.TObjectIntMap;
+import gnu.trove.map.hash.TLongObjectHashMap;
+import gnu.trove.map.hash.TObjectIntHashMap;
+import org.terasology.entitySystem.Component;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.ConcurrentModificationException;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * A component store that groups entities by archetype, the set of component classes they have.
+ * <br><br>
+ * The components of all entities sharing an archetype are kept in dense, parallel column arrays. Queries for
+ * multiple components only visit archetypes that contain all requested components, so their cost depends on the
+ * number of matching entities rather than the number of entities with the first component. Per entity operations
+ * only touch the columns of the archetype of the entity.
+ * <br><br>
+ * Adding or removing a component moves the entity to another archetype, which is more expensive than with
+ * the {@link ComponentTable}. This store is intended for worlds with many entities and few component changes.
+ */
+public class ArchetypeComponentTable implements ComponentStore {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final Map<Set<Class<? extends Component>>, Archetype> archetypes = Maps.newHashMap();
+    private final Map<Class<? extends Component>, List<Archetype>> archetypesByComponent = Maps.newHashMap();
+    private final TLongObjectMap<EntityLocation> locations = new TLongObjectHashMap<>();
+    // Counts the changes that move entities between rows, which invalidate the position of column iterators
+    private int modCount;
+
+    @Override
+    public <T extends Component> T get(long entityId, Class<T> componentClass) {
+        EntityLocation location = locations.get(entityId);
+        if (location != null) {
+            int column = location.archetype.columnOf(componentClass);
+            if (column != Archetype.NO_COLUMN) {
+                return componentClass.cast(location.archetype.columns[column][location.row]);
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public Component put(long entityId, Component component) {
+        Class<? extends Component> componentClass = component.getClass();
+        EntityLocation location = locations.get(entityId);
+        if (location == null) {
+            Archetype target = getArchetype(ImmutableSet.<Class<? extends Component>>of(componentClass));
+            location = new EntityLocation();
+            location.archetype = target;
+            location.row = target.append(entityId, null, 0, component);
+            locations.put(entityId, location);
+            modCount++;
+            return null;
+        }
+
+        Archetype source = location.archetype;
+        int column = source.columnOf(componentClass);
+        if (column != Archetype.NO_COLUMN) {
+            Component oldComponent = source.columns[column][location.row];
+            source.columns[column][location.row] = component;
+            return oldComponent;
+        }
+
+        Archetype target = source.addTransitions.get(componentClass);
+        if (target == null) {
+            target = getArchetype(ImmutableSet.<Class<? extends Component>>builder()
+                    .addAll(source.signature).add(componentClass).build());
+            source.addTransitions.put(componentClass, target);
+        }
+        move(entityId, location, target, component);
+        return null;
+    }
+
+    @Override
+    public <T extends Component> Component remove(long entityId, Class<T> componentClass) {
+        EntityLocation location = locations.get(entityId);
+        if (location == null) {
+            return null;
+        }
+        Archetype source = location.archetype;
+        int column = source.columnOf(componentClass);
+        if (column == Archetype.NO_COLUMN) {
+            return null;
+        }
+        Component removed = source.columns[column][location.row];
+        if (source.types.length == 1) {
+            locations.remove(entityId);
+            removeRow(source, location.row);
+            return removed;
+        }
+
+        Archetype target = source.removeTransitions.get(componentClass);
+        if (target == null) {
+            ImmutableSet.Builder<Class<? extends Component>> signature = ImmutableSet.builder();
+            for (Class<? extends Component> type : source.signature) {
+                if (type != componentClass) {
+                    signature.add(type);
+                }
+            }
+            target = getArchetype(signature.build());
+            source.removeTransitions.put(componentClass, target);
+        }
+        move(entityId, location, target, null);
+        return removed;
+    }
+
+    @Override
+    public List<Component> removeAndReturnComponentsOf(long entityId) {
+        EntityLocation location = locations.remove(entityId);
+        if (location == null) {
+            return Lists.newArrayList();
+        }
+        List<Component> components = location.archetype.rowAsList(location.row);
+        removeRow(location.archetype, location.row);
+        return components;
+    }
+
+    @Override
+    public void remove(long entityId) {
+        EntityLocation location = locations.remove(entityId);
+        if (location != null) {
+            removeRow(location.archetype, location.row);
+        }
+    }
+
+    @Override
+    public void clear() {
+        archetypes.clear();
+        archetypesByComponent.clear();
+        locations.clear();
+        modCount++;
+    }
+
+    @Override
+    public int getComponentCount(Class<? extends Component> componentClass) {
+        List<Archetype> archetypeList = archetypesByComponent.get(componentClass);
+        if (archetypeList == null) {
+            return 0;
+        }
+        int count = 0;
+        for (Archetype archetype : archetypeList) {
+            count += archetype.size;
+        }
+        return count;
+    }
+
+    @Override
+    public Iterable<Component> iterateComponents(long entityId) {
+        return getComponentsInNewList(entityId);
+    }
+
+    @Override
+    public List<Component> getComponentsInNewList(long entityId) {
+        EntityLocation location = locations.get(entityId);
+        if (location == null) {
+            return Lists.newArrayList();
+        }
+        return location.archetype.rowAsList(location.row);
+    }
+
+    /**
+     * The returned iterator fails with a {@link ConcurrentModificationException} once an entity got created, removed
+     * or moved to another archetype by adding or removing a component. Replacing a component is supported.
+     */
+    @Override
+    public <T extends Component> TLongObjectIterator<T> componentIterator(Class<T> componentClass) {
+        List<Archetype> archetypeList = archetypesByComponent.get(componentClass);
+        if (archetypeList != null) {
+            return new ColumnIterator<>(componentClass, archetypeList);
+        }
+        return null;
+    }
+
+    @Override
+    public TLongList getEntityIdsWith(Class<? extends Component>[] componentClasses) {
+        TLongList idList = new TLongArrayList();
+        List<Archetype> candidates = null;
+        for (Class<? extends Component> componentClass : componentClasses) {
+            List<Archetype> archetypeList = archetypesByComponent.get(componentClass);
+            if (archetypeList == null) {
+                return idList;
+            }
+            if (candidates == null || archetypeList.size() < candidates.size()) {
+                candidates = archetypeList;
+            }
+        }
+
+        for (Archetype archetype : candidates) {
+            if (archetype.size > 0 && archetype.containsAll(componentClasses)) {
+                idList.add(archetype.ids, 0, archetype.size);
+            }
+        }
+        return idList;
+    }
+
+    /**
+     * Produces an iterator for iterating over all entities
+     * <br><br>
+     * This is not designed to be performant, and in general usage entities should not be iterated over.
+     *
+     * @return An iterator over all entity ids.
+     */
+    @Override
+    public TLongIterator entityIdIterator() {
+        TLongList idList = new TLongArrayList(locations.size());
+        for (Archetype archetype : archetypes.values()) {
+            idList.add(archetype.ids, 0, archetype.size);
+        }
+        return idList.iterator();
+    }
+
+    @Override
+    public int numEntities() {
+        return locations.size();
+    }
+
+    /**
+     * @return The number of distinct component signatures seen by this store
+     */
+    public int getArchetypeCount() {
+        return archetypes.size();
+    }
+
+    private Archetype getArchetype(Set<Class<? extends Component>> signature) {
+        Archetype archetype = archetypes.get(signature);
+        if (archetype == null) {
+            Archetype newArchetype = new Archetype(signature);
+            archetypes.put(signature, newArchetype);
+            for (Class<? extends Component> type : signature) {
+                archetypesByComponent.computeIfAbsent(type, k -> Lists.newArrayList()).add(newArchetype);
+            }
+            return newArchetype;
+        }
+        return archetype;
+    }
+
+    private void move(long entityId, EntityLocation location, Archetype target, Component addedComponent) {
+        Archetype source = location.archetype;
+        int sourceRow = location.row;
+        int targetRow = target.append(entityId, source, sourceRow, addedComponent);
+        removeRow(source, sourceRow);
+        location.archetype = target;
+        location.row = targetRow;
+    }
+
+    private void removeRow(Archetype archetype, int row) {
+        modCount++;
+        if (archetype.removeRow(row)) {
+            locations.get(archetype.ids[row]).row = row;
+        }
+    }
+
+    private static final class EntityLocation {
+        private Archetype archetype;
+        private int row;
+    }
+
+    /**
+     * The entities sharing a set of component classes, with one dense column of components per class.
+     */
+    private static final class Archetype {
+        private static final int NO_COLUMN = -1;
+
+        private final Set<Class<? extends Component>> signature;
+        private final Class<?>[] types;
+        private final TObjectIntMap<Class<?>> columnIndex;
+        private final Map<Class<? extends Component>, Archetype> addTransitions = Maps.newHashMap();
+        private final Map<Class<? extends Component>, Archetype> removeTransitions = Maps.newHashMap();
+
+        private long[] ids = new long[INITIAL_CAPACITY];
+        private Component[][] columns;
+        private int size;
+
+        Archetype(Set<Class<? extends Component>> signature) {
+            this.signature = signature;
+            this.types = signature.toArray(new Class<?>[signature.size()]);
+            this.columnIndex = new TObjectIntHashMap<>(types.length * 2, 0.5f, NO_COLUMN);
+            this.columns = new Component[types.length][INITIAL_CAPACITY];
+            for (int i = 0; i < types.length; ++i) {
+                columnIndex.put(types[i], i);
+            }
+        }
+
+        int columnOf(Class<?> type) {
+            return columnIndex.get(type);
+        }
+
+        boolean containsAll(Class<?>[] componentClasses) {
+            for (Class<?> componentClass : componentClasses) {
+                if (!columnIndex.containsKey(componentClass)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Appends a row, taking the components from the given row of the source archetype, if any. A column that
+         * isn't present in the source archetype is filled with the extra component.
+         *
+         * @return The index of the new row
+         */
+        int append(long entityId, Archetype source, int sourceRow, Component extraComponent) {
+            if (size == ids.length) {
+                int newCapacity = ids.length * 2;
+                ids = Arrays.copyOf(ids, newCapacity);
+                for (int i = 0; i < columns.length; ++i) {
+                    columns[i] = Arrays.copyOf(columns[i], newCapacity);
+                }
+            }
+            ids[size] = entityId;
+            for (int i = 0; i < types.length; ++i) {
+                int sourceColumn = (source == null) ? NO_COLUMN : source.columnOf(types[i]);
+                columns[i][size] = (sourceColumn == NO_COLUMN) ? extraComponent : source.columns[sourceColumn][sourceRow];
+            }
+            return size++;
+        }
+
+        /**
+         * Removes a row by moving the last row into its place.
+         *
+         * @return Whether another entity was moved into the removed row
+         */
+        boolean removeRow(int row) {
+            int last = --size;
+            boolean moved = row != last;
+            if (moved) {
+                ids[row] = ids[last];
+            }
+            for (Component[] column : columns) {
+                if (moved) {
+                    column[row] = column[last];
+                }
+                column[last] = null;
+            }
+            return moved;
+        }
+
+        List<Component> rowAsList(int row) {
+            List<Component> components = Lists.newArrayListWithCapacity(columns.length);
+            for (Component[] column : columns) {
+                components.add(column[row]);
+            }
+            return components;
+        }
+    }
+
+    /**
+     * Iterates over a single component column across all archetypes containing it.
+     */
+    private final class ColumnIterator<T extends Component> implements TLongObjectIterator<T> {
+        private final Class<T> componentClass;
+        private final List<Archetype> archetypeList;
+        private final int expectedModCount = modCount;
+        private int archetypeIndex;
+        private int row = -1;
+
+        ColumnIterator(Class<T> componentClass, List<Archetype> archetypeList) {
+            this.componentClass = componentClass;
+            this.archetypeList = Collections.unmodifiableList(archetypeList);
+        }
+
+        private void checkForComodification() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            checkForComodification();
+            int nextRow = row + 1;
+            for (int i = archetypeIndex; i < archetypeList.size(); ++i) {
+                if (nextRow < archetypeList.get(i).size) {
+                    return true;
+                }
+                nextRow = 0;
+            }
+            return false;
+        }
+
+        @Override
+        public void advance() {
+            checkForComodification();
+            row++;
+            while (archetypeIndex < archetypeList.size() && row >= archetypeList.get(archetypeIndex).size) {
+                archetypeIndex++;
+                row = 0;
+            }
+            if (archetypeIndex >= archetypeList.size()) {
+                throw new NoSuchElementException();
+            }
+        }
+
+        @Override
+        public long key() {
+            checkForComodification();
+            return archetypeList.get(archetypeIndex).ids[row];
+        }
+
+        @Override
+        public T value() {
+            checkForComodification();
+            Archetype archetype = archetypeList.get(archetypeIndex);
+            return componentClass.cast(archetype.columns[archetype.columnOf(componentClass)][row]);
+        }
+
+        @Override
+        public T setValue(T val) {
+            checkForComodification();
+            Archetype archetype = archetypeList.get(archetypeIndex);
+            Component[] column = archetype.columns[archetype.columnOf(componentClass)];
+            T old = componentClass.cast(column[row]);
+            column[row] = val;
+            return old;
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
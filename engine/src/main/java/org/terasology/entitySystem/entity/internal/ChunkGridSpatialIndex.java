@@ -0,0 +1,302 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.entitySystem.entity.internal;
+
+import com.google.common.collect.Lists;
+import gnu.trove.iterator.TLongIterator;
+import gnu.trove.map.TLongLongMap;
+import gnu.trove.map.TLongObjectMap;
+import gnu.trove.map.hash.TLongLongHashMap;
+import gnu.trove.map.hash.TLongObjectHashMap;
+import gnu.trove.set.TLongSet;
+import gnu.trove.set.hash.TLongHashSet;
+import org.terasology.entitySystem.Component;
+import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.logic.location.EntitySpatialIndex;
+import org.terasology.logic.location.LocationComponent;
+import org.terasology.math.AABB;
+import org.terasology.math.ChunkMath;
+import org.terasology.math.TeraMath;
+import org.terasology.math.geom.Vector3f;
+import org.terasology.math.geom.Vector3i;
+import org.terasology.world.chunks.ChunkConstants;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * An {@link EntitySpatialIndex} that buckets the ids of located entities by the chunk their world position lies in.
+ * <br><br>
+ * Saving the location of an entity also re-indexes its location children, as their world position depends on it.
+ */
+class ChunkGridSpatialIndex implements EntitySpatialIndex, EntityChangeSubscriber {
+    private static final long NO_CHUNK = Long.MIN_VALUE;
+    private static final int COORDINATE_BITS = 21;
+    private static final long COORDINATE_MASK = (1L << COORDINATE_BITS) - 1;
+    private static final int MIN_CHUNK_EXTENT = Math.min(ChunkConstants.SIZE_X, Math.min(ChunkConstants.SIZE_Y, ChunkConstants.SIZE_Z));
+
+    private final PojoEntityManager entityManager;
+    private final TLongObjectMap<TLongSet> buckets = new TLongObjectHashMap<>();
+    private final TLongLongMap chunkById = new TLongLongHashMap(16, 0.5f, PojoEntityManager.NULL_ID, NO_CHUNK);
+    private final Vector3f position = new Vector3f();
+
+    ChunkGridSpatialIndex(PojoEntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public Collection<EntityRef> getEntitiesInChunk(Vector3i chunkPos) {
+        TLongSet ids = buckets.get(chunkKey(chunkPos.x, chunkPos.y, chunkPos.z));
+        if (ids == null) {
+            return Collections.emptyList();
+        }
+        List<EntityRef> result = Lists.newArrayListWithCapacity(ids.size());
+        TLongIterator iterator = ids.iterator();
+        while (iterator.hasNext()) {
+            result.add(entityManager.getEntity(iterator.next()));
+        }
+        return result;
+    }
+
+    @Override
+    public Collection<EntityRef> getEntitiesInRegion(AABB region) {
+        if (region.minX() > region.maxX() || region.minY() > region.maxY() || region.minZ() > region.maxZ()) {
+            return Collections.emptyList();
+        }
+        Vector3i min = chunkPos(region.getMin());
+        Vector3i max = chunkPos(region.getMax());
+        long cells = (long) (max.x - min.x + 1) * (max.y - min.y + 1) * (max.z - min.z + 1);
+
+        List<EntityRef> result = Lists.newArrayList();
+        if (cells <= buckets.size()) {
+            for (int x = min.x; x <= max.x; ++x) {
+                for (int y = min.y; y <= max.y; ++y) {
+                    for (int z = min.z; z <= max.z; ++z) {
+                        TLongSet ids = buckets.get(chunkKey(x, y, z));
+                        if (ids != null) {
+                            addContained(ids, region, result);
+                        }
+                    }
+                }
+            }
+        } else {
+            addContained(chunkById.keySet(), region, result);
+        }
+        return result;
+    }
+
+    @Override
+    public List<EntityRef> getNearestEntities(Vector3f point, int count) {
+        if (count <= 0 || chunkById.isEmpty()) {
+            return Collections.emptyList();
+        }
+        PriorityQueue<Candidate> nearest = new PriorityQueue<>(count, Comparator.comparingDouble((Candidate c) -> c.distanceSquared).reversed());
+        Vector3i center = chunkPos(point);
+
+        int visitedCells = 0;
+        int ring = 0;
+        while (visitedCells <= buckets.size()) {
+            if (nearest.size() == count) {
+                float bound = Math.max(0, ring - 1) * MIN_CHUNK_EXTENT;
+                if (bound * bound > nearest.peek().distanceSquared) {
+                    return sorted(nearest);
+                }
+            }
+            visitedCells += visitRing(center, ring, point, count, nearest);
+            ring++;
+        }
+
+        // The entities are spread too far for a search outwards to pay off, consider all of them instead
+        nearest.clear();
+        TLongIterator iterator = chunkById.keySet().iterator();
+        while (iterator.hasNext()) {
+            offer(iterator.next(), point, count, nearest);
+        }
+        return sorted(nearest);
+    }
+
+    @Override
+    public int size() {
+        return chunkById.size();
+    }
+
+    @Override
+    public void onEntityComponentAdded(EntityRef entity, Class<? extends Component> component) {
+        if (component == LocationComponent.class) {
+            update(entity);
+        }
+    }
+
+    @Override
+    public void onEntityComponentChange(EntityRef entity, Class<? extends Component> component) {
+        if (component == LocationComponent.class) {
+            update(entity);
+        }
+    }
+
+    @Override
+    public void onEntityComponentRemoved(EntityRef entity, Class<? extends Component> component) {
+        if (component == LocationComponent.class) {
+            remove(entity.getId());
+        }
+    }
+
+    @Override
+    public void onReactivation(EntityRef entity, Collection<Component> components) {
+        update(entity);
+    }
+
+    @Override
+    public void onBeforeDeactivation(EntityRef entity, Collection<Component> components) {
+        remove(entity.getId());
+    }
+
+    void clear() {
+        buckets.clear();
+        chunkById.clear();
+    }
+
+    private void update(EntityRef entity) {
+        LocationComponent location = entity.getComponent(LocationComponent.class);
+        if (location == null) {
+            remove(entity.getId());
+            return;
+        }
+        long id = entity.getId();
+        long key = chunkKey(location.getWorldPosition(position));
+        long previousKey = chunkById.put(id, key);
+        if (previousKey != key) {
+            if (previousKey != NO_CHUNK) {
+                removeFromBucket(previousKey, id);
+            }
+            TLongSet bucket = buckets.get(key);
+            if (bucket == null) {
+                bucket = new TLongHashSet();
+                buckets.put(key, bucket);
+            }
+            bucket.add(id);
+        }
+        for (EntityRef child : location.getChildren()) {
+            if (child.exists()) {
+                update(child);
+            }
+        }
+    }
+
+    private void remove(long id) {
+        long key = chunkById.remove(id);
+        if (key != NO_CHUNK) {
+            removeFromBucket(key, id);
+        }
+    }
+
+    private void removeFromBucket(long key, long id) {
+        TLongSet bucket = buckets.get(key);
+        if (bucket != null) {
+            bucket.remove(id);
+            if (bucket.isEmpty()) {
+                buckets.remove(key);
+            }
+        }
+    }
+
+    private void addContained(TLongSet ids, AABB region, List<EntityRef> result) {
+        TLongIterator iterator = ids.iterator();
+        while (iterator.hasNext()) {
+            EntityRef entity = entityManager.getEntity(iterator.next());
+            LocationComponent location = entity.getComponent(LocationComponent.class);
+            if (location != null && region.contains(location.getWorldPosition(position))) {
+                result.add(entity);
+            }
+        }
+    }
+
+    private int visitRing(Vector3i center, int ring, Vector3f point, int count, PriorityQueue<Candidate> nearest) {
+        int cells = 0;
+        for (int x = -ring; x <= ring; ++x) {
+            for (int y = -ring; y <= ring; ++y) {
+                boolean onShell = Math.abs(x) == ring || Math.abs(y) == ring;
+                int step = onShell ? 1 : Math.max(1, 2 * ring);
+                for (int z = -ring; z <= ring; z += step) {
+                    cells++;
+                    TLongSet ids = buckets.get(chunkKey(center.x + x, center.y + y, center.z + z));
+                    if (ids != null) {
+                        TLongIterator iterator = ids.iterator();
+                        while (iterator.hasNext()) {
+                            offer(iterator.next(), point, count, nearest);
+                        }
+                    }
+                }
+            }
+        }
+        return cells;
+    }
+
+    private void offer(long id, Vector3f point, int count, PriorityQueue<Candidate> nearest) {
+        EntityRef entity = entityManager.getEntity(id);
+        LocationComponent location = entity.getComponent(LocationComponent.class);
+        if (location == null) {
+            return;
+        }
+        float distanceSquared = location.getWorldPosition(position).distanceSquared(point);
+        if (nearest.size() < count) {
+            nearest.add(new Candidate(entity, distanceSquared));
+        } else if (distanceSquared < nearest.peek().distanceSquared) {
+            nearest.poll();
+            nearest.add(new Candidate(entity, distanceSquared));
+        }
+    }
+
+    private static List<EntityRef> sorted(PriorityQueue<Candidate> nearest) {
+        List<EntityRef> result = Lists.newArrayListWithCapacity(nearest.size());
+        while (!nearest.isEmpty()) {
+            result.add(nearest.poll().entity);
+        }
+        Collections.reverse(result);
+        return result;
+    }
+
+    private static Vector3i chunkPos(Vector3f worldPos) {
+        return new Vector3i(
+                ChunkMath.calcChunkPosX(TeraMath.floorToInt(worldPos.x)),
+                ChunkMath.calcChunkPosY(TeraMath.floorToInt(worldPos.y)),
+                ChunkMath.calcChunkPosZ(TeraMath.floorToInt(worldPos.z)));
+    }
+
+    private static long chunkKey(Vector3f worldPos) {
+        return chunkKey(
+                ChunkMath.calcChunkPosX(TeraMath.floorToInt(worldPos.x)),
+                ChunkMath.calcChunkPosY(TeraMath.floorToInt(worldPos.y)),
+                ChunkMath.calcChunkPosZ(TeraMath.floorToInt(worldPos.z)));
+    }
+
+    private static long chunkKey(int x, int y, int z) {
+        return ((x & COORDINATE_MASK) << (2 * COORDINATE_BITS)) | ((y & COORDINATE_MASK) << COORDINATE_BITS) | (z & COORDINATE_MASK);
+    }
+
+    private static final class Candidate {
+        private final EntityRef entity;
+        private final float distanceSquared;
+
+        Candidate(EntityRef entity, float distanceSquared) {
+            this.entity = entity;
+            this.distanceSquared = distanceSquared;
+        }
+    }
+}
@@ -20,6 +20,7 @@
 import org.terasology.entitySystem.entity.LowLevelEntityManager;
 import org.terasology.entitySystem.event.internal.EventSystem;
 import org.terasology.entitySystem.prefab.Prefab;
+import org.terasology.logic.location.EntitySpatialIndex;
 import org.terasology.persistence.typeHandling.TypeSerializationLibrary;
 
 /**
@@ -124,6 +125,12 @@ public interface EngineEntityManager extends LowLevelEntityManager {
      */
     void unsubscribe(EntityChangeSubscriber subscriber);
 
+    /**
+     * @return The index of all active entities with a location by their world position, or null if the entity manager
+     * does not keep one
+     */
+    EntitySpatialIndex getSpatialIndex();
+
     /**
      * Sets the event system the entity manager will use to propagate life cycle events.
      *
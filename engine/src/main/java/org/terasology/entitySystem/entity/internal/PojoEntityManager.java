@@ -24,7 +24,6 @@
 import gnu.trove.iterator.TLongIterator;
 import gnu.trove.iterator.TLongObjectIterator;
 import gnu.trove.list.TLongList;
-import gnu.trove.list.array.TLongArrayList;
 import gnu.trove.set.TLongSet;
 import gnu.trove.set.hash.TLongHashSet;
 
@@ -32,6 +31,7 @@
 import org.slf4j.LoggerFactory;
 import org.terasology.entitySystem.Component;
 import org.terasology.entitySystem.entity.EntityBuilder;
+import org.terasology.entitySystem.entity.EntityQuery;
 import org.terasology.entitySystem.entity.EntityRef;
 import org.terasology.entitySystem.entity.lifecycleEvents.BeforeDeactivateComponent;
 import org.terasology.entitySystem.entity.lifecycleEvents.BeforeEntityCreated;
@@ -43,6 +43,7 @@
 import org.terasology.entitySystem.metadata.ComponentLibrary;
 import org.terasology.entitySystem.prefab.Prefab;
 import org.terasology.entitySystem.prefab.PrefabManager;
+import org.terasology.logic.location.EntitySpatialIndex;
 import org.terasology.logic.location.LocationComponent;
 import org.terasology.math.geom.Quat4f;
 import org.terasology.math.geom.Vector3f;
@@ -69,10 +70,12 @@ public class PojoEntityManager implements EngineEntityManager {
     private long nextEntityId = 1;
     private TLongSet loadedIds = new TLongHashSet();
     private Map<Long, BaseEntityRef> entityCache = new MapMaker().weakValues().concurrencyLevel(4).initialCapacity(1000).makeMap();
-    private ComponentTable store = new ComponentTable();
+    private final ComponentStore store;
 
     private Set<EntityChangeSubscriber> subscribers = Sets.newLinkedHashSet();
     private Set<EntityDestroySubscriber> destroySubscribers = Sets.newLinkedHashSet();
+    private Set<PojoEntityQuery> queries = Sets.newLinkedHashSet();
+    private final ChunkGridSpatialIndex spatialIndex;
     private EventSystem eventSystem;
     private PrefabManager prefabManager;
     private ComponentLibrary componentLibrary;
@@ -82,6 +85,31 @@ public class PojoEntityManager implements EngineEntityManager {
     private TypeSerializationLibrary typeSerializerLibrary;
 
     public PojoEntityManager() {
+        this(new ComponentTable());
+    }
+
+    /**
+     * @param store The storage backend for the components of active entities, e.g. a {@link ComponentTable} or an
+     *              {@link ArchetypeComponentTable}.
+     */
+    public PojoEntityManager(ComponentStore store) {
+        this(store, false);
+    }
+
+    /**
+     * @param store          The storage backend for the components of active entities
+     * @param spatialIndexed Whether to keep an index of the located entities by world position. This requires the
+     *                       location parents of entities to be present when their location is added, so it should only
+     *                       be enabled for the entity manager of the running game.
+     */
+    public PojoEntityManager(ComponentStore store, boolean spatialIndexed) {
+        this.store = store;
+        if (spatialIndexed) {
+            spatialIndex = new ChunkGridSpatialIndex(this);
+            subscribers.add(spatialIndex);
+        } else {
+            spatialIndex = null;
+        }
     }
 
     public void setTypeSerializerLibrary(TypeSerializationLibrary serializerLibrary) {
@@ -100,6 +128,10 @@ public void setPrefabManager(PrefabManager prefabManager) {
     public void clear() {
         entityCache.values().forEach(BaseEntityRef::invalidate);
         store.clear();
+        queries.forEach(PojoEntityQuery::clear);
+        if (spatialIndex != null) {
+            spatialIndex.clear();
+        }
         nextEntityId = 1;
         loadedIds.clear();
         entityCache.clear();
@@ -306,45 +338,31 @@ public final Iterable<EntityRef> getEntitiesWith(Class<? extends Component>... c
         if (componentClasses.length == 0) {
             return getAllEntities();
         }
-        if (componentClasses.length == 1) {
-            return iterateEntities(componentClasses[0]);
-        }
-        TLongList idList = new TLongArrayList();
-        TLongObjectIterator<? extends Component> primeIterator = store.componentIterator(componentClasses[0]);
-        if (primeIterator == null) {
+        TLongList idList = store.getEntityIdsWith(componentClasses);
+        if (idList.isEmpty()) {
             return Collections.emptyList();
         }
-
-        while (primeIterator.hasNext()) {
-            primeIterator.advance();
-            long id = primeIterator.key();
-            boolean discard = false;
-            for (int i = 1; i < componentClasses.length; ++i) {
-                if (store.get(id, componentClasses[i]) == null) {
-                    discard = true;
-                    break;
-                }
-            }
-            if (!discard) {
-                idList.add(primeIterator.key());
-            }
-        }
         return new EntityIterable(idList);
     }
 
-    private Iterable<EntityRef> iterateEntities(Class<? extends Component> componentClass) {
-        TLongList idList = new TLongArrayList();
-        TLongObjectIterator<? extends Component> primeIterator = store.componentIterator(componentClass);
-        if (primeIterator == null) {
-            return Collections.emptyList();
+    @SafeVarargs
+    @Override
+    public final EntityQuery createQuery(Class<? extends Component>... componentClasses) {
+        Preconditions.checkArgument(componentClasses.length > 0, "A query requires at least one component class");
+        PojoEntityQuery query = new PojoEntityQuery(this, Arrays.copyOf(componentClasses, componentClasses.length));
+        TLongIterator idIterator = store.getEntityIdsWith(componentClasses).iterator();
+        while (idIterator.hasNext()) {
+            query.add(createEntityRef(idIterator.next()));
         }
+        queries.add(query);
+        subscribeForChanges(query);
+        return query;
+    }
 
-        while (primeIterator.hasNext()) {
-            primeIterator.advance();
-            long id = primeIterator.key();
-            idList.add(primeIterator.key());
+    void releaseQuery(PojoEntityQuery query) {
+        if (queries.remove(query)) {
+            unsubscribe(query);
         }
-        return new EntityIterable(idList);
     }
 
     @Override
@@ -464,6 +482,11 @@ public void unsubscribe(EntityChangeSubscriber subscriber) {
         subscribers.remove(subscriber);
     }
 
+    @Override
+    public EntitySpatialIndex getSpatialIndex() {
+        return spatialIndex;
+    }
+
     @Override
     public void setEventSystem(EventSystem eventSystem) {
         this.eventSystem = eventSystem;
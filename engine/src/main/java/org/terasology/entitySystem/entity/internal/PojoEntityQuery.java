@@ -0,0 +1,210 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.entitySystem.entity.internal;
+
+import gnu.trove.map.TLongIntMap;
+import gnu.trove.map.hash.TLongIntHashMap;
+import org.terasology.entitySystem.Component;
+import org.terasology.entitySystem.entity.EntityQuery;
+import org.terasology.entitySystem.entity.EntityRef;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+
+/**
+ * An {@link EntityQuery} maintained through the entity change notifications of the {@link PojoEntityManager}.
+ * <br><br>
+ * Matching entities are kept in a dense array. The array is copied on write once it has been handed out for iteration,
+ * so iterations see a stable snapshot while unchanged queries can be iterated without copying.
+ */
+class PojoEntityQuery implements EntityQuery, EntityChangeSubscriber {
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int NO_INDEX = -1;
+
+    private final PojoEntityManager entityManager;
+    private final Class<? extends Component>[] componentClasses;
+
+    private final TLongIntMap indexById = new TLongIntHashMap(INITIAL_CAPACITY, 0.5f, PojoEntityManager.NULL_ID, NO_INDEX);
+    private EntityRef[] entities = new EntityRef[INITIAL_CAPACITY];
+    private int size;
+    private boolean shared;
+
+    PojoEntityQuery(PojoEntityManager entityManager, Class<? extends Component>[] componentClasses) {
+        this.entityManager = entityManager;
+        this.componentClasses = componentClasses;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean contains(EntityRef entity) {
+        return indexById.containsKey(entity.getId());
+    }
+
+    @Override
+    public void release() {
+        entityManager.releaseQuery(this);
+        clear();
+    }
+
+    @Override
+    public Iterator<EntityRef> iterator() {
+        shared = true;
+        return new SnapshotIterator(entities, size);
+    }
+
+    @Override
+    public void forEach(Consumer<? super EntityRef> action) {
+        EntityRef[] snapshot = entities;
+        int count = size;
+        boolean wasShared = shared;
+        shared = true;
+        try {
+            for (int i = 0; i < count; ++i) {
+                action.accept(snapshot[i]);
+            }
+        } finally {
+            if (snapshot == entities) {
+                shared = wasShared;
+            }
+        }
+    }
+
+    @Override
+    public void onEntityComponentAdded(EntityRef entity, Class<? extends Component> component) {
+        if (isQueried(component) && matches(entity)) {
+            add(entity);
+        }
+    }
+
+    @Override
+    public void onEntityComponentChange(EntityRef entity, Class<? extends Component> component) {
+    }
+
+    @Override
+    public void onEntityComponentRemoved(EntityRef entity, Class<? extends Component> component) {
+        if (isQueried(component)) {
+            remove(entity.getId());
+        }
+    }
+
+    @Override
+    public void onReactivation(EntityRef entity, Collection<Component> components) {
+        if (matches(entity)) {
+            add(entity);
+        }
+    }
+
+    @Override
+    public void onBeforeDeactivation(EntityRef entity, Collection<Component> components) {
+        remove(entity.getId());
+    }
+
+    void add(EntityRef entity) {
+        if (indexById.containsKey(entity.getId())) {
+            return;
+        }
+        prepareForWrite(size + 1);
+        entities[size] = entity;
+        indexById.put(entity.getId(), size);
+        size++;
+    }
+
+    void clear() {
+        indexById.clear();
+        entities = new EntityRef[INITIAL_CAPACITY];
+        size = 0;
+        shared = false;
+    }
+
+    private void remove(long entityId) {
+        int index = indexById.remove(entityId);
+        if (index == NO_INDEX) {
+            return;
+        }
+        prepareForWrite(size);
+        int last = --size;
+        if (index != last) {
+            entities[index] = entities[last];
+            indexById.put(entities[index].getId(), index);
+        }
+        entities[last] = null;
+    }
+
+    private void prepareForWrite(int requiredCapacity) {
+        if (shared || requiredCapacity > entities.length) {
+            int capacity = entities.length;
+            while (capacity < requiredCapacity) {
+                capacity *= 2;
+            }
+            entities = Arrays.copyOf(entities, capacity);
+            shared = false;
+        }
+    }
+
+    private boolean isQueried(Class<? extends Component> component) {
+        for (Class<? extends Component> componentClass : componentClasses) {
+            if (componentClass == component) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean matches(EntityRef entity) {
+        for (Class<? extends Component> componentClass : componentClasses) {
+            if (!entity.hasComponent(componentClass)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static final class SnapshotIterator implements Iterator<EntityRef> {
+        private final EntityRef[] snapshot;
+        private final int count;
+        private int index;
+
+        SnapshotIterator(EntityRef[] snapshot, int count) {
+            this.snapshot = snapshot;
+            this.count = count;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return index < count;
+        }
+
+        @Override
+        public EntityRef next() {
+            if (index >= count) {
+                throw new NoSuchElementException();
+            }
+            return snapshot[index++];
+        }
+    }
+}
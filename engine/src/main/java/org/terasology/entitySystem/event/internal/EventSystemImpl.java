@@ -50,6 +50,8 @@
 import org.terasology.network.NetworkSystem;
 import org.terasology.network.OwnerEvent;
 import org.terasology.network.ServerEvent;
+import org.terasology.reflection.reflect.EventHandlerInvoker;
+import org.terasology.reflection.reflect.ReflectFactory;
 import org.terasology.world.block.BlockComponent;
 
 import java.lang.reflect.Method;
@@ -76,6 +78,10 @@ public class EventSystemImpl implements EventSystem {
     private SetMultimap<Class<? extends Event>, EventHandlerInfo> generalHandlers = HashMultimap.create();
     private Comparator<EventHandlerInfo> priorityComparator = new EventHandlerPriorityComparator();
 
+    // Pre-sorted handlers per event type, invalidated whenever handlers change
+    private Map<Class<? extends Event>, EventDispatchTable> dispatchTables = Maps.newHashMap();
+    private Map<Class<? extends Event>, Map<Class<? extends Component>, EventHandlerInfo[]>> componentDispatchTables = Maps.newHashMap();
+
     // Event metadata
     private BiMap<SimpleUri, Class<? extends Event>> eventIdMap = HashBiMap.create();
     private SetMultimap<Class<? extends Event>, Class<? extends Event>> childEvents = HashMultimap.create();
@@ -85,11 +91,21 @@ public class EventSystemImpl implements EventSystem {
 
     private EventLibrary eventLibrary;
     private NetworkSystem networkSystem;
+    private ReflectFactory reflectFactory;
 
     public EventSystemImpl(EventLibrary eventLibrary, NetworkSystem networkSystem) {
+        this(eventLibrary, networkSystem, null);
+    }
+
+    /**
+     * @param reflectFactory The factory used to create invokers for event handler methods. If null, handlers are invoked
+     *                       through ReflectASM.
+     */
+    public EventSystemImpl(EventLibrary eventLibrary, NetworkSystem networkSystem, ReflectFactory reflectFactory) {
         this.mainThread = Thread.currentThread();
         this.eventLibrary = eventLibrary;
         this.networkSystem = networkSystem;
+        this.reflectFactory = reflectFactory;
     }
 
     @Override
@@ -165,8 +181,14 @@ public void registerEventHandler(ComponentSystem handler) {
                     componentParams.add((Class<? extends Component>) types[i]);
                 }
 
-                ByteCodeEventHandlerInfo handlerInfo = new ByteCodeEventHandlerInfo(handler, method, receiveEventAnnotation.priority(),
-                        receiveEventAnnotation.activity(), requiredComponents, componentParams);
+                EventHandlerInfo handlerInfo;
+                if (reflectFactory != null) {
+                    handlerInfo = new InvokerEventHandlerInfo(handler, reflectFactory.createEventHandlerInvoker(method),
+                            receiveEventAnnotation.priority(), receiveEventAnnotation.activity(), requiredComponents);
+                } else {
+                    handlerInfo = new ByteCodeEventHandlerInfo(handler, method, receiveEventAnnotation.priority(),
+                            receiveEventAnnotation.activity(), requiredComponents, componentParams);
+                }
                 addEventHandler((Class<? extends Event>) types[0], handlerInfo, requiredComponents);
             }
         }
@@ -174,6 +196,7 @@ public void registerEventHandler(ComponentSystem handler) {
 
     @Override
     public void unregisterEventHandler(ComponentSystem handler) {
+        invalidateDispatchTables();
         for (SetMultimap<Class<? extends Component>, EventHandlerInfo> eventHandlers : componentSpecificHandlers.values()) {
             Iterator<EventHandlerInfo> eventHandlerIterator = eventHandlers.values().iterator();
             while (eventHandlerIterator.hasNext()) {
@@ -194,6 +217,7 @@ public void unregisterEventHandler(ComponentSystem handler) {
     }
 
     private void addEventHandler(Class<? extends Event> type, EventHandlerInfo handler, Collection<Class<? extends Component>> components) {
+        invalidateDispatchTables();
         if (components.isEmpty()) {
             generalHandlers.put(type, handler);
             for (Class<? extends Event> childType : childEvents.get(type)) {
@@ -231,6 +255,7 @@ public <T extends Event> void registerEventReceiver(EventReceiver<T> eventReceiv
 
     @Override
     public <T extends Event> void unregisterEventReceiver(EventReceiver<T> eventReceiver, Class<T> eventClass, Class<? extends Component>... componentTypes) {
+        invalidateDispatchTables();
         SetMultimap<Class<? extends Component>, EventHandlerInfo> eventHandlerMap = componentSpecificHandlers.get(eventClass);
         if (eventHandlerMap != null) {
             ReceiverEventHandlerInfo testReceiver = new ReceiverEventHandlerInfo<>(eventReceiver, 0, componentTypes);
@@ -260,9 +285,7 @@ public void send(EntityRef entity, Event event) {
         } else {
             networkReplicate(entity, event);
 
-            Set<EventHandlerInfo> selectedHandlersSet = selectEventHandlers(event.getClass(), entity);
-            List<EventHandlerInfo> selectedHandlers = Lists.newArrayList(selectedHandlersSet);
-            Collections.sort(selectedHandlers, priorityComparator);
+            EventHandlerInfo[] selectedHandlers = getDispatchTable(event.getClass()).selectEventHandlers(entity);
 
             if (event instanceof ConsumableEvent) {
                 sendConsumableEvent(entity, event, selectedHandlers);
@@ -272,7 +295,7 @@ public void send(EntityRef entity, Event event) {
         }
     }
 
-    private void sendStandardEvent(EntityRef entity, Event event, List<EventHandlerInfo> selectedHandlers) {
+    private void sendStandardEvent(EntityRef entity, Event event, EventHandlerInfo[] selectedHandlers) {
         for (EventHandlerInfo handler : selectedHandlers) {
             // Check isValid at each stage in case components were removed.
             if (handler.isValidFor(entity)) {
@@ -281,7 +304,7 @@ private void sendStandardEvent(EntityRef entity, Event event, List<EventHandlerI
         }
     }
 
-    private void sendConsumableEvent(EntityRef entity, Event event, List<EventHandlerInfo> selectedHandlers) {
+    private void sendConsumableEvent(EntityRef entity, Event event, EventHandlerInfo[] selectedHandlers) {
         ConsumableEvent consumableEvent = (ConsumableEvent) event;
         for (EventHandlerInfo handler : selectedHandlers) {
             // Check isValid at each stage in case components were removed.
@@ -344,11 +367,7 @@ private void broadcastEvent(EntityRef entity, Event event, EventMetadata metadat
                 if (metadata.isSkipInstigator() && event instanceof NetworkEvent) {
                     instigatorClient = networkSystem.getOwner(((NetworkEvent) event).getInstigator());
                 }
-                for (Client client : networkSystem.getPlayers()) {
-                    if (!client.equals(instigatorClient)) {
-                        client.send(event, entity);
-                    }
-                }
+                networkSystem.broadcastEvent(event, entity, instigatorClient);
             }
         }
     }
@@ -358,19 +377,56 @@ public void send(EntityRef entity, Event event, Component component) {
         if (Thread.currentThread() != mainThread) {
             pendingEvents.offer(new PendingEvent(entity, event, component));
         } else {
-            SetMultimap<Class<? extends Component>, EventHandlerInfo> handlers = componentSpecificHandlers.get(event.getClass());
-            if (handlers != null) {
-                List<EventHandlerInfo> eventHandlers = Lists.newArrayList(handlers.get(component.getClass()));
-                Collections.sort(eventHandlers, priorityComparator);
-                for (EventHandlerInfo eventHandler : eventHandlers) {
-                    if (eventHandler.isValidFor(entity)) {
-                        eventHandler.invoke(entity, event);
-                    }
+            for (EventHandlerInfo eventHandler : getComponentEventHandlers(event.getClass(), component.getClass())) {
+                if (eventHandler.isValidFor(entity)) {
+                    eventHandler.invoke(entity, event);
                 }
             }
         }
     }
 
+    private void invalidateDispatchTables() {
+        dispatchTables.clear();
+        componentDispatchTables.clear();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Class<? extends Component>[] toComponentClassArray(Collection<Class<? extends Component>> componentClasses) {
+        return componentClasses.toArray(new Class[componentClasses.size()]);
+    }
+
+    private EventDispatchTable getDispatchTable(Class<? extends Event> eventType) {
+        EventDispatchTable table = dispatchTables.get(eventType);
+        if (table == null) {
+            SetMultimap<Class<? extends Component>, EventHandlerInfo> handlers = componentSpecificHandlers.get(eventType);
+            Set<Class<? extends Component>> componentClasses = (handlers == null) ? Collections.emptySet() : handlers.keySet();
+            table = new EventDispatchTable(eventType, componentClasses);
+            dispatchTables.put(eventType, table);
+        }
+        return table;
+    }
+
+    private EventHandlerInfo[] getComponentEventHandlers(Class<? extends Event> eventType, Class<? extends Component> componentType) {
+        Map<Class<? extends Component>, EventHandlerInfo[]> table = componentDispatchTables.get(eventType);
+        if (table == null) {
+            table = Maps.newHashMap();
+            componentDispatchTables.put(eventType, table);
+        }
+        EventHandlerInfo[] eventHandlers = table.get(componentType);
+        if (eventHandlers == null) {
+            SetMultimap<Class<? extends Component>, EventHandlerInfo> handlers = componentSpecificHandlers.get(eventType);
+            eventHandlers = sortByPriority((handlers == null) ? Collections.emptySet() : handlers.get(componentType));
+            table.put(componentType, eventHandlers);
+        }
+        return eventHandlers;
+    }
+
+    private EventHandlerInfo[] sortByPriority(Collection<EventHandlerInfo> handlers) {
+        EventHandlerInfo[] result = handlers.toArray(new EventHandlerInfo[handlers.size()]);
+        Arrays.sort(result, priorityComparator);
+        return result;
+    }
+
     private Set<EventHandlerInfo> selectEventHandlers(Class<? extends Event> eventType, EntityRef entity) {
         Set<EventHandlerInfo> result = Sets.newHashSet();
         result.addAll(generalHandlers.get(eventType));
@@ -391,6 +447,87 @@ private Set<EventHandlerInfo> selectEventHandlers(Class<? extends Event> eventTy
         return result;
     }
 
+    /**
+     * Caches the sorted handlers of one event type per component signature of the receiving entity. The signature only
+     * considers the component classes that handlers of the event type are registered for, as no other component affects
+     * which handlers are selected.
+     */
+    private final class EventDispatchTable {
+        private static final int MAX_CACHED_SIGNATURES = 4096;
+
+        private final Class<? extends Event> eventType;
+        private final Class<? extends Component>[] componentClasses;
+        private final Map<ComponentSignature, EventHandlerInfo[]> handlersBySignature = Maps.newHashMap();
+        private final ComponentSignature lookupSignature;
+
+        EventDispatchTable(Class<? extends Event> eventType, Collection<Class<? extends Component>> componentClasses) {
+            this.eventType = eventType;
+            this.componentClasses = toComponentClassArray(componentClasses);
+            this.lookupSignature = new ComponentSignature(this.componentClasses.length);
+        }
+
+        EventHandlerInfo[] selectEventHandlers(EntityRef entity) {
+            lookupSignature.clear();
+            for (int i = 0; i < componentClasses.length; ++i) {
+                if (entity.hasComponent(componentClasses[i])) {
+                    lookupSignature.set(i);
+                }
+            }
+            EventHandlerInfo[] handlers = handlersBySignature.get(lookupSignature);
+            if (handlers == null) {
+                if (handlersBySignature.size() >= MAX_CACHED_SIGNATURES) {
+                    handlersBySignature.clear();
+                }
+                handlers = sortByPriority(EventSystemImpl.this.selectEventHandlers(eventType, entity));
+                handlersBySignature.put(lookupSignature.copy(), handlers);
+            }
+            return handlers;
+        }
+    }
+
+    /**
+     * A bit set of the component classes of a dispatch table that an entity has.
+     */
+    private static final class ComponentSignature {
+        private final long[] words;
+
+        ComponentSignature(int bitCount) {
+            this.words = new long[(bitCount + 63) / 64];
+        }
+
+        private ComponentSignature(long[] words) {
+            this.words = words;
+        }
+
+        void clear() {
+            Arrays.fill(words, 0);
+        }
+
+        void set(int index) {
+            words[index >> 6] |= 1L << index;
+        }
+
+        ComponentSignature copy() {
+            return new ComponentSignature(Arrays.copyOf(words, words.length));
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (obj == this) {
+                return true;
+            }
+            if (obj instanceof ComponentSignature) {
+                return Arrays.equals(words, ((ComponentSignature) obj).words);
+            }
+            return false;
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(words);
+        }
+    }
+
     private static class EventHandlerPriorityComparator implements Comparator<EventHandlerInfo> {
 
         @Override
@@ -535,6 +672,62 @@ public ComponentSystem getHandler() {
         }
     }
 
+    private static class InvokerEventHandlerInfo implements EventHandlerInfo {
+        private ComponentSystem handler;
+        private EventHandlerInvoker invoker;
+        private String activity;
+        private Class<? extends Component>[] filterComponents;
+        private int priority;
+
+        InvokerEventHandlerInfo(ComponentSystem handler,
+                                EventHandlerInvoker invoker,
+                                int priority,
+                                String activity,
+                                Collection<Class<? extends Component>> filterComponents) {
+            this.handler = handler;
+            this.invoker = invoker;
+            this.activity = activity;
+            this.filterComponents = toComponentClassArray(filterComponents);
+            this.priority = priority;
+        }
+
+        @Override
+        public boolean isValidFor(EntityRef entity) {
+            for (Class<? extends Component> component : filterComponents) {
+                if (!entity.hasComponent(component)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public void invoke(EntityRef entity, Event event) {
+            if (!activity.isEmpty()) {
+                PerformanceMonitor.startActivity(activity);
+            }
+            try {
+                invoker.invoke(handler, event, entity);
+            } catch (Exception ex) {
+                logger.error("Failed to invoke event", ex);
+            } finally {
+                if (!activity.isEmpty()) {
+                    PerformanceMonitor.endActivity();
+                }
+            }
+        }
+
+        @Override
+        public int getPriority() {
+            return priority;
+        }
+
+        @Override
+        public ComponentSystem getHandler() {
+            return handler;
+        }
+    }
+
     private static class ReceiverEventHandlerInfo<T extends Event> implements EventHandlerInfo {
         private EventReceiver<T> receiver;
         private Class<? extends Component>[] components;
@@ -18,6 +18,7 @@
 
 import org.terasology.engine.Time;
 import org.terasology.entitySystem.entity.EntityManager;
+import org.terasology.entitySystem.entity.EntityQuery;
 import org.terasology.entitySystem.entity.EntityRef;
 import org.terasology.entitySystem.entity.lifecycleEvents.OnAddedComponent;
 import org.terasology.entitySystem.event.ReceiveEvent;
@@ -37,10 +38,22 @@ public class LifespanSystem extends BaseComponentSystem implements UpdateSubscri
     @In
     private Time time;
 
+    private EntityQuery lifespanEntities;
+
+    @Override
+    public void initialise() {
+        lifespanEntities = entityManager.createQuery(LifespanComponent.class);
+    }
+
+    @Override
+    public void shutdown() {
+        lifespanEntities.release();
+    }
+
     @Override
     public void update(float delta) {
         long currentTime = time.getGameTimeInMs();
-        for (EntityRef entity : entityManager.getEntitiesWith(LifespanComponent.class)) {
+        for (EntityRef entity : lifespanEntities) {
             LifespanComponent lifespan = entity.getComponent(LifespanComponent.class);
             if (lifespan.deathTime < currentTime) {
                 entity.destroy();
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.logic.location;
+
+import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.math.AABB;
+import org.terasology.math.geom.Vector3f;
+import org.terasology.math.geom.Vector3i;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * An index of all active entities with a {@link LocationComponent} by their world position, kept up to date by the
+ * entity manager.
+ * <br><br>
+ * Positions are picked up when a location component is added, saved or removed. A location that is modified without
+ * saving the component is not reflected until the next save.
+ */
+public interface EntitySpatialIndex {
+
+    /**
+     * @param chunkPos The position of a chunk
+     * @return The entities whose world position lies within the chunk
+     */
+    Collection<EntityRef> getEntitiesInChunk(Vector3i chunkPos);
+
+    /**
+     * @param region The region to search
+     * @return The entities whose world position lies within the given region
+     */
+    Collection<EntityRef> getEntitiesInRegion(AABB region);
+
+    /**
+     * @param point The point to measure from
+     * @param count The maximum number of entities to return
+     * @return Up to count entities, ordered by increasing distance of their world position to the given point
+     */
+    List<EntityRef> getNearestEntities(Vector3f point, int count);
+
+    /**
+     * @return The number of indexed entities
+     */
+    int size();
+}
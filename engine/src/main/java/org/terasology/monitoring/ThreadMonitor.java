@@ -21,16 +21,21 @@
 import com.google.common.eventbus.EventBus;
 import org.terasology.monitoring.impl.SingleThreadMonitor;
 import org.terasology.monitoring.impl.SingleThreadMonitorImpl;
+import org.terasology.monitoring.impl.TaskQueueMonitor;
 import org.terasology.monitoring.impl.ThreadActivityInternal;
 import org.terasology.monitoring.impl.ThreadMonitorEvent;
 
+import java.lang.ref.WeakReference;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 public final class ThreadMonitor {
 
     private static final EventBus EVENT_BUS = new EventBus("ThreadMonitor");
     private static final Map<Thread, SingleThreadMonitor> THREAD_INFO_BY_ID = Maps.newConcurrentMap();
+    // Weak, so that task masters that never get shut down do not stay reachable through the registry
+    private static final List<WeakReference<TaskQueueMonitor>> TASK_QUEUES = new CopyOnWriteArrayList<>();
 
     private ThreadMonitor() {
     }
@@ -57,6 +62,33 @@ public static synchronized List<SingleThreadMonitor> getThreadMonitors(boolean a
         return getThreadMonitors(Lists.<SingleThreadMonitor>newArrayList(), aliveThreadsOnly);
     }
 
+    /**
+     * Makes the metrics of a running task master available through {@link #getTaskQueueMonitors()}, until it gets
+     * unregistered or garbage collected.
+     */
+    public static void registerTaskQueue(TaskQueueMonitor monitor) {
+        Preconditions.checkNotNull(monitor, "The parameter 'monitor' must not be null");
+        TASK_QUEUES.add(new WeakReference<>(monitor));
+    }
+
+    public static void unregisterTaskQueue(TaskQueueMonitor monitor) {
+        TASK_QUEUES.removeIf(reference -> reference.get() == null || reference.get() == monitor);
+    }
+
+    public static List<TaskQueueMonitor> getTaskQueueMonitors() {
+        List<TaskQueueMonitor> monitors = Lists.newArrayListWithCapacity(TASK_QUEUES.size());
+        for (WeakReference<TaskQueueMonitor> reference : TASK_QUEUES) {
+            TaskQueueMonitor monitor = reference.get();
+            if (monitor != null) {
+                monitors.add(monitor);
+            }
+        }
+        if (monitors.size() < TASK_QUEUES.size()) {
+            TASK_QUEUES.removeIf(reference -> reference.get() == null);
+        }
+        return monitors;
+    }
+
     public static void registerForEvents(Object object) {
         Preconditions.checkNotNull(object, "The parameter 'object' must not be null");
         EVENT_BUS.register(object);
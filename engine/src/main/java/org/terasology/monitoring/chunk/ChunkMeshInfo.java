@@ -26,6 +26,9 @@ public class ChunkMeshInfo {
     public final int totalTriangles;
     public final int totalTimeToGenerateBlockVertices;
     public final int totalTimeToGenerateOptimizedBuffers;
+    public final int totalTimeToMergeFaces;
+    public final int totalMergedFaces;
+    public final int totalMergedVertexReduction;
 
     public ChunkMeshInfo(ChunkMesh mesh) {
         checkNotNull(mesh, "The parameter 'mesh' must not be null");
@@ -46,6 +49,9 @@ public ChunkMeshInfo(ChunkMesh mesh) {
         this.totalTriangles = indices / 3;
         this.totalTimeToGenerateBlockVertices = mesh.getTimeToGenerateBlockVertices();
         this.totalTimeToGenerateOptimizedBuffers = mesh.getTimeToGenerateOptimizedBuffers();
+        this.totalTimeToMergeFaces = mesh.getTimeToMergeFaces();
+        this.totalMergedFaces = mesh.getMergedFaceCount();
+        this.totalMergedVertexReduction = mesh.getMergedVertexReduction();
     }
 }
 
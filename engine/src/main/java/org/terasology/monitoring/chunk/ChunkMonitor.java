@@ -31,6 +31,9 @@ public final class ChunkMonitor {
     private static final EventBus EVENT_BUS = new EventBus("ChunkMonitor");
     private static final Map<Vector3i, ChunkMonitorEntry> CHUNKS = Maps.newConcurrentMap();
 
+    private static volatile long chunkMemoryUsage;
+    private static volatile long chunkMemoryBudget;
+
     private ChunkMonitor() {
     }
 
@@ -61,6 +64,8 @@ public static void fireChunkProviderInitialized(ChunkProvider provider) {
 
     public static void fireChunkProviderDisposed(ChunkProvider provider) {
         CHUNKS.clear();
+        chunkMemoryUsage = 0;
+        chunkMemoryBudget = 0;
         post(new ChunkMonitorEvent.ChunkProviderDisposed(provider));
     }
 
@@ -92,6 +97,24 @@ public static void fireChunkTessellated(Vector3i chunkPos, ChunkMesh mesh) {
         post(new ChunkMonitorEvent.Tessellated(chunkPos, mesh));
     }
 
+    /**
+     * @param usage  the estimated memory consumption of all loaded chunks in bytes
+     * @param budget the memory budget of the loaded chunks in bytes, 0 if there is none
+     */
+    public static void fireChunkMemoryUpdated(long usage, long budget) {
+        chunkMemoryUsage = usage;
+        chunkMemoryBudget = budget;
+        post(new ChunkMonitorEvent.MemoryUpdated(usage, budget));
+    }
+
+    public static long getChunkMemoryUsage() {
+        return chunkMemoryUsage;
+    }
+
+    public static long getChunkMemoryBudget() {
+        return chunkMemoryBudget;
+    }
+
     public static synchronized void getChunks(List<ChunkMonitorEntry> output) {
         Preconditions.checkNotNull(output, "The parameter 'output' must not be null");
         output.addAll(CHUNKS.values());
@@ -42,6 +42,17 @@ public ChunkProviderDisposed(ChunkProvider provider) {
         }
     }
 
+    public static class MemoryUpdated extends ChunkMonitorEvent {
+
+        public final long usage;
+        public final long budget;
+
+        public MemoryUpdated(long usage, long budget) {
+            this.usage = usage;
+            this.budget = budget;
+        }
+    }
+
     public static class BasicChunkEvent extends ChunkMonitorEvent {
 
         protected final Vector3i position;
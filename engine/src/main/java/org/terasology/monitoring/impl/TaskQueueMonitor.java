@@ -0,0 +1,44 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.monitoring.impl;
+
+/**
+ * Queue depth and throughput of a single task master.
+ */
+public interface TaskQueueMonitor {
+
+    String getName();
+
+    /**
+     * @return The number of tasks waiting to be processed
+     */
+    int getQueueDepth();
+
+    /**
+     * @return The number of tasks currently being processed
+     */
+    int getActiveTasks();
+
+    /**
+     * @return The number of tasks processed since the task master was created
+     */
+    long getCompletedTasks();
+
+    /**
+     * @return The number of tasks completed per second, measured over roughly the last second
+     */
+    float getThroughput();
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.monitoring.impl;
+
+import com.google.common.base.Preconditions;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class TaskQueueMonitorImpl implements TaskQueueMonitor {
+    private static final long SAMPLE_INTERVAL = TimeUnit.SECONDS.toNanos(1);
+
+    private final String name;
+    private final Collection<?> queue;
+    private final AtomicInteger activeTasks = new AtomicInteger();
+    private final AtomicLong completedTasks = new AtomicLong();
+
+    private long sampleTime = System.nanoTime();
+    private long sampleCompleted;
+    private float throughput;
+
+    public TaskQueueMonitorImpl(String name, Collection<?> queue) {
+        Preconditions.checkNotNull(queue, "The parameter 'queue' must not be null");
+        this.name = name;
+        this.queue = queue;
+    }
+
+    public void taskStarted() {
+        activeTasks.incrementAndGet();
+    }
+
+    public void taskCompleted() {
+        activeTasks.decrementAndGet();
+        completedTasks.incrementAndGet();
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    @Override
+    public int getActiveTasks() {
+        return activeTasks.get();
+    }
+
+    @Override
+    public long getCompletedTasks() {
+        return completedTasks.get();
+    }
+
+    @Override
+    public synchronized float getThroughput() {
+        long now = System.nanoTime();
+        long elapsed = now - sampleTime;
+        if (elapsed >= SAMPLE_INTERVAL) {
+            long completed = completedTasks.get();
+            throughput = (float) (completed - sampleCompleted) * SAMPLE_INTERVAL / elapsed;
+            sampleCompleted = completed;
+            sampleTime = now;
+        }
+        return throughput;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,27 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.network;
+
+/**
+ * Metrics of the serialized events and component fields that a server shares between the clients it sends them to.
+ */
+public interface BroadcastSerializationMetrics {
+    /**
+     * @return The amount of events and component fields that were sent to several clients but only serialized once,
+     * counting each reuse, since last time this method was called
+     */
+    int getAvoidedSerializationsSinceLastCall();
+}
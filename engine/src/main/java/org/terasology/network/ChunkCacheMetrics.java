@@ -0,0 +1,37 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.network;
+
+/**
+ * Metrics of the cache in which a server keeps encoded chunks, to send them to several clients without encoding them
+ * again.
+ */
+public interface ChunkCacheMetrics {
+    /**
+     * @return The amount of chunks that were sent without encoding them again, since last time this method was called
+     */
+    int getHitsSinceLastCall();
+
+    /**
+     * @return The amount of chunks that had to be encoded to be sent, since last time this method was called
+     */
+    int getMissesSinceLastCall();
+
+    /**
+     * @return The approximate amount of bytes held by the cached encoded chunks
+     */
+    long getMemoryUsage();
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.network;
+
+/**
+ * The compression applied to the frames the server sends to a client. The client requests one during the handshake.
+ */
+public enum FrameCompression {
+    /**
+     * Frames are sent uncompressed.
+     */
+    NONE,
+
+    /**
+     * Frames are compressed as a single zlib stream. Compresses best, but costs the most processing time.
+     */
+    ZLIB,
+
+    /**
+     * Frames are compressed individually with an LZ4 block codec, optionally against a dictionary provided by the
+     * server. Much faster than zlib, at a lower compression ratio.
+     */
+    LZ4
+}
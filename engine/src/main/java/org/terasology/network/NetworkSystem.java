@@ -19,6 +19,7 @@
 import org.terasology.context.Context;
 import org.terasology.entitySystem.entity.EntityRef;
 import org.terasology.entitySystem.entity.internal.EngineEntityManager;
+import org.terasology.entitySystem.event.Event;
 import org.terasology.entitySystem.metadata.EventLibrary;
 import org.terasology.network.exceptions.HostingFailedException;
 import org.terasology.rendering.nui.Color;
@@ -49,6 +50,13 @@ public interface NetworkSystem extends BlockRegistrationListener {
 
     Iterable<Client> getPlayers();
 
+    /**
+     * Sends an event to all players. The event is serialized once for all of them.
+     *
+     * @param excludedClient A player that does not receive the event, or null
+     */
+    void broadcastEvent(Event event, EntityRef target, Client excludedClient);
+
     Client getOwner(EntityRef entity);
 
     EntityRef getOwnerEntity(EntityRef entity);
@@ -65,6 +73,16 @@ public interface NetworkSystem extends BlockRegistrationListener {
 
     int getOutgoingBytesDelta();
 
+    /**
+     * @return The metrics of the encoded chunks the server shares between its clients
+     */
+    ChunkCacheMetrics getChunkCacheMetrics();
+
+    /**
+     * @return The metrics of the serialized events and entity updates the server shares between its clients
+     */
+    BroadcastSerializationMetrics getBroadcastSerializationMetrics();
+
     void forceDisconnect(Client client);
 
     void setContext(Context context);
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.network.internal;
+
+import org.terasology.entitySystem.Component;
+import org.terasology.entitySystem.event.Event;
+import org.terasology.network.BroadcastSerializationMetrics;
+import org.terasology.persistence.serializers.EventSerializer;
+import org.terasology.persistence.serializers.SerializedFieldCache;
+import org.terasology.protobuf.EntityData;
+
+/**
+ * Serialized events and component fields that the server shares between all clients it sends them to.
+ * <br><br>
+ * Component fields are cached until the next update of the network system, or until the component changes. An event
+ * is only shared during a single broadcast, as event handlers may change it before the same instance is sent again.
+ */
+class BroadcastSerializationCache implements BroadcastSerializationMetrics {
+    private final SerializedFieldCache fieldCache = new SerializedFieldCache();
+    private Event broadcastEvent;
+    private EntityData.Event serializedBroadcastEvent;
+    private int avoidedEventSerializations;
+
+    /**
+     * Shares the serialization of the given event between all clients it gets sent to, until {@link #endBroadcast()}.
+     */
+    void beginBroadcast(Event event) {
+        broadcastEvent = event;
+        serializedBroadcastEvent = null;
+    }
+
+    void endBroadcast() {
+        broadcastEvent = null;
+        serializedBroadcastEvent = null;
+    }
+
+    /**
+     * @return The serialized event, which is shared with the other clients of the current broadcast of the event
+     */
+    EntityData.Event serializeEvent(Event event, EventSerializer eventSerializer) {
+        if (event != broadcastEvent) {
+            return eventSerializer.serialize(event);
+        }
+        if (serializedBroadcastEvent == null) {
+            serializedBroadcastEvent = eventSerializer.serialize(event);
+        } else {
+            avoidedEventSerializations++;
+        }
+        return serializedBroadcastEvent;
+    }
+
+    SerializedFieldCache getFieldCache() {
+        return fieldCache;
+    }
+
+    void invalidate(Component component) {
+        fieldCache.invalidate(component);
+    }
+
+    void clear() {
+        fieldCache.clear();
+        endBroadcast();
+    }
+
+    @Override
+    public int getAvoidedSerializationsSinceLastCall() {
+        int result = avoidedEventSerializations + fieldCache.getAvoidedSerializationsSinceLastCall();
+        avoidedEventSerializations = 0;
+        return result;
+    }
+}
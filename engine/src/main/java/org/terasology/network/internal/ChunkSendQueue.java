@@ -0,0 +1,91 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.network.internal;
+
+import com.google.common.collect.Maps;
+import org.terasology.math.geom.Vector3i;
+import org.terasology.world.chunks.Chunk;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * The chunks that still need to be sent to a client, ordered by their distance to the chunk the client's character
+ * is in.
+ * <br><br>
+ * Removed chunks are left in the priority queue and skipped when they come up. The queue gets rebuilt when the
+ * center changes, or when it contains a lot of such stale entries.
+ */
+class ChunkSendQueue {
+    private final Map<Vector3i, Chunk> chunks = Maps.newHashMap();
+    private final Vector3i center = new Vector3i();
+    private final Comparator<Vector3i> distanceComparator =
+            (a, b) -> Integer.compare(a.distanceSquared(center), b.distanceSquared(center));
+    private PriorityQueue<Vector3i> queue = new PriorityQueue<>(distanceComparator);
+
+    void add(Vector3i chunkPos, Chunk chunk) {
+        Vector3i pos = new Vector3i(chunkPos);
+        if (chunks.put(pos, chunk) == null) {
+            queue.add(pos);
+        }
+    }
+
+    void remove(Vector3i chunkPos) {
+        if (chunks.remove(chunkPos) != null && queue.size() > 2 * chunks.size() + 16) {
+            rebuildQueue();
+        }
+    }
+
+    boolean isEmpty() {
+        return chunks.isEmpty();
+    }
+
+    int size() {
+        return chunks.size();
+    }
+
+    /**
+     * Changes the position the distances of the chunks are measured from.
+     */
+    void setCenter(Vector3i chunkPos) {
+        if (!center.equals(chunkPos)) {
+            center.set(chunkPos);
+            rebuildQueue();
+        }
+    }
+
+    /**
+     * Removes the nearest chunk from the queue.
+     *
+     * @return the nearest chunk or null if the queue is empty.
+     */
+    Chunk poll() {
+        while (!queue.isEmpty()) {
+            Chunk chunk = chunks.remove(queue.poll());
+            if (chunk != null) {
+                return chunk;
+            }
+        }
+        return null;
+    }
+
+    private void rebuildQueue() {
+        PriorityQueue<Vector3i> newQueue = new PriorityQueue<>(Math.max(1, chunks.size()), distanceComparator);
+        newQueue.addAll(chunks.keySet());
+        queue = newQueue;
+    }
+}
@@ -32,6 +32,8 @@
 import org.terasology.identity.IdentityConstants;
 import org.terasology.identity.PrivateIdentityCertificate;
 import org.terasology.identity.PublicIdentityCertificate;
+import org.terasology.network.FrameCompression;
+import org.terasology.network.internal.compression.FrameCompressionHandlers;
 import org.terasology.protobuf.NetData;
 
 import javax.crypto.BadPaddingException;
@@ -78,6 +80,9 @@ public void channelOpen(ChannelHandlerContext ctx, ChannelStateEvent e) throws E
     @Override
     public void messageReceived(ChannelHandlerContext ctx, MessageEvent e) {
         NetData.NetMessage message = (NetData.NetMessage) e.getMessage();
+        if (message.hasCompression() && !switchCompression(message, ctx)) {
+            return;
+        }
         if (message.hasHandshakeHello()) {
             processServerHello(message.getHandshakeHello(), ctx);
         } else if (message.hasProvisionIdentity()) {
@@ -87,6 +92,22 @@ public void messageReceived(ChannelHandlerContext ctx, MessageEvent e) {
         }
     }
 
+    /**
+     * Switches to the frame compression the server confirmed; every message after this one uses it.
+     */
+    private boolean switchCompression(NetData.NetMessage message, ChannelHandlerContext ctx) {
+        FrameCompression compression = FrameCompressionHandlers.parse(message.getCompression());
+        if (compression == null) {
+            logger.error("Server selected unknown compression '{}': cancelling authentication", message.getCompression());
+            joinStatus.setErrorMessage(AUTHENTICATION_FAILURE);
+            ctx.getChannel().close();
+            return false;
+        }
+        logger.info("Server selected {} compression", compression);
+        FrameCompressionHandlers.switchDecoder(ctx.getPipeline(), compression, message.getCompressionDictionary().toByteArray());
+        return true;
+    }
+
     private void processHandshakeVerification(NetData.HandshakeVerification handshakeVerification, ChannelHandlerContext ctx) {
         logger.info("Received server verification");
         if (serverHello == null || clientHello == null) {
@@ -222,6 +243,7 @@ private void sendCertificate(NetData.HandshakeHello helloMessage, ChannelHandler
                 .setHandshakeHello(clientHello)
                 .setHandshakeVerification(NetData.HandshakeVerification.newBuilder()
                         .setSignature(ByteString.copyFrom(signature)))
+                .setCompression(config.getNetwork().getCompression().name())
                 .build());
     }
 
@@ -238,6 +260,7 @@ private void requestIdentity(ChannelHandlerContext ctx) {
                 .setNewIdentityRequest(NetData.NewIdentityRequest.newBuilder()
                         .setPreMasterSecret(ByteString.copyFrom(encryptedPreMasterSecret))
                         .setRandom(ByteString.copyFrom(clientRandom)))
+                .setCompression(config.getNetwork().getCompression().name())
                 .build());
         requestedCertificate = true;
     }
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.network.internal;
+
+import org.terasology.math.geom.Vector3i;
+import org.terasology.network.ChunkCacheMetrics;
+import org.terasology.protobuf.EntityData;
+import org.terasology.world.chunks.Chunk;
+
+import java.lang.ref.WeakReference;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Server side cache of encoded chunks that is shared by all {@link NetClient}s, so that a chunk that gets sent to
+ * many clients only gets encoded once.
+ * <br><br>
+ * An entry remembers the chunk instance and its content version it was encoded from. Entries of chunks that got
+ * reloaded or changed since are never used and get replaced on the next request. Block and biome changes also
+ * invalidate the entry of their chunk directly. The least recently used entries are evicted once the encoded chunks
+ * exceed the memory budget.
+ */
+class EncodedChunkCache implements ChunkCacheMetrics {
+    private static final long DEFAULT_MEMORY_BUDGET = 64L * 1024 * 1024;
+
+    private final long memoryBudget;
+    private final Map<Vector3i, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long memoryUsage;
+
+    private final AtomicInteger hits = new AtomicInteger();
+    private final AtomicInteger misses = new AtomicInteger();
+
+    EncodedChunkCache() {
+        this(DEFAULT_MEMORY_BUDGET);
+    }
+
+    /**
+     * @param memoryBudget the amount of bytes that encoded chunks may use before entries get evicted.
+     */
+    EncodedChunkCache(long memoryBudget) {
+        this.memoryBudget = memoryBudget;
+    }
+
+    /**
+     * @return the encoded chunk, either from the cache or freshly encoded.
+     */
+    synchronized EntityData.ChunkStore getEncodedChunk(Chunk chunk) {
+        Vector3i chunkPos = chunk.getPosition();
+        int contentVersion = chunk.getContentVersion();
+        Entry entry = entries.get(chunkPos);
+        if (entry != null && entry.chunk.get() == chunk && entry.contentVersion == contentVersion) {
+            hits.incrementAndGet();
+            return entry.encodedChunk;
+        }
+        misses.incrementAndGet();
+        EntityData.ChunkStore encodedChunk = chunk.encode().build();
+        Entry newEntry = new Entry(chunk, contentVersion, encodedChunk);
+        Entry previous = entries.put(new Vector3i(chunkPos), newEntry);
+        if (previous != null) {
+            memoryUsage -= previous.size;
+        }
+        memoryUsage += newEntry.size;
+        evictIfOverBudget();
+        return encodedChunk;
+    }
+
+    synchronized void invalidate(Vector3i chunkPos) {
+        Entry removed = entries.remove(chunkPos);
+        if (removed != null) {
+            memoryUsage -= removed.size;
+        }
+    }
+
+    synchronized void clear() {
+        entries.clear();
+        memoryUsage = 0;
+    }
+
+    private void evictIfOverBudget() {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (memoryUsage > memoryBudget && iterator.hasNext()) {
+            memoryUsage -= iterator.next().size;
+            iterator.remove();
+        }
+    }
+
+    @Override
+    public int getHitsSinceLastCall() {
+        return hits.getAndSet(0);
+    }
+
+    @Override
+    public int getMissesSinceLastCall() {
+        return misses.getAndSet(0);
+    }
+
+    @Override
+    public synchronized long getMemoryUsage() {
+        return memoryUsage;
+    }
+
+    private static final class Entry {
+        // Weak, so that the cache does not keep unloaded chunks in memory
+        private final WeakReference<Chunk> chunk;
+        private final int contentVersion;
+        private final EntityData.ChunkStore encodedChunk;
+        private final int size;
+
+        Entry(Chunk chunk, int contentVersion, EntityData.ChunkStore encodedChunk) {
+            this.chunk = new WeakReference<>(chunk);
+            this.contentVersion = contentVersion;
+            this.encodedChunk = encodedChunk;
+            this.size = encodedChunk.getSerializedSize();
+        }
+    }
+}
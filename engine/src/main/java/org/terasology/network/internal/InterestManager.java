@@ -0,0 +1,133 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.network.internal;
+
+import org.terasology.entitySystem.entity.EntityManager;
+import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.logic.location.LocationComponent;
+import org.terasology.math.ChunkMath;
+import org.terasology.math.geom.Vector3f;
+import org.terasology.network.ClientComponent;
+import org.terasology.network.NetworkComponent;
+import org.terasology.world.block.BlockComponent;
+
+import java.util.Collection;
+
+/**
+ * Decides which network entities are replicated to which client, and how often their updates get sent.
+ * <br><br>
+ * An entity with {@link NetworkComponent.ReplicateMode#RELEVANT} is relevant to a client if the client owns it, if it
+ * has no position in the world, or if it lies within a chunk that has been sent to the client. Entities that enter or
+ * leave the relevance region of a client get created or removed on that client through the usual entity messages.
+ * <br><br>
+ * Updates of entities further away from a client's character are sent less often: every
+ * {@code entityUpdateTierDistance} blocks the interval between updates doubles, up to {@link #MAX_UPDATE_TIER} times.
+ */
+class InterestManager {
+    /**
+     * Number of net ticks between reevaluations of the relevance of entities.
+     */
+    private static final int RELEVANCE_CHECK_INTERVAL = 10;
+    private static final int MAX_UPDATE_TIER = 3;
+
+    private final NetworkSystemImpl networkSystem;
+    private int ticksUntilRelevanceCheck = RELEVANCE_CHECK_INTERVAL;
+
+    InterestManager(NetworkSystemImpl networkSystem) {
+        this.networkSystem = networkSystem;
+    }
+
+    /**
+     * Creates and removes entities on the clients as they become relevant or irrelevant to them.
+     * Should be called once per net tick.
+     */
+    void update(EntityManager entityManager, Collection<NetClient> clients) {
+        if (--ticksUntilRelevanceCheck > 0 || clients.isEmpty()) {
+            return;
+        }
+        ticksUntilRelevanceCheck = RELEVANCE_CHECK_INTERVAL;
+        for (EntityRef entity : entityManager.getEntitiesWith(NetworkComponent.class)) {
+            NetworkComponent netComp = entity.getComponent(NetworkComponent.class);
+            int netId = netComp.getNetworkId();
+            if (netId == NetworkSystemImpl.NULL_NET_ID) {
+                continue;
+            }
+            for (NetClient client : clients) {
+                boolean relevant = isRelevant(client, entity, netComp);
+                if (relevant != client.isNetRelevant(netId)) {
+                    if (relevant) {
+                        client.setNetInitial(netId);
+                    } else {
+                        client.setNetRemoved(netId);
+                    }
+                }
+            }
+        }
+    }
+
+    boolean isRelevant(NetClient client, EntityRef entity, NetworkComponent netComp) {
+        switch (netComp.replicateMode) {
+            case ALWAYS:
+                return true;
+            case OWNER:
+                return client.equals(networkSystem.getOwner(entity));
+            default:
+                if (client.equals(networkSystem.getOwner(entity))) {
+                    return true;
+                }
+                Vector3f position = getPosition(entity);
+                return position == null || client.isRelevantChunk(ChunkMath.calcChunkPos(position));
+        }
+    }
+
+    /**
+     * @return The number of net ticks between updates of the entity for the given client.
+     */
+    int getUpdateInterval(NetClient client, EntityRef entity, int tierDistance) {
+        if (tierDistance <= 0 || client.equals(networkSystem.getOwner(entity))) {
+            return 1;
+        }
+        Vector3f position = getPosition(entity);
+        if (position == null) {
+            return 1;
+        }
+        ClientComponent clientComp = client.getEntity().getComponent(ClientComponent.class);
+        Vector3f clientPosition = (clientComp != null) ? getPosition(clientComp.character) : null;
+        if (clientPosition == null) {
+            return 1;
+        }
+        int tier = (int) (clientPosition.distance(position) / tierDistance);
+        return 1 << Math.min(tier, MAX_UPDATE_TIER);
+    }
+
+    /**
+     * @return The position of the entity in the world, or null if it has none.
+     */
+    private static Vector3f getPosition(EntityRef entity) {
+        BlockComponent blockComp = entity.getComponent(BlockComponent.class);
+        if (blockComp != null) {
+            return blockComp.getPosition().toVector3f();
+        }
+        LocationComponent location = entity.getComponent(LocationComponent.class);
+        if (location != null) {
+            Vector3f position = location.getWorldPosition();
+            if (!Float.isNaN(position.x)) {
+                return position;
+            }
+        }
+        return null;
+    }
+}
@@ -18,10 +18,18 @@
 
 import org.jboss.netty.buffer.ChannelBuffer;
 import org.jboss.netty.channel.ChannelHandlerContext;
+import org.jboss.netty.channel.ChannelStateEvent;
 import org.jboss.netty.channel.MessageEvent;
 import org.jboss.netty.channel.SimpleChannelHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.terasology.network.FrameCompression;
 import org.terasology.network.NetMetricSource;
+import org.terasology.network.internal.compression.CompressionMetrics;
 
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
 /**
@@ -32,10 +40,19 @@ public class MetricRecordingHandler extends SimpleChannelHandler implements NetM
 
     public static final String NAME = "metrics";
 
+    private static final Logger logger = LoggerFactory.getLogger(MetricRecordingHandler.class);
+
     private AtomicInteger receivedMessages = new AtomicInteger();
     private AtomicInteger receivedBytes = new AtomicInteger();
     private AtomicInteger sentMessages = new AtomicInteger();
     private AtomicInteger sentBytes = new AtomicInteger();
+    private final Map<FrameCompression, CompressionMetrics> compressionMetrics = new EnumMap<>(FrameCompression.class);
+
+    public MetricRecordingHandler() {
+        for (FrameCompression compression : FrameCompression.values()) {
+            compressionMetrics.put(compression, new CompressionMetrics());
+        }
+    }
 
     @Override
     public void messageReceived(ChannelHandlerContext ctx, MessageEvent e) throws Exception {
@@ -53,6 +70,25 @@ public void writeRequested(ChannelHandlerContext ctx, MessageEvent e) throws Exc
         ctx.sendDownstream(e);
     }
 
+    @Override
+    public void channelClosed(ChannelHandlerContext ctx, ChannelStateEvent e) throws Exception {
+        for (Map.Entry<FrameCompression, CompressionMetrics> entry : compressionMetrics.entrySet()) {
+            CompressionMetrics metrics = entry.getValue();
+            if (metrics.getUncompressedBytes() > 0) {
+                logger.info("{} frame compression: {} ms for {} bytes, ratio {}", entry.getKey(),
+                        TimeUnit.NANOSECONDS.toMillis(metrics.getTimeNanos()), metrics.getUncompressedBytes(), String.format("%.2f", metrics.getRatio()));
+            }
+        }
+        super.channelClosed(ctx, e);
+    }
+
+    /**
+     * @return The time spent on and compression achieved by the codec on this end of the connection
+     */
+    public CompressionMetrics getCompressionMetrics(FrameCompression compression) {
+        return compressionMetrics.get(compression);
+    }
+
     @Override
     public int getReceivedMessagesSinceLastCall() {
         return receivedMessages.getAndSet(0);
@@ -25,6 +25,8 @@
 import com.google.common.collect.Sets;
 
 import gnu.trove.iterator.TIntIterator;
+import gnu.trove.map.TIntObjectMap;
+import gnu.trove.map.hash.TIntObjectHashMap;
 import gnu.trove.set.TIntSet;
 import gnu.trove.set.hash.TIntHashSet;
 
@@ -53,6 +55,7 @@
 import org.terasology.network.serialization.ServerComponentFieldCheck;
 import org.terasology.persistence.serializers.EventSerializer;
 import org.terasology.persistence.serializers.NetworkEntitySerializer;
+import org.terasology.persistence.serializers.ReplicatedEntityState;
 import org.terasology.persistence.typeHandling.DeserializationException;
 import org.terasology.persistence.typeHandling.SerializationException;
 import org.terasology.protobuf.EntityData;
@@ -68,9 +71,11 @@
 import org.terasology.world.block.BlockComponent;
 import org.terasology.world.block.family.BlockFamily;
 import org.terasology.world.chunks.Chunk;
+import org.terasology.world.propagation.BlockChange;
 
 import java.math.RoundingMode;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -106,23 +111,27 @@ public class NetClient extends AbstractClient implements WorldChangeListener {
     private SetMultimap<Integer, Class<? extends Component>> dirtyComponents = LinkedHashMultimap.create();
     private SetMultimap<Integer, Class<? extends Component>> addedComponents = LinkedHashMultimap.create();
     private SetMultimap<Integer, Class<? extends Component>> removedComponents = LinkedHashMultimap.create();
+    private TIntObjectMap<ReplicatedEntityState> replicatedStates = new TIntObjectHashMap<>();
 
     private String preferredName = "Player";
     private long lastReceivedTime;
     private ViewDistance viewDistance = ViewDistance.NEAR;
-    private float chunkSendCounter = 1.0f;
-
-    private float chunkSendRate = 0.05469f;
+    /**
+     * Bytes of encoded chunks that may still be sent. Can get negative, as a chunk gets sent as a whole.
+     */
+    private float chunkSendBudget;
+    private int netTickCount;
 
     private PublicIdentityCertificate identity;
 
     // Outgoing messages
     private BlockingQueue<NetData.BlockChangeMessage> queuedOutgoingBlockChanges = Queues.newLinkedBlockingQueue();
+    private BlockingQueue<NetData.BlockChangeBatchMessage> queuedOutgoingBlockChangeBatches = Queues.newLinkedBlockingQueue();
     private BlockingQueue<NetData.BiomeChangeMessage> queuedOutgoingBiomeChanges = Queues.newLinkedBlockingQueue();
     private List<NetData.EventMessage> queuedOutgoingEvents = Lists.newArrayList();
     private final List<BlockFamily> newlyRegisteredFamilies = Lists.newArrayList();
 
-    private Map<Vector3i, Chunk> readyChunks = Maps.newLinkedHashMap();
+    private ChunkSendQueue readyChunks = new ChunkSendQueue();
     private Set<Vector3i> invalidatedChunks = Sets.newLinkedHashSet();
 
 
@@ -216,6 +225,7 @@ public void disconnect() {
     @Override
     public void update(boolean netTick) {
         if (netTick) {
+            netTickCount++;
             NetData.NetMessage.Builder message = NetData.NetMessage.newBuilder();
             message.setTime(time.getGameTimeInMs());
             sendRegisteredBlocks(message);
@@ -244,31 +254,27 @@ private void sendRegisteredBlocks(NetData.NetMessage.Builder message) {
         }
     }
 
+    /**
+     * Sends the nearest ready chunks, as many as the bandwidth available for the client allows.
+     */
     private void sendNewChunks(NetData.NetMessage.Builder message) {
-        if (!readyChunks.isEmpty()) {
-            chunkSendCounter += chunkSendRate * NET_TICK_RATE * networkSystem.getBandwidthPerClient();
-            if (chunkSendCounter > 1.0f) {
-                chunkSendCounter -= 1.0f;
-                Vector3i center = new Vector3i();
-                LocationComponent loc = getEntity().getComponent(ClientComponent.class).character.getComponent(LocationComponent.class);
-                if (loc != null) {
-                    center.set(ChunkMath.calcChunkPos(new Vector3i(loc.getWorldPosition(), RoundingMode.HALF_UP)));
-                }
-                Vector3i pos = null;
-                int distance = Integer.MAX_VALUE;
-                for (Vector3i chunkPos : readyChunks.keySet()) {
-                    int chunkDistance = chunkPos.distanceSquared(center);
-                    if (pos == null || chunkDistance < distance) {
-                        pos = chunkPos;
-                        distance = chunkDistance;
-                    }
-                }
-                Chunk chunk = readyChunks.remove(pos);
-                relevantChunks.add(pos);
-                message.addChunkInfo(chunk.encode());
-            }
-        } else {
-            chunkSendCounter = 1.0f;
+        if (readyChunks.isEmpty()) {
+            // Bandwidth that was not needed can't be saved up for later
+            chunkSendBudget = 0;
+            return;
+        }
+        LocationComponent loc = getEntity().getComponent(ClientComponent.class).character.getComponent(LocationComponent.class);
+        if (loc != null) {
+            readyChunks.setCenter(ChunkMath.calcChunkPos(new Vector3i(loc.getWorldPosition(), RoundingMode.HALF_UP)));
+        }
+        // The bandwidth is given in kilobits per second
+        chunkSendBudget += networkSystem.getBandwidthPerClient() * 1000 / 8 * NET_TICK_RATE;
+        while (chunkSendBudget > 0 && !readyChunks.isEmpty()) {
+            Chunk chunk = readyChunks.poll();
+            relevantChunks.add(chunk.getPosition());
+            EntityData.ChunkStore encodedChunk = networkSystem.getEncodedChunkCache().getEncodedChunk(chunk);
+            message.addChunkInfo(encodedChunk);
+            chunkSendBudget -= encodedChunk.getSerializedSize();
         }
     }
 
@@ -294,10 +300,25 @@ public void setNetRemoved(int netId) {
         dirtyComponents.keySet().remove(netId);
         addedComponents.keySet().remove(netId);
         removedComponents.keySet().remove(netId);
+        replicatedStates.remove(netId);
         netDirty.remove(netId);
         netRelevant.remove(netId);
     }
 
+    /**
+     * @return Whether the entity has been or is about to be sent to this client.
+     */
+    boolean isNetRelevant(int netId) {
+        return netRelevant.contains(netId) || netInitial.contains(netId);
+    }
+
+    /**
+     * @return Whether the chunk has been sent to this client.
+     */
+    boolean isRelevantChunk(Vector3i chunkPos) {
+        return relevantChunks.contains(chunkPos);
+    }
+
     public void setComponentAdded(int networkId, Class<? extends Component> component) {
         if (netRelevant.contains(networkId) && !netInitial.contains(networkId)) {
             if (removedComponents.remove(networkId, component)) {
@@ -344,7 +365,7 @@ public void send(Event event, EntityRef target) {
                 if (relevantChunks.contains(ChunkMath.calcChunkPos(blockComp.getPosition()))) {
                     queuedOutgoingEvents.add(NetData.EventMessage.newBuilder()
                             .setTargetBlockPos(NetMessageUtil.convert(blockComp.getPosition()))
-                            .setEvent(eventSerializer.serialize(event)).build());
+                            .setEvent(networkSystem.getBroadcastSerializationCache().serializeEvent(event, eventSerializer)).build());
                 }
             } else {
                 NetworkComponent networkComponent = target.getComponent(NetworkComponent.class);
@@ -352,7 +373,7 @@ public void send(Event event, EntityRef target) {
                     if (netRelevant.contains(networkComponent.getNetworkId()) || netInitial.contains(networkComponent.getNetworkId())) {
                         queuedOutgoingEvents.add(NetData.EventMessage.newBuilder()
                                 .setTargetId(networkComponent.getNetworkId())
-                                .setEvent(eventSerializer.serialize(event)).build());
+                                .setEvent(networkSystem.getBroadcastSerializationCache().serializeEvent(event, eventSerializer)).build());
                     }
                 }
             }
@@ -381,7 +402,7 @@ void send(NetData.NetMessage data) {
     @Override
     public void onChunkRelevant(Vector3i pos, Chunk chunk) {
         invalidatedChunks.remove(pos);
-        readyChunks.put(pos, chunk);
+        readyChunks.add(pos, chunk);
     }
 
     @Override
@@ -393,17 +414,54 @@ public void onChunkIrrelevant(Vector3i pos) {
     @Override
     public void onBlockChanged(Vector3i pos, Block newBlock, Block originalBlock) {
         Vector3i chunkPos = ChunkMath.calcChunkPos(pos);
+        networkSystem.getEncodedChunkCache().invalidate(chunkPos);
         if (relevantChunks.contains(chunkPos)) {
-            queuedOutgoingBlockChanges.add(NetData.BlockChangeMessage.newBuilder()
-                    .setPos(NetMessageUtil.convert(pos))
-                    .setNewBlock(newBlock.getId())
-                    .build());
+            if (queuedOutgoingBlockChangeBatches.isEmpty()) {
+                queuedOutgoingBlockChanges.add(NetData.BlockChangeMessage.newBuilder()
+                        .setPos(NetMessageUtil.convert(pos))
+                        .setNewBlock(newBlock.getId())
+                        .build());
+            } else {
+                // Batches are applied after the single block changes of a message, so this change has to follow them
+                queuedOutgoingBlockChangeBatches.add(NetData.BlockChangeBatchMessage.newBuilder()
+                        .setChunkPos(NetMessageUtil.convert(chunkPos))
+                        .addBlockIndex(NetMessageUtil.getBlockIndex(pos))
+                        .addNewBlock(newBlock.getId())
+                        .build());
+            }
+        }
+    }
+
+    @Override
+    public void onBlocksChanged(Collection<BlockChange> changes) {
+        // A null batch marks a chunk that is not relevant to this client
+        Map<Vector3i, NetData.BlockChangeBatchMessage.Builder> batches = Maps.newLinkedHashMap();
+        for (BlockChange change : changes) {
+            Vector3i chunkPos = ChunkMath.calcChunkPos(change.getPosition());
+            NetData.BlockChangeBatchMessage.Builder batch = batches.get(chunkPos);
+            if (batch == null && !batches.containsKey(chunkPos)) {
+                networkSystem.getEncodedChunkCache().invalidate(chunkPos);
+                if (relevantChunks.contains(chunkPos)) {
+                    batch = NetData.BlockChangeBatchMessage.newBuilder().setChunkPos(NetMessageUtil.convert(chunkPos));
+                }
+                batches.put(chunkPos, batch);
+            }
+            if (batch != null) {
+                batch.addBlockIndex(NetMessageUtil.getBlockIndex(change.getPosition()));
+                batch.addNewBlock(change.getTo().getId());
+            }
+        }
+        for (NetData.BlockChangeBatchMessage.Builder batch : batches.values()) {
+            if (batch != null) {
+                queuedOutgoingBlockChangeBatches.add(batch.build());
+            }
         }
     }
 
     @Override
     public void onBiomeChanged(Vector3i pos, Biome newBiome, Biome originalBiome) {
         Vector3i chunkPos = ChunkMath.calcChunkPos(pos);
+        networkSystem.getEncodedChunkCache().invalidate(chunkPos);
         if (relevantChunks.contains(chunkPos)) {
             queuedOutgoingBiomeChanges.add(NetData.BiomeChangeMessage.newBuilder()
                     .setPos(NetMessageUtil.convert(pos))
@@ -430,6 +488,10 @@ private void sendEvents(NetData.NetMessage.Builder message) {
         queuedOutgoingBlockChanges.drainTo(blockChanges);
         message.addAllBlockChange(blockChanges);
 
+        List<NetData.BlockChangeBatchMessage> blockChangeBatches = Lists.newArrayListWithExpectedSize(queuedOutgoingBlockChangeBatches.size());
+        queuedOutgoingBlockChangeBatches.drainTo(blockChangeBatches);
+        message.addAllBlockChangeBatch(blockChangeBatches);
+
         List<NetData.BiomeChangeMessage> biomeChanges = Lists.newArrayListWithExpectedSize(queuedOutgoingBiomeChanges.size());
         queuedOutgoingBiomeChanges.drainTo(biomeChanges);
         message.addAllBiomeChange(biomeChanges);
@@ -444,29 +506,45 @@ private void processEntityUpdates(NetData.NetMessage message) {
             EntityRef currentEntity = networkSystem.getEntity(updateMessage.getNetId());
             if (networkSystem.getOwner(currentEntity) == this) {
                 entitySerializer.deserializeOnto(currentEntity, updateMessage.getEntity(), new ServerComponentFieldCheck(false, true));
+                // The owner may have changed replicated fields locally, so its values are no longer known
+                replicatedStates.remove(updateMessage.getNetId());
             }
         }
     }
 
     private void sendDirtyEntities(NetData.NetMessage.Builder message) {
+        boolean deltaReplication = networkSystem.isFieldDeltaReplicationEnabled();
+        InterestManager interestManager = networkSystem.getInterestManager();
+        int tierDistance = networkSystem.getEntityUpdateTierDistance();
         TIntIterator dirtyIterator = netDirty.iterator();
         while (dirtyIterator.hasNext()) {
             int netId = dirtyIterator.next();
             EntityRef entity = networkSystem.getEntity(netId);
             if (!entity.exists()) {
                 logger.error("Sending non-existent entity update for netId {}", netId);
+            } else if ((netTickCount + netId) % interestManager.getUpdateInterval(this, entity, tierDistance) != 0) {
+                // Far away entity, keep collecting its changes until it is its turn
+                continue;
             }
             boolean isOwner = networkSystem.getOwner(entity) == this;
+            ReplicatedEntityState replicatedState = null;
+            if (deltaReplication) {
+                replicatedState = replicatedStates.get(netId);
+                if (replicatedState == null) {
+                    replicatedState = new ReplicatedEntityState();
+                    replicatedStates.put(netId, replicatedState);
+                }
+            }
             EntityData.PackedEntity entityData = entitySerializer.serialize(entity, addedComponents.get(netId), dirtyComponents.get(netId), removedComponents.get(netId),
-                    new ServerComponentFieldCheck(isOwner, false));
+                    new ServerComponentFieldCheck(isOwner, false), replicatedState);
             if (entityData != null) {
                 message.addUpdateEntity(NetData.UpdateEntityMessage.newBuilder().setEntity(entityData).setNetId(netId));
             }
+            dirtyIterator.remove();
+            addedComponents.removeAll(netId);
+            removedComponents.removeAll(netId);
+            dirtyComponents.removeAll(netId);
         }
-        netDirty.clear();
-        addedComponents.clear();
-        removedComponents.clear();
-        dirtyComponents.clear();
     }
 
     private void sendRemovedEntities(NetData.NetMessage.Builder message) {
@@ -483,6 +561,7 @@ private void sendInitialEntities(NetData.NetMessage.Builder message) {
         Arrays.sort(initial);
         for (int netId : initial) {
             netRelevant.add(netId);
+            replicatedStates.remove(netId);
             EntityRef entity = networkSystem.getEntity(netId);
             if (!entity.hasComponent(NetworkComponent.class)) {
                 logger.error("Sending net entity with no network component: {} - {}", netId, entity);
@@ -18,8 +18,10 @@
 
 import com.google.protobuf.ByteString;
 import org.terasology.identity.PublicIdentityCertificate;
+import org.terasology.math.ChunkMath;
 import org.terasology.math.geom.Vector3i;
 import org.terasology.protobuf.NetData;
+import org.terasology.world.chunks.ChunkConstants;
 
 import java.math.BigInteger;
 
@@ -39,6 +41,30 @@ public static NetData.Vector3iData convert(Vector3i data) {
         return NetData.Vector3iData.newBuilder().setX(data.x).setY(data.y).setZ(data.z).build();
     }
 
+    /**
+     * @param worldPos The world position of a block
+     * @return The index of the block within its chunk, as sent in a {@link NetData.BlockChangeBatchMessage}
+     */
+    public static int getBlockIndex(Vector3i worldPos) {
+        int x = ChunkMath.calcBlockPosX(worldPos.x);
+        int y = ChunkMath.calcBlockPosY(worldPos.y);
+        int z = ChunkMath.calcBlockPosZ(worldPos.z);
+        return x + ChunkConstants.SIZE_X * (z + ChunkConstants.SIZE_Z * y);
+    }
+
+    /**
+     * @param chunkPos   The position of the chunk
+     * @param blockIndex The index of a block within the chunk, see {@link #getBlockIndex(Vector3i)}
+     * @return The world position of the block
+     */
+    public static Vector3i getBlockPosition(Vector3i chunkPos, int blockIndex) {
+        int x = blockIndex % ChunkConstants.SIZE_X;
+        int z = (blockIndex / ChunkConstants.SIZE_X) % ChunkConstants.SIZE_Z;
+        int y = blockIndex / (ChunkConstants.SIZE_X * ChunkConstants.SIZE_Z);
+        return new Vector3i(chunkPos.x * ChunkConstants.SIZE_X + x, chunkPos.y * ChunkConstants.SIZE_Y + y,
+                chunkPos.z * ChunkConstants.SIZE_Z + z);
+    }
+
     public static NetData.Certificate convert(PublicIdentityCertificate data) {
         return NetData.Certificate.newBuilder()
                 .setId(data.getId())
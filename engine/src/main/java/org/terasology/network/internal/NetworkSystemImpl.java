@@ -61,6 +61,8 @@
 import org.terasology.monitoring.PerformanceMonitor;
 import org.terasology.network.Client;
 import org.terasology.network.JoinStatus;
+import org.terasology.network.BroadcastSerializationMetrics;
+import org.terasology.network.ChunkCacheMetrics;
 import org.terasology.network.NetworkComponent;
 import org.terasology.network.NetworkMode;
 import org.terasology.network.NetworkSystem;
@@ -115,7 +117,7 @@ public class NetworkSystemImpl implements EntityChangeSubscriber, NetworkSystem
     private static final Logger logger = LoggerFactory.getLogger(NetworkSystemImpl.class);
     private static final int OWNER_DEPTH_LIMIT = 50;
     private static final int NET_TICK_RATE = 50;
-    private static final int NULL_NET_ID = 0;
+    static final int NULL_NET_ID = 0;
 
     // Shared
     private Context context;
@@ -150,6 +152,9 @@ public class NetworkSystemImpl implements EntityChangeSubscriber, NetworkSystem
     private Map<EntityRef, EntityRef> ownerLookup = Maps.newHashMap();
     private SetMultimap<EntityRef, EntityRef> ownedLookup = HashMultimap.create();
     private StorageManager storageManager;
+    private final EncodedChunkCache encodedChunkCache = new EncodedChunkCache();
+    private final InterestManager interestManager = new InterestManager(this);
+    private final BroadcastSerializationCache broadcastSerializationCache = new BroadcastSerializationCache();
 
     // Client only
     private ServerImpl server;
@@ -290,6 +295,8 @@ public void shutdown() {
         ownedLookup.clear();
         ownershipHelper = null;
         storageManager = null;
+        encodedChunkCache.clear();
+        broadcastSerializationCache.clear();
         logger.info("Network shutdown");
     }
 
@@ -306,6 +313,7 @@ public Client joinLocal(String preferredName, Color color) {
     public void update() {
         if (mode != NetworkMode.NONE) {
             if (entityManager != null) {
+                broadcastSerializationCache.clear();
                 processPendingConnections();
                 processPendingDisconnects();
                 long currentTimer = time.getRealTimeInMs();
@@ -314,6 +322,9 @@ public void update() {
                     nextNetworkTick += NET_TICK_RATE;
                     netTick = true;
                 }
+                if (netTick && mode.isServer()) {
+                    interestManager.update(entityManager, netClientList);
+                }
                 PerformanceMonitor.startActivity("Client update");
                 for (Client client : clientList) {
                     client.update(netTick);
@@ -357,6 +368,20 @@ public Iterable<Client> getPlayers() {
         return this.clientList;
     }
 
+    @Override
+    public void broadcastEvent(Event event, EntityRef target, Client excludedClient) {
+        broadcastSerializationCache.beginBroadcast(event);
+        try {
+            for (Client client : clientList) {
+                if (!client.equals(excludedClient)) {
+                    client.send(event, target);
+                }
+            }
+        } finally {
+            broadcastSerializationCache.endBroadcast();
+        }
+    }
+
     @Override
     public Client getOwner(EntityRef entity) {
         EntityRef owner = getOwnerEntity(entity);
@@ -371,6 +396,26 @@ NetClient getNetOwner(EntityRef entity) {
         return null;
     }
 
+    EncodedChunkCache getEncodedChunkCache() {
+        return encodedChunkCache;
+    }
+
+    boolean isFieldDeltaReplicationEnabled() {
+        return config.isFieldDeltaReplication();
+    }
+
+    BroadcastSerializationCache getBroadcastSerializationCache() {
+        return broadcastSerializationCache;
+    }
+
+    InterestManager getInterestManager() {
+        return interestManager;
+    }
+
+    int getEntityUpdateTierDistance() {
+        return config.getEntityUpdateTierDistance();
+    }
+
     public int getBandwidthPerClient() {
         if (netClientList.size() > 0) {
             return config.getUpstreamBandwidth() / netClientList.size();
@@ -427,8 +472,9 @@ public void registerNetworkEntity(EntityRef entity) {
                     break;
                 default:
                     for (NetClient client : netClientList) {
-                        // TODO: Relevance Check
-                        client.setNetInitial(netComponent.getNetworkId());
+                        if (interestManager.isRelevant(client, entity, netComponent)) {
+                            client.setNetInitial(netComponent.getNetworkId());
+                        }
                     }
                     break;
             }
@@ -546,6 +592,7 @@ public void connectToEntitySystem(EngineEntityManager newEntityManager, EventLib
         eventSerializer = new EventSerializer(eventLibrary, typeSerializationLibrary);
         entitySerializer = new NetworkEntitySerializer(newEntityManager, entityManager.getComponentLibrary(), typeSerializationLibrary);
         entitySerializer.setComponentSerializeCheck(new NetComponentSerializeCheck());
+        entitySerializer.setFieldCache(broadcastSerializationCache.getFieldCache());
 
         if (mode == NetworkMode.CLIENT) {
             entityManager.setEntityRefStrategy(new NetworkClientRefStrategy(this));
@@ -562,6 +609,7 @@ public void onEntityComponentAdded(EntityRef entity, Class<? extends Component>
         ComponentMetadata<? extends Component> metadata = componentLibrary.getMetadata(component);
         NetworkComponent netComp = entity.getComponent(NetworkComponent.class);
         if (netComp != null && netComp.getNetworkId() != NULL_NET_ID) {
+            broadcastSerializationCache.invalidate(entity.getComponent(component));
             if (mode.isServer()) {
                 if (metadata.isReplicated()) {
                     for (NetClient client : netClientList) {
@@ -608,6 +656,7 @@ public void onEntityComponentChange(EntityRef entity, Class<? extends Component>
         NetworkComponent netComp = entity.getComponent(NetworkComponent.class);
         ComponentMetadata<? extends Component> metadata = componentLibrary.getMetadata(component);
         if (netComp != null && netComp.getNetworkId() != NULL_NET_ID) {
+            broadcastSerializationCache.invalidate(entity.getComponent(component));
             switch (mode) {
                 case LISTEN_SERVER:
                 case DEDICATED_SERVER:
@@ -726,6 +775,16 @@ public int getOutgoingBytesDelta() {
         }
     }
 
+    @Override
+    public ChunkCacheMetrics getChunkCacheMetrics() {
+        return encodedChunkCache;
+    }
+
+    @Override
+    public BroadcastSerializationMetrics getBroadcastSerializationMetrics() {
+        return broadcastSerializationCache;
+    }
+
     long getEntityId(int netId) {
         return netIdToEntityId.get(netId);
     }
@@ -818,8 +877,9 @@ private void processNewClient(NetClient client) {
                         }
                         break;
                     default:
-                        // TODO: Relevance Check
-                        client.setNetInitial(netComp.getNetworkId());
+                        if (interestManager.isRelevant(client, netEntity, netComp)) {
+                            client.setNetInitial(netComp.getNetworkId());
+                        }
                         break;
                 }
             }
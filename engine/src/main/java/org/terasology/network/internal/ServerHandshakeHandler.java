@@ -23,6 +23,8 @@
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.terasology.config.Config;
+import org.terasology.network.FrameCompression;
+import org.terasology.network.internal.compression.FrameCompressionHandlers;
 import org.terasology.registry.CoreRegistry;
 import org.terasology.identity.BadEncryptedDataException;
 import org.terasology.identity.CertificateGenerator;
@@ -50,6 +52,8 @@ public class ServerHandshakeHandler extends SimpleChannelUpstreamHandler {
     private ServerConnectionHandler serverConnectionHandler;
     private byte[] serverRandom = new byte[IdentityConstants.SERVER_CLIENT_RANDOM_LENGTH];
     private NetData.HandshakeHello serverHello;
+    private FrameCompression compression = FrameCompressionHandlers.INITIAL_COMPRESSION;
+    private byte[] compressionDictionary = new byte[0];
 
     @Override
     public void channelOpen(ChannelHandlerContext ctx, ChannelStateEvent e) throws Exception {
@@ -78,6 +82,9 @@ public void channelConnected(ChannelHandlerContext ctx, ChannelStateEvent e) thr
     @Override
     public void messageReceived(ChannelHandlerContext ctx, MessageEvent e) {
         NetData.NetMessage message = (NetData.NetMessage) e.getMessage();
+        if (message.hasCompression()) {
+            selectCompression(message.getCompression());
+        }
         if (message.hasNewIdentityRequest()) {
             processNewIdentityRequest(message.getNewIdentityRequest(), ctx);
         } else if (message.hasHandshakeHello() && message.hasHandshakeVerification()) {
@@ -85,6 +92,36 @@ public void messageReceived(ChannelHandlerContext ctx, MessageEvent e) {
         }
     }
 
+    private void selectCompression(String requestedCompression) {
+        FrameCompression requested = FrameCompressionHandlers.parse(requestedCompression);
+        if (requested == null) {
+            logger.warn("Client requested unknown compression '{}', keeping {}", requestedCompression, compression);
+            return;
+        }
+        compression = requested;
+        if (compression == FrameCompression.LZ4) {
+            compressionDictionary = FrameCompressionHandlers.loadDictionary(config.getNetwork().getCompressionDictionary());
+        }
+    }
+
+    /**
+     * Sends the final message of the handshake, confirming the selected compression to clients that requested one.
+     * All messages sent afterwards use that compression.
+     */
+    private void sendFinalMessage(NetData.NetMessage.Builder message, ChannelHandlerContext ctx) {
+        boolean negotiated = compression != FrameCompressionHandlers.INITIAL_COMPRESSION;
+        if (negotiated) {
+            message.setCompression(compression.name());
+            if (compressionDictionary.length > 0) {
+                message.setCompressionDictionary(ByteString.copyFrom(compressionDictionary));
+            }
+        }
+        ctx.getChannel().write(message.build());
+        if (negotiated) {
+            FrameCompressionHandlers.switchEncoder(ctx.getPipeline(), compression, compressionDictionary);
+        }
+    }
+
     private void processClientHandshake(NetData.HandshakeHello clientHello, NetData.HandshakeVerification handshakeVerification, ChannelHandlerContext ctx) {
         logger.info("Received client certificate");
         PublicIdentityCertificate clientCert = NetMessageUtil.convert(clientHello.getCertificate());
@@ -105,9 +142,9 @@ private void processClientHandshake(NetData.HandshakeHello clientHello, NetData.
 
         logger.info("Sending server verification");
         byte[] serverSignature = config.getSecurity().getServerPrivateCertificate().sign(signatureData);
-        ctx.getChannel().write(NetData.NetMessage.newBuilder()
+        sendFinalMessage(NetData.NetMessage.newBuilder()
                 .setHandshakeVerification(NetData.HandshakeVerification.newBuilder()
-                        .setSignature(ByteString.copyFrom(serverSignature))).build());
+                        .setSignature(ByteString.copyFrom(serverSignature))), ctx);
 
         // Identity has been established, inform the server handler and withdraw from the pipeline
         ctx.getPipeline().remove(this);
@@ -140,10 +177,9 @@ private void processNewIdentityRequest(NetData.NewIdentityRequest newIdentityReq
                 return;
             }
 
-            ctx.getChannel().write(NetData.NetMessage.newBuilder()
+            sendFinalMessage(NetData.NetMessage.newBuilder()
                     .setProvisionIdentity(NetData.ProvisionIdentity.newBuilder()
-                            .setEncryptedCertificates(ByteString.copyFrom(encryptedCert)))
-                    .build());
+                            .setEncryptedCertificates(ByteString.copyFrom(encryptedCert))), ctx);
 
             // Identity has been established, inform the server handler and withdraw from the pipeline
             ctx.getPipeline().remove(this);
@@ -59,8 +59,6 @@
 import org.terasology.world.block.BlockUri;
 import org.terasology.world.block.BlockUriParseException;
 import org.terasology.world.block.internal.BlockManagerImpl;
-import org.terasology.world.chunks.Chunk;
-import org.terasology.world.chunks.internal.ChunkSerializer;
 import org.terasology.world.chunks.remoteChunkProvider.RemoteChunkProvider;
 
 import java.net.InetSocketAddress;
@@ -95,7 +93,7 @@ public class ServerImpl implements Server {
 
     private BlockEntityRegistry blockEntityRegistry;
     private RemoteChunkProvider remoteWorldProvider;
-    private BlockingQueue<Chunk> chunkQueue = Queues.newLinkedBlockingQueue();
+    private BlockingQueue<EntityData.ChunkStore> chunkQueue = Queues.newLinkedBlockingQueue();
     private TIntSet netDirty = new TIntHashSet();
     private SetMultimap<Integer, Class<? extends Component>> changedComponents = HashMultimap.create();
     private ListMultimap<Vector3i, NetData.BlockChangeMessage> awaitingChunkReadyBlockUpdates = ArrayListMultimap.create();
@@ -195,9 +193,9 @@ private void sendEvents(NetData.NetMessage.Builder message) {
 
     private void processReceivedChunks() {
         if (remoteWorldProvider != null) {
-            List<Chunk> chunks = Lists.newArrayListWithExpectedSize(chunkQueue.size());
+            List<EntityData.ChunkStore> chunks = Lists.newArrayListWithExpectedSize(chunkQueue.size());
             chunkQueue.drainTo(chunks);
-            for (Chunk chunk : chunks) {
+            for (EntityData.ChunkStore chunk : chunks) {
                 remoteWorldProvider.receiveChunk(chunk);
             }
         }
@@ -306,6 +304,24 @@ private void processBlockChanges(NetData.NetMessage message) {
                 awaitingChunkReadyBlockUpdates.put(ChunkMath.calcChunkPos(pos), blockChange);
             }
         }
+        for (NetData.BlockChangeBatchMessage batch : message.getBlockChangeBatchList()) {
+            WorldProvider worldProvider = CoreRegistry.get(WorldProvider.class);
+            Vector3i chunkPos = NetMessageUtil.convert(batch.getChunkPos());
+            Map<Vector3i, Block> blocks = Maps.newHashMapWithExpectedSize(batch.getBlockIndexCount());
+            for (int i = 0; i < batch.getBlockIndexCount(); i++) {
+                blocks.put(NetMessageUtil.getBlockPosition(chunkPos, batch.getBlockIndex(i)), blockManager.getBlock((short) batch.getNewBlock(i)));
+            }
+            if (worldProvider.isBlockRelevant(NetMessageUtil.getBlockPosition(chunkPos, 0))) {
+                worldProvider.setBlocks(blocks);
+            } else {
+                for (Map.Entry<Vector3i, Block> entry : blocks.entrySet()) {
+                    awaitingChunkReadyBlockUpdates.put(chunkPos, NetData.BlockChangeMessage.newBuilder()
+                            .setPos(NetMessageUtil.convert(entry.getKey()))
+                            .setNewBlock(entry.getValue().getId())
+                            .build());
+                }
+            }
+        }
     }
 
     private void processBiomeChanges(NetData.NetMessage message) {
@@ -333,10 +349,7 @@ private void processInvalidatedChunks(NetData.NetMessage message) {
     }
 
     private void processReceivedChunks(NetData.NetMessage message) {
-        for (EntityData.ChunkStore chunkInfo : message.getChunkInfoList()) {
-            Chunk chunk = ChunkSerializer.decode(chunkInfo, blockManager, biomeManager);
-            chunkQueue.offer(chunk);
-        }
+        chunkQueue.addAll(message.getChunkInfoList());
     }
 
     private void processBlockRegistrations(NetData.NetMessage message) {
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.network.internal.compression;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Processing time and compression ratio of a frame compression codec.
+ */
+public final class CompressionMetrics {
+    private final AtomicLong timeNanos = new AtomicLong();
+    private final AtomicLong uncompressedBytes = new AtomicLong();
+    private final AtomicLong compressedBytes = new AtomicLong();
+
+    public void record(long nanos, int uncompressed, int compressed) {
+        timeNanos.addAndGet(nanos);
+        uncompressedBytes.addAndGet(uncompressed);
+        compressedBytes.addAndGet(compressed);
+    }
+
+    /**
+     * @return The time spent compressing or decompressing frames, in nanoseconds
+     */
+    public long getTimeNanos() {
+        return timeNanos.get();
+    }
+
+    public long getUncompressedBytes() {
+        return uncompressedBytes.get();
+    }
+
+    public long getCompressedBytes() {
+        return compressedBytes.get();
+    }
+
+    /**
+     * @return The uncompressed size divided by the compressed size, or 1 if nothing has been recorded
+     */
+    public float getRatio() {
+        long compressed = compressedBytes.get();
+        if (compressed == 0) {
+            return 1;
+        }
+        return (float) uncompressedBytes.get() / compressed;
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.network.internal.compression;
+
+import org.jboss.netty.channel.ChannelHandler;
+import org.jboss.netty.channel.ChannelPipeline;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.terasology.engine.paths.PathManager;
+import org.terasology.network.FrameCompression;
+import org.terasology.network.internal.MetricRecordingHandler;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Creates and exchanges the handlers that compress the frames sent from the server to a client.
+ * <br><br>
+ * Connections start out with {@link #INITIAL_COMPRESSION}, so that clients and servers that do not negotiate
+ * compression still understand each other. During the handshake the client requests a compression; the server
+ * confirms its choice in its final handshake message, after which both sides switch.
+ */
+public final class FrameCompressionHandlers {
+    public static final String ENCODER_NAME = "frameCompressor";
+    public static final String DECODER_NAME = "frameDecompressor";
+    public static final FrameCompression INITIAL_COMPRESSION = FrameCompression.ZLIB;
+
+    /**
+     * The longest dictionary that is used, as LZ4 matches cannot reach further back.
+     */
+    public static final int MAX_DICTIONARY_LENGTH = 65535;
+
+    private static final Logger logger = LoggerFactory.getLogger(FrameCompressionHandlers.class);
+
+    private FrameCompressionHandlers() {
+    }
+
+    /**
+     * @return The compression with the given name, or null if it is unknown
+     */
+    public static FrameCompression parse(String name) {
+        for (FrameCompression compression : FrameCompression.values()) {
+            if (compression.name().equals(name)) {
+                return compression;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Loads a compression dictionary. Only the end of longer files is used, so the most common data belongs there.
+     *
+     * @param file The dictionary file relative to the home path, or an empty string for no dictionary
+     * @return The dictionary, which is empty if there is none or it could not be read
+     */
+    public static byte[] loadDictionary(String file) {
+        if (file == null || file.isEmpty()) {
+            return new byte[0];
+        }
+        Path path = PathManager.getInstance().getHomePath().resolve(file);
+        try {
+            byte[] data = Files.readAllBytes(path);
+            if (data.length > MAX_DICTIONARY_LENGTH) {
+                data = Arrays.copyOfRange(data, data.length - MAX_DICTIONARY_LENGTH, data.length);
+            }
+            return data;
+        } catch (IOException e) {
+            logger.error("Failed to load compression dictionary {}", path, e);
+            return new byte[0];
+        }
+    }
+
+    /**
+     * @return The encoder for the compression, or null if frames are left uncompressed
+     */
+    public static ChannelHandler createEncoder(FrameCompression compression, byte[] dictionary, MetricRecordingHandler metrics) {
+        switch (compression) {
+            case ZLIB:
+                return new MeteredZlibEncoder(metrics.getCompressionMetrics(compression));
+            case LZ4:
+                return new Lz4FrameEncoder(dictionary, metrics.getCompressionMetrics(compression));
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * @return The decoder for the compression, or null if frames are uncompressed
+     */
+    public static ChannelHandler createDecoder(FrameCompression compression, byte[] dictionary, MetricRecordingHandler metrics) {
+        switch (compression) {
+            case ZLIB:
+                return new MeteredZlibDecoder(metrics.getCompressionMetrics(compression));
+            case LZ4:
+                return new Lz4FrameDecoder(dictionary, metrics.getCompressionMetrics(compression));
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Replaces the encoder of a pipeline that uses {@link #INITIAL_COMPRESSION}.
+     */
+    public static void switchEncoder(ChannelPipeline pipeline, FrameCompression compression, byte[] dictionary) {
+        if (compression != INITIAL_COMPRESSION) {
+            MetricRecordingHandler metrics = (MetricRecordingHandler) pipeline.get(MetricRecordingHandler.NAME);
+            replace(pipeline, ENCODER_NAME, createEncoder(compression, dictionary, metrics));
+        }
+    }
+
+    /**
+     * Replaces the decoder of a pipeline that uses {@link #INITIAL_COMPRESSION}.
+     */
+    public static void switchDecoder(ChannelPipeline pipeline, FrameCompression compression, byte[] dictionary) {
+        if (compression != INITIAL_COMPRESSION) {
+            MetricRecordingHandler metrics = (MetricRecordingHandler) pipeline.get(MetricRecordingHandler.NAME);
+            replace(pipeline, DECODER_NAME, createDecoder(compression, dictionary, metrics));
+        }
+    }
+
+    private static void replace(ChannelPipeline pipeline, String name, ChannelHandler handler) {
+        if (handler == null) {
+            pipeline.remove(name);
+        } else {
+            pipeline.replace(name, name, handler);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.network.internal.compression;
+
+import java.util.Arrays;
+
+/**
+ * Compresses data into the LZ4 block format. Matches may reference an optional dictionary that the decompressing side
+ * also knows, which greatly improves the compression of small frames.
+ * <br><br>
+ * Not thread safe, as the hash table and input window are reused between calls.
+ */
+final class Lz4Compressor {
+    static final int MIN_MATCH = 4;
+    static final int MAX_DISTANCE = 65535;
+
+    private static final int HASH_LOG = 12;
+    private static final int LAST_LITERALS = 5;
+    private static final int MATCH_FIND_LIMIT = 12;
+    private static final int RUN_MASK = 15;
+
+    private final int dictionaryLength;
+    private final int[] dictionaryTable = new int[1 << HASH_LOG];
+    private final int[] table = new int[1 << HASH_LOG];
+    private byte[] window;
+
+    Lz4Compressor(byte[] dictionary) {
+        dictionaryLength = dictionary.length;
+        window = Arrays.copyOf(dictionary, dictionaryLength + 1024);
+        Arrays.fill(dictionaryTable, -1);
+        for (int i = 0; i + MIN_MATCH <= dictionaryLength; ++i) {
+            dictionaryTable[hash(window, i)] = i;
+        }
+    }
+
+    static int maxCompressedLength(int length) {
+        return length + length / 255 + 16;
+    }
+
+    /**
+     * @param dest must have room for {@link #maxCompressedLength(int)} bytes after destOffset
+     * @return The number of bytes written to dest
+     */
+    int compress(byte[] src, int srcOffset, int length, byte[] dest, int destOffset) {
+        int start = dictionaryLength;
+        int end = start + length;
+        if (window.length < end) {
+            window = Arrays.copyOf(window, Math.max(end, window.length * 2));
+        }
+        System.arraycopy(src, srcOffset, window, start, length);
+        System.arraycopy(dictionaryTable, 0, table, 0, table.length);
+
+        byte[] in = window;
+        int matchLimit = end - LAST_LITERALS;
+        int matchFindLimit = end - MATCH_FIND_LIMIT;
+        int anchor = start;
+        int pos = start;
+        int out = destOffset;
+        while (pos < matchFindLimit) {
+            int hash = hash(in, pos);
+            int ref = table[hash];
+            table[hash] = pos;
+            if (ref < 0 || pos - ref > MAX_DISTANCE || readInt(in, ref) != readInt(in, pos)) {
+                pos++;
+                continue;
+            }
+            while (pos > anchor && ref > 0 && in[pos - 1] == in[ref - 1]) {
+                pos--;
+                ref--;
+            }
+            int matchLength = MIN_MATCH;
+            while (pos + matchLength < matchLimit && in[pos + matchLength] == in[ref + matchLength]) {
+                matchLength++;
+            }
+
+            int token = out++;
+            out = writeLiterals(in, anchor, pos - anchor, dest, token, out);
+            int offset = pos - ref;
+            dest[out++] = (byte) offset;
+            dest[out++] = (byte) (offset >>> 8);
+            int remainingLength = matchLength - MIN_MATCH;
+            if (remainingLength >= RUN_MASK) {
+                dest[token] |= RUN_MASK;
+                out = writeLength(remainingLength - RUN_MASK, dest, out);
+            } else {
+                dest[token] |= remainingLength;
+            }
+
+            pos += matchLength;
+            anchor = pos;
+        }
+        int token = out++;
+        out = writeLiterals(in, anchor, end - anchor, dest, token, out);
+        return out - destOffset;
+    }
+
+    private static int writeLiterals(byte[] in, int offset, int length, byte[] dest, int token, int out) {
+        int pos = out;
+        if (length >= RUN_MASK) {
+            dest[token] = (byte) (RUN_MASK << 4);
+            pos = writeLength(length - RUN_MASK, dest, pos);
+        } else {
+            dest[token] = (byte) (length << 4);
+        }
+        System.arraycopy(in, offset, dest, pos, length);
+        return pos + length;
+    }
+
+    private static int writeLength(int length, byte[] dest, int out) {
+        int remaining = length;
+        int pos = out;
+        while (remaining >= 255) {
+            dest[pos++] = (byte) 255;
+            remaining -= 255;
+        }
+        dest[pos++] = (byte) remaining;
+        return pos;
+    }
+
+    private static int hash(byte[] data, int pos) {
+        return (readInt(data, pos) * -1640531535) >>> (32 - HASH_LOG);
+    }
+
+    private static int readInt(byte[] data, int pos) {
+        return (data[pos] & 0xFF) | (data[pos + 1] & 0xFF) << 8 | (data[pos + 2] & 0xFF) << 16 | (data[pos + 3] & 0xFF) << 24;
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.network.internal.compression;
+
+import org.jboss.netty.handler.codec.compression.CompressionException;
+
+import java.util.Arrays;
+
+/**
+ * Decompresses data in the LZ4 block format, as produced by {@link Lz4Compressor} with the same dictionary.
+ * <br><br>
+ * Not thread safe, as the output window is reused between calls.
+ */
+final class Lz4Decompressor {
+    private static final int RUN_MASK = 15;
+
+    private final int dictionaryLength;
+    private byte[] window;
+
+    Lz4Decompressor(byte[] dictionary) {
+        dictionaryLength = dictionary.length;
+        window = Arrays.copyOf(dictionary, dictionaryLength + 1024);
+    }
+
+    /**
+     * Decompresses a block into an internal buffer, which is overwritten by the next call.
+     *
+     * @param length the exact length of the decompressed data
+     * @return The buffer holding the decompressed data, starting at {@link #getOutputOffset()}
+     * @throws CompressionException if the data is malformed
+     */
+    byte[] decompress(byte[] src, int srcOffset, int srcLength, int length) {
+        int outEnd = dictionaryLength + length;
+        if (window.length < outEnd) {
+            window = Arrays.copyOf(window, Math.max(outEnd, window.length * 2));
+        }
+        byte[] out = window;
+        int in = srcOffset;
+        int inEnd = srcOffset + srcLength;
+        int pos = dictionaryLength;
+        while (true) {
+            if (in >= inEnd) {
+                throw new CompressionException("Truncated LZ4 block");
+            }
+            int token = src[in++] & 0xFF;
+
+            int literalLength = token >>> 4;
+            if (literalLength == RUN_MASK) {
+                int next;
+                do {
+                    if (in >= inEnd) {
+                        throw new CompressionException("Truncated LZ4 block");
+                    }
+                    next = src[in++] & 0xFF;
+                    literalLength += next;
+                } while (next == 255);
+            }
+            if (literalLength < 0 || literalLength > inEnd - in || literalLength > outEnd - pos) {
+                throw new CompressionException("Invalid literal length in LZ4 block");
+            }
+            System.arraycopy(src, in, out, pos, literalLength);
+            in += literalLength;
+            pos += literalLength;
+            if (in == inEnd) {
+                break;
+            }
+
+            if (inEnd - in < 2) {
+                throw new CompressionException("Truncated LZ4 block");
+            }
+            int offset = (src[in++] & 0xFF) | (src[in++] & 0xFF) << 8;
+            int ref = pos - offset;
+            if (offset == 0 || ref < 0) {
+                throw new CompressionException("Invalid match offset in LZ4 block");
+            }
+            int matchLength = token & RUN_MASK;
+            if (matchLength == RUN_MASK) {
+                int next;
+                do {
+                    if (in >= inEnd) {
+                        throw new CompressionException("Truncated LZ4 block");
+                    }
+                    next = src[in++] & 0xFF;
+                    matchLength += next;
+                } while (next == 255);
+            }
+            matchLength += Lz4Compressor.MIN_MATCH;
+            if (matchLength < 0 || matchLength > outEnd - pos) {
+                throw new CompressionException("Invalid match length in LZ4 block");
+            }
+            if (offset >= matchLength) {
+                System.arraycopy(out, ref, out, pos, matchLength);
+            } else {
+                for (int i = 0; i < matchLength; ++i) {
+                    out[pos + i] = out[ref + i];
+                }
+            }
+            pos += matchLength;
+        }
+        if (pos != outEnd) {
+            throw new CompressionException("LZ4 block does not match its declared length");
+        }
+        return out;
+    }
+
+    int getOutputOffset() {
+        return dictionaryLength;
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.network.internal.compression;
+
+import org.jboss.netty.buffer.ChannelBuffer;
+import org.jboss.netty.buffer.ChannelBuffers;
+import org.jboss.netty.channel.Channel;
+import org.jboss.netty.channel.ChannelHandlerContext;
+import org.jboss.netty.handler.codec.compression.CompressionException;
+import org.jboss.netty.handler.codec.oneone.OneToOneDecoder;
+
+/**
+ * Decompresses frames produced by {@link Lz4FrameEncoder}.
+ */
+public class Lz4FrameDecoder extends OneToOneDecoder {
+    private static final int MAX_FRAME_LENGTH = 1 << 26;
+
+    private final Lz4Decompressor decompressor;
+    private final CompressionMetrics metrics;
+
+    public Lz4FrameDecoder(byte[] dictionary, CompressionMetrics metrics) {
+        this.decompressor = new Lz4Decompressor(dictionary);
+        this.metrics = metrics;
+    }
+
+    @Override
+    protected Object decode(ChannelHandlerContext ctx, Channel channel, Object msg) throws Exception {
+        if (!(msg instanceof ChannelBuffer)) {
+            return msg;
+        }
+        long startTime = System.nanoTime();
+        ChannelBuffer frame = (ChannelBuffer) msg;
+        int compressedLength = frame.readableBytes();
+        int length = frame.readInt();
+        if (length < 0 || length > MAX_FRAME_LENGTH) {
+            throw new CompressionException("Invalid LZ4 frame length: " + length);
+        }
+        byte[] data;
+        int offset;
+        if (frame.hasArray()) {
+            data = frame.array();
+            offset = frame.arrayOffset() + frame.readerIndex();
+        } else {
+            data = new byte[frame.readableBytes()];
+            frame.getBytes(frame.readerIndex(), data);
+            offset = 0;
+        }
+
+        byte[] output = decompressor.decompress(data, offset, frame.readableBytes(), length);
+        ChannelBuffer result = ChannelBuffers.copiedBuffer(output, decompressor.getOutputOffset(), length);
+
+        metrics.record(System.nanoTime() - startTime, length, compressedLength);
+        return result;
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.network.internal.compression;
+
+import org.jboss.netty.buffer.ChannelBuffer;
+import org.jboss.netty.buffer.ChannelBuffers;
+import org.jboss.netty.channel.Channel;
+import org.jboss.netty.channel.ChannelHandlerContext;
+import org.jboss.netty.handler.codec.oneone.OneToOneEncoder;
+
+/**
+ * Compresses each frame on its own with LZ4. A compressed frame starts with the length of the uncompressed frame as a
+ * 32 bit integer, followed by the LZ4 block.
+ */
+public class Lz4FrameEncoder extends OneToOneEncoder {
+    private final Lz4Compressor compressor;
+    private final CompressionMetrics metrics;
+
+    public Lz4FrameEncoder(byte[] dictionary, CompressionMetrics metrics) {
+        this.compressor = new Lz4Compressor(dictionary);
+        this.metrics = metrics;
+    }
+
+    @Override
+    protected synchronized Object encode(ChannelHandlerContext ctx, Channel channel, Object msg) throws Exception {
+        if (!(msg instanceof ChannelBuffer)) {
+            return msg;
+        }
+        long startTime = System.nanoTime();
+        ChannelBuffer frame = (ChannelBuffer) msg;
+        int length = frame.readableBytes();
+        byte[] data;
+        int offset;
+        if (frame.hasArray()) {
+            data = frame.array();
+            offset = frame.arrayOffset() + frame.readerIndex();
+        } else {
+            data = new byte[length];
+            frame.getBytes(frame.readerIndex(), data);
+            offset = 0;
+        }
+
+        ChannelBuffer result = ChannelBuffers.buffer(4 + Lz4Compressor.maxCompressedLength(length));
+        result.writeInt(length);
+        int compressedLength = compressor.compress(data, offset, length, result.array(), result.arrayOffset() + 4);
+        result.writerIndex(4 + compressedLength);
+
+        metrics.record(System.nanoTime() - startTime, length, result.readableBytes());
+        return result;
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.network.internal.compression;
+
+import org.jboss.netty.buffer.ChannelBuffer;
+import org.jboss.netty.channel.Channel;
+import org.jboss.netty.channel.ChannelHandlerContext;
+import org.jboss.netty.handler.codec.compression.ZlibEncoder;
+
+/**
+ * A {@link ZlibEncoder} that records the time it spends and the compression it achieves.
+ */
+public class MeteredZlibEncoder extends ZlibEncoder {
+    private final CompressionMetrics metrics;
+
+    public MeteredZlibEncoder(CompressionMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    protected Object encode(ChannelHandlerContext ctx, Channel channel, Object msg) throws Exception {
+        if (!(msg instanceof ChannelBuffer)) {
+            return super.encode(ctx, channel, msg);
+        }
+        long startTime = System.nanoTime();
+        int length = ((ChannelBuffer) msg).readableBytes();
+        Object result = super.encode(ctx, channel, msg);
+        if (result instanceof ChannelBuffer) {
+            metrics.record(System.nanoTime() - startTime, length, ((ChannelBuffer) result).readableBytes());
+        }
+        return result;
+    }
+}
@@ -18,7 +18,6 @@
 
 import org.jboss.netty.channel.ChannelPipeline;
 import org.jboss.netty.channel.ChannelPipelineFactory;
-import org.jboss.netty.handler.codec.compression.ZlibDecoder;
 import org.jboss.netty.handler.codec.frame.LengthFieldBasedFrameDecoder;
 import org.jboss.netty.handler.codec.protobuf.ProtobufDecoder;
 import org.jboss.netty.handler.codec.protobuf.ProtobufEncoder;
@@ -29,6 +28,7 @@
 import org.terasology.network.internal.ClientHandshakeHandler;
 import org.terasology.network.internal.JoinStatusImpl;
 import org.terasology.network.internal.MetricRecordingHandler;
+import org.terasology.network.internal.compression.FrameCompressionHandlers;
 import org.terasology.network.internal.NetworkSystemImpl;
 import org.terasology.protobuf.NetData;
 
@@ -50,10 +50,12 @@ public TerasologyClientPipelineFactory(NetworkSystemImpl networkSystem) {
     public ChannelPipeline getPipeline() throws Exception {
         JoinStatusImpl joinStatus = new JoinStatusImpl();
         ChannelPipeline p = pipeline();
-        p.addLast(MetricRecordingHandler.NAME, new MetricRecordingHandler());
+        MetricRecordingHandler metricRecordingHandler = new MetricRecordingHandler();
+        p.addLast(MetricRecordingHandler.NAME, metricRecordingHandler);
 
         p.addLast("lengthFrameDecoder", new LengthFieldBasedFrameDecoder(8388608, 0, 3, 0, 3));
-        p.addLast("inflateDecoder", new ZlibDecoder());
+        p.addLast(FrameCompressionHandlers.DECODER_NAME,
+                FrameCompressionHandlers.createDecoder(FrameCompressionHandlers.INITIAL_COMPRESSION, null, metricRecordingHandler));
         p.addLast("frameDecoder", new ProtobufVarint32FrameDecoder());
         p.addLast("protobufDecoder", new ProtobufDecoder(NetData.NetMessage.getDefaultInstance()));
 
@@ -18,7 +18,6 @@
 
 import org.jboss.netty.channel.ChannelPipeline;
 import org.jboss.netty.channel.ChannelPipelineFactory;
-import org.jboss.netty.handler.codec.compression.ZlibEncoder;
 import org.jboss.netty.handler.codec.frame.LengthFieldPrepender;
 import org.jboss.netty.handler.codec.protobuf.ProtobufDecoder;
 import org.jboss.netty.handler.codec.protobuf.ProtobufEncoder;
@@ -29,6 +28,7 @@
 import org.terasology.network.internal.ServerConnectionHandler;
 import org.terasology.network.internal.ServerHandler;
 import org.terasology.network.internal.ServerHandshakeHandler;
+import org.terasology.network.internal.compression.FrameCompressionHandlers;
 import org.terasology.protobuf.NetData;
 
 import static org.jboss.netty.channel.Channels.pipeline;
@@ -48,13 +48,15 @@ public TerasologyServerPipelineFactory(NetworkSystemImpl networkSystem) {
     @Override
     public ChannelPipeline getPipeline() throws Exception {
         ChannelPipeline p = pipeline();
-        p.addLast(MetricRecordingHandler.NAME, new MetricRecordingHandler());
+        MetricRecordingHandler metricRecordingHandler = new MetricRecordingHandler();
+        p.addLast(MetricRecordingHandler.NAME, metricRecordingHandler);
 
         p.addLast("frameDecoder", new ProtobufVarint32FrameDecoder());
         p.addLast("protobufDecoder", new ProtobufDecoder(NetData.NetMessage.getDefaultInstance()));
 
         p.addLast("frameLengthEncoder", new LengthFieldPrepender(3));
-        p.addLast("deflateEncoder", new ZlibEncoder());
+        p.addLast(FrameCompressionHandlers.ENCODER_NAME,
+                FrameCompressionHandlers.createEncoder(FrameCompressionHandlers.INITIAL_COMPRESSION, null, metricRecordingHandler));
         p.addLast("frameEncoder", new ProtobufVarint32LengthFieldPrepender());
         p.addLast("protobufEncoder", new ProtobufEncoder());
 
@@ -22,6 +22,7 @@
 import org.terasology.entitySystem.entity.EntityRef;
 import org.terasology.entitySystem.entity.internal.EngineEntityManager;
 import org.terasology.entitySystem.entity.internal.OwnershipHelper;
+import org.terasology.logic.location.EntitySpatialIndex;
 import org.terasology.logic.location.LocationComponent;
 import org.terasology.math.AABB;
 import org.terasology.math.geom.Vector3i;
@@ -66,13 +67,20 @@ public abstract class AbstractStorageManager implements StorageManager {
     private final PrefabSerializer prefabSerializer;
     private final OwnershipHelper helper;
 
-    private boolean storeChunksInZips = true;
+    private ChunkStorageFormat chunkStorageFormat;
 
     public AbstractStorageManager(Path savePath, ModuleEnvironment environment, EngineEntityManager entityManager,
                                   BlockManager blockManager, BiomeManager biomeManager, boolean storeChunksInZips) {
+        this(savePath, environment, entityManager, blockManager, biomeManager,
+                storeChunksInZips ? ChunkStorageFormat.ZIP_FILES : ChunkStorageFormat.SEPARATE_FILES);
+    }
+
+    public AbstractStorageManager(Path savePath, ModuleEnvironment environment, EngineEntityManager entityManager,
+                                  BlockManager blockManager, BiomeManager biomeManager,
+                                  ChunkStorageFormat chunkStorageFormat) {
         this.entityManager = entityManager;
         this.environment = environment;
-        this.storeChunksInZips = storeChunksInZips;
+        this.chunkStorageFormat = chunkStorageFormat;
         this.prefabSerializer = new PrefabSerializer(entityManager.getComponentLibrary(), entityManager.getTypeSerializerLibrary());
         this.blockManager = blockManager;
         this.biomeManager = biomeManager;
@@ -140,18 +148,46 @@ public void update() {
     }
 
     public boolean isStoreChunksInZips() {
-        return storeChunksInZips;
+        return chunkStorageFormat == ChunkStorageFormat.ZIP_FILES;
+    }
+
+    public ChunkStorageFormat getChunkStorageFormat() {
+        return chunkStorageFormat;
     }
 
     /**
      * For tests only
      */
     void setStoreChunksInZips(boolean storeChunksInZips) {
-        this.storeChunksInZips = storeChunksInZips;
+        this.chunkStorageFormat = storeChunksInZips ? ChunkStorageFormat.ZIP_FILES : ChunkStorageFormat.SEPARATE_FILES;
+    }
+
+    /**
+     * For tests only
+     */
+    void setChunkStorageFormat(ChunkStorageFormat chunkStorageFormat) {
+        this.chunkStorageFormat = chunkStorageFormat;
+    }
+
+    protected byte[] loadChunkRegion(Vector3i chunkPos) {
+        Vector3i chunkRegionPos = storagePathProvider.getChunkRegionPosition(chunkPos);
+        Path chunkRegionPath = storagePathProvider.getChunkRegionPath(chunkRegionPos);
+        if (!Files.isRegularFile(chunkRegionPath)) {
+            // The world might not have been converted from zip files yet
+            return loadChunkZip(chunkPos);
+        }
+        try {
+            return ChunkRegionFile.readChunk(chunkRegionPath, chunkPos);
+        } catch (IOException e) {
+            logger.error("Failed to load chunk region {}", chunkRegionPath, e);
+        }
+        return null;
     }
 
     protected byte[] loadCompressedChunk(Vector3i chunkPos) {
-        if (isStoreChunksInZips()) {
+        if (chunkStorageFormat == ChunkStorageFormat.REGION_FILES) {
+            return loadChunkRegion(chunkPos);
+        } else if (isStoreChunksInZips()) {
             return loadChunkZip(chunkPos);
         } else {
             Path chunkPath = storagePathProvider.getChunkPath(chunkPos);
@@ -183,6 +219,16 @@ protected EntityData.PlayerStore loadPlayerStoreData(String playerId) {
     protected Collection<EntityRef> getEntitiesOfChunk(Chunk chunk) {
         List<EntityRef> entitiesToStore = Lists.newArrayList();
 
+        EntitySpatialIndex spatialIndex = getEntityManager().getSpatialIndex();
+        if (spatialIndex != null) {
+            for (EntityRef entity : spatialIndex.getEntitiesInChunk(chunk.getPosition())) {
+                if (!entity.getOwner().exists() && !entity.isAlwaysRelevant() && !entity.hasComponent(ClientComponent.class)) {
+                    entitiesToStore.add(entity);
+                }
+            }
+            return entitiesToStore;
+        }
+
         AABB aabb = chunk.getAABB();
         for (EntityRef entity : getEntityManager().getEntitiesWith(LocationComponent.class)) {
             if (!entity.getOwner().exists() && !entity.isAlwaysRelevant() && !entity.hasComponent(ClientComponent.class)) {
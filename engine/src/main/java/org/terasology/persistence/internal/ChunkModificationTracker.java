@@ -0,0 +1,103 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.persistence.internal;
+
+import com.google.common.collect.Maps;
+import com.google.protobuf.ByteString;
+import org.terasology.math.geom.Vector3i;
+import org.terasology.protobuf.EntityData;
+import org.terasology.world.chunks.internal.ChunkImpl;
+
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps track of which chunks changed since they were last written to disk, so that saving can skip unchanged chunks.
+ * <br><br>
+ * Block, liquid and biome changes are tracked by the chunk itself (see {@link ChunkImpl#isModifiedSinceSave()}).
+ * The owner-less entities of a chunk can change without the chunk noticing, so the encoded entities of the last
+ * save are remembered per chunk and compared with the entities that would be saved now.
+ * <br><br>
+ * A chunk for which no saved state is known is always considered modified.
+ */
+class ChunkModificationTracker {
+    private final ConcurrentMap<Vector3i, ByteString> savedEntities = Maps.newConcurrentMap();
+    private final AtomicLong skippedChunkCount = new AtomicLong();
+
+    /**
+     * @param entityStore the entities that would get saved with the chunk.
+     * @return true if the chunk or its entities differ from what has last been written to disk.
+     */
+    boolean isModified(ChunkImpl chunk, EntityData.EntityStore entityStore) {
+        if (chunk.isModifiedSinceSave()) {
+            return true;
+        }
+        ByteString saved = savedEntities.get(chunk.getPosition());
+        return saved == null || !saved.equals(encodeEntities(entityStore));
+    }
+
+    /**
+     * To be called after the chunk at the given position has successfully been written with the given entities.
+     */
+    void chunkSaved(Vector3i chunkPos, EntityData.EntityStore entityStore) {
+        savedEntities.put(chunkPos, encodeEntities(entityStore));
+    }
+
+    /**
+     * To be called when a chunk got loaded from disk.
+     * <br><br>
+     * The encoding of entities depends on the component library, which may have changed since the chunk got
+     * written. Only chunks without entities can therefore be known to match the disk unless they get saved again.
+     */
+    void chunkLoadedFromDisk(ChunkImpl chunk, EntityData.EntityStore entityStore) {
+        chunk.markSaved();
+        if (entityStore.getEntityCount() == 0) {
+            savedEntities.put(chunk.getPosition(), ByteString.EMPTY);
+        } else {
+            savedEntities.remove(chunk.getPosition());
+        }
+    }
+
+    /**
+     * Forgets the saved state of a chunk, e.g. because the stored version is no longer known to be the latest one.
+     */
+    void forget(Vector3i chunkPos) {
+        savedEntities.remove(chunkPos);
+    }
+
+    void clear() {
+        savedEntities.clear();
+    }
+
+    void addSkippedChunks(int count) {
+        skippedChunkCount.addAndGet(count);
+    }
+
+    /**
+     * @return the number of times a chunk did not need to be written as it did not change since the last save.
+     */
+    long getSkippedChunkCount() {
+        return skippedChunkCount.get();
+    }
+
+    private static ByteString encodeEntities(EntityData.EntityStore entityStore) {
+        if (entityStore.getEntityCount() == 0) {
+            return ByteString.EMPTY;
+        }
+        // The component class table is the same for every chunk and does not need to be kept per chunk
+        return entityStore.toBuilder().clearComponentClass().build().toByteString();
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.persistence.internal;
+
+import org.terasology.math.geom.Vector3i;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.BitSet;
+
+/**
+ * A file that stores the compressed chunks of a cubic region of {@link #REGION_SIZE}^3 chunks.
+ * <br><br>
+ * The file starts with a header of fixed size, that contains an entry for every chunk of the region: The first sector
+ * and the length in bytes of the chunk data, or zeros if the chunk is not stored. The chunk data is stored in sectors
+ * of {@link #SECTOR_SIZE} bytes after the header. A chunk that still fits into its sectors gets overwritten in place,
+ * otherwise it is moved to free sectors or appended to the file. The header entry gets updated after the chunk data
+ * has been written.
+ * <br><br>
+ * Writes are not atomic. They are applied from the unmerged changes of a save transaction, which get applied again
+ * when writing got interrupted.
+ */
+final class ChunkRegionFile implements Closeable {
+    static final int REGION_SIZE = 16;
+    static final int SECTOR_SIZE = 4096;
+
+    private static final int CHUNKS_PER_REGION = REGION_SIZE * REGION_SIZE * REGION_SIZE;
+    private static final int ENTRY_SIZE = 2 * Integer.BYTES;
+    private static final int HEADER_SIZE = CHUNKS_PER_REGION * ENTRY_SIZE;
+    private static final int HEADER_SECTORS = HEADER_SIZE / SECTOR_SIZE;
+
+    private final FileChannel channel;
+    private final ByteBuffer header;
+    private final BitSet usedSectors = new BitSet();
+
+    private ChunkRegionFile(FileChannel channel) throws IOException {
+        this.channel = channel;
+        this.header = ByteBuffer.allocate(HEADER_SIZE);
+        if (channel.size() >= HEADER_SIZE) {
+            readFully(channel, header, 0);
+        } else {
+            channel.write(ByteBuffer.allocate(HEADER_SIZE), 0);
+        }
+        usedSectors.set(0, HEADER_SECTORS);
+        for (int index = 0; index < CHUNKS_PER_REGION; index++) {
+            int firstSector = header.getInt(index * ENTRY_SIZE);
+            int length = header.getInt(index * ENTRY_SIZE + Integer.BYTES);
+            if (firstSector != 0) {
+                usedSectors.set(firstSector, firstSector + sectorsFor(length));
+            }
+        }
+    }
+
+    /**
+     * Opens the region file for writing, creating it if it does not exist yet.
+     */
+    static ChunkRegionFile openForWriting(Path path) throws IOException {
+        return new ChunkRegionFile(FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE));
+    }
+
+    /**
+     * Reads the data of a single chunk with positional reads, without reading the rest of the header.
+     *
+     * @return the stored chunk data or null if the region file does not contain the chunk.
+     */
+    static byte[] readChunk(Path path, Vector3i chunkPos) throws IOException {
+        if (!Files.isRegularFile(path)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_SIZE) {
+                return null;
+            }
+            ByteBuffer entry = ByteBuffer.allocate(ENTRY_SIZE);
+            readFully(channel, entry, getIndex(chunkPos) * ENTRY_SIZE);
+            int firstSector = entry.getInt(0);
+            int length = entry.getInt(Integer.BYTES);
+            if (firstSector == 0) {
+                return null;
+            }
+            ByteBuffer data = ByteBuffer.allocate(length);
+            readFully(channel, data, (long) firstSector * SECTOR_SIZE);
+            return data.array();
+        }
+    }
+
+    /**
+     * Stores the given data as new version of the chunk.
+     */
+    void writeChunk(Vector3i chunkPos, byte[] data) throws IOException {
+        int entryPosition = getIndex(chunkPos) * ENTRY_SIZE;
+        int oldFirstSector = header.getInt(entryPosition);
+        int oldSectors = oldFirstSector != 0 ? sectorsFor(header.getInt(entryPosition + Integer.BYTES)) : 0;
+        int sectors = sectorsFor(data.length);
+
+        int firstSector;
+        if (oldFirstSector != 0 && sectors <= oldSectors) {
+            firstSector = oldFirstSector;
+            usedSectors.clear(firstSector + sectors, firstSector + oldSectors);
+        } else {
+            if (oldFirstSector != 0) {
+                usedSectors.clear(oldFirstSector, oldFirstSector + oldSectors);
+            }
+            firstSector = findFreeSectors(sectors);
+            usedSectors.set(firstSector, firstSector + sectors);
+        }
+        writeFully(ByteBuffer.wrap(data), (long) firstSector * SECTOR_SIZE);
+
+        header.putInt(entryPosition, firstSector);
+        header.putInt(entryPosition + Integer.BYTES, data.length);
+        ByteBuffer entry = ByteBuffer.allocate(ENTRY_SIZE);
+        entry.putInt(firstSector).putInt(data.length).flip();
+        writeFully(entry, entryPosition);
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            channel.force(false);
+        } finally {
+            channel.close();
+        }
+    }
+
+    private int findFreeSectors(int count) {
+        int start = usedSectors.nextClearBit(HEADER_SECTORS);
+        while (true) {
+            int nextUsed = usedSectors.nextSetBit(start);
+            if (nextUsed == -1 || nextUsed - start >= count) {
+                return start;
+            }
+            start = usedSectors.nextClearBit(nextUsed);
+        }
+    }
+
+    private void writeFully(ByteBuffer buffer, long position) throws IOException {
+        long offset = position;
+        while (buffer.hasRemaining()) {
+            offset += channel.write(buffer, offset);
+        }
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        long offset = position;
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, offset);
+            if (read < 0) {
+                throw new EOFException("Region file is truncated");
+            }
+            offset += read;
+        }
+    }
+
+    private static int sectorsFor(int length) {
+        return Math.max(1, (length + SECTOR_SIZE - 1) / SECTOR_SIZE);
+    }
+
+    private static int getIndex(Vector3i chunkPos) {
+        int x = Math.floorMod(chunkPos.x, REGION_SIZE);
+        int y = Math.floorMod(chunkPos.y, REGION_SIZE);
+        int z = Math.floorMod(chunkPos.z, REGION_SIZE);
+        return (y * REGION_SIZE + z) * REGION_SIZE + x;
+    }
+}
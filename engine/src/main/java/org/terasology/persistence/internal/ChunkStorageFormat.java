@@ -0,0 +1,34 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.persistence.internal;
+
+/**
+ * The layouts in which chunks can be stored in the world directory of a save game.
+ */
+public enum ChunkStorageFormat {
+    /**
+     * Every chunk is stored in a file of its own.
+     */
+    SEPARATE_FILES,
+    /**
+     * The chunks of a region are stored in a zip file. Saving a chunk rewrites the whole zip file of its region.
+     */
+    ZIP_FILES,
+    /**
+     * The chunks of a region are stored in a {@link ChunkRegionFile}, in which single chunks can be updated in place.
+     */
+    REGION_FILES
+}
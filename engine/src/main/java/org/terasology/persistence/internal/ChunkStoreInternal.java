@@ -22,6 +22,7 @@
 import org.terasology.world.biomes.BiomeManager;
 import org.terasology.world.block.BlockManager;
 import org.terasology.world.chunks.Chunk;
+import org.terasology.world.chunks.internal.ChunkImpl;
 import org.terasology.world.chunks.internal.ChunkSerializer;
 
 /**
@@ -54,6 +55,13 @@ public Chunk getChunk() {
         return chunk;
     }
 
+    /**
+     * Informs the tracker that the chunk of this store matches the version on disk.
+     */
+    void notifyLoadedFromDisk(ChunkModificationTracker tracker) {
+        tracker.chunkLoadedFromDisk((ChunkImpl) chunk, entityStore);
+    }
+
     @Override
     public void restoreEntities() {
         new EntityRestorer(entityManager).restore(entityStore);
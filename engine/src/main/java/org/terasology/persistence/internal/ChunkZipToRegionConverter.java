@@ -0,0 +1,104 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.persistence.internal;
+
+import com.google.common.collect.Maps;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.terasology.math.geom.Vector3i;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Converts the chunk zips of a world into {@link ChunkRegionFile}s.
+ * <br><br>
+ * A zip file gets only moved out of the world directory into the
+ * {@link StoragePathProvider#getChunkZipBackupPath() backup directory} after all its chunks have been written into
+ * region files. When the conversion gets interrupted it thus gets repeated for the remaining zip files the next time,
+ * which is harmless as the region files just get the same chunks again. The zips are kept, so that the world can
+ * still be used with the zip storage by moving them back.
+ * <br><br>
+ * The write lock of the world directory should be acquired or the world should not be in use.
+ */
+class ChunkZipToRegionConverter {
+    private static final Logger logger = LoggerFactory.getLogger(ChunkZipToRegionConverter.class);
+
+    private final StoragePathProvider storagePathProvider;
+
+    ChunkZipToRegionConverter(StoragePathProvider storagePathProvider) {
+        this.storagePathProvider = storagePathProvider;
+    }
+
+    void convert() throws IOException {
+        Path worldPath = storagePathProvider.getWorldPath();
+        if (!Files.isDirectory(worldPath)) {
+            return;
+        }
+        List<Path> chunkZips;
+        try (Stream<Path> files = Files.list(worldPath)) {
+            chunkZips = files.filter(file -> storagePathProvider.getChunkZipPositionFromFilename(
+                    file.getFileName().toString()) != null).collect(Collectors.toList());
+        }
+        if (chunkZips.isEmpty()) {
+            return;
+        }
+        Path backupPath = storagePathProvider.getChunkZipBackupPath();
+        logger.info("Converting {} chunk zips to region files, keeping the zips in {}", chunkZips.size(), backupPath);
+        Files.createDirectories(backupPath);
+        for (Path chunkZip : chunkZips) {
+            convertChunkZip(chunkZip);
+            Files.move(chunkZip, backupPath.resolve(chunkZip.getFileName().toString()),
+                    StandardCopyOption.REPLACE_EXISTING);
+        }
+        logger.info("Conversion to region files finished");
+    }
+
+    private void convertChunkZip(Path chunkZip) throws IOException {
+        try (FileSystem zip = FileSystems.newFileSystem(chunkZip, null)) {
+            Map<Vector3i, Map<Vector3i, Path>> chunksByRegion = Maps.newHashMap();
+            for (Path root : zip.getRootDirectories()) {
+                try (DirectoryStream<Path> stream = Files.newDirectoryStream(root)) {
+                    for (Path chunkFile : stream) {
+                        Vector3i chunkPos = storagePathProvider.getChunkPositionFromFilename(
+                                chunkFile.getFileName().toString());
+                        if (chunkPos != null) {
+                            Vector3i regionPos = storagePathProvider.getChunkRegionPosition(chunkPos);
+                            chunksByRegion.computeIfAbsent(regionPos, k -> Maps.newHashMap()).put(chunkPos, chunkFile);
+                        }
+                    }
+                }
+            }
+            for (Map.Entry<Vector3i, Map<Vector3i, Path>> regionEntry : chunksByRegion.entrySet()) {
+                Path regionPath = storagePathProvider.getChunkRegionPath(regionEntry.getKey());
+                try (ChunkRegionFile regionFile = ChunkRegionFile.openForWriting(regionPath)) {
+                    for (Map.Entry<Vector3i, Path> chunkEntry : regionEntry.getValue().entrySet()) {
+                        regionFile.writeChunk(chunkEntry.getKey(), Files.readAllBytes(chunkEntry.getValue()));
+                    }
+                }
+            }
+        }
+    }
+}
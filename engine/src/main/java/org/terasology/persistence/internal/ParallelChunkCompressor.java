@@ -0,0 +1,125 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.persistence.internal;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.common.util.concurrent.Uninterruptibles;
+import org.terasology.math.geom.Vector3i;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Compresses chunks on a bounded pool of worker threads, while the calling thread writes the results in the order of
+ * the given chunks.
+ * <br><br>
+ * Only a limited number of chunks is compressed ahead of the writer, so that the memory needed for compressed chunks
+ * does not depend on the number of chunks that get saved.
+ * <br><br>
+ * The worker threads are started on first use and kept for the following saves until {@link #shutdown()}.
+ */
+class ParallelChunkCompressor {
+    private static final int CHUNKS_AHEAD_PER_THREAD = 4;
+
+    private final int threads;
+    private ExecutorService executor;
+
+    /**
+     * @param threads the number of threads that compress chunks.
+     */
+    ParallelChunkCompressor(int threads) {
+        this.threads = Math.max(1, threads);
+    }
+
+    /**
+     * @return a compressor that leaves some cores for the game while it is saving.
+     */
+    static ParallelChunkCompressor createDefault() {
+        return new ParallelChunkCompressor(Runtime.getRuntime().availableProcessors() / 2);
+    }
+
+    void compressAndWrite(Map<Vector3i, CompressedChunkBuilder> chunks, CompressedChunkWriter writer)
+            throws IOException {
+        if (chunks.size() <= 1 || threads == 1) {
+            for (Map.Entry<Vector3i, CompressedChunkBuilder> entry : chunks.entrySet()) {
+                writer.write(entry.getKey(), entry.getValue().buildEncodedChunk());
+            }
+            return;
+        }
+        ExecutorService compressionExecutor = getExecutor();
+        int maxChunksAhead = threads * CHUNKS_AHEAD_PER_THREAD;
+        Deque<Future<byte[]>> pendingResults = new ArrayDeque<>(maxChunksAhead);
+        try {
+            Iterator<Map.Entry<Vector3i, CompressedChunkBuilder>> iterator = chunks.entrySet().iterator();
+            Deque<Vector3i> pendingPositions = new ArrayDeque<>(maxChunksAhead);
+            while (iterator.hasNext() || !pendingResults.isEmpty()) {
+                while (iterator.hasNext() && pendingResults.size() < maxChunksAhead) {
+                    Map.Entry<Vector3i, CompressedChunkBuilder> entry = iterator.next();
+                    CompressedChunkBuilder builder = entry.getValue();
+                    pendingPositions.add(entry.getKey());
+                    pendingResults.add(compressionExecutor.submit(builder::buildEncodedChunk));
+                }
+                writer.write(pendingPositions.poll(), getResult(pendingResults.poll()));
+            }
+        } finally {
+            // Only left over when writing failed, the threads are kept for the next save
+            for (Future<byte[]> pendingResult : pendingResults) {
+                pendingResult.cancel(false);
+            }
+        }
+    }
+
+    private synchronized ExecutorService getExecutor() {
+        if (executor == null) {
+            executor = Executors.newFixedThreadPool(threads,
+                    new ThreadFactoryBuilder().setNameFormat("Saving-Compressor-%d").setDaemon(true).build());
+        }
+        return executor;
+    }
+
+    /**
+     * Stops the worker threads. They get started again should the compressor be used afterwards.
+     */
+    synchronized void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    private static byte[] getResult(Future<byte[]> future) throws IOException {
+        try {
+            return Uninterruptibles.getUninterruptibly(future);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IOException("Compressing a chunk failed", e.getCause());
+        }
+    }
+
+    @FunctionalInterface
+    interface CompressedChunkWriter {
+        void write(Vector3i chunkPos, byte[] compressedChunk) throws IOException;
+    }
+}
@@ -42,6 +42,7 @@
 import org.terasology.network.Client;
 import org.terasology.network.ClientComponent;
 import org.terasology.network.NetworkSystem;
+import org.terasology.persistence.ChunkStore;
 import org.terasology.persistence.typeHandling.TypeSerializationLibrary;
 import org.terasology.protobuf.EntityData;
 import org.terasology.registry.CoreRegistry;
@@ -104,6 +105,8 @@ public final class ReadWriteStorageManager extends AbstractStorageManager implem
     private ConcurrentMap<Vector3i, CompressedChunkBuilder> unloadedAndSavingChunkMap = Maps.newConcurrentMap();
     private ConcurrentMap<String, EntityData.PlayerStore> unloadedAndUnsavedPlayerMap = Maps.newConcurrentMap();
     private ConcurrentMap<String, EntityData.PlayerStore> unloadedAndSavingPlayerMap = Maps.newConcurrentMap();
+    private final ChunkModificationTracker chunkModificationTracker = new ChunkModificationTracker();
+    private final ParallelChunkCompressor chunkCompressor = ParallelChunkCompressor.createDefault();
 
 
     private EngineEntityManager privateEntityManager;
@@ -121,7 +124,14 @@ public ReadWriteStorageManager(Path savePath, ModuleEnvironment environment, Eng
 
     public ReadWriteStorageManager(Path savePath, ModuleEnvironment environment, EngineEntityManager entityManager,
                                    BlockManager blockManager, BiomeManager biomeManager, boolean storeChunksInZips) throws IOException {
-        super(savePath, environment, entityManager, blockManager, biomeManager, storeChunksInZips);
+        this(savePath, environment, entityManager, blockManager, biomeManager,
+                storeChunksInZips ? ChunkStorageFormat.ZIP_FILES : ChunkStorageFormat.SEPARATE_FILES);
+    }
+
+    public ReadWriteStorageManager(Path savePath, ModuleEnvironment environment, EngineEntityManager entityManager,
+                                   BlockManager blockManager, BiomeManager biomeManager,
+                                   ChunkStorageFormat chunkStorageFormat) throws IOException {
+        super(savePath, environment, entityManager, blockManager, biomeManager, chunkStorageFormat);
 
         entityManager.subscribeForDestruction(this);
         entityManager.subscribeForChanges(this);
@@ -147,6 +157,7 @@ private static EngineEntityManager createPrivateEntityManager(ComponentLibrary c
     @Override
     public void finishSavingAndShutdown() {
         saveThreadManager.shutdown(new ShutdownTask(), true);
+        chunkCompressor.shutdown();
         checkSaveTransactionAndClearUpIfItIsDone();
     }
 
@@ -245,7 +256,8 @@ private void waitForCompletionOfPreviousSave() {
 
     private SaveTransaction createSaveTransaction() {
         SaveTransactionBuilder saveTransactionBuilder = new SaveTransactionBuilder(privateEntityManager,
-                entitySetDeltaRecorder, isStoreChunksInZips(), getStoragePathProvider(), worldDirectoryWriteLock);
+                entitySetDeltaRecorder, getChunkStorageFormat(), getStoragePathProvider(), worldDirectoryWriteLock,
+                chunkModificationTracker, chunkCompressor);
 
         ChunkProvider chunkProvider = CoreRegistry.get(ChunkProvider.class);
         NetworkSystem networkSystem = CoreRegistry.get(NetworkSystem.class);
@@ -307,12 +319,41 @@ private PlayerStoreBuilder createPlayerStore(Client client, EntityRef character)
     public void deactivateChunk(Chunk chunk) {
         Collection<EntityRef> entitiesOfChunk = getEntitiesOfChunk(chunk);
         ChunkImpl chunkImpl = (ChunkImpl) chunk; // storage manager only works with ChunkImpl
-        unloadedAndUnsavedChunkMap.put(chunk.getPosition(), new CompressedChunkBuilder(getEntityManager(), chunkImpl,
-                entitiesOfChunk, true));
+        CompressedChunkBuilder compressedChunkBuilder = new CompressedChunkBuilder(getEntityManager(), chunkImpl,
+                entitiesOfChunk, true);
+        /*
+         * A running save might still write an older version of the chunk, so the disk is only known to be up to
+         * date when no save is in progress.
+         */
+        if (isSaving() || chunkModificationTracker.isModified(chunkImpl, compressedChunkBuilder.getEntityStore())) {
+            unloadedAndUnsavedChunkMap.put(chunk.getPosition(), compressedChunkBuilder);
+        } else {
+            chunkModificationTracker.addSkippedChunks(1);
+        }
 
         entitiesOfChunk.forEach(this::deactivateOrDestroyEntityRecursive);
     }
 
+    @Override
+    public ChunkStore loadChunkStore(Vector3i chunkPos) {
+        boolean unsavedInMemory = unloadedAndUnsavedChunkMap.containsKey(chunkPos)
+                || unloadedAndSavingChunkMap.containsKey(chunkPos);
+        ChunkStore store = super.loadChunkStore(chunkPos);
+        if (store != null && !unsavedInMemory) {
+            ((ChunkStoreInternal) store).notifyLoadedFromDisk(chunkModificationTracker);
+        } else {
+            chunkModificationTracker.forget(chunkPos);
+        }
+        return store;
+    }
+
+    /**
+     * @return how often saving or unloading did not need to write a chunk, as it did not change since the last save.
+     */
+    public long getSkippedChunkCount() {
+        return chunkModificationTracker.getSkippedChunkCount();
+    }
+
     @Override
     protected byte[] loadCompressedChunk(Vector3i chunkPos) {
         CompressedChunkBuilder disposedUnsavedChunk = unloadedAndUnsavedChunkMap.get(chunkPos);
@@ -465,6 +506,9 @@ public void checkAndRepairSaveIfNecessary() throws IOException {
         if (Files.exists(getStoragePathProvider().getUnmergedChangesPath())) {
             saveTransactionHelper.mergeChanges();
         }
+        if (getChunkStorageFormat() == ChunkStorageFormat.REGION_FILES) {
+            new ChunkZipToRegionConverter(getStoragePathProvider()).convert();
+        }
     }
 
 
@@ -475,6 +519,7 @@ public void deleteWorld() {
         unloadedAndSavingChunkMap.clear();
         unloadedAndUnsavedPlayerMap.clear();
         unloadedAndSavingPlayerMap.clear();
+        chunkModificationTracker.clear();
 
         try {
             FilesUtil.recursiveDelete(getStoragePathProvider().getWorldPath());
@@ -53,6 +53,7 @@
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Lock;
 
 /**
@@ -82,22 +83,28 @@ public class SaveTransaction extends AbstractTask {
     private EntityData.GlobalStore globalStore;
     private Map<String, EntityData.PlayerStore> allPlayers;
     private Map<Vector3i, CompressedChunkBuilder> allChunks;
+    private Map<Vector3i, EntityData.EntityStore> savedLoadedChunkEntities;
+    private List<ChunkImpl> savedLoadedChunks;
+    private int skippedChunkCount;
 
 
     // Save parameters:
-    private final boolean storeChunksInZips;
+    private final ChunkStorageFormat chunkStorageFormat;
 
     // utility classes for saving:
     private final StoragePathProvider storagePathProvider;
     private final SaveTransactionHelper saveTransactionHelper;
+    private final ParallelChunkCompressor chunkCompressor;
+    private final ChunkModificationTracker chunkModificationTracker;
 
 
     public SaveTransaction(EngineEntityManager privateEntityManager, EntitySetDeltaRecorder deltaToSave,
                            Map<String, EntityData.PlayerStore> unloadedPlayers,
                            Map<String, PlayerStoreBuilder> loadedPlayers, GlobalStoreBuilder globalStoreBuilder,
                            Map<Vector3i, CompressedChunkBuilder> unloadedChunks, Map<Vector3i, ChunkImpl> loadedChunks,
-                           GameManifest gameManifest, boolean storeChunksInZips,
-                           StoragePathProvider storagePathProvider, Lock worldDirectoryWriteLock) {
+                           GameManifest gameManifest, ChunkStorageFormat chunkStorageFormat,
+                           StoragePathProvider storagePathProvider, Lock worldDirectoryWriteLock,
+                           ChunkModificationTracker chunkModificationTracker, ParallelChunkCompressor chunkCompressor) {
         this.privateEntityManager = privateEntityManager;
         this.deltaToSave = deltaToSave;
         this.unloadedPlayers = unloadedPlayers;
@@ -106,10 +113,12 @@ public SaveTransaction(EngineEntityManager privateEntityManager, EntitySetDeltaR
         this.loadedChunks = loadedChunks;
         this.globalStoreBuilder = globalStoreBuilder;
         this.gameManifest = gameManifest;
-        this.storeChunksInZips = storeChunksInZips;
+        this.chunkStorageFormat = chunkStorageFormat;
         this.storagePathProvider = storagePathProvider;
         this.saveTransactionHelper = new SaveTransactionHelper(storagePathProvider);
         this.worldDirectoryWriteLock = worldDirectoryWriteLock;
+        this.chunkModificationTracker = chunkModificationTracker;
+        this.chunkCompressor = chunkCompressor;
     }
 
 
@@ -125,24 +134,46 @@ public void run() {
                 // should not happen, as initialization should clean it up
                 throw new IOException("Save rand while there were unmerged changes");
             }
+            long startTime = System.nanoTime();
             saveTransactionHelper.cleanupSaveTransactionDirectory();
             applyDeltaToPrivateEntityManager();
             prepareChunksPlayersAndGlobalStore();
+            long preparedTime = System.nanoTime();
             createSaveTransactionDirectory();
             writePlayerStores();
             writeGlobalStore();
+            long storesWrittenTime = System.nanoTime();
             writeChunkStores();
+            long chunksWrittenTime = System.nanoTime();
             saveGameManifest();
             perpareChangesForMerge();
             mergeChanges();
+            long mergedTime = System.nanoTime();
+            updateChunkModificationTracker();
             result = SaveTransactionResult.createSuccessResult();
-            logger.info("Save game finished");
+            logger.info("Save game finished: {} chunks written, {} unchanged chunks skipped", allChunks.size(),
+                    skippedChunkCount);
+            logger.info("Save game timings: preparing {} ms, writing players and global store {} ms, " +
+                            "compressing and writing chunks {} ms, merging {} ms",
+                    TimeUnit.NANOSECONDS.toMillis(preparedTime - startTime),
+                    TimeUnit.NANOSECONDS.toMillis(storesWrittenTime - preparedTime),
+                    TimeUnit.NANOSECONDS.toMillis(chunksWrittenTime - storesWrittenTime),
+                    TimeUnit.NANOSECONDS.toMillis(mergedTime - chunksWrittenTime));
         } catch (IOException | RuntimeException t) {
             logger.error("Save game creation failed", t);
+            if (savedLoadedChunks != null) {
+                savedLoadedChunks.forEach(ChunkImpl::markModified);
+            }
             result = SaveTransactionResult.createFailureResult(t);
         }
     }
 
+    private void updateChunkModificationTracker() {
+        unloadedChunks.keySet().forEach(chunkModificationTracker::forget);
+        savedLoadedChunkEntities.forEach(chunkModificationTracker::chunkSaved);
+        chunkModificationTracker.addSkippedChunks(skippedChunkCount);
+    }
+
     private void prepareChunksPlayersAndGlobalStore() {
         /**
          * Currently loaded persistent entities without owner that have not been saved yet.
@@ -160,14 +191,20 @@ private void prepareChunksPlayersAndGlobalStore() {
 
 
     /**
+     * Loaded chunks that did not change since they were last written are skipped, so that their previously saved
+     * version stays in place.
+     *
      * @param unsavedEntities currently loaded persistent entities without owner that have not been saved yet.
      *                        This method removes entities it saves.
      */
     private void prepareCompressedChunkBuilders(Set<EntityRef> unsavedEntities) {
+        // The private entity manager has no spatial index, its entities get filed into chunks here instead
         Map<Vector3i, Collection<EntityRef>> chunkPosToEntitiesMap = createChunkPosToUnsavedOwnerLessEntitiesMap();
 
         allChunks = Maps.newHashMap();
         allChunks.putAll(unloadedChunks);
+        savedLoadedChunkEntities = Maps.newHashMap();
+        savedLoadedChunks = Lists.newArrayList();
         for (Map.Entry<Vector3i, ChunkImpl> chunkEntry : loadedChunks.entrySet()) {
             Collection<EntityRef> entitiesToStore = chunkPosToEntitiesMap.get(chunkEntry.getKey());
             if (entitiesToStore == null) {
@@ -175,10 +212,20 @@ private void prepareCompressedChunkBuilders(Set<EntityRef> unsavedEntities) {
             }
             ChunkImpl chunk = chunkEntry.getValue();
             unsavedEntities.removeAll(entitiesToStore);
-            CompressedChunkBuilder compressedChunkBuilder = new CompressedChunkBuilder(privateEntityManager, chunk,
-                    entitiesToStore, false);
-            unsavedEntities.removeAll(compressedChunkBuilder.getStoredEntities());
-            allChunks.put(chunkEntry.getKey(), compressedChunkBuilder);
+            EntityStorer storer = new EntityStorer(privateEntityManager);
+            entitiesToStore.forEach(storer::store);
+            unsavedEntities.removeAll(storer.getStoredEntities());
+            EntityData.EntityStore entityStore = storer.finaliseStore();
+            if (!chunkModificationTracker.isModified(chunk, entityStore)) {
+                skippedChunkCount++;
+                continue;
+            }
+            // Mark as saved before taking the snapshot, so that changes made from now on mark the chunk again
+            chunk.markSaved();
+            savedLoadedChunks.add(chunk);
+            chunk.createSnapshot();
+            savedLoadedChunkEntities.put(chunkEntry.getKey(), entityStore);
+            allChunks.put(chunkEntry.getKey(), new CompressedChunkBuilder(entityStore, chunk, true));
         }
     }
 
@@ -348,10 +395,22 @@ private void writeGlobalStore() throws IOException {
     private void writeChunkStores() throws IOException {
         Path chunksPath = storagePathProvider.getWorldTempPath();
         Files.createDirectories(chunksPath);
-        if (storeChunksInZips) {
+        if (chunkStorageFormat == ChunkStorageFormat.REGION_FILES) {
+            /*
+             * The region files get updated in place when the changes are merged, so only the changed chunks need to
+             * be written here.
+             */
+            Path regionUpdatesPath = storagePathProvider.getChunkRegionUpdatesTempPath();
+            Files.createDirectories(regionUpdatesPath);
+            chunkCompressor.compressAndWrite(allChunks, (chunkPos, compressedChunk) -> {
+                Path chunkPath = regionUpdatesPath.resolve(storagePathProvider.getChunkFilename(chunkPos));
+                try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(chunkPath))) {
+                    out.write(compressedChunk);
+                }
+            });
+        } else if (chunkStorageFormat == ChunkStorageFormat.ZIP_FILES) {
             Map<Vector3i, FileSystem> newChunkZips = Maps.newHashMap();
-            for (Map.Entry<Vector3i, CompressedChunkBuilder> entry : allChunks.entrySet()) {
-                Vector3i chunkPos = entry.getKey();
+            chunkCompressor.compressAndWrite(allChunks, (chunkPos, compressedChunk) -> {
                 Vector3i chunkZipPos = storagePathProvider.getChunkZipPosition(chunkPos);
                 FileSystem zip = newChunkZips.get(chunkZipPos);
                 if (zip == null) {
@@ -361,12 +420,10 @@ private void writeChunkStores() throws IOException {
                     newChunkZips.put(chunkZipPos, zip);
                 }
                 Path chunkPath = zip.getPath(storagePathProvider.getChunkFilename(chunkPos));
-                CompressedChunkBuilder compressedChunkBuilder = entry.getValue();
-                byte[] compressedChunk = compressedChunkBuilder.buildEncodedChunk();
                 try (BufferedOutputStream bos = new BufferedOutputStream(Files.newOutputStream(chunkPath))) {
                     bos.write(compressedChunk);
                 }
-            }
+            });
             // Copy existing, unmodified content into the zips and close them
             for (Map.Entry<Vector3i, FileSystem> chunkZipEntry : newChunkZips.entrySet()) {
                 Vector3i chunkZipPos = chunkZipEntry.getKey();
@@ -391,15 +448,12 @@ public FileVisitResult visitFile(Path file, BasicFileAttributes attrs)
                 zip.close();
             }
         } else {
-            for (Map.Entry<Vector3i, CompressedChunkBuilder> entry : allChunks.entrySet()) {
-                Vector3i chunkPos = entry.getKey();
-                CompressedChunkBuilder compressedChunkBuilder = entry.getValue();
-                byte[] compressedChunk = compressedChunkBuilder.buildEncodedChunk();
+            chunkCompressor.compressAndWrite(allChunks, (chunkPos, compressedChunk) -> {
                 Path chunkPath = storagePathProvider.getChunkTempPath(chunkPos);
                 try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(chunkPath))) {
                     out.write(compressedChunk);
                 }
-            }
+            });
         }
     }
 
@@ -38,18 +38,23 @@ class SaveTransactionBuilder {
     private Map<Vector3i, CompressedChunkBuilder> unloadedChunks = Maps.newHashMap();
     private Map<Vector3i, ChunkImpl> loadedChunks = Maps.newHashMap();
     private GlobalStoreBuilder globalStoreBuilder;
-    private final boolean storeChunksInZips;
+    private final ChunkStorageFormat chunkStorageFormat;
     private final StoragePathProvider storagePathProvider;
     private GameManifest gameManifest;
+    private final ChunkModificationTracker chunkModificationTracker;
+    private final ParallelChunkCompressor chunkCompressor;
 
     SaveTransactionBuilder(EngineEntityManager privateEntityManager, EntitySetDeltaRecorder deltaToSave,
-                           boolean storeChunksInZips, StoragePathProvider storagePathProvider,
-                           Lock worldDirectoryWriteLock) {
+                           ChunkStorageFormat chunkStorageFormat, StoragePathProvider storagePathProvider,
+                           Lock worldDirectoryWriteLock, ChunkModificationTracker chunkModificationTracker,
+                           ParallelChunkCompressor chunkCompressor) {
         this.privateEntityManager = privateEntityManager;
         this.deltaToSave = deltaToSave;
-        this.storeChunksInZips = storeChunksInZips;
+        this.chunkStorageFormat = chunkStorageFormat;
         this.storagePathProvider = storagePathProvider;
         this.worldDirectoryWriteLock = worldDirectoryWriteLock;
+        this.chunkModificationTracker = chunkModificationTracker;
+        this.chunkCompressor = chunkCompressor;
     }
 
     public void addUnloadedPlayer(String id, EntityData.PlayerStore unloadedPlayer) {
@@ -75,8 +80,8 @@ public void addLoadedChunk(final Vector3i chunkPosition, final ChunkImpl chunk)
 
     public SaveTransaction build() {
         return new SaveTransaction(privateEntityManager, deltaToSave, unloadedPlayers, loadedPlayers, globalStoreBuilder,
-                unloadedChunks, loadedChunks, gameManifest, storeChunksInZips, storagePathProvider,
-                worldDirectoryWriteLock);
+                unloadedChunks, loadedChunks, gameManifest, chunkStorageFormat, storagePathProvider,
+                worldDirectoryWriteLock, chunkModificationTracker, chunkCompressor);
 
     }
 
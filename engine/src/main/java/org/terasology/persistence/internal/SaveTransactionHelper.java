@@ -15,18 +15,23 @@
  */
 package org.terasology.persistence.internal;
 
+import com.google.common.collect.Maps;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.terasology.math.geom.Vector3i;
+import org.terasology.utilities.FilesUtil;
 
 import java.io.IOException;
 import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.DirectoryNotEmptyException;
+import java.nio.file.DirectoryStream;
 import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.SimpleFileVisitor;
 import java.nio.file.StandardCopyOption;
 import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Map;
 
 /**
  * Helper class for methods around {@link SaveTransaction}s that are also needed outside of the save transaction.
@@ -67,6 +72,7 @@ public FileVisitResult postVisitDirectory(Path dir, IOException exc) throws IOEx
      * The write lock for the save directory should be acquired before this method gets called.
      */
     public void mergeChanges() throws IOException {
+        applyChunkRegionUpdates();
         final Path sourceDirectory = storagePathProvider.getUnmergedChangesPath();
         final Path targetDirectory = storagePathProvider.getStoragePathDirectory();
 
@@ -122,4 +128,37 @@ public FileVisitResult postVisitDirectory(Path dir, IOException exc) throws IOEx
             }
         });
     }
+
+    /**
+     * Writes the chunks of the unmerged region updates into their region files. The updates get only deleted once
+     * all of them have been written, so that an interrupted merge can simply be repeated.
+     */
+    private void applyChunkRegionUpdates() throws IOException {
+        Path updatesDirectory = storagePathProvider.getUnmergedChunkRegionUpdatesPath();
+        if (!Files.isDirectory(updatesDirectory)) {
+            return;
+        }
+        Map<Vector3i, Map<Vector3i, Path>> updatesByRegion = Maps.newHashMap();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(updatesDirectory)) {
+            for (Path chunkFile : stream) {
+                Vector3i chunkPos = storagePathProvider.getChunkPositionFromFilename(chunkFile.getFileName().toString());
+                if (chunkPos == null) {
+                    logger.warn("Ignoring unexpected file {} in region updates", chunkFile);
+                    continue;
+                }
+                Vector3i regionPos = storagePathProvider.getChunkRegionPosition(chunkPos);
+                updatesByRegion.computeIfAbsent(regionPos, k -> Maps.newHashMap()).put(chunkPos, chunkFile);
+            }
+        }
+        Files.createDirectories(storagePathProvider.getWorldPath());
+        for (Map.Entry<Vector3i, Map<Vector3i, Path>> regionEntry : updatesByRegion.entrySet()) {
+            Path regionPath = storagePathProvider.getChunkRegionPath(regionEntry.getKey());
+            try (ChunkRegionFile regionFile = ChunkRegionFile.openForWriting(regionPath)) {
+                for (Map.Entry<Vector3i, Path> chunkEntry : regionEntry.getValue().entrySet()) {
+                    regionFile.writeChunk(chunkEntry.getKey(), Files.readAllBytes(chunkEntry.getValue()));
+                }
+            }
+        }
+        FilesUtil.recursiveDelete(updatesDirectory);
+    }
 }
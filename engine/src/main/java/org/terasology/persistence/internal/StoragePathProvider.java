@@ -30,6 +30,10 @@ public class StoragePathProvider {
     private static final String GLOBAL_ENTITY_STORE = "global.dat";
     private static final String UNFINISHED_SAVE_TRANSACTION = "unfinished-save-transaction";
     private static final String UNMERGED_CHANGED = "unmerged-changes";
+    private static final String CHUNK_REGION_UPDATES = "region-updates";
+    private static final String CHUNK_ZIP_BACKUP = "chunk-zip-backup";
+    private static final String CHUNK_FILE_EXTENSION = ".chunk";
+    private static final String CHUNK_ZIP_EXTENSION = ".chunks.zip";
     private static final int CHUNK_ZIP_DIM = 32;
 
     private final Path storagePathDirectory;
@@ -99,12 +103,77 @@ public Path getGlobalEntityStoreTempPath() {
     }
 
     public String getChunkFilename(Vector3i pos) {
-        return String.format("%d.%d.%d.chunk", pos.x, pos.y, pos.z);
+        return String.format("%d.%d.%d" + CHUNK_FILE_EXTENSION, pos.x, pos.y, pos.z);
     }
 
+    /**
+     * @return the position of the chunk with the given file name or null if it is no chunk file name.
+     */
+    public Vector3i getChunkPositionFromFilename(String filename) {
+        return parsePosition(filename, CHUNK_FILE_EXTENSION);
+    }
+
+    /**
+     * @return the position of the chunk zip with the given file name or null if it is no chunk zip file name.
+     */
+    public Vector3i getChunkZipPositionFromFilename(String filename) {
+        return parsePosition(filename, CHUNK_ZIP_EXTENSION);
+    }
+
+    private static Vector3i parsePosition(String filename, String extension) {
+        if (!filename.endsWith(extension)) {
+            return null;
+        }
+        String[] parts = filename.substring(0, filename.length() - extension.length()).split("\\.");
+        if (parts.length != 3) {
+            return null;
+        }
+        try {
+            return new Vector3i(Integer.parseInt(parts[0]), Integer.parseInt(parts[1]), Integer.parseInt(parts[2]));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
 
     private String getChunkZipFilename(Vector3i pos) {
-        return String.format("%d.%d.%d.chunks.zip", pos.x, pos.y, pos.z);
+        return String.format("%d.%d.%d" + CHUNK_ZIP_EXTENSION, pos.x, pos.y, pos.z);
+    }
+
+    private String getChunkRegionFilename(Vector3i pos) {
+        return String.format("%d.%d.%d.chunks.region", pos.x, pos.y, pos.z);
+    }
+
+    public Vector3i getChunkRegionPosition(Vector3i chunkPos) {
+        return new Vector3i(Math.floorDiv(chunkPos.x, ChunkRegionFile.REGION_SIZE),
+                Math.floorDiv(chunkPos.y, ChunkRegionFile.REGION_SIZE),
+                Math.floorDiv(chunkPos.z, ChunkRegionFile.REGION_SIZE));
+    }
+
+    public Path getChunkRegionPath(Vector3i chunkRegionPos) {
+        return worldPath.resolve(getChunkRegionFilename(chunkRegionPos));
+    }
+
+    /**
+     * @return the directory in which a save transaction stores the chunks that need to be written into region files.
+     */
+    public Path getChunkRegionUpdatesTempPath() {
+        return getWorldTempPath().resolve(CHUNK_REGION_UPDATES);
+    }
+
+    /**
+     * @return the directory the chunk zips of the world get moved to once they have been converted to region files.
+     */
+    public Path getChunkZipBackupPath() {
+        return storagePathDirectory.resolve(CHUNK_ZIP_BACKUP);
+    }
+
+    /**
+     * @return the directory with the chunks of a finished save transaction that still need to be written into
+     * region files.
+     */
+    public Path getUnmergedChunkRegionUpdatesPath() {
+        return unmergedChangesPath.resolve(WORLDS_PATH).resolve(TerasologyConstants.MAIN_WORLD)
+                .resolve(CHUNK_REGION_UPDATES);
     }
 
     public Vector3i getChunkZipPosition(Vector3i chunkPos) {
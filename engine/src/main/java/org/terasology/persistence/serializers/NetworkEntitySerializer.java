@@ -57,6 +57,7 @@ public class NetworkEntitySerializer {
     private ProtobufSerializationContext serializationContext;
     private ProtobufDeserializationContext deserializationContext;
     private BiMap<Class<? extends Component>, Integer> idTable = ImmutableBiMap.<Class<? extends Component>, Integer>builder().build();
+    private SerializedFieldCache fieldCache;
 
     public NetworkEntitySerializer(EngineEntityManager entityManager, ComponentLibrary componentLibrary, TypeSerializationLibrary typeSerializationLibrary) {
         this.entityManager = entityManager;
@@ -70,6 +71,14 @@ public void setComponentSerializeCheck(ComponentSerializeCheck componentSerializ
         this.componentSerializeCheck = componentSerializeCheck;
     }
 
+    /**
+     * @param fieldCache if not null, used to serialize each field value of a component only once until it gets
+     *                   invalidated.
+     */
+    public void setFieldCache(SerializedFieldCache fieldCache) {
+        this.fieldCache = fieldCache;
+    }
+
     public ComponentLibrary getComponentLibrary() {
         return componentLibrary;
     }
@@ -100,7 +109,7 @@ private EntityData.PackedEntity.Builder serializeEntityFull(EntityRef entityRef,
                 continue;
             }
 
-            serializeComponentFull(component, false, fieldCheck, entity, fieldIds, componentFieldCounts, true);
+            serializeComponentFull(component, false, fieldCheck, entity, fieldIds, componentFieldCounts, true, null);
         }
         entity.setFieldIds(fieldIds.toByteString());
         entity.setComponentFieldCounts(componentFieldCounts.toByteString());
@@ -125,7 +134,7 @@ private EntityData.PackedEntity.Builder serializeEntityDelta(EntityRef entityRef
             Component prefabComponent = prefab.getComponent(component.getClass());
 
             if (prefabComponent == null) {
-                serializeComponentFull(component, false, fieldCheck, entity, fieldIds, componentFieldCounts, true);
+                serializeComponentFull(component, false, fieldCheck, entity, fieldIds, componentFieldCounts, true, null);
             } else {
                 serializeComponentDelta(prefabComponent, component, fieldCheck, entity, fieldIds, componentFieldCounts, true);
             }
@@ -175,9 +184,13 @@ private void serializeComponentDelta(Component oldComponent, Component newCompon
         }
     }
 
+    /**
+     * @param replicatedState if not null, receives the serialized values. Unless the component is initial, fields with
+     *                        values that equal the ones already in the state are left out.
+     */
     private void serializeComponentFull(Component component, boolean ignoreIfNoFields, FieldSerializeCheck<Component> fieldCheck,
                                         EntityData.PackedEntity.Builder entityData, ByteString.Output entityFieldIds, ByteString.Output componentFieldCounts,
-                                        boolean componentInitial) {
+                                        boolean componentInitial, ReplicatedEntityState replicatedState) {
         ComponentMetadata<?> componentMetadata = componentLibrary.getMetadata(component.getClass());
         if (componentMetadata == null) {
             logger.error("Unregistered component type: {}", component.getClass());
@@ -188,10 +201,16 @@ private void serializeComponentFull(Component component, boolean ignoreIfNoField
         byte fieldCount = 0;
         for (ReplicatedFieldMetadata field : componentMetadata.getFields()) {
             if (fieldCheck.shouldSerializeField(field, component, componentInitial)) {
-                PersistedData fieldValue = serializer.serialize(field, component, serializationContext);
+                EntityData.Value value = serializeField(serializer, field, component);
+                if (replicatedState != null) {
+                    boolean valueChanged = replicatedState.update(component.getClass(), field.getId(), value);
+                    if (!valueChanged && !componentInitial) {
+                        continue;
+                    }
+                }
                 entityFieldIds.write(field.getId());
 
-                entityData.addFieldValue(((ProtobufPersistedData) fieldValue).getValue());
+                entityData.addFieldValue(value);
                 fieldCount++;
             }
         }
@@ -202,6 +221,18 @@ private void serializeComponentFull(Component component, boolean ignoreIfNoField
         }
     }
 
+    private EntityData.Value serializeField(Serializer serializer, ReplicatedFieldMetadata field, Component component) {
+        if (fieldCache == null) {
+            return ((ProtobufPersistedData) serializer.serialize(field, component, serializationContext)).getValue();
+        }
+        EntityData.Value value = fieldCache.get(component, field.getId());
+        if (value == null) {
+            value = ((ProtobufPersistedData) serializer.serialize(field, component, serializationContext)).getValue();
+            fieldCache.put(component, field.getId(), value);
+        }
+        return value;
+    }
+
     public void deserializeOnto(MutableComponentContainer entity, EntityData.PackedEntity entityData) {
         deserializeOnto(entity, entityData, FieldSerializeCheck.NullCheck.<Component>newInstance());
     }
@@ -273,6 +304,19 @@ public EntityRef deserialize(EntityData.PackedEntity entityData) {
 
     public EntityData.PackedEntity serialize(EntityRef entityRef, Set<Class<? extends Component>> added, Set<Class<? extends Component>> changed,
                                              Set<Class<? extends Component>> removed, FieldSerializeCheck<Component> fieldCheck) {
+        return serialize(entityRef, added, changed, removed, fieldCheck, null);
+    }
+
+    /**
+     * Serializes the added, changed and removed components of an entity.
+     *
+     * @param replicatedState if not null, changed components only include the fields whose values differ from the
+     *                        values in this state. The state gets updated with the serialized values.
+     * @return the serialized changes or null if there are none.
+     */
+    public EntityData.PackedEntity serialize(EntityRef entityRef, Set<Class<? extends Component>> added, Set<Class<? extends Component>> changed,
+                                             Set<Class<? extends Component>> removed, FieldSerializeCheck<Component> fieldCheck,
+                                             ReplicatedEntityState replicatedState) {
         EntityData.PackedEntity.Builder entity = EntityData.PackedEntity.newBuilder();
 
         ByteString.Output fieldIds = ByteString.newOutput();
@@ -282,18 +326,25 @@ public EntityData.PackedEntity serialize(EntityRef entityRef, Set<Class<? extend
             if (component == null) {
                 logger.error("Non-existent component marked as added: {}", componentType);
             }
-            serializeComponentFull(entityRef.getComponent(componentType), false, fieldCheck, entity, fieldIds, componentFieldCounts, true);
+            if (replicatedState != null) {
+                replicatedState.removeComponent(componentType);
+            }
+            serializeComponentFull(entityRef.getComponent(componentType), false, fieldCheck, entity, fieldIds, componentFieldCounts, true,
+                    replicatedState);
         }
         for (Class<? extends Component> componentType : changed) {
             Component comp = entityRef.getComponent(componentType);
             if (comp != null) {
-                serializeComponentFull(comp, true, fieldCheck, entity, fieldIds, componentFieldCounts, false);
+                serializeComponentFull(comp, true, fieldCheck, entity, fieldIds, componentFieldCounts, false, replicatedState);
             } else {
                 logger.error("Non-existent component marked as changed: {}", componentType);
             }
         }
         for (Class<? extends Component> componentType : removed) {
             entity.addRemovedComponent(idTable.get(componentType));
+            if (replicatedState != null) {
+                replicatedState.removeComponent(componentType);
+            }
         }
         entity.setFieldIds(fieldIds.toByteString());
         entity.setComponentFieldCounts(componentFieldCounts.toByteString());
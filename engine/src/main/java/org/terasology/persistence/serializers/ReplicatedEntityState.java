@@ -0,0 +1,61 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.persistence.serializers;
+
+import com.google.common.collect.Maps;
+import gnu.trove.map.TByteObjectMap;
+import gnu.trove.map.hash.TByteObjectHashMap;
+import org.terasology.entitySystem.Component;
+import org.terasology.protobuf.EntityData;
+
+import java.util.Map;
+
+/**
+ * The serialized field values of the components of an entity, as a receiver of entity updates knows them.
+ * <br><br>
+ * Used by {@link NetworkEntitySerializer} to only send the fields of changed components whose values differ from what
+ * the receiver already has.
+ * <br><br>
+ * The stored values are the ones that were last sent, which only match the values of the receiver as long as it does
+ * not change replicated fields itself. A field a client changes locally is not corrected until its value on the sender
+ * changes. The state of an entity should thus be forgotten whenever the receiver is known to have changed it, e.g. when
+ * the owner of an entity sends an update of it.
+ */
+public class ReplicatedEntityState {
+    private final Map<Class<? extends Component>, TByteObjectMap<EntityData.Value>> componentFieldValues = Maps.newHashMap();
+
+    /**
+     * Stores the serialized value of a field.
+     *
+     * @return true if the value differs from the previously stored one, or if no value was stored for the field.
+     */
+    public boolean update(Class<? extends Component> componentType, byte fieldId, EntityData.Value value) {
+        TByteObjectMap<EntityData.Value> fieldValues = componentFieldValues.get(componentType);
+        if (fieldValues == null) {
+            fieldValues = new TByteObjectHashMap<>();
+            componentFieldValues.put(componentType, fieldValues);
+        }
+        EntityData.Value previous = fieldValues.put(fieldId, value);
+        return !value.equals(previous);
+    }
+
+    /**
+     * Forgets the values of a component, e.g. because it got removed or will be sent in full.
+     */
+    public void removeComponent(Class<? extends Component> componentType) {
+        componentFieldValues.remove(componentType);
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.persistence.serializers;
+
+import gnu.trove.map.TByteObjectMap;
+import gnu.trove.map.hash.TByteObjectHashMap;
+import org.terasology.entitySystem.Component;
+import org.terasology.protobuf.EntityData;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Keeps the serialized field values of components, so that a component that gets sent to several receivers is only
+ * serialized once.
+ * <br><br>
+ * The values are kept per component instance. Entries must be invalidated when the component changes, and the cache
+ * should be cleared regularly.
+ */
+public class SerializedFieldCache {
+    private final Map<Component, TByteObjectMap<EntityData.Value>> values = new IdentityHashMap<>();
+    private int avoidedSerializations;
+
+    /**
+     * @return The previously serialized value of the field, or null if it isn't known.
+     */
+    public EntityData.Value get(Component component, byte fieldId) {
+        TByteObjectMap<EntityData.Value> fieldValues = values.get(component);
+        if (fieldValues != null) {
+            EntityData.Value value = fieldValues.get(fieldId);
+            if (value != null) {
+                avoidedSerializations++;
+            }
+            return value;
+        }
+        return null;
+    }
+
+    public void put(Component component, byte fieldId, EntityData.Value value) {
+        TByteObjectMap<EntityData.Value> fieldValues = values.get(component);
+        if (fieldValues == null) {
+            fieldValues = new TByteObjectHashMap<>();
+            values.put(component, fieldValues);
+        }
+        fieldValues.put(fieldId, value);
+    }
+
+    public void invalidate(Component component) {
+        values.remove(component);
+    }
+
+    public void clear() {
+        values.clear();
+    }
+
+    /**
+     * @return The number of field serializations that were avoided since the last time this method was called
+     */
+    public int getAvoidedSerializationsSinceLastCall() {
+        int result = avoidedSerializations;
+        avoidedSerializations = 0;
+        return result;
+    }
+}
@@ -85,6 +85,30 @@ org.terasology.protobuf.NetData.InvalidateChunkMessageOrBuilder getInvalidateChu
     org.terasology.protobuf.NetData.BlockChangeMessageOrBuilder getBlockChangeOrBuilder(
         int index);
 
+    /**
+     * <code>repeated .BlockChangeBatchMessage blockChangeBatch = 23;</code>
+     */
+    java.util.List<org.terasology.protobuf.NetData.BlockChangeBatchMessage> 
+        getBlockChangeBatchList();
+    /**
+     * <code>repeated .BlockChangeBatchMessage blockChangeBatch = 23;</code>
+     */
+    org.terasology.protobuf.NetData.BlockChangeBatchMessage getBlockChangeBatch(int index);
+    /**
+     * <code>repeated .BlockChangeBatchMessage blockChangeBatch = 23;</code>
+     */
+    int getBlockChangeBatchCount();
+    /**
+     * <code>repeated .BlockChangeBatchMessage blockChangeBatch = 23;</code>
+     */
+    java.util.List<? extends org.terasology.protobuf.NetData.BlockChangeBatchMessageOrBuilder> 
+        getBlockChangeBatchOrBuilderList();
+    /**
+     * <code>repeated .BlockChangeBatchMessage blockChangeBatch = 23;</code>
+     */
+    org.terasology.protobuf.NetData.BlockChangeBatchMessageOrBuilder getBlockChangeBatchOrBuilder(
+        int index);
+
     /**
      * <code>repeated .CreateEntityMessage createEntity = 5;</code>
      */
@@ -403,6 +427,29 @@ org.terasology.protobuf.NetData.ModuleRequestOrBuilder getModuleRequestOrBuilder
      * <code>optional .HandshakeVerification handshakeVerification = 103;</code>
      */
     org.terasology.protobuf.NetData.HandshakeVerificationOrBuilder getHandshakeVerificationOrBuilder();
+
+    /**
+     * <code>optional string compression = 104;</code>
+     */
+    boolean hasCompression();
+    /**
+     * <code>optional string compression = 104;</code>
+     */
+    java.lang.String getCompression();
+    /**
+     * <code>optional string compression = 104;</code>
+     */
+    com.google.protobuf.ByteString
+        getCompressionBytes();
+
+    /**
+     * <code>optional bytes compressionDictionary = 105;</code>
+     */
+    boolean hasCompressionDictionary();
+    /**
+     * <code>optional bytes compressionDictionary = 105;</code>
+     */
+    com.google.protobuf.ByteString getCompressionDictionary();
   }
   /**
    * Protobuf type {@code NetMessage}
@@ -481,6 +528,14 @@ private NetMessage(
               blockChange_.add(input.readMessage(org.terasology.protobuf.NetData.BlockChangeMessage.PARSER, extensionRegistry));
               break;
             }
+            case 186: {
+              if (!((mutable_bitField0_ & 0x00800000) == 0x00800000)) {
+                blockChangeBatch_ = new java.util.ArrayList<org.terasology.protobuf.NetData.BlockChangeBatchMessage>();
+                mutable_bitField0_ |= 0x00800000;
+              }
+              blockChangeBatch_.add(input.readMessage(org.terasology.protobuf.NetData.BlockChangeBatchMessage.PARSER, extensionRegistry));
+              break;
+            }
             case 42: {
               if (!((mutable_bitField0_ & 0x00000008) == 0x00000008)) {
                 createEntity_ = new java.util.ArrayList<org.terasology.protobuf.NetData.CreateEntityMessage>();
@@ -672,6 +727,17 @@ private NetMessage(
               bitField0_ |= 0x00000400;
               break;
             }
+            case 834: {
+              com.google.protobuf.ByteString bs = input.readBytes();
+              bitField0_ |= 0x00000800;
+              compression_ = bs;
+              break;
+            }
+            case 842: {
+              bitField0_ |= 0x00001000;
+              compressionDictionary_ = input.readBytes();
+              break;
+            }
           }
         }
       } catch (com.google.protobuf.InvalidProtocolBufferException e) {
@@ -689,6 +755,9 @@ private NetMessage(
         if (((mutable_bitField0_ & 0x00000004) == 0x00000004)) {
           blockChange_ = java.util.Collections.unmodifiableList(blockChange_);
         }
+        if (((mutable_bitField0_ & 0x00800000) == 0x00800000)) {
+          blockChangeBatch_ = java.util.Collections.unmodifiableList(blockChangeBatch_);
+        }
         if (((mutable_bitField0_ & 0x00000008) == 0x00000008)) {
           createEntity_ = java.util.Collections.unmodifiableList(createEntity_);
         }
@@ -847,6 +916,41 @@ public org.terasology.protobuf.NetData.BlockChangeMessageOrBuilder getBlockChang
       return blockChange_.get(index);
     }
 
+    public static final int BLOCKCHANGEBATCH_FIELD_NUMBER = 23;
+    private java.util.List<org.terasology.protobuf.NetData.BlockChangeBatchMessage> blockChangeBatch_;
+    /**
+     * <code>repeated .BlockChangeBatchMessage blockChangeBatch = 23;</code>
+     */
+    public java.util.List<org.terasology.protobuf.NetData.BlockChangeBatchMessage> getBlockChangeBatchList() {
+      return blockChangeBatch_;
+    }
+    /**
+     * <code>repeated .BlockChangeBatchMessage blockChangeBatch = 23;</code>
+     */
+    public java.util.List<? extends org.terasology.protobuf.NetData.BlockChangeBatchMessageOrBuilder> 
+        getBlockChangeBatchOrBuilderList() {
+      return blockChangeBatch_;
+    }
+    /**
+     * <code>repeated .BlockChangeBatchMessage blockChangeBatch = 23;</code>
+     */
+    public int getBlockChangeBatchCount() {
+      return blockChangeBatch_.size();
+    }
+    /**
+     * <code>repeated .BlockChangeBatchMessage blockChangeBatch = 23;</code>
+     */
+    public org.terasology.protobuf.NetData.BlockChangeBatchMessage getBlockChangeBatch(int index) {
+      return blockChangeBatch_.get(index);
+    }
+    /**
+     * <code>repeated .BlockChangeBatchMessage blockChangeBatch = 23;</code>
+     */
+    public org.terasology.protobuf.NetData.BlockChangeBatchMessageOrBuilder getBlockChangeBatchOrBuilder(
+        int index) {
+      return blockChangeBatch_.get(index);
+    }
+
     public static final int CREATEENTITY_FIELD_NUMBER = 5;
     private java.util.List<org.terasology.protobuf.NetData.CreateEntityMessage> createEntity_;
     /**
@@ -1329,10 +1433,68 @@ public org.terasology.protobuf.NetData.HandshakeVerificationOrBuilder getHandsha
       return handshakeVerification_;
     }
 
+    public static final int COMPRESSION_FIELD_NUMBER = 104;
+    private java.lang.Object compression_;
+    /**
+     * <code>optional string compression = 104;</code>
+     */
+    public boolean hasCompression() {
+      return ((bitField0_ & 0x00000800) == 0x00000800);
+    }
+    /**
+     * <code>optional string compression = 104;</code>
+     */
+    public java.lang.String getCompression() {
+      java.lang.Object ref = compression_;
+      if (ref instanceof java.lang.String) {
+        return (java.lang.String) ref;
+      } else {
+        com.google.protobuf.ByteString bs = 
+            (com.google.protobuf.ByteString) ref;
+        java.lang.String s = bs.toStringUtf8();
+        if (bs.isValidUtf8()) {
+          compression_ = s;
+        }
+        return s;
+      }
+    }
+    /**
+     * <code>optional string compression = 104;</code>
+     */
+    public com.google.protobuf.ByteString
+        getCompressionBytes() {
+      java.lang.Object ref = compression_;
+      if (ref instanceof java.lang.String) {
+        com.google.protobuf.ByteString b = 
+            com.google.protobuf.ByteString.copyFromUtf8(
+                (java.lang.String) ref);
+        compression_ = b;
+        return b;
+      } else {
+        return (com.google.protobuf.ByteString) ref;
+      }
+    }
+
+    public static final int COMPRESSIONDICTIONARY_FIELD_NUMBER = 105;
+    private com.google.protobuf.ByteString compressionDictionary_;
+    /**
+     * <code>optional bytes compressionDictionary = 105;</code>
+     */
+    public boolean hasCompressionDictionary() {
+      return ((bitField0_ & 0x00001000) == 0x00001000);
+    }
+    /**
+     * <code>optional bytes compressionDictionary = 105;</code>
+     */
+    public com.google.protobuf.ByteString getCompressionDictionary() {
+      return compressionDictionary_;
+    }
+
     private void initFields() {
       chunkInfo_ = java.util.Collections.emptyList();
       invalidateChunk_ = java.util.Collections.emptyList();
       blockChange_ = java.util.Collections.emptyList();
+      blockChangeBatch_ = java.util.Collections.emptyList();
       createEntity_ = java.util.Collections.emptyList();
       removeEntity_ = java.util.Collections.emptyList();
       updateEntity_ = java.util.Collections.emptyList();
@@ -1351,6 +1513,8 @@ private void initFields() {
       newIdentityRequest_ = org.terasology.protobuf.NetData.NewIdentityRequest.getDefaultInstance();
       provisionIdentity_ = org.terasology.protobuf.NetData.ProvisionIdentity.getDefaultInstance();
       handshakeVerification_ = org.terasology.protobuf.NetData.HandshakeVerification.getDefaultInstance();
+      compression_ = "";
+      compressionDictionary_ = com.google.protobuf.ByteString.EMPTY;
     }
     private byte memoizedIsInitialized = -1;
     public final boolean isInitialized() {
@@ -1376,6 +1540,12 @@ public final boolean isInitialized() {
           return false;
         }
       }
+      for (int i = 0; i < getBlockChangeBatchCount(); i++) {
+        if (!getBlockChangeBatch(i).isInitialized()) {
+          memoizedIsInitialized = 0;
+          return false;
+        }
+      }
       for (int i = 0; i < getCreateEntityCount(); i++) {
         if (!getCreateEntity(i).isInitialized()) {
           memoizedIsInitialized = 0;
@@ -1543,6 +1713,9 @@ public void writeTo(com.google.protobuf.CodedOutputStream output)
       if (((bitField0_ & 0x00000040) == 0x00000040)) {
         output.writeMessage(22, joinComplete_);
       }
+      for (int i = 0; i < blockChangeBatch_.size(); i++) {
+        output.writeMessage(23, blockChangeBatch_.get(i));
+      }
       if (((bitField0_ & 0x00000080) == 0x00000080)) {
         output.writeMessage(100, handshakeHello_);
       }
@@ -1555,6 +1728,12 @@ public void writeTo(com.google.protobuf.CodedOutputStream output)
       if (((bitField0_ & 0x00000400) == 0x00000400)) {
         output.writeMessage(103, handshakeVerification_);
       }
+      if (((bitField0_ & 0x00000800) == 0x00000800)) {
+        output.writeBytes(104, getCompressionBytes());
+      }
+      if (((bitField0_ & 0x00001000) == 0x00001000)) {
+        output.writeBytes(105, compressionDictionary_);
+      }
       extensionWriter.writeUntil(536870912, output);
       getUnknownFields().writeTo(output);
     }
@@ -1633,6 +1812,10 @@ public int getSerializedSize() {
         size += com.google.protobuf.CodedOutputStream
           .computeMessageSize(22, joinComplete_);
       }
+      for (int i = 0; i < blockChangeBatch_.size(); i++) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeMessageSize(23, blockChangeBatch_.get(i));
+      }
       if (((bitField0_ & 0x00000080) == 0x00000080)) {
         size += com.google.protobuf.CodedOutputStream
           .computeMessageSize(100, handshakeHello_);
@@ -1649,6 +1832,14 @@ public int getSerializedSize() {
         size += com.google.protobuf.CodedOutputStream
           .computeMessageSize(103, handshakeVerification_);
       }
+      if (((bitField0_ & 0x00000800) == 0x00000800)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeBytesSize(104, getCompressionBytes());
+      }
+      if (((bitField0_ & 0x00001000) == 0x00001000)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeBytesSize(105, compressionDictionary_);
+      }
       size += extensionsSerializedSize();
       size += getUnknownFields().getSerializedSize();
       memoizedSerializedSize = size;
@@ -1763,6 +1954,7 @@ private void maybeForceBuilderInitialization() {
           getChunkInfoFieldBuilder();
           getInvalidateChunkFieldBuilder();
           getBlockChangeFieldBuilder();
+          getBlockChangeBatchFieldBuilder();
           getCreateEntityFieldBuilder();
           getRemoveEntityFieldBuilder();
           getUpdateEntityFieldBuilder();
@@ -1806,6 +1998,12 @@ public Builder clear() {
         } else {
           blockChangeBuilder_.clear();
         }
+        if (blockChangeBatchBuilder_ == null) {
+          blockChangeBatch_ = java.util.Collections.emptyList();
+          bitField0_ = (bitField0_ & ~0x00800000);
+        } else {
+          blockChangeBatchBuilder_.clear();
+        }
         if (createEntityBuilder_ == null) {
           createEntity_ = java.util.Collections.emptyList();
           bitField0_ = (bitField0_ & ~0x00000008);
@@ -1910,6 +2108,10 @@ public Builder clear() {
           handshakeVerificationBuilder_.clear();
         }
         bitField0_ = (bitField0_ & ~0x00100000);
+        compression_ = "";
+        bitField0_ = (bitField0_ & ~0x00200000);
+        compressionDictionary_ = com.google.protobuf.ByteString.EMPTY;
+        bitField0_ = (bitField0_ & ~0x00400000);
         return this;
       }
 
@@ -1965,6 +2167,15 @@ public org.terasology.protobuf.NetData.NetMessage buildPartial() {
         } else {
           result.blockChange_ = blockChangeBuilder_.build();
         }
+        if (blockChangeBatchBuilder_ == null) {
+          if (((bitField0_ & 0x00800000) == 0x00800000)) {
+            blockChangeBatch_ = java.util.Collections.unmodifiableList(blockChangeBatch_);
+            bitField0_ = (bitField0_ & ~0x00800000);
+          }
+          result.blockChangeBatch_ = blockChangeBatch_;
+        } else {
+          result.blockChangeBatch_ = blockChangeBatchBuilder_.build();
+        }
         if (createEntityBuilder_ == null) {
           if (((bitField0_ & 0x00000008) == 0x00000008)) {
             createEntity_ = java.util.Collections.unmodifiableList(createEntity_);
@@ -2112,6 +2323,14 @@ public org.terasology.protobuf.NetData.NetMessage buildPartial() {
         } else {
           result.handshakeVerification_ = handshakeVerificationBuilder_.build();
         }
+        if (((from_bitField0_ & 0x00200000) == 0x00200000)) {
+          to_bitField0_ |= 0x00000800;
+        }
+        result.compression_ = compression_;
+        if (((from_bitField0_ & 0x00400000) == 0x00400000)) {
+          to_bitField0_ |= 0x00001000;
+        }
+        result.compressionDictionary_ = compressionDictionary_;
         result.bitField0_ = to_bitField0_;
         onBuilt();
         return result;
@@ -2206,6 +2425,32 @@ public Builder mergeFrom(org.terasology.protobuf.NetData.NetMessage other) {
             }
           }
         }
+        if (blockChangeBatchBuilder_ == null) {
+          if (!other.blockChangeBatch_.isEmpty()) {
+            if (blockChangeBatch_.isEmpty()) {
+              blockChangeBatch_ = other.blockChangeBatch_;
+              bitField0_ = (bitField0_ & ~0x00800000);
+            } else {
+              ensureBlockChangeBatchIsMutable();
+              blockChangeBatch_.addAll(other.blockChangeBatch_);
+            }
+            onChanged();
+          }
+        } else {
+          if (!other.blockChangeBatch_.isEmpty()) {
+            if (blockChangeBatchBuilder_.isEmpty()) {
+              blockChangeBatchBuilder_.dispose();
+              blockChangeBatchBuilder_ = null;
+              blockChangeBatch_ = other.blockChangeBatch_;
+              bitField0_ = (bitField0_ & ~0x00800000);
+              blockChangeBatchBuilder_ = 
+                com.google.protobuf.GeneratedMessage.alwaysUseFieldBuilders ?
+                   getBlockChangeBatchFieldBuilder() : null;
+            } else {
+              blockChangeBatchBuilder_.addAllMessages(other.blockChangeBatch_);
+            }
+          }
+        }
         if (createEntityBuilder_ == null) {
           if (!other.createEntity_.isEmpty()) {
             if (createEntity_.isEmpty()) {
@@ -2421,6 +2666,14 @@ public Builder mergeFrom(org.terasology.protobuf.NetData.NetMessage other) {
         if (other.hasHandshakeVerification()) {
           mergeHandshakeVerification(other.getHandshakeVerification());
         }
+        if (other.hasCompression()) {
+          bitField0_ |= 0x00200000;
+          compression_ = other.compression_;
+          onChanged();
+        }
+        if (other.hasCompressionDictionary()) {
+          setCompressionDictionary(other.getCompressionDictionary());
+        }
         this.mergeExtensionFields(other);
         this.mergeUnknownFields(other.getUnknownFields());
         return this;
@@ -2445,6 +2698,12 @@ public final boolean isInitialized() {
             return false;
           }
         }
+        for (int i = 0; i < getBlockChangeBatchCount(); i++) {
+          if (!getBlockChangeBatch(i).isInitialized()) {
+            
+            return false;
+          }
+        }
         for (int i = 0; i < getCreateEntityCount(); i++) {
           if (!getCreateEntity(i).isInitialized()) {
             
@@ -3293,6 +3552,246 @@ public org.terasology.protobuf.NetData.BlockChangeMessage.Builder addBlockChange
         return blockChangeBuilder_;
       }
 
+      private java.util.List<org.terasology.protobuf.NetData.BlockChangeBatchMessage> blockChangeBatch_ =
+        java.util.Collections.emptyList();
+      private void ensureBlockChangeBatchIsMutable() {
+        if (!((bitField0_ & 0x00800000) == 0x00800000)) {
+          blockChangeBatch_ = new java.util.ArrayList<org.terasology.protobuf.NetData.BlockChangeBatchMessage>(blockChangeBatch_);
+          bitField0_ |= 0x00800000;
+         }
+      }
+
+      private com.google.protobuf.RepeatedFieldBuilder<
+          org.terasology.protobuf.NetData.BlockChangeBatchMessage, org.terasology.protobuf.NetData.BlockChangeBatchMessage.Builder, org.terasology.protobuf.NetData.BlockChangeBatchMessageOrBuilder> blockChangeBatchBuilder_;
+
+      /**
+       * <code>repeated .BlockChangeBatchMessage blockChangeBatch = 23;</code>
+       */
+      public java.util.List<org.terasology.protobuf.NetData.BlockChangeBatchMessage> getBlockChangeBatchList() {
+        if (blockChangeBatchBuilder_ == null) {
+          return java.util.Collections.unmodifiableList(blockChangeBatch_);
+        } else {
+          return blockChangeBatchBuilder_.getMessageList();
+        }
+      }
+      /**
+       * <code>repeated .BlockChangeBatchMessage blockChangeBatch = 23;</code>
+       */
+      public int getBlockChangeBatchCount() {
+        if (blockChangeBatchBuilder_ == null) {
+          return blockChangeBatch_.size();
+        } else {
+          return blockChangeBatchBuilder_.getCount();
+        }
+      }
+      /**
+       * <code>repeated .BlockChangeBatchMessage blockChangeBatch = 23;</code>
+       */
+      public org.terasology.protobuf.NetData.BlockChangeBatchMessage getBlockChangeBatch(int index) {
+        if (blockChangeBatchBuilder_ == null) {
+          return blockChangeBatch_.get(index);
+        } else {
+          return blockChangeBatchBuilder_.getMessage(index);
+        }
+      }
+      /**
+       * <code>repeated .BlockChangeBatchMessage blockChangeBatch = 23;</code>
+       */
+      public Builder setBlockChangeBatch(
+          int index, org.terasology.protobuf.NetData.BlockChangeBatchMessage value) {
+        if (blockChangeBatchBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureBlockChangeBatchIsMutable();
+          blockChangeBatch_.set(index, value);
+          onChanged();
+        } else {
+          blockChangeBatchBuilder_.setMessage(index, value);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .BlockChangeBatchMessage blockChangeBatch = 23;</code>
+       */
+      public Builder setBlockChangeBatch(
+          int index, org.terasology.protobuf.NetData.BlockChangeBatchMessage.Builder builderForValue) {
+        if (blockChangeBatchBuilder_ == null) {
+          ensureBlockChangeBatchIsMutable();
+          blockChangeBatch_.set(index, builderForValue.build());
+          onChanged();
+        } else {
+          blockChangeBatchBuilder_.setMessage(index, builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .BlockChangeBatchMessage blockChangeBatch = 23;</code>
+       */
+      public Builder addBlockChangeBatch(org.terasology.protobuf.NetData.BlockChangeBatchMessage value) {
+        if (blockChangeBatchBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureBlockChangeBatchIsMutable();
+          blockChangeBatch_.add(value);
+          onChanged();
+        } else {
+          blockChangeBatchBuilder_.addMessage(value);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .BlockChangeBatchMessage blockChangeBatch = 23;</code>
+       */
+      public Builder addBlockChangeBatch(
+          int index, org.terasology.protobuf.NetData.BlockChangeBatchMessage value) {
+        if (blockChangeBatchBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureBlockChangeBatchIsMutable();
+          blockChangeBatch_.add(index, value);
+          onChanged();
+        } else {
+          blockChangeBatchBuilder_.addMessage(index, value);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .BlockChangeBatchMessage blockChangeBatch = 23;</code>
+       */
+      public Builder addBlockChangeBatch(
+          org.terasology.protobuf.NetData.BlockChangeBatchMessage.Builder builderForValue) {
+        if (blockChangeBatchBuilder_ == null) {
+          ensureBlockChangeBatchIsMutable();
+          blockChangeBatch_.add(builderForValue.build());
+          onChanged();
+        } else {
+          blockChangeBatchBuilder_.addMessage(builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .BlockChangeBatchMessage blockChangeBatch = 23;</code>
+       */
+      public Builder addBlockChangeBatch(
+          int index, org.terasology.protobuf.NetData.BlockChangeBatchMessage.Builder builderForValue) {
+        if (blockChangeBatchBuilder_ == null) {
+          ensureBlockChangeBatchIsMutable();
+          blockChangeBatch_.add(index, builderForValue.build());
+          onChanged();
+        } else {
+          blockChangeBatchBuilder_.addMessage(index, builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .BlockChangeBatchMessage blockChangeBatch = 23;</code>
+       */
+      public Builder addAllBlockChangeBatch(
+          java.lang.Iterable<? extends org.terasology.protobuf.NetData.BlockChangeBatchMessage> values) {
+        if (blockChangeBatchBuilder_ == null) {
+          ensureBlockChangeBatchIsMutable();
+          com.google.protobuf.AbstractMessageLite.Builder.addAll(
+              values, blockChangeBatch_);
+          onChanged();
+        } else {
+          blockChangeBatchBuilder_.addAllMessages(values);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .BlockChangeBatchMessage blockChangeBatch = 23;</code>
+       */
+      public Builder clearBlockChangeBatch() {
+        if (blockChangeBatchBuilder_ == null) {
+          blockChangeBatch_ = java.util.Collections.emptyList();
+          bitField0_ = (bitField0_ & ~0x00800000);
+          onChanged();
+        } else {
+          blockChangeBatchBuilder_.clear();
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .BlockChangeBatchMessage blockChangeBatch = 23;</code>
+       */
+      public Builder removeBlockChangeBatch(int index) {
+        if (blockChangeBatchBuilder_ == null) {
+          ensureBlockChangeBatchIsMutable();
+          blockChangeBatch_.remove(index);
+          onChanged();
+        } else {
+          blockChangeBatchBuilder_.remove(index);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .BlockChangeBatchMessage blockChangeBatch = 23;</code>
+       */
+      public org.terasology.protobuf.NetData.BlockChangeBatchMessage.Builder getBlockChangeBatchBuilder(
+          int index) {
+        return getBlockChangeBatchFieldBuilder().getBuilder(index);
+      }
+      /**
+       * <code>repeated .BlockChangeBatchMessage blockChangeBatch = 23;</code>
+       */
+      public org.terasology.protobuf.NetData.BlockChangeBatchMessageOrBuilder getBlockChangeBatchOrBuilder(
+          int index) {
+        if (blockChangeBatchBuilder_ == null) {
+          return blockChangeBatch_.get(index);  } else {
+          return blockChangeBatchBuilder_.getMessageOrBuilder(index);
+        }
+      }
+      /**
+       * <code>repeated .BlockChangeBatchMessage blockChangeBatch = 23;</code>
+       */
+      public java.util.List<? extends org.terasology.protobuf.NetData.BlockChangeBatchMessageOrBuilder> 
+           getBlockChangeBatchOrBuilderList() {
+        if (blockChangeBatchBuilder_ != null) {
+          return blockChangeBatchBuilder_.getMessageOrBuilderList();
+        } else {
+          return java.util.Collections.unmodifiableList(blockChangeBatch_);
+        }
+      }
+      /**
+       * <code>repeated .BlockChangeBatchMessage blockChangeBatch = 23;</code>
+       */
+      public org.terasology.protobuf.NetData.BlockChangeBatchMessage.Builder addBlockChangeBatchBuilder() {
+        return getBlockChangeBatchFieldBuilder().addBuilder(
+            org.terasology.protobuf.NetData.BlockChangeBatchMessage.getDefaultInstance());
+      }
+      /**
+       * <code>repeated .BlockChangeBatchMessage blockChangeBatch = 23;</code>
+       */
+      public org.terasology.protobuf.NetData.BlockChangeBatchMessage.Builder addBlockChangeBatchBuilder(
+          int index) {
+        return getBlockChangeBatchFieldBuilder().addBuilder(
+            index, org.terasology.protobuf.NetData.BlockChangeBatchMessage.getDefaultInstance());
+      }
+      /**
+       * <code>repeated .BlockChangeBatchMessage blockChangeBatch = 23;</code>
+       */
+      public java.util.List<org.terasology.protobuf.NetData.BlockChangeBatchMessage.Builder> 
+           getBlockChangeBatchBuilderList() {
+        return getBlockChangeBatchFieldBuilder().getBuilderList();
+      }
+      private com.google.protobuf.RepeatedFieldBuilder<
+          org.terasology.protobuf.NetData.BlockChangeBatchMessage, org.terasology.protobuf.NetData.BlockChangeBatchMessage.Builder, org.terasology.protobuf.NetData.BlockChangeBatchMessageOrBuilder> 
+          getBlockChangeBatchFieldBuilder() {
+        if (blockChangeBatchBuilder_ == null) {
+          blockChangeBatchBuilder_ = new com.google.protobuf.RepeatedFieldBuilder<
+              org.terasology.protobuf.NetData.BlockChangeBatchMessage, org.terasology.protobuf.NetData.BlockChangeBatchMessage.Builder, org.terasology.protobuf.NetData.BlockChangeBatchMessageOrBuilder>(
+                  blockChangeBatch_,
+                  ((bitField0_ & 0x00800000) == 0x00800000),
+                  getParentForChildren(),
+                  isClean());
+          blockChangeBatch_ = null;
+        }
+        return blockChangeBatchBuilder_;
+      }
+
       private java.util.List<org.terasology.protobuf.NetData.CreateEntityMessage> createEntity_ =
         java.util.Collections.emptyList();
       private void ensureCreateEntityIsMutable() {
@@ -6201,14 +6700,125 @@ public org.terasology.protobuf.NetData.HandshakeVerificationOrBuilder getHandsha
         return handshakeVerificationBuilder_;
       }
 
-      // @@protoc_insertion_point(builder_scope:NetMessage)
-    }
-
-    static {
-      defaultInstance = new NetMessage(true);
-      defaultInstance.initFields();
-    }
-
+      private java.lang.Object compression_ = "";
+      /**
+       * <code>optional string compression = 104;</code>
+       */
+      public boolean hasCompression() {
+        return ((bitField0_ & 0x00200000) == 0x00200000);
+      }
+      /**
+       * <code>optional string compression = 104;</code>
+       */
+      public java.lang.String getCompression() {
+        java.lang.Object ref = compression_;
+        if (!(ref instanceof java.lang.String)) {
+          com.google.protobuf.ByteString bs =
+              (com.google.protobuf.ByteString) ref;
+          java.lang.String s = bs.toStringUtf8();
+          if (bs.isValidUtf8()) {
+            compression_ = s;
+          }
+          return s;
+        } else {
+          return (java.lang.String) ref;
+        }
+      }
+      /**
+       * <code>optional string compression = 104;</code>
+       */
+      public com.google.protobuf.ByteString
+          getCompressionBytes() {
+        java.lang.Object ref = compression_;
+        if (ref instanceof String) {
+          com.google.protobuf.ByteString b = 
+              com.google.protobuf.ByteString.copyFromUtf8(
+                  (java.lang.String) ref);
+          compression_ = b;
+          return b;
+        } else {
+          return (com.google.protobuf.ByteString) ref;
+        }
+      }
+      /**
+       * <code>optional string compression = 104;</code>
+       */
+      public Builder setCompression(
+          java.lang.String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00200000;
+        compression_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional string compression = 104;</code>
+       */
+      public Builder clearCompression() {
+        bitField0_ = (bitField0_ & ~0x00200000);
+        compression_ = getDefaultInstance().getCompression();
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional string compression = 104;</code>
+       */
+      public Builder setCompressionBytes(
+          com.google.protobuf.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00200000;
+        compression_ = value;
+        onChanged();
+        return this;
+      }
+
+      private com.google.protobuf.ByteString compressionDictionary_ = com.google.protobuf.ByteString.EMPTY;
+      /**
+       * <code>optional bytes compressionDictionary = 105;</code>
+       */
+      public boolean hasCompressionDictionary() {
+        return ((bitField0_ & 0x00400000) == 0x00400000);
+      }
+      /**
+       * <code>optional bytes compressionDictionary = 105;</code>
+       */
+      public com.google.protobuf.ByteString getCompressionDictionary() {
+        return compressionDictionary_;
+      }
+      /**
+       * <code>optional bytes compressionDictionary = 105;</code>
+       */
+      public Builder setCompressionDictionary(com.google.protobuf.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00400000;
+        compressionDictionary_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional bytes compressionDictionary = 105;</code>
+       */
+      public Builder clearCompressionDictionary() {
+        bitField0_ = (bitField0_ & ~0x00400000);
+        compressionDictionary_ = getDefaultInstance().getCompressionDictionary();
+        onChanged();
+        return this;
+      }
+
+      // @@protoc_insertion_point(builder_scope:NetMessage)
+    }
+
+    static {
+      defaultInstance = new NetMessage(true);
+      defaultInstance.initFields();
+    }
+
     // @@protoc_insertion_point(class_scope:NetMessage)
   }
 
@@ -25266,164 +25876,1024 @@ public org.terasology.protobuf.NetData.Vector3iDataOrBuilder getTargetBlockPosOr
     // @@protoc_insertion_point(class_scope:EventMessage)
   }
 
-  private static final com.google.protobuf.Descriptors.Descriptor
-    internal_static_NetMessage_descriptor;
-  private static
-    com.google.protobuf.GeneratedMessage.FieldAccessorTable
-      internal_static_NetMessage_fieldAccessorTable;
-  private static final com.google.protobuf.Descriptors.Descriptor
-    internal_static_HandshakeHello_descriptor;
-  private static
-    com.google.protobuf.GeneratedMessage.FieldAccessorTable
-      internal_static_HandshakeHello_fieldAccessorTable;
-  private static final com.google.protobuf.Descriptors.Descriptor
-    internal_static_NewIdentityRequest_descriptor;
-  private static
-    com.google.protobuf.GeneratedMessage.FieldAccessorTable
-      internal_static_NewIdentityRequest_fieldAccessorTable;
-  private static final com.google.protobuf.Descriptors.Descriptor
-    internal_static_ProvisionIdentity_descriptor;
-  private static
-    com.google.protobuf.GeneratedMessage.FieldAccessorTable
-      internal_static_ProvisionIdentity_fieldAccessorTable;
-  private static final com.google.protobuf.Descriptors.Descriptor
-    internal_static_CertificateSet_descriptor;
-  private static
-    com.google.protobuf.GeneratedMessage.FieldAccessorTable
-      internal_static_CertificateSet_fieldAccessorTable;
-  private static final com.google.protobuf.Descriptors.Descriptor
-    internal_static_HandshakeVerification_descriptor;
-  private static
-    com.google.protobuf.GeneratedMessage.FieldAccessorTable
-      internal_static_HandshakeVerification_fieldAccessorTable;
-  private static final com.google.protobuf.Descriptors.Descriptor
-    internal_static_Certificate_descriptor;
-  private static
-    com.google.protobuf.GeneratedMessage.FieldAccessorTable
-      internal_static_Certificate_fieldAccessorTable;
-  private static final com.google.protobuf.Descriptors.Descriptor
-    internal_static_BlockFamilyRegisteredMessage_descriptor;
-  private static
-    com.google.protobuf.GeneratedMessage.FieldAccessorTable
-      internal_static_BlockFamilyRegisteredMessage_fieldAccessorTable;
-  private static final com.google.protobuf.Descriptors.Descriptor
-    internal_static_InvalidateChunkMessage_descriptor;
-  private static
-    com.google.protobuf.GeneratedMessage.FieldAccessorTable
-      internal_static_InvalidateChunkMessage_fieldAccessorTable;
-  private static final com.google.protobuf.Descriptors.Descriptor
-    internal_static_BlockChangeMessage_descriptor;
-  private static
-    com.google.protobuf.GeneratedMessage.FieldAccessorTable
-      internal_static_BlockChangeMessage_fieldAccessorTable;
-  private static final com.google.protobuf.Descriptors.Descriptor
-    internal_static_BiomeChangeMessage_descriptor;
-  private static
-    com.google.protobuf.GeneratedMessage.FieldAccessorTable
-      internal_static_BiomeChangeMessage_fieldAccessorTable;
-  private static final com.google.protobuf.Descriptors.Descriptor
-    internal_static_Vector3iData_descriptor;
-  private static
-    com.google.protobuf.GeneratedMessage.FieldAccessorTable
-      internal_static_Vector3iData_fieldAccessorTable;
-  private static final com.google.protobuf.Descriptors.Descriptor
-    internal_static_ServerInfoRequest_descriptor;
-  private static
-    com.google.protobuf.GeneratedMessage.FieldAccessorTable
-      internal_static_ServerInfoRequest_fieldAccessorTable;
-  private static final com.google.protobuf.Descriptors.Descriptor
-    internal_static_JoinMessage_descriptor;
-  private static
-    com.google.protobuf.GeneratedMessage.FieldAccessorTable
-      internal_static_JoinMessage_fieldAccessorTable;
-  private static final com.google.protobuf.Descriptors.Descriptor
-    internal_static_Color_descriptor;
-  private static
-    com.google.protobuf.GeneratedMessage.FieldAccessorTable
-      internal_static_Color_fieldAccessorTable;
-  private static final com.google.protobuf.Descriptors.Descriptor
-    internal_static_JoinCompleteMessage_descriptor;
-  private static
-    com.google.protobuf.GeneratedMessage.FieldAccessorTable
-      internal_static_JoinCompleteMessage_fieldAccessorTable;
-  private static final com.google.protobuf.Descriptors.Descriptor
-    internal_static_ServerInfoMessage_descriptor;
-  private static
-    com.google.protobuf.GeneratedMessage.FieldAccessorTable
-      internal_static_ServerInfoMessage_fieldAccessorTable;
-  private static final com.google.protobuf.Descriptors.Descriptor
-    internal_static_WorldInfo_descriptor;
-  private static
-    com.google.protobuf.GeneratedMessage.FieldAccessorTable
-      internal_static_WorldInfo_fieldAccessorTable;
-  private static final com.google.protobuf.Descriptors.Descriptor
-    internal_static_SerializationInfo_descriptor;
-  private static
-    com.google.protobuf.GeneratedMessage.FieldAccessorTable
-      internal_static_SerializationInfo_fieldAccessorTable;
-  private static final com.google.protobuf.Descriptors.Descriptor
-    internal_static_ModuleInfo_descriptor;
-  private static
-    com.google.protobuf.GeneratedMessage.FieldAccessorTable
-      internal_static_ModuleInfo_fieldAccessorTable;
-  private static final com.google.protobuf.Descriptors.Descriptor
-    internal_static_ModuleRequest_descriptor;
-  private static
-    com.google.protobuf.GeneratedMessage.FieldAccessorTable
-      internal_static_ModuleRequest_fieldAccessorTable;
-  private static final com.google.protobuf.Descriptors.Descriptor
-    internal_static_ModuleDataHeader_descriptor;
-  private static
-    com.google.protobuf.GeneratedMessage.FieldAccessorTable
-      internal_static_ModuleDataHeader_fieldAccessorTable;
-  private static final com.google.protobuf.Descriptors.Descriptor
-    internal_static_ModuleData_descriptor;
-  private static
-    com.google.protobuf.GeneratedMessage.FieldAccessorTable
-      internal_static_ModuleData_fieldAccessorTable;
-  private static final com.google.protobuf.Descriptors.Descriptor
-    internal_static_ModuleSendError_descriptor;
-  private static
-    com.google.protobuf.GeneratedMessage.FieldAccessorTable
-      internal_static_ModuleSendError_fieldAccessorTable;
-  private static final com.google.protobuf.Descriptors.Descriptor
-    internal_static_CreateEntityMessage_descriptor;
-  private static
-    com.google.protobuf.GeneratedMessage.FieldAccessorTable
-      internal_static_CreateEntityMessage_fieldAccessorTable;
-  private static final com.google.protobuf.Descriptors.Descriptor
-    internal_static_UpdateEntityMessage_descriptor;
-  private static
-    com.google.protobuf.GeneratedMessage.FieldAccessorTable
-      internal_static_UpdateEntityMessage_fieldAccessorTable;
-  private static final com.google.protobuf.Descriptors.Descriptor
-    internal_static_RemoveEntityMessage_descriptor;
-  private static
-    com.google.protobuf.GeneratedMessage.FieldAccessorTable
-      internal_static_RemoveEntityMessage_fieldAccessorTable;
-  private static final com.google.protobuf.Descriptors.Descriptor
-    internal_static_EventMessage_descriptor;
-  private static
-    com.google.protobuf.GeneratedMessage.FieldAccessorTable
-      internal_static_EventMessage_fieldAccessorTable;
+  public interface BlockChangeBatchMessageOrBuilder extends
+      // @@protoc_insertion_point(interface_extends:BlockChangeBatchMessage)
+      com.google.protobuf.GeneratedMessage.
+          ExtendableMessageOrBuilder<BlockChangeBatchMessage> {
 
-  public static com.google.protobuf.Descriptors.FileDescriptor
-      getDescriptor() {
-    return descriptor;
+    /**
+     * <code>optional .Vector3iData chunkPos = 1;</code>
+     */
+    boolean hasChunkPos();
+    /**
+     * <code>optional .Vector3iData chunkPos = 1;</code>
+     */
+    org.terasology.protobuf.NetData.Vector3iData getChunkPos();
+    /**
+     * <code>optional .Vector3iData chunkPos = 1;</code>
+     */
+    org.terasology.protobuf.NetData.Vector3iDataOrBuilder getChunkPosOrBuilder();
+
+    /**
+     * <code>repeated int32 blockIndex = 2 [packed = true];</code>
+     */
+    java.util.List<java.lang.Integer> getBlockIndexList();
+    /**
+     * <code>repeated int32 blockIndex = 2 [packed = true];</code>
+     */
+    int getBlockIndexCount();
+    /**
+     * <code>repeated int32 blockIndex = 2 [packed = true];</code>
+     */
+    int getBlockIndex(int index);
+
+    /**
+     * <code>repeated int32 newBlock = 3 [packed = true];</code>
+     */
+    java.util.List<java.lang.Integer> getNewBlockList();
+    /**
+     * <code>repeated int32 newBlock = 3 [packed = true];</code>
+     */
+    int getNewBlockCount();
+    /**
+     * <code>repeated int32 newBlock = 3 [packed = true];</code>
+     */
+    int getNewBlock(int index);
   }
-  private static com.google.protobuf.Descriptors.FileDescriptor
-      descriptor;
-  static {
-    java.lang.String[] descriptorData = {
-      "\n\020NetMessage.proto\032\020EntityData.proto\"\377\006\n" +
-      "\nNetMessage\022\036\n\tchunkInfo\030\002 \003(\0132\013.ChunkSt" +
-      "ore\0220\n\017invalidateChunk\030\003 \003(\0132\027.Invalidat" +
-      "eChunkMessage\022(\n\013blockChange\030\004 \003(\0132\023.Blo" +
-      "ckChangeMessage\022*\n\014createEntity\030\005 \003(\0132\024." +
-      "CreateEntityMessage\022*\n\014removeEntity\030\006 \003(" +
-      "\0132\024.RemoveEntityMessage\022*\n\014updateEntity\030" +
-      "\007 \003(\0132\024.UpdateEntityMessage\022\034\n\005event\030\010 \003" +
-      "(\0132\r.EventMessage\022\014\n\004time\030\t \001(\003\022(\n\013biome" +
+  /**
+   * Protobuf type {@code BlockChangeBatchMessage}
+   */
+  public static final class BlockChangeBatchMessage extends
+      com.google.protobuf.GeneratedMessage.ExtendableMessage<
+        BlockChangeBatchMessage> implements
+      // @@protoc_insertion_point(message_implements:BlockChangeBatchMessage)
+      BlockChangeBatchMessageOrBuilder {
+    // Use BlockChangeBatchMessage.newBuilder() to construct.
+    private BlockChangeBatchMessage(com.google.protobuf.GeneratedMessage.ExtendableBuilder<org.terasology.protobuf.NetData.BlockChangeBatchMessage, ?> builder) {
+      super(builder);
+      this.unknownFields = builder.getUnknownFields();
+    }
+    private BlockChangeBatchMessage(boolean noInit) { this.unknownFields = com.google.protobuf.UnknownFieldSet.getDefaultInstance(); }
+
+    private static final BlockChangeBatchMessage defaultInstance;
+    public static BlockChangeBatchMessage getDefaultInstance() {
+      return defaultInstance;
+    }
+
+    public BlockChangeBatchMessage getDefaultInstanceForType() {
+      return defaultInstance;
+    }
+
+    private final com.google.protobuf.UnknownFieldSet unknownFields;
+    @java.lang.Override
+    public final com.google.protobuf.UnknownFieldSet
+        getUnknownFields() {
+      return this.unknownFields;
+    }
+    private BlockChangeBatchMessage(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      initFields();
+      int mutable_bitField0_ = 0;
+      com.google.protobuf.UnknownFieldSet.Builder unknownFields =
+          com.google.protobuf.UnknownFieldSet.newBuilder();
+      try {
+        boolean done = false;
+        while (!done) {
+          int tag = input.readTag();
+          switch (tag) {
+            case 0:
+              done = true;
+              break;
+            default: {
+              if (!parseUnknownField(input, unknownFields,
+                                     extensionRegistry, tag)) {
+                done = true;
+              }
+              break;
+            }
+            case 10: {
+              org.terasology.protobuf.NetData.Vector3iData.Builder subBuilder = null;
+              if (((bitField0_ & 0x00000001) == 0x00000001)) {
+                subBuilder = chunkPos_.toBuilder();
+              }
+              chunkPos_ = input.readMessage(org.terasology.protobuf.NetData.Vector3iData.PARSER, extensionRegistry);
+              if (subBuilder != null) {
+                subBuilder.mergeFrom(chunkPos_);
+                chunkPos_ = subBuilder.buildPartial();
+              }
+              bitField0_ |= 0x00000001;
+              break;
+            }
+            case 16: {
+              if (!((mutable_bitField0_ & 0x00000002) == 0x00000002)) {
+                blockIndex_ = new java.util.ArrayList<java.lang.Integer>();
+                mutable_bitField0_ |= 0x00000002;
+              }
+              blockIndex_.add(input.readInt32());
+              break;
+            }
+            case 18: {
+              int length = input.readRawVarint32();
+              int limit = input.pushLimit(length);
+              if (!((mutable_bitField0_ & 0x00000002) == 0x00000002) && input.getBytesUntilLimit() > 0) {
+                blockIndex_ = new java.util.ArrayList<java.lang.Integer>();
+                mutable_bitField0_ |= 0x00000002;
+              }
+              while (input.getBytesUntilLimit() > 0) {
+                blockIndex_.add(input.readInt32());
+              }
+              input.popLimit(limit);
+              break;
+            }
+            case 24: {
+              if (!((mutable_bitField0_ & 0x00000004) == 0x00000004)) {
+                newBlock_ = new java.util.ArrayList<java.lang.Integer>();
+                mutable_bitField0_ |= 0x00000004;
+              }
+              newBlock_.add(input.readInt32());
+              break;
+            }
+            case 26: {
+              int length = input.readRawVarint32();
+              int limit = input.pushLimit(length);
+              if (!((mutable_bitField0_ & 0x00000004) == 0x00000004) && input.getBytesUntilLimit() > 0) {
+                newBlock_ = new java.util.ArrayList<java.lang.Integer>();
+                mutable_bitField0_ |= 0x00000004;
+              }
+              while (input.getBytesUntilLimit() > 0) {
+                newBlock_.add(input.readInt32());
+              }
+              input.popLimit(limit);
+              break;
+            }
+          }
+        }
+      } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+        throw e.setUnfinishedMessage(this);
+      } catch (java.io.IOException e) {
+        throw new com.google.protobuf.InvalidProtocolBufferException(
+            e.getMessage()).setUnfinishedMessage(this);
+      } finally {
+        if (((mutable_bitField0_ & 0x00000002) == 0x00000002)) {
+          blockIndex_ = java.util.Collections.unmodifiableList(blockIndex_);
+        }
+        if (((mutable_bitField0_ & 0x00000004) == 0x00000004)) {
+          newBlock_ = java.util.Collections.unmodifiableList(newBlock_);
+        }
+        this.unknownFields = unknownFields.build();
+        makeExtensionsImmutable();
+      }
+    }
+    public static final com.google.protobuf.Descriptors.Descriptor
+        getDescriptor() {
+      return org.terasology.protobuf.NetData.internal_static_BlockChangeBatchMessage_descriptor;
+    }
+
+    protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
+        internalGetFieldAccessorTable() {
+      return org.terasology.protobuf.NetData.internal_static_BlockChangeBatchMessage_fieldAccessorTable
+          .ensureFieldAccessorsInitialized(
+              org.terasology.protobuf.NetData.BlockChangeBatchMessage.class, org.terasology.protobuf.NetData.BlockChangeBatchMessage.Builder.class);
+    }
+
+    public static com.google.protobuf.Parser<BlockChangeBatchMessage> PARSER =
+        new com.google.protobuf.AbstractParser<BlockChangeBatchMessage>() {
+      public BlockChangeBatchMessage parsePartialFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        return new BlockChangeBatchMessage(input, extensionRegistry);
+      }
+    };
+
+    @java.lang.Override
+    public com.google.protobuf.Parser<BlockChangeBatchMessage> getParserForType() {
+      return PARSER;
+    }
+
+    private int bitField0_;
+    public static final int CHUNKPOS_FIELD_NUMBER = 1;
+    private org.terasology.protobuf.NetData.Vector3iData chunkPos_;
+    /**
+     * <code>optional .Vector3iData chunkPos = 1;</code>
+     */
+    public boolean hasChunkPos() {
+      return ((bitField0_ & 0x00000001) == 0x00000001);
+    }
+    /**
+     * <code>optional .Vector3iData chunkPos = 1;</code>
+     */
+    public org.terasology.protobuf.NetData.Vector3iData getChunkPos() {
+      return chunkPos_;
+    }
+    /**
+     * <code>optional .Vector3iData chunkPos = 1;</code>
+     */
+    public org.terasology.protobuf.NetData.Vector3iDataOrBuilder getChunkPosOrBuilder() {
+      return chunkPos_;
+    }
+
+    public static final int BLOCKINDEX_FIELD_NUMBER = 2;
+    private java.util.List<java.lang.Integer> blockIndex_;
+    /**
+     * <code>repeated int32 blockIndex = 2 [packed = true];</code>
+     */
+    public java.util.List<java.lang.Integer>
+        getBlockIndexList() {
+      return blockIndex_;
+    }
+    /**
+     * <code>repeated int32 blockIndex = 2 [packed = true];</code>
+     */
+    public int getBlockIndexCount() {
+      return blockIndex_.size();
+    }
+    /**
+     * <code>repeated int32 blockIndex = 2 [packed = true];</code>
+     */
+    public int getBlockIndex(int index) {
+      return blockIndex_.get(index);
+    }
+    private int blockIndexMemoizedSerializedSize = -1;
+
+    public static final int NEWBLOCK_FIELD_NUMBER = 3;
+    private java.util.List<java.lang.Integer> newBlock_;
+    /**
+     * <code>repeated int32 newBlock = 3 [packed = true];</code>
+     */
+    public java.util.List<java.lang.Integer>
+        getNewBlockList() {
+      return newBlock_;
+    }
+    /**
+     * <code>repeated int32 newBlock = 3 [packed = true];</code>
+     */
+    public int getNewBlockCount() {
+      return newBlock_.size();
+    }
+    /**
+     * <code>repeated int32 newBlock = 3 [packed = true];</code>
+     */
+    public int getNewBlock(int index) {
+      return newBlock_.get(index);
+    }
+    private int newBlockMemoizedSerializedSize = -1;
+
+    private void initFields() {
+      chunkPos_ = org.terasology.protobuf.NetData.Vector3iData.getDefaultInstance();
+      blockIndex_ = java.util.Collections.emptyList();
+      newBlock_ = java.util.Collections.emptyList();
+    }
+    private byte memoizedIsInitialized = -1;
+    public final boolean isInitialized() {
+      byte isInitialized = memoizedIsInitialized;
+      if (isInitialized == 1) return true;
+      if (isInitialized == 0) return false;
+
+      if (!extensionsAreInitialized()) {
+        memoizedIsInitialized = 0;
+        return false;
+      }
+      memoizedIsInitialized = 1;
+      return true;
+    }
+
+    public void writeTo(com.google.protobuf.CodedOutputStream output)
+                        throws java.io.IOException {
+      getSerializedSize();
+      com.google.protobuf.GeneratedMessage
+        .ExtendableMessage<org.terasology.protobuf.NetData.BlockChangeBatchMessage>.ExtensionWriter extensionWriter =
+          newExtensionWriter();
+      if (((bitField0_ & 0x00000001) == 0x00000001)) {
+        output.writeMessage(1, chunkPos_);
+      }
+      if (getBlockIndexList().size() > 0) {
+        output.writeRawVarint32(18);
+        output.writeRawVarint32(blockIndexMemoizedSerializedSize);
+      }
+      for (int i = 0; i < blockIndex_.size(); i++) {
+        output.writeInt32NoTag(blockIndex_.get(i));
+      }
+      if (getNewBlockList().size() > 0) {
+        output.writeRawVarint32(26);
+        output.writeRawVarint32(newBlockMemoizedSerializedSize);
+      }
+      for (int i = 0; i < newBlock_.size(); i++) {
+        output.writeInt32NoTag(newBlock_.get(i));
+      }
+      extensionWriter.writeUntil(536870912, output);
+      getUnknownFields().writeTo(output);
+    }
+
+    private int memoizedSerializedSize = -1;
+    public int getSerializedSize() {
+      int size = memoizedSerializedSize;
+      if (size != -1) return size;
+
+      size = 0;
+      if (((bitField0_ & 0x00000001) == 0x00000001)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeMessageSize(1, chunkPos_);
+      }
+      {
+        int dataSize = 0;
+        for (int i = 0; i < blockIndex_.size(); i++) {
+          dataSize += com.google.protobuf.CodedOutputStream
+            .computeInt32SizeNoTag(blockIndex_.get(i));
+        }
+        size += dataSize;
+        if (!getBlockIndexList().isEmpty()) {
+          size += 1;
+          size += com.google.protobuf.CodedOutputStream
+              .computeInt32SizeNoTag(dataSize);
+        }
+        blockIndexMemoizedSerializedSize = dataSize;
+      }
+      {
+        int dataSize = 0;
+        for (int i = 0; i < newBlock_.size(); i++) {
+          dataSize += com.google.protobuf.CodedOutputStream
+            .computeInt32SizeNoTag(newBlock_.get(i));
+        }
+        size += dataSize;
+        if (!getNewBlockList().isEmpty()) {
+          size += 1;
+          size += com.google.protobuf.CodedOutputStream
+              .computeInt32SizeNoTag(dataSize);
+        }
+        newBlockMemoizedSerializedSize = dataSize;
+      }
+      size += extensionsSerializedSize();
+      size += getUnknownFields().getSerializedSize();
+      memoizedSerializedSize = size;
+      return size;
+    }
+
+    private static final long serialVersionUID = 0L;
+    @java.lang.Override
+    protected java.lang.Object writeReplace()
+        throws java.io.ObjectStreamException {
+      return super.writeReplace();
+    }
+
+    public static org.terasology.protobuf.NetData.BlockChangeBatchMessage parseFrom(
+        com.google.protobuf.ByteString data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static org.terasology.protobuf.NetData.BlockChangeBatchMessage parseFrom(
+        com.google.protobuf.ByteString data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static org.terasology.protobuf.NetData.BlockChangeBatchMessage parseFrom(byte[] data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static org.terasology.protobuf.NetData.BlockChangeBatchMessage parseFrom(
+        byte[] data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static org.terasology.protobuf.NetData.BlockChangeBatchMessage parseFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return PARSER.parseFrom(input);
+    }
+    public static org.terasology.protobuf.NetData.BlockChangeBatchMessage parseFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return PARSER.parseFrom(input, extensionRegistry);
+    }
+    public static org.terasology.protobuf.NetData.BlockChangeBatchMessage parseDelimitedFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return PARSER.parseDelimitedFrom(input);
+    }
+    public static org.terasology.protobuf.NetData.BlockChangeBatchMessage parseDelimitedFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return PARSER.parseDelimitedFrom(input, extensionRegistry);
+    }
+    public static org.terasology.protobuf.NetData.BlockChangeBatchMessage parseFrom(
+        com.google.protobuf.CodedInputStream input)
+        throws java.io.IOException {
+      return PARSER.parseFrom(input);
+    }
+    public static org.terasology.protobuf.NetData.BlockChangeBatchMessage parseFrom(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return PARSER.parseFrom(input, extensionRegistry);
+    }
+
+    public static Builder newBuilder() { return Builder.create(); }
+    public Builder newBuilderForType() { return newBuilder(); }
+    public static Builder newBuilder(org.terasology.protobuf.NetData.BlockChangeBatchMessage prototype) {
+      return newBuilder().mergeFrom(prototype);
+    }
+    public Builder toBuilder() { return newBuilder(this); }
+
+    @java.lang.Override
+    protected Builder newBuilderForType(
+        com.google.protobuf.GeneratedMessage.BuilderParent parent) {
+      Builder builder = new Builder(parent);
+      return builder;
+    }
+    /**
+     * Protobuf type {@code BlockChangeBatchMessage}
+     */
+    public static final class Builder extends
+        com.google.protobuf.GeneratedMessage.ExtendableBuilder<
+          org.terasology.protobuf.NetData.BlockChangeBatchMessage, Builder> implements
+        // @@protoc_insertion_point(builder_implements:BlockChangeBatchMessage)
+        org.terasology.protobuf.NetData.BlockChangeBatchMessageOrBuilder {
+      public static final com.google.protobuf.Descriptors.Descriptor
+          getDescriptor() {
+        return org.terasology.protobuf.NetData.internal_static_BlockChangeBatchMessage_descriptor;
+      }
+
+      protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
+          internalGetFieldAccessorTable() {
+        return org.terasology.protobuf.NetData.internal_static_BlockChangeBatchMessage_fieldAccessorTable
+            .ensureFieldAccessorsInitialized(
+                org.terasology.protobuf.NetData.BlockChangeBatchMessage.class, org.terasology.protobuf.NetData.BlockChangeBatchMessage.Builder.class);
+      }
+
+      // Construct using org.terasology.protobuf.NetData.BlockChangeBatchMessage.newBuilder()
+      private Builder() {
+        maybeForceBuilderInitialization();
+      }
+
+      private Builder(
+          com.google.protobuf.GeneratedMessage.BuilderParent parent) {
+        super(parent);
+        maybeForceBuilderInitialization();
+      }
+      private void maybeForceBuilderInitialization() {
+        if (com.google.protobuf.GeneratedMessage.alwaysUseFieldBuilders) {
+          getChunkPosFieldBuilder();
+        }
+      }
+      private static Builder create() {
+        return new Builder();
+      }
+
+      public Builder clear() {
+        super.clear();
+        if (chunkPosBuilder_ == null) {
+          chunkPos_ = org.terasology.protobuf.NetData.Vector3iData.getDefaultInstance();
+        } else {
+          chunkPosBuilder_.clear();
+        }
+        bitField0_ = (bitField0_ & ~0x00000001);
+        blockIndex_ = java.util.Collections.emptyList();
+        bitField0_ = (bitField0_ & ~0x00000002);
+        newBlock_ = java.util.Collections.emptyList();
+        bitField0_ = (bitField0_ & ~0x00000004);
+        return this;
+      }
+
+      public Builder clone() {
+        return create().mergeFrom(buildPartial());
+      }
+
+      public com.google.protobuf.Descriptors.Descriptor
+          getDescriptorForType() {
+        return org.terasology.protobuf.NetData.internal_static_BlockChangeBatchMessage_descriptor;
+      }
+
+      public org.terasology.protobuf.NetData.BlockChangeBatchMessage getDefaultInstanceForType() {
+        return org.terasology.protobuf.NetData.BlockChangeBatchMessage.getDefaultInstance();
+      }
+
+      public org.terasology.protobuf.NetData.BlockChangeBatchMessage build() {
+        org.terasology.protobuf.NetData.BlockChangeBatchMessage result = buildPartial();
+        if (!result.isInitialized()) {
+          throw newUninitializedMessageException(result);
+        }
+        return result;
+      }
+
+      public org.terasology.protobuf.NetData.BlockChangeBatchMessage buildPartial() {
+        org.terasology.protobuf.NetData.BlockChangeBatchMessage result = new org.terasology.protobuf.NetData.BlockChangeBatchMessage(this);
+        int from_bitField0_ = bitField0_;
+        int to_bitField0_ = 0;
+        if (((from_bitField0_ & 0x00000001) == 0x00000001)) {
+          to_bitField0_ |= 0x00000001;
+        }
+        if (chunkPosBuilder_ == null) {
+          result.chunkPos_ = chunkPos_;
+        } else {
+          result.chunkPos_ = chunkPosBuilder_.build();
+        }
+        if (((bitField0_ & 0x00000002) == 0x00000002)) {
+          blockIndex_ = java.util.Collections.unmodifiableList(blockIndex_);
+          bitField0_ = (bitField0_ & ~0x00000002);
+        }
+        result.blockIndex_ = blockIndex_;
+        if (((bitField0_ & 0x00000004) == 0x00000004)) {
+          newBlock_ = java.util.Collections.unmodifiableList(newBlock_);
+          bitField0_ = (bitField0_ & ~0x00000004);
+        }
+        result.newBlock_ = newBlock_;
+        result.bitField0_ = to_bitField0_;
+        onBuilt();
+        return result;
+      }
+
+      public Builder mergeFrom(com.google.protobuf.Message other) {
+        if (other instanceof org.terasology.protobuf.NetData.BlockChangeBatchMessage) {
+          return mergeFrom((org.terasology.protobuf.NetData.BlockChangeBatchMessage)other);
+        } else {
+          super.mergeFrom(other);
+          return this;
+        }
+      }
+
+      public Builder mergeFrom(org.terasology.protobuf.NetData.BlockChangeBatchMessage other) {
+        if (other == org.terasology.protobuf.NetData.BlockChangeBatchMessage.getDefaultInstance()) return this;
+        if (other.hasChunkPos()) {
+          mergeChunkPos(other.getChunkPos());
+        }
+        if (!other.blockIndex_.isEmpty()) {
+          if (blockIndex_.isEmpty()) {
+            blockIndex_ = other.blockIndex_;
+            bitField0_ = (bitField0_ & ~0x00000002);
+          } else {
+            ensureBlockIndexIsMutable();
+            blockIndex_.addAll(other.blockIndex_);
+          }
+          onChanged();
+        }
+        if (!other.newBlock_.isEmpty()) {
+          if (newBlock_.isEmpty()) {
+            newBlock_ = other.newBlock_;
+            bitField0_ = (bitField0_ & ~0x00000004);
+          } else {
+            ensureNewBlockIsMutable();
+            newBlock_.addAll(other.newBlock_);
+          }
+          onChanged();
+        }
+        this.mergeExtensionFields(other);
+        this.mergeUnknownFields(other.getUnknownFields());
+        return this;
+      }
+
+      public final boolean isInitialized() {
+        if (!extensionsAreInitialized()) {
+          
+          return false;
+        }
+        return true;
+      }
+
+      public Builder mergeFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        org.terasology.protobuf.NetData.BlockChangeBatchMessage parsedMessage = null;
+        try {
+          parsedMessage = PARSER.parsePartialFrom(input, extensionRegistry);
+        } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+          parsedMessage = (org.terasology.protobuf.NetData.BlockChangeBatchMessage) e.getUnfinishedMessage();
+          throw e;
+        } finally {
+          if (parsedMessage != null) {
+            mergeFrom(parsedMessage);
+          }
+        }
+        return this;
+      }
+      private int bitField0_;
+
+      private org.terasology.protobuf.NetData.Vector3iData chunkPos_ = org.terasology.protobuf.NetData.Vector3iData.getDefaultInstance();
+      private com.google.protobuf.SingleFieldBuilder<
+          org.terasology.protobuf.NetData.Vector3iData, org.terasology.protobuf.NetData.Vector3iData.Builder, org.terasology.protobuf.NetData.Vector3iDataOrBuilder> chunkPosBuilder_;
+      /**
+       * <code>optional .Vector3iData chunkPos = 1;</code>
+       */
+      public boolean hasChunkPos() {
+        return ((bitField0_ & 0x00000001) == 0x00000001);
+      }
+      /**
+       * <code>optional .Vector3iData chunkPos = 1;</code>
+       */
+      public org.terasology.protobuf.NetData.Vector3iData getChunkPos() {
+        if (chunkPosBuilder_ == null) {
+          return chunkPos_;
+        } else {
+          return chunkPosBuilder_.getMessage();
+        }
+      }
+      /**
+       * <code>optional .Vector3iData chunkPos = 1;</code>
+       */
+      public Builder setChunkPos(org.terasology.protobuf.NetData.Vector3iData value) {
+        if (chunkPosBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          chunkPos_ = value;
+          onChanged();
+        } else {
+          chunkPosBuilder_.setMessage(value);
+        }
+        bitField0_ |= 0x00000001;
+        return this;
+      }
+      /**
+       * <code>optional .Vector3iData chunkPos = 1;</code>
+       */
+      public Builder setChunkPos(
+          org.terasology.protobuf.NetData.Vector3iData.Builder builderForValue) {
+        if (chunkPosBuilder_ == null) {
+          chunkPos_ = builderForValue.build();
+          onChanged();
+        } else {
+          chunkPosBuilder_.setMessage(builderForValue.build());
+        }
+        bitField0_ |= 0x00000001;
+        return this;
+      }
+      /**
+       * <code>optional .Vector3iData chunkPos = 1;</code>
+       */
+      public Builder mergeChunkPos(org.terasology.protobuf.NetData.Vector3iData value) {
+        if (chunkPosBuilder_ == null) {
+          if (((bitField0_ & 0x00000001) == 0x00000001) &&
+              chunkPos_ != org.terasology.protobuf.NetData.Vector3iData.getDefaultInstance()) {
+            chunkPos_ =
+              org.terasology.protobuf.NetData.Vector3iData.newBuilder(chunkPos_).mergeFrom(value).buildPartial();
+          } else {
+            chunkPos_ = value;
+          }
+          onChanged();
+        } else {
+          chunkPosBuilder_.mergeFrom(value);
+        }
+        bitField0_ |= 0x00000001;
+        return this;
+      }
+      /**
+       * <code>optional .Vector3iData chunkPos = 1;</code>
+       */
+      public Builder clearChunkPos() {
+        if (chunkPosBuilder_ == null) {
+          chunkPos_ = org.terasology.protobuf.NetData.Vector3iData.getDefaultInstance();
+          onChanged();
+        } else {
+          chunkPosBuilder_.clear();
+        }
+        bitField0_ = (bitField0_ & ~0x00000001);
+        return this;
+      }
+      /**
+       * <code>optional .Vector3iData chunkPos = 1;</code>
+       */
+      public org.terasology.protobuf.NetData.Vector3iData.Builder getChunkPosBuilder() {
+        bitField0_ |= 0x00000001;
+        onChanged();
+        return getChunkPosFieldBuilder().getBuilder();
+      }
+      /**
+       * <code>optional .Vector3iData chunkPos = 1;</code>
+       */
+      public org.terasology.protobuf.NetData.Vector3iDataOrBuilder getChunkPosOrBuilder() {
+        if (chunkPosBuilder_ != null) {
+          return chunkPosBuilder_.getMessageOrBuilder();
+        } else {
+          return chunkPos_;
+        }
+      }
+      /**
+       * <code>optional .Vector3iData chunkPos = 1;</code>
+       */
+      private com.google.protobuf.SingleFieldBuilder<
+          org.terasology.protobuf.NetData.Vector3iData, org.terasology.protobuf.NetData.Vector3iData.Builder, org.terasology.protobuf.NetData.Vector3iDataOrBuilder> 
+          getChunkPosFieldBuilder() {
+        if (chunkPosBuilder_ == null) {
+          chunkPosBuilder_ = new com.google.protobuf.SingleFieldBuilder<
+              org.terasology.protobuf.NetData.Vector3iData, org.terasology.protobuf.NetData.Vector3iData.Builder, org.terasology.protobuf.NetData.Vector3iDataOrBuilder>(
+                  getChunkPos(),
+                  getParentForChildren(),
+                  isClean());
+          chunkPos_ = null;
+        }
+        return chunkPosBuilder_;
+      }
+
+      private java.util.List<java.lang.Integer> blockIndex_ = java.util.Collections.emptyList();
+      private void ensureBlockIndexIsMutable() {
+        if (!((bitField0_ & 0x00000002) == 0x00000002)) {
+          blockIndex_ = new java.util.ArrayList<java.lang.Integer>(blockIndex_);
+          bitField0_ |= 0x00000002;
+         }
+      }
+      /**
+       * <code>repeated int32 blockIndex = 2 [packed = true];</code>
+       */
+      public java.util.List<java.lang.Integer>
+          getBlockIndexList() {
+        return java.util.Collections.unmodifiableList(blockIndex_);
+      }
+      /**
+       * <code>repeated int32 blockIndex = 2 [packed = true];</code>
+       */
+      public int getBlockIndexCount() {
+        return blockIndex_.size();
+      }
+      /**
+       * <code>repeated int32 blockIndex = 2 [packed = true];</code>
+       */
+      public int getBlockIndex(int index) {
+        return blockIndex_.get(index);
+      }
+      /**
+       * <code>repeated int32 blockIndex = 2 [packed = true];</code>
+       */
+      public Builder setBlockIndex(
+          int index, int value) {
+        ensureBlockIndexIsMutable();
+        blockIndex_.set(index, value);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>repeated int32 blockIndex = 2 [packed = true];</code>
+       */
+      public Builder addBlockIndex(int value) {
+        ensureBlockIndexIsMutable();
+        blockIndex_.add(value);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>repeated int32 blockIndex = 2 [packed = true];</code>
+       */
+      public Builder addAllBlockIndex(
+          java.lang.Iterable<? extends java.lang.Integer> values) {
+        ensureBlockIndexIsMutable();
+        com.google.protobuf.AbstractMessageLite.Builder.addAll(
+            values, blockIndex_);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>repeated int32 blockIndex = 2 [packed = true];</code>
+       */
+      public Builder clearBlockIndex() {
+        blockIndex_ = java.util.Collections.emptyList();
+        bitField0_ = (bitField0_ & ~0x00000002);
+        onChanged();
+        return this;
+      }
+
+      private java.util.List<java.lang.Integer> newBlock_ = java.util.Collections.emptyList();
+      private void ensureNewBlockIsMutable() {
+        if (!((bitField0_ & 0x00000004) == 0x00000004)) {
+          newBlock_ = new java.util.ArrayList<java.lang.Integer>(newBlock_);
+          bitField0_ |= 0x00000004;
+         }
+      }
+      /**
+       * <code>repeated int32 newBlock = 3 [packed = true];</code>
+       */
+      public java.util.List<java.lang.Integer>
+          getNewBlockList() {
+        return java.util.Collections.unmodifiableList(newBlock_);
+      }
+      /**
+       * <code>repeated int32 newBlock = 3 [packed = true];</code>
+       */
+      public int getNewBlockCount() {
+        return newBlock_.size();
+      }
+      /**
+       * <code>repeated int32 newBlock = 3 [packed = true];</code>
+       */
+      public int getNewBlock(int index) {
+        return newBlock_.get(index);
+      }
+      /**
+       * <code>repeated int32 newBlock = 3 [packed = true];</code>
+       */
+      public Builder setNewBlock(
+          int index, int value) {
+        ensureNewBlockIsMutable();
+        newBlock_.set(index, value);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>repeated int32 newBlock = 3 [packed = true];</code>
+       */
+      public Builder addNewBlock(int value) {
+        ensureNewBlockIsMutable();
+        newBlock_.add(value);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>repeated int32 newBlock = 3 [packed = true];</code>
+       */
+      public Builder addAllNewBlock(
+          java.lang.Iterable<? extends java.lang.Integer> values) {
+        ensureNewBlockIsMutable();
+        com.google.protobuf.AbstractMessageLite.Builder.addAll(
+            values, newBlock_);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>repeated int32 newBlock = 3 [packed = true];</code>
+       */
+      public Builder clearNewBlock() {
+        newBlock_ = java.util.Collections.emptyList();
+        bitField0_ = (bitField0_ & ~0x00000004);
+        onChanged();
+        return this;
+      }
+
+      // @@protoc_insertion_point(builder_scope:BlockChangeBatchMessage)
+    }
+
+    static {
+      defaultInstance = new BlockChangeBatchMessage(true);
+      defaultInstance.initFields();
+    }
+
+    // @@protoc_insertion_point(class_scope:BlockChangeBatchMessage)
+  }
+
+  private static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_NetMessage_descriptor;
+  private static
+    com.google.protobuf.GeneratedMessage.FieldAccessorTable
+      internal_static_NetMessage_fieldAccessorTable;
+  private static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_HandshakeHello_descriptor;
+  private static
+    com.google.protobuf.GeneratedMessage.FieldAccessorTable
+      internal_static_HandshakeHello_fieldAccessorTable;
+  private static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_NewIdentityRequest_descriptor;
+  private static
+    com.google.protobuf.GeneratedMessage.FieldAccessorTable
+      internal_static_NewIdentityRequest_fieldAccessorTable;
+  private static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_ProvisionIdentity_descriptor;
+  private static
+    com.google.protobuf.GeneratedMessage.FieldAccessorTable
+      internal_static_ProvisionIdentity_fieldAccessorTable;
+  private static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_CertificateSet_descriptor;
+  private static
+    com.google.protobuf.GeneratedMessage.FieldAccessorTable
+      internal_static_CertificateSet_fieldAccessorTable;
+  private static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_HandshakeVerification_descriptor;
+  private static
+    com.google.protobuf.GeneratedMessage.FieldAccessorTable
+      internal_static_HandshakeVerification_fieldAccessorTable;
+  private static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_Certificate_descriptor;
+  private static
+    com.google.protobuf.GeneratedMessage.FieldAccessorTable
+      internal_static_Certificate_fieldAccessorTable;
+  private static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_BlockFamilyRegisteredMessage_descriptor;
+  private static
+    com.google.protobuf.GeneratedMessage.FieldAccessorTable
+      internal_static_BlockFamilyRegisteredMessage_fieldAccessorTable;
+  private static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_InvalidateChunkMessage_descriptor;
+  private static
+    com.google.protobuf.GeneratedMessage.FieldAccessorTable
+      internal_static_InvalidateChunkMessage_fieldAccessorTable;
+  private static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_BlockChangeMessage_descriptor;
+  private static
+    com.google.protobuf.GeneratedMessage.FieldAccessorTable
+      internal_static_BlockChangeMessage_fieldAccessorTable;
+  private static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_BiomeChangeMessage_descriptor;
+  private static
+    com.google.protobuf.GeneratedMessage.FieldAccessorTable
+      internal_static_BiomeChangeMessage_fieldAccessorTable;
+  private static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_Vector3iData_descriptor;
+  private static
+    com.google.protobuf.GeneratedMessage.FieldAccessorTable
+      internal_static_Vector3iData_fieldAccessorTable;
+  private static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_ServerInfoRequest_descriptor;
+  private static
+    com.google.protobuf.GeneratedMessage.FieldAccessorTable
+      internal_static_ServerInfoRequest_fieldAccessorTable;
+  private static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_JoinMessage_descriptor;
+  private static
+    com.google.protobuf.GeneratedMessage.FieldAccessorTable
+      internal_static_JoinMessage_fieldAccessorTable;
+  private static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_Color_descriptor;
+  private static
+    com.google.protobuf.GeneratedMessage.FieldAccessorTable
+      internal_static_Color_fieldAccessorTable;
+  private static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_JoinCompleteMessage_descriptor;
+  private static
+    com.google.protobuf.GeneratedMessage.FieldAccessorTable
+      internal_static_JoinCompleteMessage_fieldAccessorTable;
+  private static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_ServerInfoMessage_descriptor;
+  private static
+    com.google.protobuf.GeneratedMessage.FieldAccessorTable
+      internal_static_ServerInfoMessage_fieldAccessorTable;
+  private static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_WorldInfo_descriptor;
+  private static
+    com.google.protobuf.GeneratedMessage.FieldAccessorTable
+      internal_static_WorldInfo_fieldAccessorTable;
+  private static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_SerializationInfo_descriptor;
+  private static
+    com.google.protobuf.GeneratedMessage.FieldAccessorTable
+      internal_static_SerializationInfo_fieldAccessorTable;
+  private static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_ModuleInfo_descriptor;
+  private static
+    com.google.protobuf.GeneratedMessage.FieldAccessorTable
+      internal_static_ModuleInfo_fieldAccessorTable;
+  private static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_ModuleRequest_descriptor;
+  private static
+    com.google.protobuf.GeneratedMessage.FieldAccessorTable
+      internal_static_ModuleRequest_fieldAccessorTable;
+  private static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_ModuleDataHeader_descriptor;
+  private static
+    com.google.protobuf.GeneratedMessage.FieldAccessorTable
+      internal_static_ModuleDataHeader_fieldAccessorTable;
+  private static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_ModuleData_descriptor;
+  private static
+    com.google.protobuf.GeneratedMessage.FieldAccessorTable
+      internal_static_ModuleData_fieldAccessorTable;
+  private static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_ModuleSendError_descriptor;
+  private static
+    com.google.protobuf.GeneratedMessage.FieldAccessorTable
+      internal_static_ModuleSendError_fieldAccessorTable;
+  private static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_CreateEntityMessage_descriptor;
+  private static
+    com.google.protobuf.GeneratedMessage.FieldAccessorTable
+      internal_static_CreateEntityMessage_fieldAccessorTable;
+  private static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_UpdateEntityMessage_descriptor;
+  private static
+    com.google.protobuf.GeneratedMessage.FieldAccessorTable
+      internal_static_UpdateEntityMessage_fieldAccessorTable;
+  private static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_RemoveEntityMessage_descriptor;
+  private static
+    com.google.protobuf.GeneratedMessage.FieldAccessorTable
+      internal_static_RemoveEntityMessage_fieldAccessorTable;
+  private static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_EventMessage_descriptor;
+  private static
+    com.google.protobuf.GeneratedMessage.FieldAccessorTable
+      internal_static_EventMessage_fieldAccessorTable;
+  private static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_BlockChangeBatchMessage_descriptor;
+  private static
+    com.google.protobuf.GeneratedMessage.FieldAccessorTable
+      internal_static_BlockChangeBatchMessage_fieldAccessorTable;
+
+  public static com.google.protobuf.Descriptors.FileDescriptor
+      getDescriptor() {
+    return descriptor;
+  }
+  private static com.google.protobuf.Descriptors.FileDescriptor
+      descriptor;
+  static {
+    java.lang.String[] descriptorData = {
+      "\n\020NetMessage.proto\032\020EntityData.proto\"\347\007\n" +
+      "\nNetMessage\022\036\n\tchunkInfo\030\002 \003(\0132\013.ChunkSt" +
+      "ore\0220\n\017invalidateChunk\030\003 \003(\0132\027.Invalidat" +
+      "eChunkMessage\022(\n\013blockChange\030\004 \003(\0132\023.Blo" +
+      "ckChangeMessage\022*\n\014createEntity\030\005 \003(\0132\024." +
+      "CreateEntityMessage\022*\n\014removeEntity\030\006 \003(" +
+      "\0132\024.RemoveEntityMessage\022*\n\014updateEntity\030" +
+      "\007 \003(\0132\024.UpdateEntityMessage\022\034\n\005event\030\010 \003" +
+      "(\0132\r.EventMessage\022\014\n\004time\030\t \001(\003\022(\n\013biome" +
       "Change\030\n \003(\0132\023.BiomeChangeMessage\022-\n\021ser",
       "verInfoRequest\030\017 \001(\0132\022.ServerInfoRequest" +
       "\022&\n\nserverInfo\030\020 \001(\0132\022.ServerInfoMessage" +
@@ -25438,64 +26908,70 @@ public org.terasology.protobuf.NetData.Vector3iDataOrBuilder getTargetBlockPosOr
       "2\023.NewIdentityRequest\022-\n\021provisionIdenti" +
       "ty\030f \001(\0132\022.ProvisionIdentity\0225\n\025handshak" +
       "eVerification\030g \001(\0132\026.HandshakeVerificat" +
-      "ion*\t\010\210\'\020\200\200\200\200\002\"a\n\016HandshakeHello\022\016\n\006rand" +
-      "om\030\001 \001(\014\022!\n\013certificate\030\002 \001(\0132\014.Certific" +
-      "ate\022\021\n\ttimestamp\030\003 \001(\022*\t\010\210\'\020\200\200\200\200\002\"H\n\022New" +
-      "IdentityRequest\022\027\n\017preMasterSecret\030\001 \001(\014" +
-      "\022\016\n\006random\030\002 \001(\014*\t\010\210\'\020\200\200\200\200\002\"=\n\021Provision" +
-      "Identity\022\035\n\025encryptedCertificates\030\001 \001(\014*" +
-      "\t\010\210\'\020\200\200\200\200\002\"]\n\016CertificateSet\022\'\n\021publicCe",
-      "rtificate\030\001 \001(\0132\014.Certificate\022\027\n\017private" +
-      "Exponent\030\002 \001(\014*\t\010\210\'\020\200\200\200\200\002\"5\n\025HandshakeVe" +
-      "rification\022\021\n\tsignature\030\001 \001(\014*\t\010\210\'\020\200\200\200\200\002" +
-      "\"Z\n\013Certificate\022\n\n\002id\030\001 \001(\t\022\017\n\007modulus\030\002" +
-      " \001(\014\022\020\n\010exponent\030\003 \001(\014\022\021\n\tsignature\030\004 \001(" +
-      "\014*\t\010\210\'\020\200\200\200\200\002\"L\n\034BlockFamilyRegisteredMes" +
-      "sage\022\020\n\010blockUri\030\001 \003(\t\022\017\n\007blockId\030\002 \003(\005*" +
-      "\t\010\210\'\020\200\200\200\200\002\"?\n\026InvalidateChunkMessage\022\032\n\003" +
-      "pos\030\001 \001(\0132\r.Vector3iData*\t\010\210\'\020\200\200\200\200\002\"M\n\022B" +
-      "lockChangeMessage\022\032\n\003pos\030\001 \001(\0132\r.Vector3",
-      "iData\022\020\n\010newBlock\030\002 \001(\005*\t\010\210\'\020\200\200\200\200\002\"M\n\022Bi" +
-      "omeChangeMessage\022\032\n\003pos\030\001 \001(\0132\r.Vector3i" +
-      "Data\022\020\n\010newBiome\030\002 \001(\005*\t\010\210\'\020\200\200\200\200\002\"/\n\014Vec" +
-      "tor3iData\022\t\n\001x\030\001 \001(\005\022\t\n\001y\030\002 \001(\005\022\t\n\001z\030\003 \001" +
-      "(\005\"\036\n\021ServerInfoRequest*\t\010\210\'\020\200\200\200\200\002\"i\n\013Jo" +
-      "inMessage\022\014\n\004name\030\001 \001(\t\022\017\n\007version\030\002 \001(\t" +
-      "\022\031\n\021viewDistanceLevel\030\003 \001(\021\022\025\n\005color\030\004 \001" +
-      "(\0132\006.Color*\t\010\210\'\020\200\200\200\200\002\"\025\n\005Color\022\014\n\004rgba\030\001" +
-      " \001(\r\"2\n\023JoinCompleteMessage\022\020\n\010clientId\030" +
-      "\001 \001(\005*\t\010\210\'\020\200\200\200\200\002\"\261\003\n\021ServerInfoMessage\022\033",
-      "\n\006module\030\001 \003(\0132\013.ModuleInfo\022\023\n\007blockId\030\002" +
-      " \003(\021B\002\020\001\022\021\n\tblockName\030\003 \003(\t\022%\n\tcomponent" +
-      "\030\004 \003(\0132\022.SerializationInfo\022!\n\005event\030\005 \003(" +
-      "\0132\022.SerializationInfo\022\023\n\007assetId\030\006 \003(\005B\002" +
-      "\020\001\022\020\n\010assetUri\030\007 \003(\t\022\033\n\023registerBlockFam" +
-      "ily\030\010 \003(\t\022\035\n\tworldInfo\030\t \003(\0132\n.WorldInfo" +
-      "\022\030\n\014biomeShortId\030\n \003(\021B\002\020\001\022\017\n\007biomeId\030\013 " +
-      "\003(\t\022\017\n\007version\030\017 \001(\t\022\020\n\010gameName\030\020 \001(\t\022\014" +
-      "\n\004time\030\021 \001(\003\022\030\n\020reflectionHeight\030\022 \001(\002\022\014" +
-      "\n\004MOTD\030\023 \001(\t\022\033\n\023onlinePlayersAmount\030\024 \001(",
-      "\005*\t\010\210\'\020\200\200\200\200\002\"3\n\tWorldInfo\022\r\n\005title\030\001 \001(\t" +
-      "\022\014\n\004time\030\002 \001(\003*\t\010\210\'\020\200\200\200\200\002\"]\n\021Serializati" +
-      "onInfo\022\014\n\004name\030\001 \001(\t\022\n\n\002id\030\002 \001(\005\022\021\n\tfiel" +
-      "dName\030\003 \003(\t\022\020\n\010fieldIds\030\004 \001(\014*\t\010\210\'\020\200\200\200\200\002" +
-      "\"@\n\nModuleInfo\022\020\n\010moduleId\030\001 \001(\t\022\025\n\rmodu" +
-      "leVersion\030\002 \001(\t*\t\010\210\'\020\200\200\200\200\002\",\n\rModuleRequ" +
-      "est\022\020\n\010moduleId\030\001 \001(\t*\t\010\210\'\020\200\200\200\200\002\"W\n\020Modu" +
-      "leDataHeader\022\n\n\002id\030\001 \001(\t\022\017\n\007version\030\002 \001(" +
-      "\t\022\014\n\004size\030\003 \001(\003\022\r\n\005error\030\017 \001(\t*\t\010\210\'\020\200\200\200\200" +
-      "\002\"\'\n\nModuleData\022\016\n\006module\030\001 \001(\014*\t\010\210\'\020\200\200\200",
-      "\200\002\"-\n\017ModuleSendError\022\017\n\007message\030\001 \001(\t*\t" +
-      "\010\210\'\020\200\200\200\200\002\"`\n\023CreateEntityMessage\022\035\n\006enti" +
-      "ty\030\001 \001(\0132\r.PackedEntity\022\037\n\010blockPos\030\002 \001(" +
-      "\0132\r.Vector3iData*\t\010\210\'\020\200\200\200\200\002\"N\n\023UpdateEnt" +
-      "ityMessage\022\035\n\006entity\030\001 \001(\0132\r.PackedEntit" +
-      "y\022\r\n\005netId\030\002 \001(\005*\t\010\210\'\020\200\200\200\200\002\"/\n\023RemoveEnt" +
-      "ityMessage\022\r\n\005netId\030\001 \001(\005*\t\010\210\'\020\200\200\200\200\002\"i\n\014" +
-      "EventMessage\022\020\n\010targetId\030\001 \001(\005\022\025\n\005event\030" +
-      "\002 \001(\0132\006.Event\022%\n\016targetBlockPos\030\003 \001(\0132\r." +
-      "Vector3iData*\t\010\210\'\020\200\200\200\200\002B$\n\027org.terasolog",
-      "y.protobufB\007NetDataH\001"
+      "ion\022\023\n\013compression\030h \001(\t\022\035\n\025compressionD" +
+      "ictionary\030i \001(\014\0222\n\020blockChangeBatch\030\027 \003(" +
+      "\0132\030.BlockChangeBatchMessage*\t\010\210\'\020\200\200\200\200\002\"a" +
+      "\n\016HandshakeHello\022\016\n\006random\030\001 \001(\014\022!\n\013cert" +
+      "ificate\030\002 \001(\0132\014.Certificate\022\021\n\ttimestamp" +
+      "\030\003 \001(\022*\t\010\210\'\020\200\200\200\200\002\"H\n\022NewIdentityRequest\022" +
+      "\027\n\017preMasterSecret\030\001 \001(\014\022\016\n\006random\030\002 \001(\014",
+      "*\t\010\210\'\020\200\200\200\200\002\"=\n\021ProvisionIdentity\022\035\n\025encr" +
+      "yptedCertificates\030\001 \001(\014*\t\010\210\'\020\200\200\200\200\002\"]\n\016Ce" +
+      "rtificateSet\022\'\n\021publicCertificate\030\001 \001(\0132" +
+      "\014.Certificate\022\027\n\017privateExponent\030\002 \001(\014*\t" +
+      "\010\210\'\020\200\200\200\200\002\"5\n\025HandshakeVerification\022\021\n\tsi" +
+      "gnature\030\001 \001(\014*\t\010\210\'\020\200\200\200\200\002\"Z\n\013Certificate\022" +
+      "\n\n\002id\030\001 \001(\t\022\017\n\007modulus\030\002 \001(\014\022\020\n\010exponent" +
+      "\030\003 \001(\014\022\021\n\tsignature\030\004 \001(\014*\t\010\210\'\020\200\200\200\200\002\"L\n\034" +
+      "BlockFamilyRegisteredMessage\022\020\n\010blockUri" +
+      "\030\001 \003(\t\022\017\n\007blockId\030\002 \003(\005*\t\010\210\'\020\200\200\200\200\002\"?\n\026In",
+      "validateChunkMessage\022\032\n\003pos\030\001 \001(\0132\r.Vect" +
+      "or3iData*\t\010\210\'\020\200\200\200\200\002\"M\n\022BlockChangeMessag" +
+      "e\022\032\n\003pos\030\001 \001(\0132\r.Vector3iData\022\020\n\010newBloc" +
+      "k\030\002 \001(\005*\t\010\210\'\020\200\200\200\200\002\"M\n\022BiomeChangeMessage" +
+      "\022\032\n\003pos\030\001 \001(\0132\r.Vector3iData\022\020\n\010newBiome" +
+      "\030\002 \001(\005*\t\010\210\'\020\200\200\200\200\002\"/\n\014Vector3iData\022\t\n\001x\030\001" +
+      " \001(\005\022\t\n\001y\030\002 \001(\005\022\t\n\001z\030\003 \001(\005\"\036\n\021ServerInfo" +
+      "Request*\t\010\210\'\020\200\200\200\200\002\"i\n\013JoinMessage\022\014\n\004nam" +
+      "e\030\001 \001(\t\022\017\n\007version\030\002 \001(\t\022\031\n\021viewDistance" +
+      "Level\030\003 \001(\021\022\025\n\005color\030\004 \001(\0132\006.Color*\t\010\210\'\020",
+      "\200\200\200\200\002\"\025\n\005Color\022\014\n\004rgba\030\001 \001(\r\"2\n\023JoinComp" +
+      "leteMessage\022\020\n\010clientId\030\001 \001(\005*\t\010\210\'\020\200\200\200\200\002" +
+      "\"\261\003\n\021ServerInfoMessage\022\033\n\006module\030\001 \003(\0132\013" +
+      ".ModuleInfo\022\023\n\007blockId\030\002 \003(\021B\002\020\001\022\021\n\tbloc" +
+      "kName\030\003 \003(\t\022%\n\tcomponent\030\004 \003(\0132\022.Seriali" +
+      "zationInfo\022!\n\005event\030\005 \003(\0132\022.Serializatio" +
+      "nInfo\022\023\n\007assetId\030\006 \003(\005B\002\020\001\022\020\n\010assetUri\030\007" +
+      " \003(\t\022\033\n\023registerBlockFamily\030\010 \003(\t\022\035\n\twor" +
+      "ldInfo\030\t \003(\0132\n.WorldInfo\022\030\n\014biomeShortId" +
+      "\030\n \003(\021B\002\020\001\022\017\n\007biomeId\030\013 \003(\t\022\017\n\007version\030\017",
+      " \001(\t\022\020\n\010gameName\030\020 \001(\t\022\014\n\004time\030\021 \001(\003\022\030\n\020" +
+      "reflectionHeight\030\022 \001(\002\022\014\n\004MOTD\030\023 \001(\t\022\033\n\023" +
+      "onlinePlayersAmount\030\024 \001(\005*\t\010\210\'\020\200\200\200\200\002\"3\n\t" +
+      "WorldInfo\022\r\n\005title\030\001 \001(\t\022\014\n\004time\030\002 \001(\003*\t" +
+      "\010\210\'\020\200\200\200\200\002\"]\n\021SerializationInfo\022\014\n\004name\030\001" +
+      " \001(\t\022\n\n\002id\030\002 \001(\005\022\021\n\tfieldName\030\003 \003(\t\022\020\n\010f" +
+      "ieldIds\030\004 \001(\014*\t\010\210\'\020\200\200\200\200\002\"@\n\nModuleInfo\022\020" +
+      "\n\010moduleId\030\001 \001(\t\022\025\n\rmoduleVersion\030\002 \001(\t*" +
+      "\t\010\210\'\020\200\200\200\200\002\",\n\rModuleRequest\022\020\n\010moduleId\030" +
+      "\001 \001(\t*\t\010\210\'\020\200\200\200\200\002\"W\n\020ModuleDataHeader\022\n\n\002",
+      "id\030\001 \001(\t\022\017\n\007version\030\002 \001(\t\022\014\n\004size\030\003 \001(\003\022" +
+      "\r\n\005error\030\017 \001(\t*\t\010\210\'\020\200\200\200\200\002\"\'\n\nModuleData\022" +
+      "\016\n\006module\030\001 \001(\014*\t\010\210\'\020\200\200\200\200\002\"-\n\017ModuleSend" +
+      "Error\022\017\n\007message\030\001 \001(\t*\t\010\210\'\020\200\200\200\200\002\"`\n\023Cre" +
+      "ateEntityMessage\022\035\n\006entity\030\001 \001(\0132\r.Packe" +
+      "dEntity\022\037\n\010blockPos\030\002 \001(\0132\r.Vector3iData" +
+      "*\t\010\210\'\020\200\200\200\200\002\"N\n\023UpdateEntityMessage\022\035\n\006en" +
+      "tity\030\001 \001(\0132\r.PackedEntity\022\r\n\005netId\030\002 \001(\005" +
+      "*\t\010\210\'\020\200\200\200\200\002\"/\n\023RemoveEntityMessage\022\r\n\005ne" +
+      "tId\030\001 \001(\005*\t\010\210\'\020\200\200\200\200\002\"i\n\014EventMessage\022\020\n\010",
+      "targetId\030\001 \001(\005\022\025\n\005event\030\002 \001(\0132\006.Event\022%\n" +
+      "\016targetBlockPos\030\003 \001(\0132\r.Vector3iData*\t\010\210" +
+      "\'\020\200\200\200\200\002\"s\n\027BlockChangeBatchMessage\022\037\n\010ch" +
+      "unkPos\030\001 \001(\0132\r.Vector3iData\022\026\n\nblockInde" +
+      "x\030\002 \003(\005B\002\020\001\022\024\n\010newBlock\030\003 \003(\005B\002\020\001*\t\010\210\'\020\200" +
+      "\200\200\200\002B$\n\027org.terasology.protobufB\007NetData" +
+      "H\001"
     };
     com.google.protobuf.Descriptors.FileDescriptor.InternalDescriptorAssigner assigner =
         new com.google.protobuf.Descriptors.FileDescriptor.    InternalDescriptorAssigner() {
@@ -25515,7 +26991,7 @@ public com.google.protobuf.ExtensionRegistry assignDescriptors(
     internal_static_NetMessage_fieldAccessorTable = new
       com.google.protobuf.GeneratedMessage.FieldAccessorTable(
         internal_static_NetMessage_descriptor,
-        new java.lang.String[] { "ChunkInfo", "InvalidateChunk", "BlockChange", "CreateEntity", "RemoveEntity", "UpdateEntity", "Event", "Time", "BiomeChange", "ServerInfoRequest", "ServerInfo", "BlockFamilyRegistered", "Join", "ModuleRequest", "ModuleDataHeader", "ModuleData", "JoinComplete", "HandshakeHello", "NewIdentityRequest", "ProvisionIdentity", "HandshakeVerification", });
+        new java.lang.String[] { "ChunkInfo", "InvalidateChunk", "BlockChange", "CreateEntity", "RemoveEntity", "UpdateEntity", "Event", "Time", "BiomeChange", "ServerInfoRequest", "ServerInfo", "BlockFamilyRegistered", "Join", "ModuleRequest", "ModuleDataHeader", "ModuleData", "JoinComplete", "HandshakeHello", "NewIdentityRequest", "ProvisionIdentity", "HandshakeVerification", "Compression", "CompressionDictionary", "BlockChangeBatch", });
     internal_static_HandshakeHello_descriptor =
       getDescriptor().getMessageTypes().get(1);
     internal_static_HandshakeHello_fieldAccessorTable = new
@@ -25678,6 +27154,12 @@ public com.google.protobuf.ExtensionRegistry assignDescriptors(
       com.google.protobuf.GeneratedMessage.FieldAccessorTable(
         internal_static_EventMessage_descriptor,
         new java.lang.String[] { "TargetId", "Event", "TargetBlockPos", });
+    internal_static_BlockChangeBatchMessage_descriptor =
+      getDescriptor().getMessageTypes().get(28);
+    internal_static_BlockChangeBatchMessage_fieldAccessorTable = new
+      com.google.protobuf.GeneratedMessage.FieldAccessorTable(
+        internal_static_BlockChangeBatchMessage_descriptor,
+        new java.lang.String[] { "ChunkPos", "BlockIndex", "NewBlock", });
     org.terasology.protobuf.EntityData.getDescriptor();
   }
 
@@ -22,15 +22,21 @@
 import javassist.CtClass;
 import javassist.CtMethod;
 import javassist.CtNewMethod;
+import javassist.LoaderClassPath;
 import javassist.NotFoundException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.entitySystem.event.Event;
 import org.terasology.utilities.ReflectionUtil;
 
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.util.Collections;
+import java.util.Set;
+import java.util.WeakHashMap;
 
 /**
  */
@@ -39,6 +45,8 @@ public class ByteCodeReflectFactory implements ReflectFactory {
 
     private ClassPool pool;
     private CtClass objectConstructorInterface;
+    private CtClass eventHandlerInvokerInterface;
+    private Set<ClassLoader> searchedClassLoaders = Collections.newSetFromMap(new WeakHashMap<>());
 
     private ReflectFactory backupFactory = new ReflectionReflectFactory();
 
@@ -47,6 +55,7 @@ public ByteCodeReflectFactory() {
             ClassPool.doPruning = true;
             pool = ClassPool.getDefault();
             objectConstructorInterface = pool.get(ObjectConstructor.class.getName());
+            eventHandlerInvokerInterface = pool.get(EventHandlerInvoker.class.getName());
         } catch (NotFoundException e) {
             throw new RuntimeException("Error establishing reflection factory", e);
         }
@@ -98,6 +107,74 @@ public <T, U> FieldAccessor<T, U> createFieldAccessor(Class<T> ownerType, Field
         }
     }
 
+    /**
+     * Generates an invoker class calling the handler method directly, with each component parameter retrieved from
+     * the entity and cast to its type. The invoker is defined in the class loader of the class declaring the method.
+     */
+    @Override
+    public EventHandlerInvoker createEventHandlerInvoker(Method method) {
+        Class<?> handlerType = method.getDeclaringClass();
+        Class<?>[] types = method.getParameterTypes();
+        String invokerClassName = handlerType.getName() + "_" + method.getName() + "_" + descriptorHash(types) + "_EventHandlerInvoker";
+        try {
+            Class<?> existingInvokerClass = handlerType.getClassLoader().loadClass(invokerClassName);
+            // An invoker resolved through a parent loader was generated for a previous version of the handler class
+            if (existingInvokerClass.getClassLoader() == handlerType.getClassLoader()) {
+                return (EventHandlerInvoker) existingInvokerClass.getConstructor().newInstance();
+            }
+        } catch (ClassNotFoundException ignored) {
+            // Not generated yet
+        } catch (InvocationTargetException | InstantiationException | IllegalAccessException | NoSuchMethodException e) {
+            logger.error("Error instantiating invoker for event handler '{}', falling back on reflection", method, e);
+            return backupFactory.createEventHandlerInvoker(method);
+        }
+        if (!Modifier.isPublic(handlerType.getModifiers()) || !Modifier.isPublic(method.getModifiers())) {
+            logger.warn("Event handler '{}' is not public, falling back on reflection", method);
+            return backupFactory.createEventHandlerInvoker(method);
+        }
+        try {
+            addClassLoader(handlerType.getClassLoader());
+            CtClass invokerClass = pool.makeClass(invokerClassName);
+            try {
+                invokerClass.setInterfaces(new CtClass[]{eventHandlerInvokerInterface});
+
+                StringBuilder body = new StringBuilder();
+                body.append("public void invoke(Object handler, ").append(Event.class.getName()).append(" event, ")
+                        .append(EntityRef.class.getName()).append(" entity) {");
+                body.append("((").append(handlerType.getName()).append(") handler).").append(method.getName());
+                body.append("((").append(types[0].getName()).append(") event, entity");
+                for (int i = 2; i < types.length; ++i) {
+                    body.append(", (").append(types[i].getName()).append(") entity.getComponent(").append(types[i].getName()).append(".class)");
+                }
+                body.append(");}");
+
+                invokerClass.addMethod(CtNewMethod.make(body.toString(), invokerClass));
+                return (EventHandlerInvoker) invokerClass.toClass(handlerType.getClassLoader(), handlerType.getProtectionDomain()).getConstructor().newInstance();
+            } finally {
+                // The pool is shared, so the invoker must be generated again if the handler is loaded by another class loader
+                invokerClass.detach();
+            }
+        } catch (InstantiationException | IllegalAccessException | InvocationTargetException | NoSuchMethodException | CannotCompileException
+                | RuntimeException e) {
+            logger.error("Error generating invoker for event handler '{}', falling back on reflection", method, e);
+            return backupFactory.createEventHandlerInvoker(method);
+        }
+    }
+
+    private static String descriptorHash(Class<?>[] parameterTypes) {
+        int hash = 0;
+        for (Class<?> type : parameterTypes) {
+            hash = 31 * hash + type.getName().hashCode();
+        }
+        return Integer.toHexString(hash);
+    }
+
+    private void addClassLoader(ClassLoader classLoader) {
+        if (classLoader != null && searchedClassLoaders.add(classLoader)) {
+            pool.appendClassPath(new LoaderClassPath(classLoader));
+        }
+    }
+
     public void setClassPool(ClassPool classPool) {
         pool = classPool;
     }
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.reflection.reflect;
+
+import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.entitySystem.event.Event;
+import org.terasology.module.sandbox.API;
+
+/**
+ * Invokes a single event handler method, of the form {@code handle(EventType event, EntityRef entity, ComponentA a, ...)}.
+ * <br><br>
+ * The component parameters of the method are retrieved from the entity by the invoker. Generated invokers are defined in
+ * the class loader of the handler, so this interface must be visible to modules.
+ */
+@API
+@FunctionalInterface
+public interface EventHandlerInvoker {
+
+    /**
+     * @param handler The object declaring the handler method
+     * @param event   The event to pass to the handler
+     * @param entity  The entity the event was sent to
+     */
+    void invoke(Object handler, Event event, EntityRef entity);
+}
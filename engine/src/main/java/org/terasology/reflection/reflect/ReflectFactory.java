@@ -16,6 +16,7 @@
 package org.terasology.reflection.reflect;
 
 import java.lang.reflect.Field;
+import java.lang.reflect.Method;
 
 /**
  * A factory providing reflection abilities, such as object construction and field access.
@@ -28,4 +29,10 @@ public interface ReflectFactory {
     <T> FieldAccessor<T, ?> createFieldAccessor(Class<T> ownerType, Field field) throws InaccessibleFieldException;
 
     <T, U> FieldAccessor<T, U> createFieldAccessor(Class<T> ownerType, Field field, Class<U> fieldType) throws InaccessibleFieldException;
+
+    /**
+     * @param method An event handler method, taking an event, an entity and then any number of components
+     * @return An invoker calling the given method
+     */
+    EventHandlerInvoker createEventHandlerInvoker(Method method);
 }
@@ -17,12 +17,16 @@
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.terasology.entitySystem.Component;
+import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.entitySystem.event.Event;
 import org.terasology.utilities.ReflectionUtil;
 
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.Arrays;
 
 /**
  * Reflection based implementation of ReflectFactory. Uses standard Java reflection to provide the necessary reflection functionality.
@@ -57,6 +61,11 @@ public <T, U> FieldAccessor<T, U> createFieldAccessor(Class<T> ownerType, Field
         return new ReflectionFieldAccessor<>(field, fieldType);
     }
 
+    @Override
+    public EventHandlerInvoker createEventHandlerInvoker(Method method) {
+        return new ReflectionEventHandlerInvoker(method);
+    }
+
     /**
      * ObjectConstructor using a Java Constructor instance to construct the object
      *
@@ -131,4 +140,35 @@ public void setValue(T target, U value) {
             }
         }
     }
+
+    /**
+     * Event handler invoker calling the handler method through reflection.
+     */
+    private static class ReflectionEventHandlerInvoker implements EventHandlerInvoker {
+        private Method method;
+        private Class<? extends Component>[] componentParams;
+
+        @SuppressWarnings("unchecked")
+        ReflectionEventHandlerInvoker(Method method) {
+            this.method = method;
+            Class<?>[] types = method.getParameterTypes();
+            this.componentParams = (Class<? extends Component>[]) Arrays.copyOfRange(types, 2, types.length);
+            method.setAccessible(true);
+        }
+
+        @Override
+        public void invoke(Object handler, Event event, EntityRef entity) {
+            Object[] params = new Object[2 + componentParams.length];
+            params[0] = event;
+            params[1] = entity;
+            for (int i = 0; i < componentParams.length; ++i) {
+                params[i + 2] = entity.getComponent(componentParams[i]);
+            }
+            try {
+                method.invoke(handler, params);
+            } catch (InvocationTargetException | IllegalAccessException e) {
+                logger.error("Exception invoking event handler {}", method, e);
+            }
+        }
+    }
 }
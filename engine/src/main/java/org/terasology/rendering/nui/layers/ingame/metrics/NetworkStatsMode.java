@@ -17,6 +17,7 @@
 package org.terasology.rendering.nui.layers.ingame.metrics;
 
 import org.terasology.engine.Time;
+import org.terasology.network.ChunkCacheMetrics;
 import org.terasology.network.NetworkMode;
 import org.terasology.network.NetworkSystem;
 import org.terasology.registry.CoreRegistry;
@@ -51,6 +52,14 @@ public String getMetrics() {
             builder.append(String.format("In Bytes: %d%n", networkSystem.getIncomingBytesDelta()));
             builder.append(String.format("Out Msg: %d%n", networkSystem.getOutgoingMessagesDelta()));
             builder.append(String.format("Out Bytes: %d%n", networkSystem.getOutgoingBytesDelta()));
+            if (networkSystem.getMode().isServer()) {
+                ChunkCacheMetrics chunkCacheMetrics = networkSystem.getChunkCacheMetrics();
+                builder.append(String.format("Chunk Cache Hits: %d%n", chunkCacheMetrics.getHitsSinceLastCall()));
+                builder.append(String.format("Chunk Cache Misses: %d%n", chunkCacheMetrics.getMissesSinceLastCall()));
+                builder.append(String.format("Chunk Cache Bytes: %d%n", chunkCacheMetrics.getMemoryUsage()));
+                builder.append(String.format("Avoided Serializations: %d%n",
+                        networkSystem.getBroadcastSerializationMetrics().getAvoidedSerializationsSinceLastCall()));
+            }
             if (lastTime != 0) {
                 // ignore the first update as it will not have useful data
                 lastMetric = builder.toString();
@@ -24,6 +24,7 @@
 import gnu.trove.map.hash.TIntIntHashMap;
 import org.lwjgl.opengl.ARBShaderObjects;
 import org.lwjgl.opengl.GL20;
+import org.lwjgl.opengl.GLContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.terasology.assets.AssetType;
@@ -39,7 +40,9 @@
 import org.terasology.rendering.assets.shader.ShaderParameterMetadata;
 import org.terasology.rendering.assets.shader.ShaderProgramFeature;
 import org.terasology.rendering.primitives.ChunkVertexFlag;
+import org.terasology.rendering.primitives.GreedyChunkMesher;
 import org.terasology.rendering.world.WorldRenderer;
+import org.terasology.world.block.shapes.BlockMeshPart;
 import org.terasology.world.block.tiles.WorldAtlas;
 
 import java.io.BufferedWriter;
@@ -137,6 +140,9 @@ public Iterable<ShaderParameterMetadata> listParameters() {
 
     private StringBuilder createShaderBuilder() {
         String preProcessorPreamble = "#version 120\n";
+        if (GLContext.getCapabilities().GL_ARB_shader_texture_lod) {
+            preProcessorPreamble += "#extension GL_ARB_shader_texture_lod : enable\n";
+        }
 
         // TODO: Implement a system for this - this has gotten way out of hand.
         WorldAtlas worldAtlas = CoreRegistry.get(WorldAtlas.class);
@@ -155,6 +161,8 @@ private StringBuilder createShaderBuilder() {
         preProcessorPreamble += "#define SSAO_NOISE_SIZE " + SSAO_NOISE_SIZE + "\n";
         // TODO: This shouldn't be hardcoded
         preProcessorPreamble += "#define TEXTURE_OFFSET_EFFECTS " + 0.0625f + "\n";
+        preProcessorPreamble += "#define TILE_BORDER " + BlockMeshPart.BORDER + "\n";
+        preProcessorPreamble += "#define REPEATED_TILE_STRIDE " + (float) GreedyChunkMesher.TILE_INDEX_STRIDE + "\n";
 
         StringBuilder builder = new StringBuilder().append(preProcessorPreamble);
         if (renderConfig.isVolumetricFog()) {
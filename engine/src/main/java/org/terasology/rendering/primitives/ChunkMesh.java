@@ -115,6 +115,9 @@ public enum RenderPhase {
     /* MEASUREMENTS */
     private int timeToGenerateBlockVertices;
     private int timeToGenerateOptimizedBuffers;
+    private int timeToMergeFaces;
+    private int mergedFaceCount;
+    private int mergedQuadCount;
 
     private GLBufferPool bufferPool;
 
@@ -362,6 +365,44 @@ public int getTimeToGenerateOptimizedBuffers() {
         return timeToGenerateOptimizedBuffers;
     }
 
+    void setTimeToMergeFaces(int timeToMergeFaces) {
+        this.timeToMergeFaces = timeToMergeFaces;
+    }
+
+    /**
+     * @return The time in milliseconds spent merging faces into larger quads, 0 unless greedy meshing is enabled.
+     */
+    public int getTimeToMergeFaces() {
+        return timeToMergeFaces;
+    }
+
+    void setMergedFaces(int mergedFaceCount, int mergedQuadCount) {
+        this.mergedFaceCount = mergedFaceCount;
+        this.mergedQuadCount = mergedQuadCount;
+    }
+
+    /**
+     * @return The number of block faces that were merged into larger quads by greedy meshing.
+     */
+    public int getMergedFaceCount() {
+        return mergedFaceCount;
+    }
+
+    /**
+     * @return The number of quads the merged block faces were emitted as.
+     */
+    public int getMergedQuadCount() {
+        return mergedQuadCount;
+    }
+
+    /**
+     * @return The number of vertices saved by greedy meshing compared to emitting every merged face on its own.
+     */
+    public int getMergedVertexReduction() {
+        // Only faces made of a single quad are merged
+        return (mergedFaceCount - mergedQuadCount) * 4;
+    }
+
     /**
      * Data structure for storing vertex data. Abused like a "struct" in C/C++. Just sad.
      */
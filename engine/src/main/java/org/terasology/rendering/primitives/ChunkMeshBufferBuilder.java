@@ -0,0 +1,350 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.rendering.primitives;
+
+import com.google.common.math.IntMath;
+import org.lwjgl.BufferUtils;
+import org.terasology.math.Direction;
+import org.terasology.math.TeraMath;
+import org.terasology.rendering.RenderMath;
+import org.terasology.world.ChunkView;
+import org.terasology.world.block.Block;
+import org.terasology.world.chunks.ChunkConstants;
+
+import java.util.Arrays;
+
+/**
+ * Assembles the final vertex and index buffers of a {@link ChunkMesh} from its vertex elements.
+ * <br><br>
+ * The lighting of each vertex is sampled from a local copy of the chunk padded by a one block border. The copy is
+ * filled lazily from the chunk view, so every block is looked up at most once per mesh, and together with the vertex
+ * and index data it lives in primitive scratch arrays that are reused from mesh to mesh. A builder must therefore only
+ * be used by a single thread at a time.
+ */
+public final class ChunkMeshBufferBuilder {
+
+    /**
+     * Ints per vertex: position (3), uv (2), flags (1), lighting (3), packed color (1) and normal (3).
+     */
+    public static final int VERTEX_SIZE = 13;
+
+    private static final int PADDED_SIZE_X = ChunkConstants.SIZE_X + 2;
+    private static final int PADDED_SIZE_Y = ChunkConstants.SIZE_Y + 2;
+    private static final int PADDED_SIZE_Z = ChunkConstants.SIZE_Z + 2;
+    private static final int PADDED_VOLUME = PADDED_SIZE_X * PADDED_SIZE_Y * PADDED_SIZE_Z;
+
+    private static final int NOT_OCCLUDING = 0;
+    private static final int OCCLUDING = 1;
+    private static final int OCCLUDING_BILLBOARD = 2;
+
+    // Each block of the padded copy is packed into a single int together with the mesh generation it was fetched for
+    private static final int SUNLIGHT_SHIFT = 0;
+    private static final int LIGHT_SHIFT = 8;
+    private static final int OCCLUSION_SHIFT = 16;
+    private static final int GENERATION_SHIFT = 18;
+    private static final int GENERATION_MASK = -1 << GENERATION_SHIFT;
+    private static final int MAX_GENERATION = GENERATION_MASK >>> GENERATION_SHIFT;
+
+    private static final int MAX_OCCLUDERS = 4;
+    private static final float[] AMBIENT_OCCLUSION = new float[(MAX_OCCLUDERS + 1) * (MAX_OCCLUDERS + 1)];
+
+    static {
+        for (int occluders = 0; occluders <= MAX_OCCLUDERS; ++occluders) {
+            for (int billboards = 0; billboards <= MAX_OCCLUDERS; ++billboards) {
+                AMBIENT_OCCLUSION[occluders * (MAX_OCCLUDERS + 1) + billboards] =
+                        (float) ((TeraMath.pow(0.40, occluders) + TeraMath.pow(0.80, billboards)) / 2.0);
+            }
+        }
+    }
+
+    private final int[] blocks = new int[PADDED_VOLUME];
+    private int generation;
+
+    private int[] vertexData = new int[0];
+    private int[] indexData = new int[0];
+
+    private ChunkView chunkView;
+
+    private int occluders;
+    private int billboards;
+    private int sunlightSum;
+    private int sunlightCount;
+    private int lightSum;
+    private int lightCount;
+
+    /**
+     * Fills the final vertex and index buffers of all render types of the given mesh.
+     *
+     * @param view The chunk view the mesh was generated from, used to light the vertices.
+     * @param mesh The mesh whose vertex elements have been generated.
+     * @return The number of vertices written.
+     */
+    public int build(ChunkView view, ChunkMesh mesh) {
+        begin(view);
+        try {
+            return buildBuffers(mesh);
+        } finally {
+            end();
+        }
+    }
+
+    /**
+     * Starts lighting vertices from the given chunk view. Until {@link #end()} is called, the blocks cached for it are
+     * shared by all lighting samples and buffers built.
+     */
+    void begin(ChunkView view) {
+        chunkView = view;
+        nextGeneration();
+    }
+
+    void end() {
+        chunkView = null;
+    }
+
+    /**
+     * Fills the final buffers of all render types of the given mesh, lighting them from the chunk view passed to
+     * {@link #begin(ChunkView)}.
+     *
+     * @return The number of vertices written.
+     */
+    int buildBuffers(ChunkMesh mesh) {
+        int vertexCount = 0;
+        for (ChunkMesh.RenderType type : ChunkMesh.RenderType.values()) {
+            vertexCount += build(mesh.getVertexElements(type));
+        }
+        return vertexCount;
+    }
+
+    /**
+     * Samples the lighting of a vertex from the chunk view passed to {@link #begin(ChunkView)}.
+     *
+     * @return A key summarising the samples. Vertices with equal keys are lit identically.
+     */
+    long sampleLightingKey(float x, float y, float z, float normalX, float normalY, float normalZ) {
+        sampleLighting(x, y, z, normalX, normalY, normalZ);
+        return averageKey(sunlightSum, sunlightCount)
+                | (long) averageKey(lightSum, lightCount) << 16
+                | (long) occluders << 32
+                | (long) billboards << 36;
+    }
+
+    /**
+     * @return The average as a fraction in lowest terms. Equal fractions always yield equal averages.
+     */
+    private static int averageKey(int sum, int count) {
+        if (count == 0) {
+            return 0;
+        }
+        int divisor = IntMath.gcd(sum, count);
+        return (sum / divisor) << 4 | count / divisor;
+    }
+
+    private int build(ChunkMesh.VertexElements elements) {
+        int vertexCount = elements.vertices.size() / 3;
+        int[] data = vertexData(vertexCount * VERTEX_SIZE);
+
+        int offset = 0;
+        for (int vertex = 0; vertex < vertexCount; ++vertex) {
+            int i = vertex * 3;
+            float x = elements.vertices.get(i);
+            float y = elements.vertices.get(i + 1);
+            float z = elements.vertices.get(i + 2);
+            float normalX = elements.normals.get(i);
+            float normalY = elements.normals.get(i + 1);
+            float normalZ = elements.normals.get(i + 2);
+
+            /* POSITION */
+            data[offset++] = Float.floatToIntBits(x);
+            data[offset++] = Float.floatToIntBits(y);
+            data[offset++] = Float.floatToIntBits(z);
+
+            /* UV0 - TEX DATA 0 */
+            data[offset++] = Float.floatToIntBits(elements.tex.get(vertex * 2));
+            data[offset++] = Float.floatToIntBits(elements.tex.get(vertex * 2 + 1));
+
+            /* FLAGS */
+            data[offset++] = Float.floatToIntBits(elements.flags.get(vertex));
+
+            /* LIGHTING DATA / TEX DATA 1 */
+            sampleLighting(x, y, z, normalX, normalY, normalZ);
+            data[offset++] = Float.floatToIntBits(sunlightCount == 0 ? 0 : (float) sunlightSum / sunlightCount / 15f);
+            data[offset++] = Float.floatToIntBits(lightCount == 0 ? 0 : (float) lightSum / lightCount / 15f);
+            data[offset++] = Float.floatToIntBits(AMBIENT_OCCLUSION[occluders * (MAX_OCCLUDERS + 1) + billboards]);
+
+            /* PACKED COLOR */
+            data[offset++] = RenderMath.packColor(
+                    elements.color.get(vertex * 4),
+                    elements.color.get(vertex * 4 + 1),
+                    elements.color.get(vertex * 4 + 2),
+                    elements.color.get(vertex * 4 + 3));
+
+            /* NORMALS */
+            data[offset++] = Float.floatToIntBits(normalX);
+            data[offset++] = Float.floatToIntBits(normalY);
+            data[offset++] = Float.floatToIntBits(normalZ);
+        }
+        elements.finalVertices = BufferUtils.createIntBuffer(offset);
+        elements.finalVertices.put(data, 0, offset);
+        elements.finalVertices.flip();
+
+        int indexCount = elements.indices.size();
+        int[] indices = indexData(indexCount);
+        elements.indices.toArray(indices, 0, 0, indexCount);
+        elements.finalIndices = BufferUtils.createIntBuffer(indexCount);
+        elements.finalIndices.put(indices, 0, indexCount);
+        elements.finalIndices.flip();
+        return vertexCount;
+    }
+
+    /**
+     * Gathers the light around a vertex and the blocks occluding it in front of its face.
+     */
+    private void sampleLighting(float x, float y, float z, float normalX, float normalY, float normalZ) {
+        int xPlus = toBlock(x + 0.1f);
+        int xMinus = toBlock(x - 0.1f);
+        int yPlus = toBlock(y + 0.1f);
+        int yMinus = toBlock(y - 0.1f);
+        int zPlus = toBlock(z + 0.1f);
+        int zMinus = toBlock(z - 0.1f);
+
+        occluders = 0;
+        billboards = 0;
+        int front;
+        switch (Direction.inDirection(normalX, normalY, normalZ)) {
+            case LEFT:
+            case RIGHT:
+                front = toBlock(x + 0.8f * normalX);
+                addOccluder(front, yPlus, zPlus);
+                addOccluder(front, yPlus, zMinus);
+                addOccluder(front, yMinus, zMinus);
+                addOccluder(front, yMinus, zPlus);
+                break;
+            case FORWARD:
+            case BACKWARD:
+                front = toBlock(z + 0.8f * normalZ);
+                addOccluder(xPlus, yPlus, front);
+                addOccluder(xPlus, yMinus, front);
+                addOccluder(xMinus, yMinus, front);
+                addOccluder(xMinus, yPlus, front);
+                break;
+            default:
+                front = toBlock(y + 0.8f * normalY);
+                addOccluder(xPlus, front, zPlus);
+                addOccluder(xPlus, front, zMinus);
+                addOccluder(xMinus, front, zMinus);
+                addOccluder(xMinus, front, zPlus);
+        }
+
+        sunlightSum = 0;
+        sunlightCount = 0;
+        lightSum = 0;
+        lightCount = 0;
+        int above = toBlock(y + 0.8f);
+        addLight(xPlus, above, zPlus);
+        addLight(xPlus, above, zMinus);
+        addLight(xMinus, above, zMinus);
+        addLight(xMinus, above, zPlus);
+        addLight(xPlus, yMinus, zPlus);
+        addLight(xPlus, yMinus, zMinus);
+        addLight(xMinus, yMinus, zMinus);
+        addLight(xMinus, yMinus, zPlus);
+    }
+
+    private void addOccluder(int x, int y, int z) {
+        int occlusion = (fetch(x, y, z) >>> OCCLUSION_SHIFT) & 0x3;
+        if (occlusion == OCCLUDING) {
+            occluders++;
+        } else if (occlusion == OCCLUDING_BILLBOARD) {
+            billboards++;
+        }
+    }
+
+    private void addLight(int x, int y, int z) {
+        int block = fetch(x, y, z);
+        byte sunlightValue = (byte) (block >>> SUNLIGHT_SHIFT);
+        byte lightValue = (byte) (block >>> LIGHT_SHIFT);
+        if (sunlightValue > 0) {
+            sunlightSum += sunlightValue;
+            sunlightCount++;
+        }
+        if (lightValue > 0) {
+            lightSum += lightValue;
+            lightCount++;
+        }
+    }
+
+    /**
+     * @return The packed data of the block, from the padded copy if the block lies within it. Blocks of the padded copy
+     * are fetched from the chunk view the first time they are accessed for the current mesh.
+     */
+    private int fetch(int x, int y, int z) {
+        int paddedX = x + 1;
+        int paddedY = y + 1;
+        int paddedZ = z + 1;
+        if (paddedX < 0 || paddedY < 0 || paddedZ < 0 || paddedX >= PADDED_SIZE_X || paddedY >= PADDED_SIZE_Y || paddedZ >= PADDED_SIZE_Z) {
+            return pack(x, y, z);
+        }
+        int index = paddedX + PADDED_SIZE_X * (paddedZ + PADDED_SIZE_Z * paddedY);
+        int block = blocks[index];
+        if ((block & GENERATION_MASK) != generation << GENERATION_SHIFT) {
+            block = pack(x, y, z) | generation << GENERATION_SHIFT;
+            blocks[index] = block;
+        }
+        return block;
+    }
+
+    private int pack(int x, int y, int z) {
+        return (chunkView.getSunlight(x, y, z) & 0xFF) << SUNLIGHT_SHIFT
+                | (chunkView.getLight(x, y, z) & 0xFF) << LIGHT_SHIFT
+                | occlusionOf(chunkView.getBlock(x, y, z)) << OCCLUSION_SHIFT;
+    }
+
+    private void nextGeneration() {
+        generation++;
+        if (generation > MAX_GENERATION) {
+            Arrays.fill(blocks, 0);
+            generation = 1;
+        }
+    }
+
+    private int[] vertexData(int size) {
+        if (vertexData.length < size) {
+            vertexData = new int[Math.max(size, vertexData.length * 2)];
+        }
+        return vertexData;
+    }
+
+    private int[] indexData(int size) {
+        if (indexData.length < size) {
+            indexData = new int[Math.max(size, indexData.length * 2)];
+        }
+        return indexData;
+    }
+
+    private static int occlusionOf(Block block) {
+        if (!block.isShadowCasting()) {
+            return NOT_OCCLUDING;
+        }
+        return block.isTranslucent() ? OCCLUDING_BILLBOARD : OCCLUDING;
+    }
+
+    /**
+     * Rounds a vertex coordinate to the block containing it, the way {@link ChunkView#getBlock(float, float, float)} does.
+     */
+    private static int toBlock(float position) {
+        return TeraMath.floorToInt(position + 0.5f);
+    }
+}
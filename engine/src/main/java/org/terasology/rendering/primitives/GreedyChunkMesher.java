@@ -0,0 +1,528 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.rendering.primitives;
+
+import com.google.common.base.Stopwatch;
+import com.google.common.collect.Lists;
+import com.google.common.collect.MapMaker;
+import com.google.common.collect.Maps;
+import gnu.trove.map.TObjectIntMap;
+import gnu.trove.map.hash.TObjectIntHashMap;
+import org.terasology.math.Side;
+import org.terasology.monitoring.PerformanceMonitor;
+import org.terasology.math.geom.Vector3f;
+import org.terasology.math.geom.Vector3i;
+import org.terasology.math.geom.Vector4f;
+import org.terasology.world.ChunkView;
+import org.terasology.world.biomes.Biome;
+import org.terasology.world.block.Block;
+import org.terasology.world.block.BlockAppearance;
+import org.terasology.world.block.BlockPart;
+import org.terasology.world.block.shapes.BlockMeshPart;
+import org.terasology.world.chunks.ChunkConstants;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tessellates chunks, merging the coplanar faces of adjacent full-cube blocks into larger quads.
+ * <br><br>
+ * Faces are merged if they show the same tile with the same vertex flag and colour, and are uniformly lit, so that the
+ * merged quad is lit and coloured exactly like the faces it replaces. A merged quad carries texture coordinates counted
+ * in tiles and the index of its tile encoded into its vertex flags, from which the chunk shader repeats the tile across
+ * the quad. Blocks that are not opaque full cubes are tessellated by their own mesh generator.
+ * <br><br>
+ * The faces of a chunk are gathered in scratch arrays that are reused from chunk to chunk, so a mesher must only be used
+ * by a single thread at a time.
+ */
+public final class GreedyChunkMesher {
+
+    /**
+     * The vertex flags of a merged quad are its {@link ChunkVertexFlag} plus this stride times one more than the index of
+     * its tile in the atlas, counting the tiles row by row.
+     */
+    public static final int TILE_INDEX_STRIDE = 16;
+
+    // Keeps the encoded vertex flags exactly representable by the float they are uploaded as
+    private static final int MAX_TILE_INDEX = (1 << 24) / TILE_INDEX_STRIDE - 2;
+
+    private static final long NOT_UNIFORM = -1;
+    private static final float EPSILON = 1e-4f;
+    private static final float TEX_COORD_TOLERANCE = 1e-3f;
+
+    private static final int[] AXIS_STRIDES = {1, ChunkConstants.SIZE_X * ChunkConstants.SIZE_Z, ChunkConstants.SIZE_X};
+
+    private final int[][] faces = new int[Side.values().length][ChunkConstants.SIZE_X * ChunkConstants.SIZE_Y * ChunkConstants.SIZE_Z];
+    private final TObjectIntMap<FaceKind> kindIds = new TObjectIntHashMap<>();
+    private final List<FaceKind> kinds = Lists.newArrayList();
+    private final FaceKind probe = new FaceKind();
+
+    // Block parts live as long as the block family they belong to
+    private final Map<BlockMeshPart, QuadLayout> layouts = new MapMaker().weakKeys().makeMap();
+
+    private final Map<Side, Block> adjacentBlocks = Maps.newEnumMap(Side.class);
+    private final int[] min = new int[3];
+    private final int[] max = new int[3];
+    private final int[] blockPosition = new int[3];
+    private final float[] position = new float[3];
+
+    private float tileSize;
+    private int mergedFaceCount;
+    private int mergedQuadCount;
+
+    /**
+     * Tessellates the given layers of the chunk at the center of the view into the mesh.
+     *
+     * @param view             The view of the chunk and its neighbours.
+     * @param mesh             The mesh to add the vertex elements to.
+     * @param lighting         The builder the buffers of the mesh will be built with, already begun on the view. It is used
+     *                         to find the faces that are uniformly lit.
+     * @param relativeTileSize The size of a tile of the world atlas, relative to the size of the atlas.
+     * @param meshHeight       The number of layers to tessellate.
+     * @param verticalOffset   The lowest layer to tessellate.
+     */
+    void generateChunkMesh(ChunkView view, ChunkMesh mesh, ChunkMeshBufferBuilder lighting, float relativeTileSize,
+                           int meshHeight, int verticalOffset) {
+        tileSize = relativeTileSize;
+        mergedFaceCount = 0;
+        mergedQuadCount = 0;
+        min[0] = 0;
+        min[1] = verticalOffset;
+        min[2] = 0;
+        max[0] = ChunkConstants.SIZE_X;
+        max[1] = verticalOffset + meshHeight;
+        max[2] = ChunkConstants.SIZE_Z;
+
+        try {
+            for (int x = 0; x < ChunkConstants.SIZE_X; x++) {
+                for (int z = 0; z < ChunkConstants.SIZE_Z; z++) {
+                    for (int y = verticalOffset; y < verticalOffset + meshHeight; y++) {
+                        Block block = view.getBlock(x, y, z);
+                        if (block != null && block.getMeshGenerator() != null
+                                && !(isFullCube(block) && addFaces(view, mesh, lighting, block, x, y, z))) {
+                            block.getMeshGenerator().generateChunkMesh(view, mesh, x, y, z);
+                        }
+                    }
+                }
+            }
+
+            Stopwatch watch = Stopwatch.createStarted();
+            PerformanceMonitor.startActivity("MergeFaces");
+            for (Side side : Side.values()) {
+                mergeFaces(mesh, side);
+            }
+            PerformanceMonitor.endActivity();
+            mesh.setTimeToMergeFaces((int) watch.elapsed(TimeUnit.MILLISECONDS));
+        } catch (RuntimeException e) {
+            for (int[] facesOfSide : faces) {
+                Arrays.fill(facesOfSide, 0);
+            }
+            throw e;
+        } finally {
+            kindIds.clear();
+            kinds.clear();
+            adjacentBlocks.clear();
+        }
+        mesh.setMergedFaces(mergedFaceCount, mergedQuadCount);
+    }
+
+    private static boolean isFullCube(Block block) {
+        if (!(block.getMeshGenerator() instanceof BlockMeshGeneratorSingleShape) || block.isTranslucent() || block.isDoubleSided()
+                || block.isLiquid() || block.isWater() || block.isLava() || block.isIce() || block.isWaving()) {
+            return false;
+        }
+        for (Side side : Side.values()) {
+            if (!block.isFullSide(side)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gathers the visible faces of a full-cube block, the way {@link BlockMeshGeneratorSingleShape} selects them. Faces
+     * that can be merged are recorded for {@link #mergeFaces(ChunkMesh, Side)}, all others are added to the mesh right away.
+     *
+     * @return Whether the block was handled, false if its appearance has to be generated by its mesh generator.
+     */
+    private boolean addFaces(ChunkView view, ChunkMesh mesh, ChunkMeshBufferBuilder lighting, Block block, int x, int y, int z) {
+        for (Side side : Side.values()) {
+            Vector3i offset = side.getVector3i();
+            adjacentBlocks.put(side, view.getBlock(x + offset.x, y + offset.y, z + offset.z));
+        }
+        BlockAppearance appearance = block.getAppearance(adjacentBlocks);
+        if (appearance.getPart(BlockPart.CENTER) != null) {
+            return false;
+        }
+
+        Biome biome = view.getBiome(x, y, z);
+        for (Side side : Side.values()) {
+            BlockPart blockPart = BlockPart.fromSide(side);
+            BlockMeshPart part = appearance.getPart(blockPart);
+            if (part == null || !BlockMeshGeneratorSingleShape.isSideVisibleForBlockTypes(adjacentBlocks.get(side), block, side)) {
+                continue;
+            }
+            Vector4f colorOffset = block.calcColorOffsetFor(blockPart, biome);
+            ChunkVertexFlag flag = ChunkVertexFlag.NORMAL;
+            if (block.isGrass() && side != Side.TOP && side != Side.BOTTOM) {
+                flag = ChunkVertexFlag.COLOR_MASK;
+            }
+
+            // Faces that are not a unit quad facing their side, or that are not uniformly lit, are added on their own
+            QuadLayout layout = layoutOf(part);
+            long lightingKey = layout.side == side ? uniformLightingKey(lighting, part, x, y, z) : NOT_UNIFORM;
+            if (lightingKey == NOT_UNIFORM) {
+                part.appendTo(mesh, x, y, z, colorOffset, ChunkMesh.RenderType.OPAQUE, flag);
+            } else {
+                faces[side.ordinal()][indexOf(x, y, z)] = kindIdOf(part, layout, flag, colorOffset, lightingKey);
+            }
+        }
+        return true;
+    }
+
+    private static long uniformLightingKey(ChunkMeshBufferBuilder lighting, BlockMeshPart part, int x, int y, int z) {
+        long key = NOT_UNIFORM;
+        for (int i = 0; i < part.size(); i++) {
+            Vector3f vertex = part.getVertex(i);
+            Vector3f normal = part.getNormal(i);
+            long vertexKey = lighting.sampleLightingKey(vertex.x + x, vertex.y + y, vertex.z + z, normal.x, normal.y, normal.z);
+            if (i > 0 && vertexKey != key) {
+                return NOT_UNIFORM;
+            }
+            key = vertexKey;
+        }
+        return key;
+    }
+
+    private int kindIdOf(BlockMeshPart part, QuadLayout layout, ChunkVertexFlag flag, Vector4f colorOffset, long lightingKey) {
+        probe.set(part, layout, flag, colorOffset, lightingKey);
+        int id = kindIds.get(probe);
+        if (id == kindIds.getNoEntryValue()) {
+            FaceKind kind = new FaceKind();
+            kind.set(part, layout, flag, colorOffset, lightingKey);
+            kinds.add(kind);
+            id = kinds.size();
+            kindIds.put(kind, id);
+        }
+        return id;
+    }
+
+    /**
+     * Covers the recorded faces of the given side with as few quads as possible, growing each quad first along the one
+     * and then along the other axis of the slice it lies in, and consumes the faces.
+     */
+    private void mergeFaces(ChunkMesh mesh, Side side) {
+        int[] facesOfSide = faces[side.ordinal()];
+        int normalAxis = axisOf(side);
+        int uAxis = (normalAxis + 1) % 3;
+        int vAxis = (normalAxis + 2) % 3;
+        int uStride = AXIS_STRIDES[uAxis];
+        int vStride = AXIS_STRIDES[vAxis];
+
+        for (int n = min[normalAxis]; n < max[normalAxis]; n++) {
+            for (int v = min[vAxis]; v < max[vAxis]; v++) {
+                int u = min[uAxis];
+                while (u < max[uAxis]) {
+                    int origin = n * AXIS_STRIDES[normalAxis] + v * vStride + u * uStride;
+                    int kind = facesOfSide[origin];
+                    if (kind == 0) {
+                        u++;
+                        continue;
+                    }
+
+                    int width = 1;
+                    while (u + width < max[uAxis] && facesOfSide[origin + width * uStride] == kind) {
+                        width++;
+                    }
+                    int height = 1;
+                    growing:
+                    while (v + height < max[vAxis]) {
+                        int row = origin + height * vStride;
+                        for (int i = 0; i < width; i++) {
+                            if (facesOfSide[row + i * uStride] != kind) {
+                                break growing;
+                            }
+                        }
+                        height++;
+                    }
+
+                    for (int j = 0; j < height; j++) {
+                        for (int i = 0; i < width; i++) {
+                            facesOfSide[origin + j * vStride + i * uStride] = 0;
+                        }
+                    }
+                    blockPosition[normalAxis] = n;
+                    blockPosition[uAxis] = u;
+                    blockPosition[vAxis] = v;
+                    appendQuad(mesh, kinds.get(kind - 1), uAxis, vAxis, width, height);
+                    mergedFaceCount += width * height;
+                    mergedQuadCount++;
+                    u += width;
+                }
+            }
+        }
+    }
+
+    /**
+     * Appends the face of the given kind, stretched from the block at {@link #blockPosition} over width blocks along the u axis and height
+     * blocks along the v axis.
+     */
+    private void appendQuad(ChunkMesh mesh, FaceKind kind, int uAxis, int vAxis, int width, int height) {
+        BlockMeshPart part = kind.part;
+        if (width == 1 && height == 1) {
+            part.appendTo(mesh, blockPosition[0], blockPosition[1], blockPosition[2], kind.colorOffset, ChunkMesh.RenderType.OPAQUE, kind.flag);
+            return;
+        }
+
+        QuadLayout layout = kind.layout;
+        ChunkMesh.VertexElements elements = mesh.getVertexElements(ChunkMesh.RenderType.OPAQUE);
+        int texWidth = layout.texAlongUAxis ? width : height;
+        int texHeight = layout.texAlongUAxis ? height : width;
+        int flags = kind.flag.getValue() + TILE_INDEX_STRIDE * (layout.tileIndex + 1);
+
+        int nextIndex = elements.vertexCount;
+        for (int i = 0; i < part.size(); i++) {
+            Vector3f vertex = part.getVertex(i);
+            Vector3f normal = part.getNormal(i);
+            position[0] = vertex.x + blockPosition[0];
+            position[1] = vertex.y + blockPosition[1];
+            position[2] = vertex.z + blockPosition[2];
+            if (layout.cornerU[i]) {
+                position[uAxis] += width - 1;
+            }
+            if (layout.cornerV[i]) {
+                position[vAxis] += height - 1;
+            }
+
+            elements.tex.add(layout.texU[i] ? texWidth : 0);
+            elements.tex.add(layout.texV[i] ? texHeight : 0);
+            elements.color.add(kind.colorOffset.x);
+            elements.color.add(kind.colorOffset.y);
+            elements.color.add(kind.colorOffset.z);
+            elements.color.add(kind.colorOffset.w);
+            elements.vertices.add(position[0]);
+            elements.vertices.add(position[1]);
+            elements.vertices.add(position[2]);
+            elements.normals.add(normal.x);
+            elements.normals.add(normal.y);
+            elements.normals.add(normal.z);
+            elements.flags.add(flags);
+        }
+        elements.vertexCount += part.size();
+
+        for (int i = 0; i < part.indicesSize(); i++) {
+            elements.indices.add(part.getIndex(i) + nextIndex);
+        }
+    }
+
+    private QuadLayout layoutOf(BlockMeshPart part) {
+        QuadLayout layout = layouts.get(part);
+        if (layout == null || layout.tileSize != tileSize) {
+            layout = QuadLayout.of(part, tileSize);
+            layouts.put(part, layout);
+        }
+        return layout;
+    }
+
+    private static int indexOf(int x, int y, int z) {
+        return x * AXIS_STRIDES[0] + y * AXIS_STRIDES[1] + z * AXIS_STRIDES[2];
+    }
+
+    private static int axisOf(Side side) {
+        Vector3i direction = side.getVector3i();
+        if (direction.x != 0) {
+            return 0;
+        }
+        return direction.y != 0 ? 1 : 2;
+    }
+
+    private static float component(Vector3f vector, int axis) {
+        switch (axis) {
+            case 0:
+                return vector.x;
+            case 1:
+                return vector.y;
+            default:
+                return vector.z;
+        }
+    }
+
+    private static boolean isNear(float value, float expected, float tolerance) {
+        return Math.abs(value - expected) < tolerance;
+    }
+
+    /**
+     * The faces that can be merged with each other.
+     */
+    private static final class FaceKind {
+        private BlockMeshPart part;
+        private QuadLayout layout;
+        private ChunkVertexFlag flag;
+        private Vector4f colorOffset;
+        private long lightingKey;
+
+        void set(BlockMeshPart newPart, QuadLayout newLayout, ChunkVertexFlag newFlag, Vector4f newColorOffset, long newLightingKey) {
+            this.part = newPart;
+            this.layout = newLayout;
+            this.flag = newFlag;
+            this.colorOffset = newColorOffset;
+            this.lightingKey = newLightingKey;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (obj == this) {
+                return true;
+            }
+            if (obj instanceof FaceKind) {
+                FaceKind other = (FaceKind) obj;
+                return part == other.part && flag == other.flag && lightingKey == other.lightingKey
+                        && colorOffset.x == other.colorOffset.x && colorOffset.y == other.colorOffset.y
+                        && colorOffset.z == other.colorOffset.z && colorOffset.w == other.colorOffset.w;
+            }
+            return false;
+        }
+
+        @Override
+        public int hashCode() {
+            int result = System.identityHashCode(part);
+            result = 31 * result + flag.hashCode();
+            result = 31 * result + Float.hashCode(colorOffset.x);
+            result = 31 * result + Float.hashCode(colorOffset.y);
+            result = 31 * result + Float.hashCode(colorOffset.z);
+            result = 31 * result + Float.hashCode(colorOffset.w);
+            result = 31 * result + Long.hashCode(lightingKey);
+            return result;
+        }
+    }
+
+    /**
+     * Describes how the single quad of a block side is stretched over several blocks.
+     */
+    private static final class QuadLayout {
+        private final float tileSize;
+        // The side the quad faces, null if the part is not an axis aligned unit quad showing a whole tile
+        private final Side side;
+        private final int tileIndex;
+        // Whether the texture's horizontal coordinate runs along the u axis of the side, rather than along its v axis
+        private final boolean texAlongUAxis;
+        // Per vertex: whether it lies at the far end of the u and v axes, and at the far end of the tile horizontally and vertically
+        private final boolean[] cornerU;
+        private final boolean[] cornerV;
+        private final boolean[] texU;
+        private final boolean[] texV;
+
+        private QuadLayout(float tileSize, Side side, int tileIndex, boolean texAlongUAxis,
+                           boolean[] cornerU, boolean[] cornerV, boolean[] texU, boolean[] texV) {
+            this.tileSize = tileSize;
+            this.side = side;
+            this.tileIndex = tileIndex;
+            this.texAlongUAxis = texAlongUAxis;
+            this.cornerU = cornerU;
+            this.cornerV = cornerV;
+            this.texU = texU;
+            this.texV = texV;
+        }
+
+        private static QuadLayout notMergeable(float tileSize) {
+            return new QuadLayout(tileSize, null, 0, false, null, null, null, null);
+        }
+
+        static QuadLayout of(BlockMeshPart part, float tileSize) {
+            if (part.size() != 4 || part.indicesSize() != 6) {
+                return notMergeable(tileSize);
+            }
+
+            Side side = Side.inDirection(part.getNormal(0));
+            Vector3i direction = side.getVector3i();
+            int normalAxis = axisOf(side);
+            int uAxis = (normalAxis + 1) % 3;
+            int vAxis = (normalAxis + 2) % 3;
+            float minU = Float.POSITIVE_INFINITY;
+            float minV = Float.POSITIVE_INFINITY;
+            float maxU = Float.NEGATIVE_INFINITY;
+            float maxV = Float.NEGATIVE_INFINITY;
+
+            boolean[] cornerU = new boolean[4];
+            boolean[] cornerV = new boolean[4];
+            int corners = 0;
+            for (int i = 0; i < 4; i++) {
+                Vector3f vertex = part.getVertex(i);
+                Vector3f normal = part.getNormal(i);
+                if (!isNear(normal.x, direction.x, EPSILON) || !isNear(normal.y, direction.y, EPSILON) || !isNear(normal.z, direction.z, EPSILON)
+                        || !isNear(component(vertex, normalAxis), 0.5f * (direction.x + direction.y + direction.z), EPSILON)
+                        || !isNear(Math.abs(component(vertex, uAxis)), 0.5f, EPSILON)
+                        || !isNear(Math.abs(component(vertex, vAxis)), 0.5f, EPSILON)) {
+                    return notMergeable(tileSize);
+                }
+                cornerU[i] = component(vertex, uAxis) > 0;
+                cornerV[i] = component(vertex, vAxis) > 0;
+                corners |= 1 << ((cornerU[i] ? 1 : 0) + (cornerV[i] ? 2 : 0));
+
+                minU = Math.min(minU, part.getTexCoord(i).x);
+                minV = Math.min(minV, part.getTexCoord(i).y);
+                maxU = Math.max(maxU, part.getTexCoord(i).x);
+                maxV = Math.max(maxV, part.getTexCoord(i).y);
+            }
+            if (corners != 0xF) {
+                return notMergeable(tileSize);
+            }
+
+            // The texture must show exactly one tile, inset by the border every tile is mapped with
+            float tolerance = tileSize * TEX_COORD_TOLERANCE;
+            float extent = tileSize * (1 - 2 * BlockMeshPart.BORDER);
+            if (!isNear(maxU - minU, extent, tolerance) || !isNear(maxV - minV, extent, tolerance)) {
+                return notMergeable(tileSize);
+            }
+            float column = (minU - BlockMeshPart.BORDER * tileSize) / tileSize;
+            float row = (minV - BlockMeshPart.BORDER * tileSize) / tileSize;
+            int tilesPerRow = Math.round(1 / tileSize);
+            int tileIndex = Math.round(row) * tilesPerRow + Math.round(column);
+            if (!isNear(column, Math.round(column), TEX_COORD_TOLERANCE) || !isNear(row, Math.round(row), TEX_COORD_TOLERANCE)
+                    || tileIndex < 0 || tileIndex > MAX_TILE_INDEX) {
+                return notMergeable(tileSize);
+            }
+
+            boolean[] texU = new boolean[4];
+            boolean[] texV = new boolean[4];
+            for (int i = 0; i < 4; i++) {
+                texU[i] = part.getTexCoord(i).x > minU + extent / 2;
+                texV[i] = part.getTexCoord(i).y > minV + extent / 2;
+            }
+            boolean texAlongUAxis;
+            if (dependsOn(texU, cornerU) && dependsOn(texV, cornerV)) {
+                texAlongUAxis = true;
+            } else if (dependsOn(texU, cornerV) && dependsOn(texV, cornerU)) {
+                texAlongUAxis = false;
+            } else {
+                return notMergeable(tileSize);
+            }
+            return new QuadLayout(tileSize, side, tileIndex, texAlongUAxis, cornerU, cornerV, texU, texV);
+        }
+
+        private static boolean dependsOn(boolean[] tex, boolean[] corner) {
+            boolean same = true;
+            boolean opposite = true;
+            for (int i = 0; i < tex.length; i++) {
+                same &= tex[i] == corner[i];
+                opposite &= tex[i] != corner[i];
+            }
+            return same || opposite;
+        }
+    }
+}
@@ -25,6 +25,7 @@
 import org.terasology.monitoring.chunk.ChunkMonitor;
 import org.terasology.rendering.primitives.ChunkMesh;
 import org.terasology.rendering.primitives.ChunkTessellator;
+import org.terasology.utilities.concurrency.TaskLane;
 import org.terasology.utilities.concurrency.TaskMaster;
 import org.terasology.world.ChunkView;
 import org.terasology.world.WorldProvider;
@@ -45,8 +46,6 @@
  *
  */
 public final class ChunkMeshUpdateManager {
-    private static final int NUM_TASK_THREADS = 8;
-
     private static final Logger logger = LoggerFactory.getLogger(ChunkMeshUpdateManager.class);
 
     /* CHUNK UPDATES */
@@ -70,7 +69,7 @@ public ChunkMeshUpdateManager(ChunkTessellator tessellator, WorldProvider worldP
         this.tessellator = tessellator;
         this.worldProvider = worldProvider;
 
-        chunkUpdater = TaskMaster.createDynamicPriorityTaskMaster("Chunk-Updater", NUM_TASK_THREADS, new ChunkUpdaterComparator());
+        chunkUpdater = TaskMaster.createSharedPriorityTaskMaster("Chunk-Updater", TaskLane.HIGH, new ChunkUpdaterComparator());
     }
 
     /**
@@ -94,13 +93,16 @@ public boolean queueChunkUpdate(RenderableChunk chunk) {
     /**
      * The method tells the chunk mesh update manager where the camera is, so that is able to prioritize chunks near the
      * camera. It stores the values in volatile variables so that the change is visible to the chunk updating threads
-     * immediately.
+     * immediately, and has the queued updates reordered once the camera enters another chunk.
      */
     public void setCameraPosition(Vector3f cameraPosition) {
         Vector3i chunkPos = ChunkMath.calcChunkPos(cameraPosition);
-        cameraChunkPosX = chunkPos.x;
-        cameraChunkPosY = chunkPos.y;
-        cameraChunkPosZ = chunkPos.z;
+        if (chunkPos.x != cameraChunkPosX || chunkPos.y != cameraChunkPosY || chunkPos.z != cameraChunkPosZ) {
+            cameraChunkPosX = chunkPos.x;
+            cameraChunkPosY = chunkPos.y;
+            cameraChunkPosZ = chunkPos.z;
+            chunkUpdater.reprioritize();
+        }
     }
 
     public List<RenderableChunk> availableChunksForUpdate() {
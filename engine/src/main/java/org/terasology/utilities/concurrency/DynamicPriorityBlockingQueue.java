@@ -15,22 +15,32 @@
  */
 package org.terasology.utilities.concurrency;
 
-import com.google.common.collect.Lists;
-
 import java.util.AbstractQueue;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.Iterator;
-import java.util.List;
-import java.util.ListIterator;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.ReentrantLock;
 
+/**
+ * A blocking priority queue for elements whose priority changes over time, e.g. chunk tasks ordered by their distance
+ * to the player.
+ * <br><br>
+ * Elements are kept in a binary heap, so taking the least element costs O(log n) comparisons. As the comparator's
+ * results may change after elements were added, the heap order can become stale. Call {@link #reprioritize()} whenever
+ * the priorities have changed (e.g. the player moved to another chunk); the heap is then rebuilt in one O(n) pass
+ * before the next element is taken, instead of re-scoring every element on every take.
+ */
 public class DynamicPriorityBlockingQueue<T> extends AbstractQueue<T> implements BlockingQueue<T> {
+    private static final int INITIAL_CAPACITY = 64;
+
     private Comparator<T> comparator;
-    private List<T> elements = Lists.newLinkedList();
+    private Object[] heap = new Object[INITIAL_CAPACITY];
+    private int size;
+    private boolean stale;
 
     /**
      * Lock used for all public operations
@@ -49,6 +59,19 @@ public DynamicPriorityBlockingQueue(Comparator<T> comparator) {
         notEmpty = lock.newCondition();
     }
 
+    /**
+     * Signals that the priorities of the queued elements have changed. The queue is reordered lazily, once, before the
+     * next element is removed or peeked at.
+     */
+    public void reprioritize() {
+        lock.lock();
+        try {
+            stale = true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
     @Override
     public boolean add(T t) {
         return offer(t);
@@ -66,9 +89,19 @@ public boolean offer(T t, long timeout, TimeUnit unit) throws InterruptedExcepti
 
     @Override
     public boolean offer(T t) {
+        if (t == null) {
+            throw new NullPointerException();
+        }
         lock.lock();
         try {
-            elements.add(t);
+            if (size == heap.length) {
+                heap = Arrays.copyOf(heap, size * 2);
+            }
+            heap[size] = t;
+            if (!stale) {
+                siftUp(size, t);
+            }
+            size++;
             notEmpty.signal();
             return true;
         } finally {
@@ -121,26 +154,77 @@ public T poll(long timeout, TimeUnit unit) throws InterruptedException {
     public T peek() {
         lock.lock();
         try {
-            return elements.size() == 0 ? null : elements.get(0);
+            if (size == 0) {
+                return null;
+            }
+            heapifyIfStale();
+            return elementAt(0);
         } finally {
             lock.unlock();
         }
     }
 
     private T dequeue() {
-        if (elements.size() == 0) {
+        if (size == 0) {
             return null;
         }
-        T smallest = elements.remove(0);
-        ListIterator<T> iterator = elements.listIterator();
-        while (iterator.hasNext()) {
-            T next = iterator.next();
-            if (comparator.compare(smallest, next) > 0) {
-                iterator.set(smallest);
-                smallest = next;
+        heapifyIfStale();
+        T result = elementAt(0);
+        int last = --size;
+        T moved = elementAt(last);
+        heap[last] = null;
+        if (last > 0) {
+            siftDown(0, moved);
+        }
+        return result;
+    }
+
+    private void heapifyIfStale() {
+        if (stale) {
+            for (int i = (size >>> 1) - 1; i >= 0; i--) {
+                siftDown(i, elementAt(i));
             }
+            stale = false;
         }
-        return smallest;
+    }
+
+    private void siftUp(int index, T element) {
+        int current = index;
+        while (current > 0) {
+            int parent = (current - 1) >>> 1;
+            T parentElement = elementAt(parent);
+            if (comparator.compare(element, parentElement) >= 0) {
+                break;
+            }
+            heap[current] = parentElement;
+            current = parent;
+        }
+        heap[current] = element;
+    }
+
+    private void siftDown(int index, T element) {
+        int current = index;
+        int half = size >>> 1;
+        while (current < half) {
+            int child = (current << 1) + 1;
+            T childElement = elementAt(child);
+            int right = child + 1;
+            if (right < size && comparator.compare(childElement, elementAt(right)) > 0) {
+                child = right;
+                childElement = elementAt(right);
+            }
+            if (comparator.compare(element, childElement) <= 0) {
+                break;
+            }
+            heap[current] = childElement;
+            current = child;
+        }
+        heap[current] = element;
+    }
+
+    @SuppressWarnings("unchecked")
+    private T elementAt(int index) {
+        return (T) heap[index];
     }
 
     @Override
@@ -150,17 +234,7 @@ public int remainingCapacity() {
 
     @Override
     public int drainTo(Collection<? super T> c) {
-        lock.lock();
-        try {
-            int count = 0;
-            while (!elements.isEmpty()) {
-                c.add(elements.remove(0));
-                count++;
-            }
-            return count;
-        } finally {
-            lock.unlock();
-        }
+        return drainTo(c, Integer.MAX_VALUE);
     }
 
     @Override
@@ -168,8 +242,8 @@ public int drainTo(Collection<? super T> c, int maxElements) {
         lock.lock();
         try {
             int count = 0;
-            while (!elements.isEmpty() && count < maxElements) {
-                c.add(elements.remove(0));
+            while (size > 0 && count < maxElements) {
+                c.add(dequeue());
                 count++;
             }
             return count;
@@ -182,7 +256,7 @@ public int drainTo(Collection<? super T> c, int maxElements) {
     public int size() {
         lock.lock();
         try {
-            return elements.size();
+            return size;
         } finally {
             lock.unlock();
         }
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.utilities.concurrency;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A single work-stealing thread pool shared by all task masters created through
+ * {@link TaskMaster#createSharedPriorityTaskMaster}, so that the number of worker threads matches the machine rather
+ * than the number of task masters.
+ * <br><br>
+ * Each task master keeps its own queue. Offering a task schedules one unit of work on the pool; when that unit runs,
+ * it takes the next task from the highest {@link TaskLane} with queued tasks, rotating between the task masters of a
+ * lane. Priorities are therefore decided at the time a worker becomes free, not at the time a task was offered.
+ */
+public final class SharedTaskPool {
+    private static final Logger logger = LoggerFactory.getLogger(SharedTaskPool.class);
+
+    private static int parallelism;
+    private static SharedTaskPool instance;
+
+    private final ForkJoinPool pool;
+    private final Lane[] lanes = new Lane[TaskLane.values().length];
+
+    private SharedTaskPool(int threads) {
+        for (int i = 0; i < lanes.length; ++i) {
+            lanes[i] = new Lane();
+        }
+        pool = new ForkJoinPool(threads, new WorkerThreadFactory(), null, true);
+        logger.info("Started shared task pool with {} threads", threads);
+    }
+
+    /**
+     * Sets the number of worker threads of the shared pool. Must be called before the first shared task master is
+     * created to have an effect.
+     *
+     * @param threads The number of threads, or zero or less for one thread per available processor
+     */
+    public static synchronized void setParallelism(int threads) {
+        if (instance != null && instance.pool.getParallelism() != effectiveParallelism(threads)) {
+            logger.warn("Shared task pool is already running with {} threads, ignoring new thread count {}",
+                    instance.pool.getParallelism(), threads);
+            return;
+        }
+        parallelism = threads;
+    }
+
+    static synchronized SharedTaskPool getInstance() {
+        if (instance == null) {
+            instance = new SharedTaskPool(effectiveParallelism(parallelism));
+        }
+        return instance;
+    }
+
+    private static int effectiveParallelism(int threads) {
+        return threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    }
+
+    void register(TaskMaster<?> taskMaster, TaskLane lane) {
+        lanes[lane.ordinal()].add(taskMaster);
+    }
+
+    void unregister(TaskMaster<?> taskMaster, TaskLane lane) {
+        lanes[lane.ordinal()].remove(taskMaster);
+    }
+
+    /**
+     * Schedules a worker to process the next queued task of any registered task master.
+     */
+    void schedule() {
+        AccessController.doPrivileged((PrivilegedAction<Object>) () -> {
+            pool.execute(this::runNext);
+            return null;
+        });
+    }
+
+    private void runNext() {
+        for (Lane lane : lanes) {
+            if (lane.runNext()) {
+                return;
+            }
+        }
+    }
+
+    private static final class Lane {
+        private volatile TaskMaster<?>[] taskMasters = new TaskMaster<?>[0];
+        private final AtomicInteger next = new AtomicInteger();
+
+        synchronized void add(TaskMaster<?> taskMaster) {
+            taskMasters = Arrays.copyOf(taskMasters, taskMasters.length + 1);
+            taskMasters[taskMasters.length - 1] = taskMaster;
+        }
+
+        synchronized void remove(TaskMaster<?> taskMaster) {
+            TaskMaster<?>[] remaining = Arrays.stream(taskMasters).filter(t -> t != taskMaster).toArray(TaskMaster<?>[]::new);
+            taskMasters = remaining;
+        }
+
+        boolean runNext() {
+            TaskMaster<?>[] snapshot = taskMasters;
+            if (snapshot.length == 0) {
+                return false;
+            }
+            int start = Math.floorMod(next.getAndIncrement(), snapshot.length);
+            for (int i = 0; i < snapshot.length; ++i) {
+                if (snapshot[(start + i) % snapshot.length].runQueuedTask()) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private static final class WorkerThreadFactory implements ForkJoinPool.ForkJoinWorkerThreadFactory {
+        private final AtomicInteger threadCount = new AtomicInteger();
+
+        @Override
+        public ForkJoinWorkerThread newThread(ForkJoinPool forkJoinPool) {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(forkJoinPool);
+            thread.setName("Task-Pool-" + threadCount.getAndIncrement());
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        }
+    }
+}
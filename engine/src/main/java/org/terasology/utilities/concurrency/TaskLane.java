@@ -0,0 +1,32 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.utilities.concurrency;
+
+/**
+ * The priority lanes of the {@link SharedTaskPool}. When the pool is busy, queued tasks of task masters in a higher
+ * lane are always processed before those of a lower lane.
+ */
+public enum TaskLane {
+    /**
+     * Work the player is directly waiting on, e.g. meshes of chunks in view.
+     */
+    HIGH,
+    NORMAL,
+    /**
+     * Work that may be deferred arbitrarily long.
+     */
+    LOW
+}
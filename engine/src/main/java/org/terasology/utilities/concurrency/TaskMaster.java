@@ -19,6 +19,11 @@
 import com.google.common.collect.Lists;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.terasology.engine.GameThread;
+import org.terasology.monitoring.ThreadActivity;
+import org.terasology.monitoring.ThreadMonitor;
+import org.terasology.monitoring.impl.TaskQueueMonitor;
+import org.terasology.monitoring.impl.TaskQueueMonitorImpl;
 
 import java.security.AccessController;
 import java.security.PrivilegedAction;
@@ -41,6 +46,9 @@
  * the queue. In most cases the simple FIFO TaskMaster is good enough. However, you can create a prioritized queue by
  * implementing {@link Comparable} in your {@link Task} implementations.
  * <p>
+ * Task masters created through {@link #createSharedPriorityTaskMaster(String, TaskLane, Comparator)} do not own any
+ * threads; their tasks are processed by the {@link SharedTaskPool} instead.
+ * <p>
  * When you create a TaskMaster, it is important to shut it down after you're finished with it, generally in the
  * shutdown method of a ComponentSystem. A basic usage example follows:
  * <p>
@@ -60,11 +68,16 @@
 public final class TaskMaster<T extends Task> {
     private static final Logger logger = LoggerFactory.getLogger(TaskMaster.class);
 
+    private static final long SHUTDOWN_TIMEOUT_MS = 20000;
+    private static final long SHUTDOWN_POLL_INTERVAL_MS = 10;
+
     private BlockingQueue<T> taskQueue;
     private ExecutorService executorService;
     private int threads;
-    private boolean running;
+    private volatile boolean running;
     private String name;
+    private final TaskLane lane;
+    private final TaskQueueMonitorImpl monitor;
 
     private TaskMaster(String name, int threads, BlockingQueue<T> queue) {
         this.name = name;
@@ -72,7 +85,17 @@ private TaskMaster(String name, int threads, BlockingQueue<T> queue) {
         if (threads <= 0) {
             throw new IllegalArgumentException("Must have at least one thread.");
         }
+        this.lane = null;
         taskQueue = queue;
+        monitor = new TaskQueueMonitorImpl(name, queue);
+        restart();
+    }
+
+    private TaskMaster(String name, TaskLane lane, BlockingQueue<T> queue) {
+        this.name = name;
+        this.lane = lane;
+        taskQueue = queue;
+        monitor = new TaskQueueMonitorImpl(name, queue);
         restart();
     }
 
@@ -99,6 +122,15 @@ public static <T extends Task> TaskMaster<T> createDynamicPriorityTaskMaster(Str
         return new TaskMaster<>(name, threads, new DynamicPriorityBlockingQueue<>(comparator));
     }
 
+    /**
+     * Creates a task master without threads of its own, whose tasks are processed by the {@link SharedTaskPool}.
+     * Tasks are ordered as in {@link #createDynamicPriorityTaskMaster(String, int, Comparator)}, and compete with the
+     * tasks of other shared task masters according to their lane.
+     */
+    public static <T extends Task> TaskMaster<T> createSharedPriorityTaskMaster(String name, TaskLane lane, Comparator<T> comparator) {
+        return new TaskMaster<>(name, lane, new DynamicPriorityBlockingQueue<>(comparator));
+    }
+
     /**
      * Offers a task to this task master. This does not block, but may fail if the queue is full.
      *
@@ -106,7 +138,11 @@ public static <T extends Task> TaskMaster<T> createDynamicPriorityTaskMaster(Str
      * @return Whether the task was successfully added to the queue.
      */
     public boolean offer(T task) {
-        return taskQueue.offer(task);
+        if (taskQueue.offer(task)) {
+            scheduleShared();
+            return true;
+        }
+        return false;
     }
 
     /**
@@ -116,6 +152,18 @@ public boolean offer(T task) {
      */
     public void put(T task) throws InterruptedException {
         taskQueue.put(task);
+        scheduleShared();
+    }
+
+    /**
+     * Signals that the priorities of the queued tasks have changed. Only has an effect on task masters created through
+     * {@link #createDynamicPriorityTaskMaster(String, int, Comparator)}, whose queue is then reordered before the next
+     * task is taken.
+     */
+    public void reprioritize() {
+        if (taskQueue instanceof DynamicPriorityBlockingQueue) {
+            ((DynamicPriorityBlockingQueue<T>) taskQueue).reprioritize();
+        }
     }
 
     public void shutdown(T shutdownTask, boolean awaitComplete) {
@@ -125,6 +173,15 @@ public void shutdown(T shutdownTask, boolean awaitComplete) {
         if (!awaitComplete) {
             taskQueue.drainTo(Lists.newArrayList());
         }
+        if (lane != null) {
+            if (awaitComplete) {
+                awaitSharedTasks();
+            }
+            SharedTaskPool.getInstance().unregister(this, lane);
+            ThreadMonitor.unregisterTaskQueue(monitor);
+            running = false;
+            return;
+        }
         for (int i = 0; i < threads; ++i) {
             try {
                 taskQueue.offer(shutdownTask, 250, TimeUnit.MILLISECONDS);
@@ -145,19 +202,85 @@ public void shutdown(T shutdownTask, boolean awaitComplete) {
             }
             return null;
         });
+        ThreadMonitor.unregisterTaskQueue(monitor);
         running = false;
     }
 
     public void restart() {
         if (!running) {
-            executorService = Executors.newFixedThreadPool(threads);
-            for (int i = 0; i < threads; ++i) {
-                executorService.execute(new TaskProcessor<>(name + "-" + i, taskQueue));
+            if (lane != null) {
+                SharedTaskPool pool = SharedTaskPool.getInstance();
+                pool.register(this, lane);
+                for (int i = taskQueue.size(); i > 0; --i) {
+                    pool.schedule();
+                }
+            } else {
+                executorService = Executors.newFixedThreadPool(threads);
+                for (int i = 0; i < threads; ++i) {
+                    executorService.execute(new TaskProcessor<>(name + "-" + i, taskQueue, monitor));
+                }
             }
+            ThreadMonitor.registerTaskQueue(monitor);
             running = true;
         }
     }
 
+    /**
+     * @return The queue depth and throughput of this task master
+     */
+    public TaskQueueMonitor getMonitor() {
+        return monitor;
+    }
+
+    /**
+     * Runs the next queued task of a shared task master on the calling pool thread.
+     *
+     * @return Whether a task was queued
+     */
+    boolean runQueuedTask() {
+        T task = taskQueue.poll();
+        if (task == null) {
+            return false;
+        }
+        monitor.taskStarted();
+        try (ThreadActivity ignored = ThreadMonitor.startThreadActivity(task.getName())) {
+            task.run();
+        } catch (RuntimeException e) {
+            ThreadMonitor.addError(e);
+            logger.error("Error in task of {}", name, e);
+        } catch (Error e) {
+            GameThread.asynch(() -> {
+                throw e;  // re-throw on game thread to terminate the entire application
+            });
+        } finally {
+            monitor.taskCompleted();
+        }
+        return true;
+    }
+
+    private void scheduleShared() {
+        if (lane != null && running) {
+            SharedTaskPool.getInstance().schedule();
+        }
+    }
+
+    private void awaitSharedTasks() {
+        long deadline = System.currentTimeMillis() + SHUTDOWN_TIMEOUT_MS;
+        while (!taskQueue.isEmpty() || monitor.getActiveTasks() > 0) {
+            if (System.currentTimeMillis() > deadline) {
+                logger.warn("Timed out awaiting completion of {} tasks", name);
+                return;
+            }
+            try {
+                Thread.sleep(SHUTDOWN_POLL_INTERVAL_MS);
+            } catch (InterruptedException e) {
+                logger.warn("Interrupted awaiting completion of {} tasks", name);
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
     /**
      * Get the {@link ExecutorService} underlying this TaskMaster. Note that by default the service will have a
      * {@link TaskProcessor} enqueued for each thread. In order to use the ExecutorService directly you will need to
@@ -166,7 +289,8 @@ public void restart() {
      * {@code
      * taskMaster.offer(new ShutdownTask());
      * }
-     * @return the {@link ExecutorService} used by this instance
+     * @return the {@link ExecutorService} used by this instance, or null if its tasks are processed by the
+     * {@link SharedTaskPool}
      */
     public ExecutorService getExecutorService() {
         return executorService;
@@ -21,6 +21,7 @@
 import org.terasology.engine.GameThread;
 import org.terasology.monitoring.ThreadActivity;
 import org.terasology.monitoring.ThreadMonitor;
+import org.terasology.monitoring.impl.TaskQueueMonitorImpl;
 
 import java.util.concurrent.BlockingQueue;
 
@@ -32,10 +33,12 @@
 
     private String name;
     private BlockingQueue<T> queue;
+    private TaskQueueMonitorImpl monitor;
 
-     TaskProcessor(String name, BlockingQueue<T> taskQueue) {
+     TaskProcessor(String name, BlockingQueue<T> taskQueue, TaskQueueMonitorImpl monitor) {
         this.queue = taskQueue;
         this.name = name;
+        this.monitor = monitor;
     }
 
     @Override
@@ -46,8 +49,11 @@ public void run() {
         while (running) {
             try {
                 T task = queue.take();
+                monitor.taskStarted();
                 try (ThreadActivity ignored = ThreadMonitor.startThreadActivity(task.getName())) {
                     task.run();
+                } finally {
+                    monitor.taskCompleted();
                 }
                 if (task.isTerminateSignal()) {
                     running = false;
@@ -19,6 +19,9 @@
 import org.terasology.math.geom.Vector3i;
 import org.terasology.world.biomes.Biome;
 import org.terasology.world.block.Block;
+import org.terasology.world.propagation.BlockChange;
+
+import java.util.Collection;
 
 /**
  */
@@ -26,6 +29,17 @@ public interface WorldChangeListener {
 
     void onBlockChanged(Vector3i pos, Block newBlock, Block originalBlock);
 
+    /**
+     * Called once for all blocks changed by a bulk edit, instead of {@link #onBlockChanged} for every block.
+     *
+     * @param changes The changed blocks, each block appears once
+     */
+    default void onBlocksChanged(Collection<BlockChange> changes) {
+        for (BlockChange change : changes) {
+            onBlockChanged(change.getPosition(), change.getTo(), change.getFrom());
+        }
+    }
+
     void onBiomeChanged(Vector3i pos, Biome newBiome, Biome originalBiome);
 
 }
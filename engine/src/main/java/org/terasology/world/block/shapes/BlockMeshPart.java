@@ -30,7 +30,11 @@
  *
  */
 public class BlockMeshPart {
-    private static final float BORDER = 1f / 128f;
+    /**
+     * The fraction of a tile's width left as a border when mapping texture coordinates into it, so that neighbouring
+     * tiles of the atlas do not bleed in.
+     */
+    public static final float BORDER = 1f / 128f;
 
     private Vector3f[] vertices;
     private Vector3f[] normals;
@@ -39,4 +39,10 @@ public interface ManagedChunk extends CoreChunk {
 
     // TODO: Expose appropriate iterators, remove this method
     EntityData.ChunkStore.Builder encode();
+
+    /**
+     * @return a number that changes whenever the block, liquid or biome data of the chunk changes. Allows to check if
+     * data derived from the chunk, like an encoded copy, is still up to date.
+     */
+    int getContentVersion();
 }
@@ -0,0 +1,343 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.world.chunks.blockdata;
+
+import com.google.common.base.Preconditions;
+import gnu.trove.map.hash.TShortIntHashMap;
+import org.terasology.world.chunks.deflate.TeraVisitingDeflator;
+
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.nio.ShortBuffer;
+import java.util.Arrays;
+
+/**
+ * TeraPaletteArray16Bit implements a palette compressed array with elements of 16 bit size.
+ * Its elements are in the range -32'768 through +32'767. It stores every distinct value once in a palette and
+ * the palette index of each element in as few bits as the palette size requires (1 to 16 bits per element).
+ * Indices are packed into longs back to back and may span two longs.
+ * <br><br>
+ * Adding a value to a full palette repacks all elements with one more bit per element. The palette never shrinks
+ * by itself, deflating the array drops values that are no longer used.
+ * <br><br>
+ * The array is not thread safe: a write may replace the packed data, the bits per element and the palette one after
+ * another, so a concurrent reader can combine them inconsistently. Chunks never write to a palette array, they switch
+ * to a dense copy on the first edit, so the arrays produced by deflation are only read once they are in use.
+ *
+ */
+public class TeraPaletteArray16Bit extends TeraDenseArray {
+
+    private static final int LINEAR_SEARCH_LIMIT = 16;
+    private static final int NO_INDEX = -1;
+
+    private short[] palette;
+    private int paletteSize;
+    private int bitsPerEntry;
+    private long[] data;
+    private TShortIntHashMap paletteIndices;
+
+    public TeraPaletteArray16Bit() {
+        super();
+    }
+
+    public TeraPaletteArray16Bit(int sizeX, int sizeY, int sizeZ) {
+        super(sizeX, sizeY, sizeZ, true);
+    }
+
+    public TeraPaletteArray16Bit(int sizeX, int sizeY, int sizeZ, short[] values) {
+        super(sizeX, sizeY, sizeZ, false);
+        Preconditions.checkNotNull(values);
+        Preconditions.checkArgument(values.length == getSizeXYZ(), "The length of parameter 'values' has to be " + getSizeXYZ() + " but is " + values.length);
+        palette = new short[LINEAR_SEARCH_LIMIT];
+        for (short value : values) {
+            if (indexOf(value) == NO_INDEX) {
+                addToPalette(value);
+            }
+        }
+        bitsPerEntry = bitsFor(paletteSize);
+        data = new long[dataLength(getSizeXYZ(), bitsPerEntry)];
+        for (int i = 0; i < values.length; i++) {
+            pack(data, bitsPerEntry, i, indexOf(values[i]));
+        }
+    }
+
+    public TeraPaletteArray16Bit(int sizeX, int sizeY, int sizeZ, short[] palette, int bitsPerEntry, long[] data) {
+        super(sizeX, sizeY, sizeZ, false);
+        this.palette = Preconditions.checkNotNull(palette);
+        this.data = Preconditions.checkNotNull(data);
+        Preconditions.checkArgument(bitsPerEntry >= 1 && bitsPerEntry <= 16, "The parameter 'bitsPerEntry' has to be between 1 and 16 but is " + bitsPerEntry);
+        Preconditions.checkArgument(palette.length > 0 && palette.length <= 1 << bitsPerEntry,
+                "The length of parameter 'palette' has to be between 1 and " + (1 << bitsPerEntry) + " but is " + palette.length);
+        Preconditions.checkArgument(data.length == dataLength(getSizeXYZ(), bitsPerEntry),
+                "The length of parameter 'data' has to be " + dataLength(getSizeXYZ(), bitsPerEntry) + " but is " + data.length);
+        this.paletteSize = palette.length;
+        this.bitsPerEntry = bitsPerEntry;
+        if (paletteSize > LINEAR_SEARCH_LIMIT) {
+            createPaletteIndices();
+        }
+    }
+
+    public TeraPaletteArray16Bit(TeraArray in) {
+        super(in);
+    }
+
+    @Override
+    protected void initialize() {
+        palette = new short[LINEAR_SEARCH_LIMIT];
+        paletteSize = 1;
+        bitsPerEntry = 1;
+        data = new long[dataLength(getSizeXYZ(), bitsPerEntry)];
+        paletteIndices = null;
+    }
+
+    /**
+     * @return the number of bits needed to address the given number of palette entries, at least 1
+     */
+    public static int bitsFor(int paletteSize) {
+        return Math.max(1, 32 - Integer.numberOfLeadingZeros(paletteSize - 1));
+    }
+
+    /**
+     * @return the estimated memory consumption of a palette array with the given number of elements and palette entries
+     */
+    public static int estimateMemoryConsumptionInBytes(int sizeXYZ, int paletteSize) {
+        return 32 + paletteSize * 2 + dataLength(sizeXYZ, bitsFor(paletteSize)) * 8;
+    }
+
+    /**
+     * @return the palette index stored for the element at the given index
+     */
+    public static int unpack(long[] data, int bitsPerEntry, int index) {
+        int bitIndex = index * bitsPerEntry;
+        int word = bitIndex >>> 6;
+        int offset = bitIndex & 63;
+        long value = data[word] >>> offset;
+        if (offset + bitsPerEntry > 64) {
+            value |= data[word + 1] << (64 - offset);
+        }
+        return (int) (value & ((1L << bitsPerEntry) - 1));
+    }
+
+    private static void pack(long[] data, int bitsPerEntry, int index, int paletteIndex) {
+        int bitIndex = index * bitsPerEntry;
+        int word = bitIndex >>> 6;
+        int offset = bitIndex & 63;
+        long mask = (1L << bitsPerEntry) - 1;
+        data[word] = data[word] & ~(mask << offset) | ((long) paletteIndex << offset);
+        if (offset + bitsPerEntry > 64) {
+            int shift = 64 - offset;
+            data[word + 1] = data[word + 1] & ~(mask >>> shift) | ((long) paletteIndex >>> shift);
+        }
+    }
+
+    private static int dataLength(int sizeXYZ, int bitsPerEntry) {
+        return (sizeXYZ * bitsPerEntry + 63) >>> 6;
+    }
+
+    public int getPaletteSize() {
+        return paletteSize;
+    }
+
+    public int getBitsPerEntry() {
+        return bitsPerEntry;
+    }
+
+    @Override
+    public TeraArray copy() {
+        return new TeraPaletteArray16Bit(getSizeX(), getSizeY(), getSizeZ(), Arrays.copyOf(palette, paletteSize), bitsPerEntry, data.clone());
+    }
+
+    @Override
+    public TeraArray deflate(TeraVisitingDeflator deflator) {
+        return Preconditions.checkNotNull(deflator).deflatePaletteArray16Bit(Arrays.copyOf(palette, paletteSize), bitsPerEntry, data,
+                getSizeX(), getSizeY(), getSizeZ());
+    }
+
+    @Override
+    public int getEstimatedMemoryConsumptionInBytes() {
+        if (data == null) {
+            return 4;
+        }
+        int result = 32 + palette.length * 2 + data.length * 8;
+        if (paletteIndices != null) {
+            result += 32 + paletteIndices.capacity() * 6;
+        }
+        return result;
+    }
+
+    @Override
+    public int getElementSizeInBits() {
+        return 16;
+    }
+
+    @Override
+    public int get(int x, int y, int z) {
+        return palette[unpack(data, bitsPerEntry, pos(x, y, z))];
+    }
+
+    @Override
+    public int set(int x, int y, int z, int value) {
+        int pos = pos(x, y, z);
+        int old = palette[unpack(data, bitsPerEntry, pos)];
+        if (old != (short) value) {
+            // looking up the index may repack the data, so it has to happen first
+            int index = paletteIndexFor((short) value);
+            pack(data, bitsPerEntry, pos, index);
+        }
+        return old;
+    }
+
+    @Override
+    public boolean set(int x, int y, int z, int value, int expected) {
+        int pos = pos(x, y, z);
+        int old = palette[unpack(data, bitsPerEntry, pos)];
+        if (old == expected) {
+            if (old != (short) value) {
+                int index = paletteIndexFor((short) value);
+                pack(data, bitsPerEntry, pos, index);
+            }
+            return true;
+        }
+        return false;
+    }
+
+    private int paletteIndexFor(short value) {
+        int index = indexOf(value);
+        if (index == NO_INDEX) {
+            if (paletteSize == 1 << bitsPerEntry) {
+                repack(bitsPerEntry + 1);
+            }
+            index = addToPalette(value);
+        }
+        return index;
+    }
+
+    private int indexOf(short value) {
+        if (paletteIndices != null) {
+            return paletteIndices.get(value);
+        }
+        for (int i = 0; i < paletteSize; i++) {
+            if (palette[i] == value) {
+                return i;
+            }
+        }
+        return NO_INDEX;
+    }
+
+    private int addToPalette(short value) {
+        if (paletteSize == palette.length) {
+            palette = Arrays.copyOf(palette, palette.length * 2);
+        }
+        int index = paletteSize++;
+        palette[index] = value;
+        if (paletteIndices != null) {
+            paletteIndices.put(value, index);
+        } else if (paletteSize > LINEAR_SEARCH_LIMIT) {
+            createPaletteIndices();
+        }
+        return index;
+    }
+
+    private void createPaletteIndices() {
+        paletteIndices = new TShortIntHashMap(paletteSize * 2, 0.5f, (short) 0, NO_INDEX);
+        for (int i = 0; i < paletteSize; i++) {
+            paletteIndices.put(palette[i], i);
+        }
+    }
+
+    private void repack(int newBitsPerEntry) {
+        long[] newData = new long[dataLength(getSizeXYZ(), newBitsPerEntry)];
+        for (int i = 0; i < getSizeXYZ(); i++) {
+            pack(newData, newBitsPerEntry, i, unpack(data, bitsPerEntry, i));
+        }
+        data = newData;
+        bitsPerEntry = newBitsPerEntry;
+    }
+
+    public static class SerializationHandler extends TeraArray.BasicSerializationHandler<TeraPaletteArray16Bit> {
+
+        @Override
+        public boolean canHandle(Class<?> clazz) {
+            return TeraPaletteArray16Bit.class.equals(clazz);
+        }
+
+        @Override
+        protected int internalComputeMinimumBufferSize(TeraPaletteArray16Bit array) {
+            if (array.data == null) {
+                return 4;
+            } else {
+                return 4 + array.paletteSize * 2 + 4 + 4 + array.data.length * 8;
+            }
+        }
+
+        @Override
+        protected void internalSerialize(TeraPaletteArray16Bit array, ByteBuffer buffer) {
+            if (array.data == null) {
+                buffer.putInt(0);
+            } else {
+                buffer.putInt(array.paletteSize);
+                final ShortBuffer sbuffer = buffer.asShortBuffer();
+                sbuffer.put(array.palette, 0, array.paletteSize);
+                buffer.position(buffer.position() + array.paletteSize * 2);
+                buffer.putInt(array.bitsPerEntry);
+                buffer.putInt(array.data.length);
+                final LongBuffer lbuffer = buffer.asLongBuffer();
+                lbuffer.put(array.data);
+                buffer.position(buffer.position() + array.data.length * 8);
+            }
+        }
+
+        @Override
+        protected TeraPaletteArray16Bit internalDeserialize(int sizeX, int sizeY, int sizeZ, ByteBuffer buffer) {
+            final int paletteSize = buffer.getInt();
+            if (paletteSize > 0) {
+                final short[] palette = new short[paletteSize];
+                buffer.asShortBuffer().get(palette, 0, paletteSize);
+                buffer.position(buffer.position() + paletteSize * 2);
+                final int bitsPerEntry = buffer.getInt();
+                final long[] data = new long[buffer.getInt()];
+                buffer.asLongBuffer().get(data, 0, data.length);
+                buffer.position(buffer.position() + data.length * 8);
+                return new TeraPaletteArray16Bit(sizeX, sizeY, sizeZ, palette, bitsPerEntry, data);
+            }
+            return new TeraPaletteArray16Bit(sizeX, sizeY, sizeZ);
+        }
+    }
+
+    public static class Factory implements TeraArray.Factory<TeraPaletteArray16Bit> {
+
+        @Override
+        public Class<TeraPaletteArray16Bit> getArrayClass() {
+            return TeraPaletteArray16Bit.class;
+        }
+
+        @Override
+        public SerializationHandler createSerializationHandler() {
+            return new SerializationHandler();
+        }
+
+        @Override
+        public TeraPaletteArray16Bit create() {
+            return new TeraPaletteArray16Bit();
+        }
+
+        @Override
+        public TeraPaletteArray16Bit create(int sizeX, int sizeY, int sizeZ) {
+            return new TeraPaletteArray16Bit(sizeX, sizeY, sizeZ);
+        }
+    }
+
+}
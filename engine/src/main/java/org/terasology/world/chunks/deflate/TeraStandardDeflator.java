@@ -17,12 +17,14 @@
 package org.terasology.world.chunks.deflate;
 
 import org.terasology.world.chunks.blockdata.TeraArray;
+import org.terasology.world.chunks.blockdata.TeraPaletteArray16Bit;
 import org.terasology.world.chunks.blockdata.TeraSparseArray16Bit;
 import org.terasology.world.chunks.blockdata.TeraSparseArray4Bit;
 import org.terasology.world.chunks.blockdata.TeraSparseArray8Bit;
 
 /**
  * TeraStandardDeflator implements a simple deflation algorithm for 4, 8 and 16-bit dense and sparse arrays.<br>
+ * 16-bit dense arrays are turned into palette arrays if those are smaller than the sparse representation.<br>
  * <b>NOTE:</b> Currently it is optimized for chunks of size 16x256x16 blocks.<br>
  * TODO: Implement deflation for sparse arrays.
  *
@@ -103,10 +105,30 @@ public TeraArray deflateDenseArray16Bit(short[] data, int rowSize, int sizeX, in
                 return new TeraSparseArray16Bit(sizeX, sizeY, sizeZ, first);
             }
         }
+        TeraArray sparse = null;
+        int smallestSize = 16 + data.length * 2;
         if (packed > DEFLATE_MINIMUM_16BIT) {
-            return new TeraSparseArray16Bit(sizeX, sizeY, sizeZ, inflated, deflated);
+            sparse = new TeraSparseArray16Bit(sizeX, sizeY, sizeZ, inflated, deflated);
+            smallestSize = sparse.getEstimatedMemoryConsumptionInBytes();
         }
-        return null;
+        if (TeraPaletteArray16Bit.estimateMemoryConsumptionInBytes(data.length, countDistinctValues(data)) < smallestSize) {
+            return new TeraPaletteArray16Bit(sizeX, sizeY, sizeZ, data);
+        }
+        return sparse;
+    }
+
+    private static int countDistinctValues(short[] data) {
+        final long[] seen = new long[1 << 10];
+        int count = 0;
+        for (short value : data) {
+            final int bit = value & 0xFFFF;
+            final long mask = 1L << bit;
+            if ((seen[bit >>> 6] & mask) == 0) {
+                seen[bit >>> 6] |= mask;
+                ++count;
+            }
+        }
+        return count;
     }
 
     @Override
@@ -200,6 +222,34 @@ public TeraArray deflateSparseArray16Bit(short[][] inflated, short[] deflated, s
         return null;
     }
 
+    @Override
+    public TeraArray deflatePaletteArray16Bit(short[] palette, int bitsPerEntry, long[] data, int sizeX, int sizeY, int sizeZ) {
+        final int sizeXYZ = sizeX * sizeY * sizeZ;
+        final boolean[] used = new boolean[palette.length];
+        int usedCount = 0;
+        int lastUsed = 0;
+        for (int i = 0; i < sizeXYZ && usedCount < palette.length; i++) {
+            final int index = TeraPaletteArray16Bit.unpack(data, bitsPerEntry, i);
+            if (!used[index]) {
+                used[index] = true;
+                lastUsed = index;
+                ++usedCount;
+            }
+        }
+        if (usedCount == 1) {
+            return new TeraSparseArray16Bit(sizeX, sizeY, sizeZ, palette[lastUsed]);
+        }
+        if (usedCount < palette.length) {
+            // drop the values which are no longer used
+            final short[] values = new short[sizeXYZ];
+            for (int i = 0; i < sizeXYZ; i++) {
+                values[i] = palette[TeraPaletteArray16Bit.unpack(data, bitsPerEntry, i)];
+            }
+            return new TeraPaletteArray16Bit(sizeX, sizeY, sizeZ, values);
+        }
+        return null;
+    }
+
     @Override
     public TeraArray deflateSparseArray8Bit(final byte[][] inflated, final byte[] deflated, final byte fill, final int rowSize,
                                             final int sizeX, final int sizeY, final int sizeZ) {
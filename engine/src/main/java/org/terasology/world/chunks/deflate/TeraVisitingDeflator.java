@@ -49,6 +49,8 @@ public final TeraArray deflate(TeraArray in) {
 
     public abstract TeraArray deflateSparseArray8Bit(byte[][] inflated, byte[] deflated, byte fill, int rowSize, int sizeX, int sizeY, int sizeZ);
 
+    public abstract TeraArray deflatePaletteArray16Bit(short[] palette, int bitsPerEntry, long[] data, int sizeX, int sizeY, int sizeZ);
+
     public abstract TeraArray deflateSparseArray4Bit(byte[][] inflated, byte[] deflated, byte fill, int rowSize, int sizeX, int sizeY, int sizeZ);
 
 }
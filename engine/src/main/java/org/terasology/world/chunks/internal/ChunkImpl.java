@@ -38,6 +38,7 @@
 import org.terasology.world.chunks.blockdata.TeraArray;
 import org.terasology.world.chunks.blockdata.TeraDenseArray16Bit;
 import org.terasology.world.chunks.blockdata.TeraDenseArray8Bit;
+import org.terasology.world.chunks.blockdata.TeraPaletteArray16Bit;
 import org.terasology.world.chunks.deflate.TeraDeflator;
 import org.terasology.world.chunks.deflate.TeraStandardDeflator;
 import org.terasology.world.liquid.LiquidData;
@@ -82,6 +83,12 @@ public class ChunkImpl implements Chunk {
     private boolean disposed;
     private boolean ready;
     private volatile boolean dirty;
+    private volatile boolean modifiedSinceSave;
+    private volatile int contentVersion;
+    private volatile int lightVersion;
+    private volatile long lastModificationTime = System.nanoTime();
+    private int deflatedContentVersion = -1;
+    private int deflatedLightVersion = -1;
     private boolean animated;
 
     // Rendering
@@ -110,6 +117,7 @@ public ChunkImpl(Vector3i chunkPos, TeraArray blocks, TeraArray liquid, TeraArra
         sunlightRegenData = new TeraDenseArray8Bit(getChunkSizeX(), getChunkSizeY(), getChunkSizeZ());
         lightData = new TeraDenseArray8Bit(getChunkSizeX(), getChunkSizeY(), getChunkSizeZ());
         dirty = true;
+        modifiedSinceSave = true;
         this.blockManager = blockManager;
         this.biomeManager = biomeManager;
         region = Region3i.createFromMinAndSize(new Vector3i(chunkPos.x * ChunkConstants.SIZE_X, chunkPos.y * ChunkConstants.SIZE_Y, chunkPos.z * ChunkConstants.SIZE_Z),
@@ -156,11 +164,16 @@ public final Block getBlock(int x, int y, int z) {
 
     @Override
     public Block setBlock(int x, int y, int z, Block block) {
-        if (blockData == blockDataSnapshot) {
+        if (blockData instanceof TeraPaletteArray16Bit) {
+            // palette arrays are slow to write to and not safe to read while written, edits go to a dense copy
+            // until the chunk gets deflated again
+            blockData = new TeraDenseArray16Bit(blockData);
+        } else if (blockData == blockDataSnapshot) {
             blockData = blockData.copy();
         }
         int oldValue = blockData.set(x, y, z, block.getId());
         if (oldValue != block.getId()) {
+            onContentChanged();
             if (!block.isLiquid()) {
                 setLiquid(x, y, z, new LiquidData());
             }
@@ -191,7 +204,7 @@ public boolean setSunlight(BaseVector3i pos, byte amount) {
     @Override
     public boolean setSunlight(int x, int y, int z, byte amount) {
         Preconditions.checkArgument(amount >= 0 && amount <= ChunkConstants.MAX_SUNLIGHT);
-        return sunlightData.set(x, y, z, amount) != amount;
+        return onLightChanged(sunlightData.set(x, y, z, amount) != amount);
     }
 
     @Override
@@ -212,7 +225,7 @@ public boolean setSunlightRegen(BaseVector3i pos, byte amount) {
     @Override
     public boolean setSunlightRegen(int x, int y, int z, byte amount) {
         Preconditions.checkArgument(amount >= 0 && amount <= ChunkConstants.MAX_SUNLIGHT_REGEN);
-        return sunlightRegenData.set(x, y, z, amount) != amount;
+        return onLightChanged(sunlightRegenData.set(x, y, z, amount) != amount);
     }
 
     @Override
@@ -233,7 +246,7 @@ public boolean setLight(BaseVector3i pos, byte amount) {
     @Override
     public boolean setLight(int x, int y, int z, byte amount) {
         Preconditions.checkArgument(amount >= 0 && amount <= ChunkConstants.MAX_LIGHT);
-        return lightData.set(x, y, z, amount) != amount;
+        return onLightChanged(lightData.set(x, y, z, amount) != amount);
     }
 
     @Override
@@ -247,7 +260,9 @@ public void setLiquid(int x, int y, int z, LiquidData newState) {
         if (extraData == extraDataSnapshot) {
             extraData = extraData.copy();
         }
-        extraData.set(x, y, z, newValue);
+        if (extraData.set(x, y, z, newValue) != newValue) {
+            onContentChanged();
+        }
     }
 
     @Override
@@ -267,11 +282,17 @@ public Biome getBiome(int x, int y, int z) {
 
     @Override
     public Biome setBiome(int x, int y, int z, Biome biome) {
-        if (biomeData == biomeDataSnapshot) {
+        if (biomeData instanceof TeraPaletteArray16Bit) {
+            // see setBlock
+            biomeData = new TeraDenseArray16Bit(biomeData);
+        } else if (biomeData == biomeDataSnapshot) {
             biomeData = biomeData.copy();
         }
         short shortId = biomeManager.getBiomeShortId(biome);
         short previousShortId = (short) biomeData.set(x, y, z, shortId);
+        if (previousShortId != shortId) {
+            onContentChanged();
+        }
         return biomeManager.getBiomeByShortId(previousShortId);
     }
 
@@ -334,6 +355,8 @@ public AABB getAABB() {
 
     @Override
     public void deflate() {
+        deflatedContentVersion = contentVersion;
+        deflatedLightVersion = lightVersion;
         final TeraDeflator def = new TeraStandardDeflator();
         if (logger.isDebugEnabled()) {
             int blocksSize = blockData.getEstimatedMemoryConsumptionInBytes();
@@ -573,6 +596,102 @@ public EntityData.ChunkStore.Builder encode() {
         return ChunkSerializer.encode(chunkPos, blockData, extraData, biomeData);
     }
 
+    /**
+     * @return true if the block, liquid or biome data changed since {@link #markSaved()} was last called. New chunks
+     * count as modified.
+     */
+    public boolean isModifiedSinceSave() {
+        return modifiedSinceSave;
+    }
+
+    /**
+     * Marks the current block, liquid and biome data as saved. Must be called before the data is captured for saving,
+     * so that concurrent changes mark the chunk as modified again.
+     */
+    public void markSaved() {
+        modifiedSinceSave = false;
+    }
+
+    public void markModified() {
+        if (!modifiedSinceSave) {
+            modifiedSinceSave = true;
+        }
+    }
+
+    @Override
+    public int getContentVersion() {
+        return contentVersion;
+    }
+
+    private void onContentChanged() {
+        contentVersion++;
+        lastModificationTime = System.nanoTime();
+        markModified();
+    }
+
+    private boolean onLightChanged(boolean changed) {
+        if (changed) {
+            lightVersion++;
+        }
+        return changed;
+    }
+
+    /**
+     * @return the value of {@link System#nanoTime()} when the block, liquid or biome data of the chunk last changed
+     */
+    public long getLastModificationTime() {
+        return lastModificationTime;
+    }
+
+    /**
+     * @return true if the chunk has changed since it has last been deflated
+     */
+    public boolean isDeflationOutdated() {
+        return deflatedContentVersion != contentVersion || deflatedLightVersion != lightVersion;
+    }
+
+    /**
+     * Deflates the data of the chunk without changing the chunk. This can be called from any thread, the result is
+     * put into effect by calling {@link #applyDeflation(DeflatedData)} from the thread that modifies the chunk.
+     *
+     * @return the deflated data of the chunk
+     */
+    public DeflatedData createDeflatedData() {
+        // read the versions first, so that any change made while deflating makes the result outdated
+        final int content = contentVersion;
+        final int light = lightVersion;
+        final TeraArray[] source = {blockData, extraData, biomeData, lightData, sunlightData, sunlightRegenData};
+        final TeraArray[] deflated = new TeraArray[source.length];
+        final TeraDeflator def = new TeraStandardDeflator();
+        for (int i = 0; i < source.length; i++) {
+            deflated[i] = def.deflate(source[i]);
+        }
+        return new DeflatedData(content, light, source, deflated);
+    }
+
+    /**
+     * Replaces the data of the chunk with data deflated by {@link #createDeflatedData()}, unless the chunk has changed
+     * in the meantime.
+     *
+     * @return true if the deflated data has been applied
+     */
+    public boolean applyDeflation(DeflatedData data) {
+        if (disposed || data.contentVersion != contentVersion || data.lightVersion != lightVersion) {
+            return false;
+        }
+        final int oldSize = getEstimatedMemoryConsumptionInBytes();
+        blockData = data.replace(0, blockData);
+        extraData = data.replace(1, extraData);
+        biomeData = data.replace(2, biomeData);
+        lightData = data.replace(3, lightData);
+        sunlightData = data.replace(4, sunlightData);
+        sunlightRegenData = data.replace(5, sunlightRegenData);
+        deflatedContentVersion = data.contentVersion;
+        deflatedLightVersion = data.lightVersion;
+        ChunkMonitor.fireChunkDeflated(this, oldSize, getEstimatedMemoryConsumptionInBytes());
+        return true;
+    }
+
     /**
      * Calling this method results in a (cheap) snapshot to be taken of the current state of the chunk.
      * This snapshot can then be obtained and rleased by calling {@link #encodeAndReleaseSnapshot()}.
@@ -599,4 +718,26 @@ public EntityData.ChunkStore.Builder encodeAndReleaseSnapshot() {
         return result;
     }
 
+    /**
+     * The data of a chunk deflated in the background, along with the versions of the chunk it has been created from.
+     */
+    public static final class DeflatedData {
+        private final int contentVersion;
+        private final int lightVersion;
+        private final TeraArray[] source;
+        private final TeraArray[] deflated;
+
+        private DeflatedData(int contentVersion, int lightVersion, TeraArray[] source, TeraArray[] deflated) {
+            this.contentVersion = contentVersion;
+            this.lightVersion = lightVersion;
+            this.source = source;
+            this.deflated = deflated;
+        }
+
+        private TeraArray replace(int index, TeraArray current) {
+            // the array may have been replaced by a copy for a snapshot, which was not deflated
+            return (current == source[index]) ? deflated[index] : current;
+        }
+    }
+
 }
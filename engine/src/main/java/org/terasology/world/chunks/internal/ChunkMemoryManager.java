@@ -0,0 +1,215 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.world.chunks.internal;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Queues;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.terasology.math.geom.Vector3i;
+import org.terasology.monitoring.chunk.ChunkMonitor;
+import org.terasology.world.chunks.Chunk;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps track of the memory used by the loaded chunks and deflates chunks on a background thread.
+ * <br><br>
+ * Chunks are deflated once they have not been modified for a while, or right away while the chunks use more memory
+ * than the budget allows. Chunks far away from the relevance regions are deflated first. The deflated data is only
+ * put into effect if the chunk has not changed in the meantime, see {@link ChunkImpl#applyDeflation}.
+ * <br><br>
+ * All methods must be called from the thread that owns the chunks, at a time no other thread writes to them.
+ */
+public class ChunkMemoryManager {
+    private static final Logger logger = LoggerFactory.getLogger(ChunkMemoryManager.class);
+
+    private static final long SCAN_INTERVAL = TimeUnit.SECONDS.toNanos(1);
+    private static final long IDLE_TIME = TimeUnit.SECONDS.toNanos(30);
+    private static final int MAX_PENDING_DEFLATIONS = 32;
+
+    private final long budget;
+    private ExecutorService executorService;
+    private boolean running = true;
+
+    private final Set<ChunkImpl> pending = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final BlockingQueue<Deflation> completed = Queues.newLinkedBlockingQueue();
+    private long nextScan;
+    private boolean overBudget;
+
+    private long deflatedChunks;
+    private long savedBytes;
+
+    /**
+     * @param budget The memory budget of the loaded chunks in bytes, 0 for no budget
+     */
+    public ChunkMemoryManager(long budget) {
+        this.budget = budget;
+        this.executorService = createExecutor();
+    }
+
+    private ExecutorService createExecutor() {
+        return Executors.newSingleThreadExecutor(new ThreadFactoryBuilder().setNameFormat("Chunk-Deflater-%d").setDaemon(true).build());
+    }
+
+    public long getBudget() {
+        return budget;
+    }
+
+    /**
+     * Applies the completed deflations and, at most once per second, schedules the deflation of further chunks.
+     *
+     * @param chunks  All loaded chunks
+     * @param centers The centers of the relevance regions, in chunk coordinates
+     */
+    public void update(Collection<Chunk> chunks, Vector3i[] centers) {
+        applyCompletedDeflations();
+        long now = System.nanoTime();
+        if (!running || now < nextScan) {
+            return;
+        }
+        nextScan = now + SCAN_INTERVAL;
+
+        long usage = 0;
+        List<ChunkImpl> candidates = Lists.newArrayList();
+        for (Chunk chunk : chunks) {
+            usage += chunk.getEstimatedMemoryConsumptionInBytes();
+            if (chunk instanceof ChunkImpl && chunk.isReady()) {
+                ChunkImpl chunkImpl = (ChunkImpl) chunk;
+                if (!pending.contains(chunkImpl) && chunkImpl.isDeflationOutdated()) {
+                    candidates.add(chunkImpl);
+                }
+            }
+        }
+        ChunkMonitor.fireChunkMemoryUpdated(usage, budget);
+
+        boolean wasOverBudget = overBudget;
+        overBudget = budget > 0 && usage > budget;
+        if (overBudget && !wasOverBudget) {
+            logger.warn("Loaded chunks use {} MB, which exceeds the chunk memory budget of {} MB", usage >> 20, budget >> 20);
+        }
+        if (!overBudget) {
+            candidates.removeIf(chunk -> now - chunk.getLastModificationTime() < IDLE_TIME);
+        }
+        if (candidates.isEmpty()) {
+            return;
+        }
+
+        Collections.sort(candidates, new DeflationPriorityComparator(centers));
+        for (int i = 0; i < candidates.size() && pending.size() < MAX_PENDING_DEFLATIONS; i++) {
+            submit(candidates.get(i));
+        }
+    }
+
+    private void submit(final ChunkImpl chunk) {
+        pending.add(chunk);
+        executorService.execute(() -> {
+            ChunkImpl.DeflatedData data = null;
+            try {
+                data = chunk.createDeflatedData();
+            } catch (RuntimeException e) {
+                // The chunk has been written to while it was read, it is deflated again in a later scan
+                logger.debug("Failed to deflate chunk {}", chunk.getPosition(), e);
+            }
+            completed.offer(new Deflation(chunk, data));
+        });
+    }
+
+    private void applyCompletedDeflations() {
+        Deflation deflation;
+        while ((deflation = completed.poll()) != null) {
+            pending.remove(deflation.chunk);
+            if (deflation.data != null) {
+                int oldSize = deflation.chunk.getEstimatedMemoryConsumptionInBytes();
+                if (deflation.chunk.applyDeflation(deflation.data)) {
+                    deflatedChunks++;
+                    savedBytes += oldSize - deflation.chunk.getEstimatedMemoryConsumptionInBytes();
+                }
+            }
+        }
+    }
+
+    public void shutdown() {
+        running = false;
+        if (deflatedChunks > 0) {
+            logger.info("Deflated {} chunks in the background, saving {} KB", deflatedChunks, savedBytes >> 10);
+        }
+        executorService.shutdownNow();
+        try {
+            executorService.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            logger.error("Failed to shutdown chunk deflation thread in a timely manner");
+        }
+        completed.clear();
+        pending.clear();
+    }
+
+    public void restart() {
+        if (!running) {
+            executorService = createExecutor();
+            nextScan = 0;
+            running = true;
+        }
+    }
+
+    private static final class Deflation {
+        private final ChunkImpl chunk;
+        private final ChunkImpl.DeflatedData data;
+
+        private Deflation(ChunkImpl chunk, ChunkImpl.DeflatedData data) {
+            this.chunk = chunk;
+            this.data = data;
+        }
+    }
+
+    /**
+     * Orders chunks far away from the relevance regions first, then chunks that have not been modified for longer.
+     */
+    private static final class DeflationPriorityComparator implements Comparator<ChunkImpl> {
+        private final Vector3i[] centers;
+
+        private DeflationPriorityComparator(Vector3i[] centers) {
+            this.centers = centers;
+        }
+
+        @Override
+        public int compare(ChunkImpl o1, ChunkImpl o2) {
+            int result = Integer.compare(distance(o2.getPosition()), distance(o1.getPosition()));
+            if (result == 0) {
+                result = Long.compare(o1.getLastModificationTime(), o2.getLastModificationTime());
+            }
+            return result;
+        }
+
+        private int distance(Vector3i pos) {
+            int distance = Integer.MAX_VALUE;
+            for (Vector3i center : centers) {
+                distance = Math.min(distance, pos.gridDistance(center));
+            }
+            return distance;
+        }
+    }
+}
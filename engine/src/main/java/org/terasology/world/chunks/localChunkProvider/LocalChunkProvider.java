@@ -58,6 +58,7 @@
 import org.terasology.world.chunks.event.OnChunkLoaded;
 import org.terasology.world.chunks.event.PurgeWorldEvent;
 import org.terasology.world.chunks.internal.ChunkImpl;
+import org.terasology.world.chunks.internal.ChunkMemoryManager;
 import org.terasology.world.chunks.internal.ChunkRelevanceRegion;
 import org.terasology.world.chunks.internal.GeneratingChunkProvider;
 import org.terasology.world.chunks.internal.ReadyChunkInfo;
@@ -109,15 +110,29 @@ public class LocalChunkProvider implements GeneratingChunkProvider {
     private EntityRef worldEntity = EntityRef.NULL;
 
     private ReadWriteLock regionLock = new ReentrantReadWriteLock();
+    /**
+     * Snapshot of the relevance region centers, used by the generator threads to score tasks without taking the
+     * region lock.
+     */
+    private volatile Vector3i[] relevanceCenters = new Vector3i[0];
 
     private BlockManager blockManager;
     private BiomeManager biomeManager;
     private BlockEntityRegistry registry;
 
     private LightMerger<ReadyChunkInfo> lightMerger = new LightMerger<>(this);
+    private ChunkMemoryManager memoryManager;
 
     public LocalChunkProvider(StorageManager storageManager, EntityManager entityManager, WorldGenerator generator,
                               BlockManager blockManager, BiomeManager biomeManager) {
+        this(storageManager, entityManager, generator, blockManager, biomeManager, 0);
+    }
+
+    /**
+     * @param chunkMemoryBudget The memory the loaded chunks should use at most in bytes, 0 for no limit
+     */
+    public LocalChunkProvider(StorageManager storageManager, EntityManager entityManager, WorldGenerator generator,
+                              BlockManager blockManager, BiomeManager biomeManager, long chunkMemoryBudget) {
         this.storageManager = storageManager;
         this.entityManager = entityManager;
         this.generator = generator;
@@ -125,6 +140,7 @@ public LocalChunkProvider(StorageManager storageManager, EntityManager entityMan
         this.biomeManager = biomeManager;
         this.pipeline = new ChunkGenerationPipeline(new ChunkTaskRelevanceComparator());
         this.unloadRequestTaskMaster = TaskMaster.createFIFOTaskMaster("Chunk-Unloader", 4);
+        this.memoryManager = new ChunkMemoryManager(chunkMemoryBudget);
         ChunkMonitor.fireChunkProviderInitialized(this);
     }
 
@@ -206,6 +222,7 @@ public void addRelevanceEntity(EntityRef entity, Vector3i distance, ChunkRegionL
         } finally {
             regionLock.writeLock().unlock();
         }
+        updateRelevanceCenters();
         for (Vector3i pos : region.getCurrentRegion()) {
             Chunk chunk = getChunk(pos);
             if (chunk != null) {
@@ -237,12 +254,12 @@ public void removeRelevanceEntity(EntityRef entity) {
         } finally {
             regionLock.writeLock().unlock();
         }
+        updateRelevanceCenters();
     }
 
     @Override
     public void completeUpdate() {
-        ReadyChunkInfo readyChunkInfo = lightMerger.completeMerge();
-        if (readyChunkInfo != null) {
+        for (ReadyChunkInfo readyChunkInfo : lightMerger.completeMerges()) {
             Chunk chunk = readyChunkInfo.getChunk();
             chunk.markReady();
             updateAdjacentChunksReadyFieldOf(chunk);
@@ -305,6 +322,8 @@ public void beginUpdate() {
             updateRelevance();
             deactivateBlocks();
             checkForUnload();
+            // No light merges are running until makeChunksAvailable begins the next batch
+            memoryManager.update(nearCache.values(), relevanceCenters);
             makeChunksAvailable();
         } finally {
             regionLock.readLock().unlock();
@@ -324,13 +343,11 @@ private void makeChunksAvailable() {
             Collections.sort(sortedReadyChunks, new ReadyChunkRelevanceComparator());
         }
         if (!sortedReadyChunks.isEmpty()) {
-            boolean loaded = false;
-            for (int i = sortedReadyChunks.size() - 1; i >= 0 && !loaded; i--) {
+            for (int i = sortedReadyChunks.size() - 1; i >= 0 && !lightMerger.isBatchFull(); i--) {
                 ReadyChunkInfo chunkInfo = sortedReadyChunks.get(i);
                 PerformanceMonitor.startActivity("Make Chunk Available");
                 if (makeChunkAvailable(chunkInfo)) {
                     sortedReadyChunks.remove(i);
-                    loaded = true;
                 }
                 PerformanceMonitor.endActivity();
             }
@@ -447,9 +464,11 @@ private void updateAdjacentChunksReadyFieldOfAdjChunks(Chunk chunkInCenter) {
 
 
     private void updateRelevance() {
+        boolean changed = false;
         for (ChunkRelevanceRegion chunkRelevanceRegion : regions.values()) {
             chunkRelevanceRegion.update();
             if (chunkRelevanceRegion.isDirty()) {
+                changed = true;
                 for (Vector3i pos : chunkRelevanceRegion.getNeededChunks()) {
                     Chunk chunk = nearCache.get(pos);
                     if (chunk != null) {
@@ -461,11 +480,32 @@ private void updateRelevance() {
                 chunkRelevanceRegion.setUpToDate();
             }
         }
+        if (changed) {
+            updateRelevanceCenters();
+        }
+    }
+
+    /**
+     * Refreshes the region centers used to prioritize chunk tasks and has the pipeline reorder its queue once.
+     */
+    private void updateRelevanceCenters() {
+        regionLock.readLock().lock();
+        try {
+            Vector3i[] centers = new Vector3i[regions.size()];
+            int i = 0;
+            for (ChunkRelevanceRegion region : regions.values()) {
+                centers[i++] = region.getCenter();
+            }
+            relevanceCenters = centers;
+        } finally {
+            regionLock.readLock().unlock();
+        }
+        pipeline.reprioritize();
     }
 
     private boolean makeChunkAvailable(final ReadyChunkInfo readyChunkInfo) {
         final Chunk chunk = nearCache.get(readyChunkInfo.getPos());
-        if (chunk == null) {
+        if (chunk == null || !lightMerger.canMerge(readyChunkInfo.getPos())) {
             return false;
         }
         for (Vector3i pos : Region3i.createFromCenterExtents(readyChunkInfo.getPos(), 1)) {
@@ -473,8 +513,7 @@ private boolean makeChunkAvailable(final ReadyChunkInfo readyChunkInfo) {
                 return false;
             }
         }
-        lightMerger.beginMerge(chunk, readyChunkInfo);
-        return true;
+        return lightMerger.beginMerge(chunk, readyChunkInfo);
     }
 
     void gatherBlockPositionsForDeactivate(Chunk chunk) {
@@ -527,6 +566,7 @@ public void restart() {
         pipeline.restart();
         unloadRequestTaskMaster.restart();
         lightMerger.restart();
+        memoryManager.restart();
     }
 
     @Override
@@ -534,6 +574,7 @@ public void shutdown() {
         pipeline.shutdown();
         unloadRequestTaskMaster.shutdown(new ChunkUnloadRequest(), true);
         lightMerger.shutdown();
+        memoryManager.shutdown();
     }
 
     @Override
@@ -573,6 +614,7 @@ public void purgeWorld() {
         pipeline.shutdown();
         unloadRequestTaskMaster.shutdown(new ChunkUnloadRequest(), true);
         lightMerger.shutdown();
+        memoryManager.shutdown();
 
         nearCache.values().stream().filter(ManagedChunk::isReady).forEach(chunk -> {
             worldEntity.send(new BeforeChunkUnload(chunk.getPosition()));
@@ -590,6 +632,7 @@ public void purgeWorld() {
         unloadRequestTaskMaster = TaskMaster.createFIFOTaskMaster("Chunk-Unloader", 8);
         lightMerger = new LightMerger<>(this);
         lightMerger.restart();
+        memoryManager.restart();
         ChunkMonitor.fireChunkProviderInitialized(this);
 
         for (ChunkRelevanceRegion chunkRelevanceRegion : regions.values()) {
@@ -655,7 +698,7 @@ private class ChunkTaskRelevanceComparator implements Comparator<ChunkTask> {
 
         @Override
         public int compare(ChunkTask o1, ChunkTask o2) {
-            return score(o1) - score(o2);
+            return Integer.compare(score(o1), score(o2));
         }
 
         private int score(ChunkTask task) {
@@ -667,19 +710,13 @@ private int score(ChunkTask task) {
 
         private int score(Vector3i chunk) {
             int score = Integer.MAX_VALUE;
-
-            regionLock.readLock().lock();
-            try {
-                for (ChunkRelevanceRegion region : regions.values()) {
-                    int dist = distFromRegion(chunk, region.getCenter());
-                    if (dist < score) {
-                        score = dist;
-                    }
+            for (Vector3i center : relevanceCenters) {
+                int dist = distFromRegion(chunk, center);
+                if (dist < score) {
+                    score = dist;
                 }
-                return score;
-            } finally {
-                regionLock.readLock().unlock();
             }
+            return score;
         }
 
         private int distFromRegion(Vector3i pos, Vector3i regionCenter) {
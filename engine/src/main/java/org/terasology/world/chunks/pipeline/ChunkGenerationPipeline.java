@@ -18,6 +18,7 @@
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.terasology.utilities.concurrency.TaskLane;
 import org.terasology.utilities.concurrency.TaskMaster;
 
 import java.util.Comparator;
@@ -25,13 +26,12 @@
 /**
  */
 public class ChunkGenerationPipeline {
-    private static final int NUM_TASK_THREADS = 8;
     private static final Logger logger = LoggerFactory.getLogger(ChunkGenerationPipeline.class);
 
     private TaskMaster<ChunkTask> chunkGenerator;
 
     public ChunkGenerationPipeline(Comparator<ChunkTask> taskComparator) {
-        chunkGenerator = TaskMaster.createDynamicPriorityTaskMaster("Chunk-Generator", NUM_TASK_THREADS, taskComparator);
+        chunkGenerator = TaskMaster.createSharedPriorityTaskMaster("Chunk-Generator", TaskLane.NORMAL, taskComparator);
     }
 
     public void doTask(ChunkTask task) {
@@ -42,6 +42,14 @@ public void doTask(ChunkTask task) {
         }
     }
 
+    /**
+     * Signals that the task comparator would now order the queued tasks differently, e.g. because a relevance region
+     * moved.
+     */
+    public void reprioritize() {
+        chunkGenerator.reprioritize();
+    }
+
     public void shutdown() {
         chunkGenerator.shutdown(new ShutdownChunkTask(), false);
     }
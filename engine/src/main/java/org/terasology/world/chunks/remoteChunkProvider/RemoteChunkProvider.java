@@ -32,12 +32,16 @@
 import org.terasology.math.geom.Vector3i;
 import org.terasology.monitoring.PerformanceMonitor;
 import org.terasology.monitoring.chunk.ChunkMonitor;
+import org.terasology.protobuf.EntityData;
+import org.terasology.world.biomes.BiomeManager;
 import org.terasology.world.block.BlockManager;
 import org.terasology.world.chunks.Chunk;
 import org.terasology.world.chunks.ChunkConstants;
 import org.terasology.world.chunks.ChunkProvider;
 import org.terasology.world.chunks.ChunkRegionListener;
 import org.terasology.world.chunks.event.OnChunkLoaded;
+import org.terasology.world.chunks.internal.ChunkMemoryManager;
+import org.terasology.world.chunks.internal.ChunkSerializer;
 import org.terasology.world.chunks.internal.GeneratingChunkProvider;
 import org.terasology.world.chunks.pipeline.AbstractChunkTask;
 import org.terasology.world.chunks.pipeline.ChunkGenerationPipeline;
@@ -54,12 +58,13 @@
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
 
 /**
  */
 public class RemoteChunkProvider implements ChunkProvider, GeneratingChunkProvider {
 
-    private static final int LOAD_PER_FRAME = 1;
+    private static final long READY_CHUNK_BUDGET_NANOS = TimeUnit.MILLISECONDS.toNanos(2);
     private static final Logger logger = LoggerFactory.getLogger(RemoteChunkProvider.class);
     private Map<Vector3i, Chunk> chunkCache = Maps.newHashMap();
     private final BlockingQueue<Chunk> readyChunks = Queues.newLinkedBlockingQueue();
@@ -68,15 +73,19 @@ public class RemoteChunkProvider implements ChunkProvider, GeneratingChunkProvid
     private EntityRef worldEntity = EntityRef.NULL;
 
     private BlockManager blockManager;
+    private BiomeManager biomeManager;
 
     private ChunkGenerationPipeline pipeline;
 
     private LightMerger<Chunk> lightMerger = new LightMerger<>(this);
+    private ChunkMemoryManager memoryManager = new ChunkMemoryManager(0);
 
     private LocalPlayer localPlayer;
+    private Vector3i lastPlayerChunk = new Vector3i();
 
-    public RemoteChunkProvider(BlockManager blockManager, LocalPlayer localPlayer) {
+    public RemoteChunkProvider(BlockManager blockManager, BiomeManager biomeManager, LocalPlayer localPlayer) {
         this.blockManager = blockManager;
+        this.biomeManager = biomeManager;
         this.localPlayer = localPlayer;
         pipeline = new ChunkGenerationPipeline(new ChunkTaskRelevanceComparator());
         ChunkMonitor.fireChunkProviderInitialized(this);
@@ -86,15 +95,25 @@ public void subscribe(ChunkReadyListener chunkReadyListener) {
         this.listener = chunkReadyListener;
     }
 
-    public void receiveChunk(final Chunk chunk) {
-        pipeline.doTask(new AbstractChunkTask(chunk.getPosition()) {
+    /**
+     * Decodes a chunk received from the server and generates its internal lighting in the background.
+     */
+    public void receiveChunk(final EntityData.ChunkStore chunkStore) {
+        pipeline.doTask(new AbstractChunkTask(new Vector3i(chunkStore.getX(), chunkStore.getY(), chunkStore.getZ())) {
             @Override
             public String getName() {
-                return "Internal Light Generation";
+                return "Decode Chunk";
             }
 
             @Override
             public void run() {
+                Chunk chunk;
+                try {
+                    chunk = ChunkSerializer.decode(chunkStore, blockManager, biomeManager);
+                } catch (IllegalArgumentException e) {
+                    logger.error("Received invalid chunk {}", getPosition(), e);
+                    return;
+                }
                 InternalLightProcessor.generateInternalLighting(chunk);
                 chunk.deflate();
                 onChunkIsReady(chunk);
@@ -112,28 +131,35 @@ public void invalidateChunks(Vector3i pos) {
 
     @Override
     public void beginUpdate() {
+        Vector3i playerChunk = ChunkMath.calcChunkPos(new Vector3i(localPlayer.getPosition(), RoundingMode.HALF_UP));
+        if (!playerChunk.equals(lastPlayerChunk)) {
+            lastPlayerChunk = playerChunk;
+            pipeline.reprioritize();
+        }
+        memoryManager.update(chunkCache.values(), new Vector3i[]{playerChunk});
         if (listener != null) {
-            List<Chunk> newReadyChunks = Lists.newArrayList();
-            readyChunks.drainTo(newReadyChunks);
-            if (!newReadyChunks.isEmpty()) {
-                sortedReadyChunks.addAll(newReadyChunks);
-                Collections.sort(sortedReadyChunks, new ReadyChunkRelevanceComparator());
-                for (Chunk chunk : newReadyChunks) {
-                    Chunk oldChunk = chunkCache.put(chunk.getPosition(), chunk);
-                    if (oldChunk != null) {
-                        oldChunk.dispose();
-                        updateAdjacentChunksReadyFieldOfAdjChunks(chunk);
-                    }
+            // Chunks left over once the budget is used up are processed on the next frame
+            long deadline = System.nanoTime() + READY_CHUNK_BUDGET_NANOS;
+            boolean receivedChunks = false;
+            Chunk readyChunk;
+            while (System.nanoTime() < deadline && (readyChunk = readyChunks.poll()) != null) {
+                sortedReadyChunks.add(readyChunk);
+                Chunk oldChunk = chunkCache.put(readyChunk.getPosition(), readyChunk);
+                if (oldChunk != null) {
+                    oldChunk.dispose();
+                    updateAdjacentChunksReadyFieldOfAdjChunks(readyChunk);
                 }
+                receivedChunks = true;
+            }
+            if (receivedChunks) {
+                Collections.sort(sortedReadyChunks, new ReadyChunkRelevanceComparator());
             }
             if (!sortedReadyChunks.isEmpty()) {
-                int loaded = 0;
-                for (int i = sortedReadyChunks.size() - 1; i >= 0 && loaded < LOAD_PER_FRAME; i--) {
+                for (int i = sortedReadyChunks.size() - 1; i >= 0 && !lightMerger.isBatchFull() && System.nanoTime() < deadline; i--) {
                     Chunk chunkInfo = sortedReadyChunks.get(i);
                     PerformanceMonitor.startActivity("Make Chunk Available");
                     if (makeChunkAvailable(chunkInfo)) {
                         sortedReadyChunks.remove(i);
-                        loaded++;
                     }
                     PerformanceMonitor.endActivity();
                 }
@@ -142,14 +168,16 @@ public void beginUpdate() {
     }
 
     private boolean makeChunkAvailable(final Chunk chunk) {
+        if (!lightMerger.canMerge(chunk.getPosition())) {
+            return false;
+        }
         for (Vector3i pos : Region3i.createFromCenterExtents(chunk.getPosition(), 1)) {
             if (chunkCache.get(pos) == null) {
                 return false;
             }
         }
 
-        lightMerger.beginMerge(chunk, chunk);
-        return true;
+        return lightMerger.beginMerge(chunk, chunk);
     }
 
 
@@ -178,6 +206,7 @@ public void dispose() {
         ChunkMonitor.fireChunkProviderDisposed(this);
         pipeline.shutdown();
         lightMerger.shutdown();
+        memoryManager.shutdown();
     }
 
     @Override
@@ -265,8 +294,7 @@ public void removeRelevanceEntity(EntityRef entity) {
 
     @Override
     public void completeUpdate() {
-        Chunk chunk = lightMerger.completeMerge();
-        if (chunk != null) {
+        for (Chunk chunk : lightMerger.completeMerges()) {
             chunk.markReady();
             updateAdjacentChunksReadyFieldOf(chunk);
             updateAdjacentChunksReadyFieldOfAdjChunks(chunk);
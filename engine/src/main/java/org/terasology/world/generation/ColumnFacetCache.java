@@ -0,0 +1,241 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.world.generation;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ListMultimap;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import org.terasology.math.Region3i;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Shares 2D facets between the vertically stacked regions of a column, so their provider chains run once per column
+ * instead of once per chunk.
+ * <br><br>
+ * A facet is only shared if it is a {@link WorldFacet2D} and every provider in its chain requires, produces and updates
+ * nothing but 2D facets whose own chains are part of that chain. The facets produced by such a chain do not depend on
+ * the vertical extent of the region and are complete once the chain has run, so they can be handed to other regions as is.
+ * All facets produced by the chain are shared together, which lets a region skip the whole chain on a hit.
+ * <br><br>
+ * This class is thread-safe.
+ */
+class ColumnFacetCache {
+
+    static final int DEFAULT_MAXIMUM_SIZE = 1024;
+
+    private final ListMultimap<Class<? extends WorldFacet>, FacetProvider> facetProviderChains;
+    private final Map<Class<? extends WorldFacet>, Border3D> borders;
+
+    private final Map<Class<? extends WorldFacet>, Set<Class<? extends WorldFacet>>> sharedFacets = Maps.newHashMap();
+    private final Map<Class<? extends WorldFacet>, List<Class<? extends WorldFacet>>> prerequisites = Maps.newHashMap();
+
+    private final Cache<ColumnKey, Map<Class<? extends WorldFacet>, WorldFacet>> cache;
+
+    ColumnFacetCache(ListMultimap<Class<? extends WorldFacet>, FacetProvider> facetProviderChains,
+                     Map<Class<? extends WorldFacet>, Border3D> borders, int maximumSize) {
+        this.facetProviderChains = facetProviderChains;
+        this.borders = borders;
+        this.cache = CacheBuilder.newBuilder().maximumSize(maximumSize).recordStats().build();
+
+        for (Class<? extends WorldFacet> facet : facetProviderChains.keySet()) {
+            if (isColumnIndependent(facet)) {
+                Set<Class<? extends WorldFacet>> outputs = Sets.newHashSet();
+                for (FacetProvider provider : facetProviderChains.get(facet)) {
+                    outputs.addAll(outputFacets(provider));
+                }
+                sharedFacets.put(facet, outputs);
+            }
+        }
+        for (Class<? extends WorldFacet> facet : facetProviderChains.keySet()) {
+            if (!sharedFacets.containsKey(facet)) {
+                prerequisites.put(facet, determinePrerequisites(facet));
+            }
+        }
+    }
+
+    /**
+     * @return true if the given facet is shared between the regions of a column
+     */
+    boolean isShared(Class<? extends WorldFacet> facet) {
+        return sharedFacets.containsKey(facet);
+    }
+
+    /**
+     * @return the shared facets whose chains are part of the chain of the given, unshared, facet. Resolving these first
+     * lets the shared part of the chain come from the cache.
+     */
+    List<Class<? extends WorldFacet>> getPrerequisites(Class<? extends WorldFacet> facet) {
+        List<Class<? extends WorldFacet>> result = prerequisites.get(facet);
+        return (result != null) ? result : Collections.emptyList();
+    }
+
+    /**
+     * @param facet a shared facet
+     * @param region the region that requests the facet
+     * @return all facets produced by the chain of the given facet for the column of the region, or null if not cached
+     */
+    Map<Class<? extends WorldFacet>, WorldFacet> get(Class<? extends WorldFacet> facet, Region3i region) {
+        return cache.getIfPresent(new ColumnKey(facet, region, getBorder(facet)));
+    }
+
+    /**
+     * Stores the facets produced by the chain of the given shared facet.
+     * @param facet a shared facet whose chain has been run for the region
+     * @param region the region the chain has been run for
+     * @param generatedFacets the facets generated for the region so far
+     */
+    void put(Class<? extends WorldFacet> facet, Region3i region, Map<Class<? extends WorldFacet>, WorldFacet> generatedFacets) {
+        ImmutableMap.Builder<Class<? extends WorldFacet>, WorldFacet> columnFacets = ImmutableMap.builder();
+        for (Class<? extends WorldFacet> output : sharedFacets.get(facet)) {
+            WorldFacet generated = generatedFacets.get(output);
+            if (generated != null) {
+                columnFacets.put(output, generated);
+            }
+        }
+        cache.put(new ColumnKey(facet, region, getBorder(facet)), columnFacets.build());
+    }
+
+    void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    CacheStats getStats() {
+        return cache.stats();
+    }
+
+    private boolean isColumnIndependent(Class<? extends WorldFacet> facet) {
+        List<FacetProvider> chain = facetProviderChains.get(facet);
+        if (!WorldFacet2D.class.isAssignableFrom(facet) || chain.isEmpty()) {
+            return false;
+        }
+        Set<FacetProvider> chainProviders = Sets.newHashSet(chain);
+        for (FacetProvider provider : chain) {
+            for (Facet required : requiredFacets(provider)) {
+                if (!WorldFacet2D.class.isAssignableFrom(required.value())) {
+                    return false;
+                }
+            }
+            for (Class<? extends WorldFacet> output : outputFacets(provider)) {
+                if (!WorldFacet2D.class.isAssignableFrom(output) || !chainProviders.containsAll(facetProviderChains.get(output))) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private List<Class<? extends WorldFacet>> determinePrerequisites(Class<? extends WorldFacet> facet) {
+        Set<FacetProvider> chainProviders = Sets.newHashSet(facetProviderChains.get(facet));
+        List<Class<? extends WorldFacet>> candidates = Lists.newArrayList();
+        for (Class<? extends WorldFacet> shared : sharedFacets.keySet()) {
+            if (chainProviders.containsAll(facetProviderChains.get(shared))) {
+                candidates.add(shared);
+            }
+        }
+        // only keep the largest chains, the smaller ones are resolved along with them
+        List<Class<? extends WorldFacet>> result = Lists.newArrayList();
+        for (Class<? extends WorldFacet> candidate : candidates) {
+            Set<FacetProvider> candidateChain = Sets.newHashSet(facetProviderChains.get(candidate));
+            boolean contained = false;
+            for (Class<? extends WorldFacet> other : candidates) {
+                List<FacetProvider> otherChain = facetProviderChains.get(other);
+                if (other != candidate && otherChain.size() > candidateChain.size() && otherChain.containsAll(candidateChain)) {
+                    contained = true;
+                    break;
+                }
+            }
+            if (!contained) {
+                result.add(candidate);
+            }
+        }
+        return result;
+    }
+
+    private Border3D getBorder(Class<? extends WorldFacet> facet) {
+        Border3D border = borders.get(facet);
+        return (border != null) ? border : new Border3D(0, 0, 0);
+    }
+
+    private static List<Facet> requiredFacets(FacetProvider provider) {
+        Requires requires = provider.getClass().getAnnotation(Requires.class);
+        return (requires != null) ? Arrays.asList(requires.value()) : Collections.emptyList();
+    }
+
+    private static Set<Class<? extends WorldFacet>> outputFacets(FacetProvider provider) {
+        Set<Class<? extends WorldFacet>> result = Sets.newHashSet();
+        Produces produces = provider.getClass().getAnnotation(Produces.class);
+        if (produces != null) {
+            result.addAll(Arrays.asList(produces.value()));
+        }
+        Updates updates = provider.getClass().getAnnotation(Updates.class);
+        if (updates != null) {
+            for (Facet updated : updates.value()) {
+                result.add(updated.value());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Identifies a column by the horizontal extent of a region, together with the facet and the border it is generated with.
+     */
+    private static final class ColumnKey {
+        private final Class<? extends WorldFacet> facet;
+        private final int minX;
+        private final int minZ;
+        private final int sizeX;
+        private final int sizeZ;
+        private final Border3D border;
+
+        ColumnKey(Class<? extends WorldFacet> facet, Region3i region, Border3D border) {
+            this.facet = facet;
+            this.minX = region.minX();
+            this.minZ = region.minZ();
+            this.sizeX = region.sizeX();
+            this.sizeZ = region.sizeZ();
+            this.border = border;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (obj == this) {
+                return true;
+            }
+            if (obj instanceof ColumnKey) {
+                ColumnKey other = (ColumnKey) obj;
+                return facet == other.facet && minX == other.minX && minZ == other.minZ
+                        && sizeX == other.sizeX && sizeZ == other.sizeZ && border.equals(other.border);
+            }
+            return false;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(facet, minX, minZ, sizeX, sizeZ, border);
+        }
+    }
+}
@@ -20,6 +20,7 @@
 import org.terasology.math.Region3i;
 import org.terasology.utilities.collection.TypeMap;
 
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -30,31 +31,66 @@ public class RegionImpl implements Region, GeneratingRegion {
     private final Region3i region;
     private final ListMultimap<Class<? extends WorldFacet>, FacetProvider> facetProviderChains;
     private final Map<Class<? extends WorldFacet>, Border3D> borders;
+    private final ColumnFacetCache columnFacetCache;
 
     private final TypeMap<WorldFacet> generatingFacets = TypeMap.create();
     private final Set<FacetProvider> processedProviders = Sets.newHashSet();
     private final TypeMap<WorldFacet> generatedFacets = TypeMap.create();
 
     public RegionImpl(Region3i region, ListMultimap<Class<? extends WorldFacet>, FacetProvider> facetProviderChains, Map<Class<? extends WorldFacet>, Border3D> borders) {
+        this(region, facetProviderChains, borders, null);
+    }
+
+    /**
+     * @param columnFacetCache the cache to share 2D facets with the other regions of the same column, or null
+     */
+    RegionImpl(Region3i region, ListMultimap<Class<? extends WorldFacet>, FacetProvider> facetProviderChains, Map<Class<? extends WorldFacet>, Border3D> borders,
+               ColumnFacetCache columnFacetCache) {
         this.region = region;
         this.facetProviderChains = facetProviderChains;
         this.borders = borders;
+        this.columnFacetCache = columnFacetCache;
     }
 
     @Override
     public <T extends WorldFacet> T getFacet(Class<T> dataType) {
         T facet = generatedFacets.get(dataType);
         if (facet == null) {
-            facetProviderChains.get(dataType).stream().filter(provider -> !processedProviders.contains(provider)).forEach(provider -> {
-                provider.process(this);
-                processedProviders.add(provider);
-            });
+            if (columnFacetCache == null) {
+                processChain(dataType);
+            } else if (columnFacetCache.isShared(dataType)) {
+                Map<Class<? extends WorldFacet>, WorldFacet> columnFacets = columnFacetCache.get(dataType, region);
+                if (columnFacets != null) {
+                    columnFacets.forEach(this::putColumnFacet);
+                    processedProviders.addAll(facetProviderChains.get(dataType));
+                } else {
+                    processChain(dataType);
+                    columnFacetCache.put(dataType, region, generatingFacets.asMap());
+                }
+            } else {
+                for (Class<? extends WorldFacet> prerequisite : columnFacetCache.getPrerequisites(dataType)) {
+                    getFacet(prerequisite);
+                }
+                processChain(dataType);
+            }
             facet = generatingFacets.get(dataType);
             generatedFacets.put(dataType, facet);
         }
         return facet;
     }
 
+    private void processChain(Class<? extends WorldFacet> dataType) {
+        List<FacetProvider> chain = facetProviderChains.get(dataType);
+        chain.stream().filter(provider -> !processedProviders.contains(provider)).forEach(provider -> {
+            provider.process(this);
+            processedProviders.add(provider);
+        });
+    }
+
+    private <T extends WorldFacet> void putColumnFacet(Class<T> type, WorldFacet facet) {
+        generatingFacets.put(type, type.cast(facet));
+    }
+
     @Override
     public Region3i getRegion() {
         return region;
@@ -15,6 +15,7 @@
  */
 package org.terasology.world.generation;
 
+import com.google.common.cache.CacheStats;
 import com.google.common.collect.ListMultimap;
 import com.google.common.collect.Sets;
 import org.terasology.math.Region3i;
@@ -34,6 +35,7 @@ public class WorldImpl implements World {
     private final List<EntityProvider> entityProviders;
     private final Map<Class<? extends WorldFacet>, Border3D> borders;
     private final int seaLevel;
+    private final ColumnFacetCache columnFacetCache;
 
     public WorldImpl(ListMultimap<Class<? extends WorldFacet>, FacetProvider> facetProviderChains,
                      List<WorldRasterizer> worldRasterizers,
@@ -45,6 +47,7 @@ public WorldImpl(ListMultimap<Class<? extends WorldFacet>, FacetProvider> facetP
         this.entityProviders = entityProviders;
         this.borders = borders;
         this.seaLevel = seaLevel;
+        this.columnFacetCache = new ColumnFacetCache(facetProviderChains, borders, ColumnFacetCache.DEFAULT_MAXIMUM_SIZE);
     }
 
     @Override
@@ -59,7 +62,8 @@ public int getSeaLevel() {
 
     @Override
     public void rasterizeChunk(CoreChunk chunk, EntityBuffer buffer) {
-        Region chunkRegion = getWorldData(chunk.getRegion());
+        // chunks share the 2D facets of their column, other callers may reconfigure the providers between requests
+        Region chunkRegion = new RegionImpl(chunk.getRegion(), facetProviderChains, borders, columnFacetCache);
         for (WorldRasterizer rasterizer : worldRasterizers) {
             rasterizer.generateChunk(chunk, chunkRegion);
         }
@@ -73,8 +77,17 @@ public Set<Class<? extends WorldFacet>> getAllFacets() {
         return Sets.newHashSet(facetProviderChains.keySet());
     }
 
+    /**
+     * @return the hit and eviction statistics of the 2D facets shared between the chunks of a column
+     */
+    public CacheStats getColumnFacetStats() {
+        return columnFacetCache.getStats();
+    }
+
     @Override
     public void initialize() {
+        columnFacetCache.invalidateAll();
+
         // throw them all in a set to remove duplicates
         Collection<FacetProvider> facetProviders = new LinkedHashSet<>(facetProviderChains.values());
 
@@ -102,6 +102,11 @@ public Map<Vector3i, Block> setBlocks(Map<Vector3i, Block> blocks) {
         return base.setBlocks(blocks);
     }
 
+    @Override
+    public int setBlocks(Region3i region, Block type) {
+        return base.setBlocks(region, type);
+    }
+
     @Override
     public boolean setLiquid(int x, int y, int z, LiquidData newState, LiquidData oldState) {
         return base.setLiquid(x, y, z, newState, oldState);
@@ -124,6 +124,46 @@ public Block setBlock(Vector3i pos, Block type) {
         return null;
     }
 
+    @Override
+    public Map<Vector3i, Block> setBlocks(Map<Vector3i, Block> blocks) {
+        if (GameThread.isCurrentThread()) {
+            Map<Vector3i, EntityRef> blockEntities = Maps.newHashMapWithExpectedSize(blocks.size());
+            for (Vector3i pos : blocks.keySet()) {
+                blockEntities.put(pos, getBlockEntityAt(pos));
+            }
+            Map<Vector3i, Block> oldTypes = super.setBlocks(blocks);
+            for (Map.Entry<Vector3i, Block> entry : oldTypes.entrySet()) {
+                if (entry.getValue() != null) {
+                    updateBlockEntity(blockEntities.get(entry.getKey()), entry.getKey(), entry.getValue(),
+                            blocks.get(entry.getKey()), false, Collections.<Class<? extends Component>>emptySet());
+                }
+            }
+            return oldTypes;
+        }
+        return Collections.emptyMap();
+    }
+
+    @Override
+    public int setBlocks(Region3i region, Block type) {
+        if (GameThread.isCurrentThread()) {
+            Map<Vector3i, EntityRef> blockEntities = Maps.newHashMap();
+            Map<Vector3i, Block> oldTypes = Maps.newHashMap();
+            for (Vector3i pos : region) {
+                if (isBlockRelevant(pos.x, pos.y, pos.z)) {
+                    blockEntities.put(pos, getBlockEntityAt(pos));
+                    oldTypes.put(pos, getBlock(pos.x, pos.y, pos.z));
+                }
+            }
+            int changed = super.setBlocks(region, type);
+            for (Map.Entry<Vector3i, Block> entry : oldTypes.entrySet()) {
+                updateBlockEntity(blockEntities.get(entry.getKey()), entry.getKey(), entry.getValue(), type, false,
+                        Collections.<Class<? extends Component>>emptySet());
+            }
+            return changed;
+        }
+        return 0;
+    }
+
     @Override
     @SafeVarargs
     public final Block setBlockRetainComponent(Vector3i pos, Block type, Class<? extends Component>... components) {
@@ -108,7 +108,7 @@ public interface WorldProviderCore {
     /**
      * Places all given blocks of specific types at their corresponding positions
      * </p>
-     * Chunks are
+     * Chunks are marked dirty once for all blocks, and listeners are notified of all changes at once.
      *
      * @param blocks A mapping from world position to change to the type of block to set
      * @return A mapping from world position to previous block type.
@@ -123,6 +123,26 @@ default Map<Vector3i, Block> setBlocks(Map<Vector3i, Block> blocks) {
         return resultMap;
     }
 
+    /**
+     * Places a block of a specific type at every position of a region
+     * </p>
+     * Chunks are marked dirty once for all blocks, and listeners are notified of all changes at once.
+     *
+     * @param region The world positions to change
+     * @param type   The type of the block to set
+     * @return The number of blocks that changed. Blocks in chunks that are not loaded are not changed
+     */
+    default int setBlocks(Region3i region, Block type) {
+        int changed = 0;
+        for (Vector3i pos : region) {
+            Block oldBlock = setBlock(pos, type);
+            if (oldBlock != null && oldBlock != type) {
+                changed++;
+            }
+        }
+        return changed;
+    }
+
 
 
     /**
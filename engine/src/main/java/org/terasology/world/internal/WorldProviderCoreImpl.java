@@ -21,6 +21,7 @@
 import com.google.common.collect.FluentIterable;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
 import org.terasology.context.Context;
 import org.terasology.engine.SimpleUri;
 import org.terasology.entitySystem.entity.EntityManager;
@@ -34,6 +35,7 @@
 import org.terasology.world.biomes.BiomeManager;
 import org.terasology.world.block.Block;
 import org.terasology.world.chunks.Chunk;
+import org.terasology.world.chunks.ChunkConstants;
 import org.terasology.world.chunks.ChunkProvider;
 import org.terasology.world.chunks.CoreChunk;
 import org.terasology.world.chunks.LitChunk;
@@ -44,9 +46,9 @@
 import org.terasology.world.propagation.BatchPropagator;
 import org.terasology.world.propagation.BiomeChange;
 import org.terasology.world.propagation.BlockChange;
+import org.terasology.world.propagation.PackedBatchPropagator;
 import org.terasology.world.propagation.PropagationRules;
 import org.terasology.world.propagation.PropagatorWorldView;
-import org.terasology.world.propagation.StandardBatchPropagator;
 import org.terasology.world.propagation.SunlightRegenBatchPropagator;
 import org.terasology.world.propagation.light.LightPropagationRules;
 import org.terasology.world.propagation.light.LightWorldView;
@@ -58,8 +60,6 @@
 import org.terasology.world.time.WorldTimeImpl;
 
 import java.util.Collection;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -98,11 +98,11 @@ public WorldProviderCoreImpl(String title, String seed, long time, SimpleUri wor
         this.worldTime = new WorldTimeImpl();
         worldTime.setMilliseconds(time);
 
-        propagators.add(new StandardBatchPropagator(new LightPropagationRules(), new LightWorldView(chunkProvider)));
+        propagators.add(new PackedBatchPropagator(new LightPropagationRules(), new LightWorldView(chunkProvider)));
         PropagatorWorldView regenWorldView = new SunlightRegenWorldView(chunkProvider);
         PropagationRules sunlightRules = new SunlightPropagationRules(regenWorldView);
         PropagatorWorldView sunlightWorldView = new SunlightWorldView(chunkProvider);
-        BatchPropagator sunlightPropagator = new StandardBatchPropagator(sunlightRules, sunlightWorldView);
+        BatchPropagator sunlightPropagator = new PackedBatchPropagator(sunlightRules, sunlightWorldView);
         propagators.add(new SunlightRegenBatchPropagator(new SunlightRegenPropagationRules(), regenWorldView, sunlightPropagator, sunlightWorldView));
         propagators.add(sunlightPropagator);
     }
@@ -222,48 +222,27 @@ public Map<Vector3i, Block> setBlocks(Map<Vector3i, Block> blocks) {
          * Hint: This method has a benchmark available in the BenchmarkScreen, The screen can be opened ingame via the
          * command "showSCreen BenchmarkScreen".
          */
-        Set<RenderableChunk> dirtiedChunks = new HashSet<>();
-        Set<BlockChange> changedBlocks = new HashSet<>();
-        Map<Vector3i, Block> result = new HashMap<>(blocks.size());
-
+        BlockEdit edit = new BlockEdit();
+        Map<Vector3i, Block> result = Maps.newHashMapWithExpectedSize(blocks.size());
         for (Map.Entry<Vector3i, Block> entry : blocks.entrySet()) {
-            Vector3i worldPos = entry.getKey();
-            Vector3i chunkPos = ChunkMath.calcChunkPos(worldPos);
-            CoreChunk chunk = chunkProvider.getChunk(chunkPos);
+            result.put(entry.getKey(), edit.setBlock(entry.getKey(), entry.getValue()));
+        }
+        edit.complete();
+        return result;
+    }
 
+    @Override
+    public int setBlocks(Region3i region, Block type) {
+        BlockEdit edit = new BlockEdit();
+        for (Vector3i chunkPos : ChunkMath.calcChunkPos(region)) {
+            CoreChunk chunk = chunkProvider.getChunk(chunkPos);
             if (chunk != null) {
-                Block type = entry.getValue();
-                Vector3i blockPos = ChunkMath.calcBlockPos(worldPos);
-                Block oldBlockType = chunk.setBlock(blockPos, type);
-                if (oldBlockType != type) {
-                    BlockChange oldChange = blockChanges.get(worldPos);
-                    if (oldChange == null) {
-                        blockChanges.put(worldPos, new BlockChange(worldPos, oldBlockType, type));
-                    } else {
-                        oldChange.setTo(type);
-                    }
-                    for (Vector3i pos : ChunkMath.getChunkRegionAroundWorldPos(worldPos, 1)) {
-                        RenderableChunk dirtiedChunk = chunkProvider.getChunk(pos);
-                        if (dirtiedChunk != null) {
-                            dirtiedChunks.add(dirtiedChunk);
-                        }
-                    }
-                    changedBlocks.add(new BlockChange(worldPos, oldBlockType, type));
+                for (Vector3i worldPos : region.intersect(chunk.getRegion())) {
+                    edit.setBlock(chunk, worldPos, type);
                 }
-                result.put(worldPos, oldBlockType);
-            } else {
-                result.put(worldPos, null);
             }
         }
-
-        for (RenderableChunk chunk : dirtiedChunks) {
-            chunk.setDirty(true);
-        }
-        for (BlockChange change : changedBlocks) {
-            notifyBlockChanged(change.getPosition(), change.getTo(), change.getFrom());
-        }
-
-        return result;
+        return edit.complete();
     }
 
     private void notifyBlockChanged(Vector3i pos, Block type, Block oldType) {
@@ -276,6 +255,14 @@ private void notifyBlockChanged(Vector3i pos, Block type, Block oldType) {
         }
     }
 
+    private void notifyBlocksChanged(List<BlockChange> changes) {
+        synchronized (listeners) {
+            for (WorldChangeListener listener : listeners) {
+                listener.onBlocksChanged(changes);
+            }
+        }
+    }
+
     private void notifyBiomeChanged(Vector3i pos, Biome newBiome, Biome originalBiome) {
         // TODO: Could use a read/write writeLock.
         // TODO: Review, should only happen on main thread (as should changes to listeners)
@@ -413,4 +400,86 @@ public Collection<Region3i> getRelevantRegions() {
 
         return FluentIterable.from(chunks).filter(isReady).transform(mapping).toList();
     }
+
+    /**
+     * Collects the changes of a bulk edit, so that chunks are looked up and marked dirty once and listeners are
+     * notified once for the whole edit.
+     */
+    private final class BlockEdit {
+        private final List<BlockChange> changes = Lists.newArrayList();
+        private final Set<Vector3i> dirtiedChunks = Sets.newHashSet();
+        private CoreChunk lastChunk;
+
+        /**
+         * @return The previous block type. Null if the chunk is not loaded
+         */
+        Block setBlock(Vector3i worldPos, Block type) {
+            int chunkX = ChunkMath.calcChunkPosX(worldPos.x);
+            int chunkY = ChunkMath.calcChunkPosY(worldPos.y);
+            int chunkZ = ChunkMath.calcChunkPosZ(worldPos.z);
+            if (lastChunk == null || lastChunk.getPosition().x != chunkX || lastChunk.getPosition().y != chunkY
+                    || lastChunk.getPosition().z != chunkZ) {
+                lastChunk = chunkProvider.getChunk(chunkX, chunkY, chunkZ);
+                if (lastChunk == null) {
+                    return null;
+                }
+            }
+            return setBlock(lastChunk, worldPos, type);
+        }
+
+        Block setBlock(CoreChunk chunk, Vector3i worldPos, Block type) {
+            int x = ChunkMath.calcBlockPosX(worldPos.x);
+            int y = ChunkMath.calcBlockPosY(worldPos.y);
+            int z = ChunkMath.calcBlockPosZ(worldPos.z);
+            Block oldBlockType = chunk.setBlock(x, y, z, type);
+            if (oldBlockType != type) {
+                // The queued changes get merged with later changes, so the listeners get instances of their own
+                BlockChange oldChange = blockChanges.putIfAbsent(worldPos, new BlockChange(worldPos, oldBlockType, type));
+                if (oldChange != null) {
+                    oldChange.setTo(type);
+                }
+                changes.add(new BlockChange(worldPos, oldBlockType, type));
+                markDirty(chunk.getPosition(), x, y, z);
+            }
+            return oldBlockType;
+        }
+
+        private void markDirty(Vector3i chunkPos, int x, int y, int z) {
+            dirtiedChunks.add(chunkPos);
+            // Blocks on the border of a chunk affect the meshes of the adjacent chunks as well
+            int minX = (x == 0) ? -1 : 0;
+            int maxX = (x == ChunkConstants.SIZE_X - 1) ? 1 : 0;
+            int minY = (y == 0) ? -1 : 0;
+            int maxY = (y == ChunkConstants.SIZE_Y - 1) ? 1 : 0;
+            int minZ = (z == 0) ? -1 : 0;
+            int maxZ = (z == ChunkConstants.SIZE_Z - 1) ? 1 : 0;
+            for (int dx = minX; dx <= maxX; dx++) {
+                for (int dy = minY; dy <= maxY; dy++) {
+                    for (int dz = minZ; dz <= maxZ; dz++) {
+                        if (dx != 0 || dy != 0 || dz != 0) {
+                            dirtiedChunks.add(new Vector3i(chunkPos.x + dx, chunkPos.y + dy, chunkPos.z + dz));
+                        }
+                    }
+                }
+            }
+        }
+
+        /**
+         * Marks the affected chunks dirty and notifies the listeners of the changes.
+         *
+         * @return The number of changed blocks
+         */
+        int complete() {
+            for (Vector3i chunkPos : dirtiedChunks) {
+                RenderableChunk dirtiedChunk = chunkProvider.getChunk(chunkPos);
+                if (dirtiedChunk != null) {
+                    dirtiedChunk.setDirty(true);
+                }
+            }
+            if (!changes.isEmpty()) {
+                notifyBlocksChanged(changes);
+            }
+            return changes.size();
+        }
+    }
 }
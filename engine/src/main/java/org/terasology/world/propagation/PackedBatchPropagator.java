@@ -0,0 +1,297 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.world.propagation;
+
+import org.terasology.math.Side;
+import org.terasology.math.geom.Vector3i;
+import org.terasology.world.block.Block;
+import org.terasology.world.chunks.LitChunk;
+
+import java.util.Arrays;
+
+/**
+ * Batch propagator that works on a set of changed blocks, like {@link StandardBatchPropagator}, but queues the
+ * positions to process as packed longs in primitive, insertion-ordered hash sets. Processing therefore does not allocate per visited
+ * block, which matters for large changes such as explosions.
+ * <br><br>
+ * Positions are packed with 21 bits per axis, so coordinates must lie within [-2^20, 2^20). Other positions are
+ * rejected with an {@link IllegalArgumentException} instead of wrapping around.
+ */
+public class PackedBatchPropagator implements BatchPropagator {
+
+    private static final byte NO_VALUE = 0;
+    private static final Side[] SIDES = Side.values();
+
+    private static final int COORDINATE_BITS = 21;
+    private static final long COORDINATE_MASK = (1L << COORDINATE_BITS) - 1;
+    private static final int MIN_COORDINATE = -(1 << (COORDINATE_BITS - 1));
+    private static final int MAX_COORDINATE = (1 << (COORDINATE_BITS - 1)) - 1;
+
+    /**
+     * Queues that grew beyond this capacity are replaced after processing rather than cleared, so that one large change
+     * does not leave every later one clearing and iterating oversized tables.
+     */
+    private static final int RETAINED_CAPACITY = 1 << 12;
+
+    private PropagationRules rules;
+    private PropagatorWorldView world;
+    private ChunkEdgePropagator edgePropagator;
+
+    private PackedPositionSet[] reduceQueues;
+    private PackedPositionSet[] increaseQueues;
+    private PackedPositionSet spareQueue = new PackedPositionSet();
+
+    private final Vector3i pos = new Vector3i();
+    private final Vector3i adjPos = new Vector3i();
+
+    public PackedBatchPropagator(PropagationRules rules, PropagatorWorldView world) {
+        this.world = world;
+        this.rules = rules;
+        this.edgePropagator = new ChunkEdgePropagator(rules);
+
+        increaseQueues = new PackedPositionSet[rules.getMaxValue()];
+        reduceQueues = new PackedPositionSet[rules.getMaxValue()];
+        for (int i = 0; i < rules.getMaxValue(); ++i) {
+            increaseQueues[i] = new PackedPositionSet();
+            reduceQueues[i] = new PackedPositionSet();
+        }
+    }
+
+    static long pack(Vector3i position) {
+        return pack(position.x, position.y, position.z);
+    }
+
+    /**
+     * @throws IllegalArgumentException if a coordinate lies outside [-2^20, 2^20), as it would wrap around to another
+     *                                  position.
+     */
+    static long pack(int x, int y, int z) {
+        if (x < MIN_COORDINATE || x > MAX_COORDINATE || y < MIN_COORDINATE || y > MAX_COORDINATE
+                || z < MIN_COORDINATE || z > MAX_COORDINATE) {
+            throw new IllegalArgumentException("Position (" + x + ", " + y + ", " + z + ") is out of the range ["
+                    + MIN_COORDINATE + ", " + MAX_COORDINATE + "] the batch propagator supports per axis");
+        }
+        return ((x & COORDINATE_MASK) << (2 * COORDINATE_BITS)) | ((y & COORDINATE_MASK) << COORDINATE_BITS) | (z & COORDINATE_MASK);
+    }
+
+    static void unpack(long packed, Vector3i output) {
+        int shift = Long.SIZE - COORDINATE_BITS;
+        output.x = (int) ((packed << (shift - 2 * COORDINATE_BITS)) >> shift);
+        output.y = (int) ((packed << (shift - COORDINATE_BITS)) >> shift);
+        output.z = (int) ((packed << shift) >> shift);
+    }
+
+    @Override
+    public void process(BlockChange... changes) {
+        process(Arrays.asList(changes));
+    }
+
+    @Override
+    public void process(Iterable<BlockChange> blockChanges) {
+        for (BlockChange blockChange : blockChanges) {
+            reviewChange(blockChange);
+        }
+
+        processReduction();
+        processIncrease();
+        cleanUp();
+    }
+
+    private void reviewChange(BlockChange blockChange) {
+        Vector3i position = blockChange.getPosition();
+        byte newValue = rules.getFixedValue(blockChange.getTo(), position);
+        byte existingValue = world.getValueAt(position);
+        if (newValue > existingValue) {
+            increase(position, newValue);
+        }
+
+        byte oldValue = rules.getFixedValue(blockChange.getFrom(), position);
+        if (newValue < oldValue) {
+            reduce(position, oldValue);
+        }
+
+        for (Side side : SIDES) {
+            PropagationComparison comparison = rules.comparePropagation(blockChange.getTo(), blockChange.getFrom(), side);
+            if (comparison.isRestricting() && existingValue > 0) {
+                reduce(position, existingValue);
+                adjPos.set(position);
+                adjPos.add(side.getVector3i());
+                byte adjValue = world.getValueAt(adjPos);
+                if (adjValue == rules.propagateValue(existingValue, side, blockChange.getFrom())) {
+                    reduce(adjPos, adjValue);
+                }
+            } else if (comparison.isPermitting()) {
+                if (existingValue > 0) {
+                    queueSpreadValue(position, existingValue);
+                }
+                adjPos.set(position);
+                adjPos.add(side.getVector3i());
+                byte adjValue = world.getValueAt(adjPos);
+                if (adjValue != PropagatorWorldView.UNAVAILABLE) {
+                    queueSpreadValue(adjPos, adjValue);
+                }
+            }
+        }
+    }
+
+    private void processReduction() {
+        int depth = 0;
+        while (depth < rules.getMaxValue()) {
+            byte oldValue = (byte) (rules.getMaxValue() - depth);
+            PackedPositionSet toProcess = reduceQueues[depth];
+            if (!toProcess.isEmpty()) {
+                reduceQueues[depth] = spareQueue;
+
+                for (int i = 0; i < toProcess.iterationLength(); ++i) {
+                    long packed = toProcess.get(i);
+                    if (packed != PackedPositionSet.REMOVED) {
+                        unpack(packed, pos);
+                        purge(pos, oldValue);
+                    }
+                }
+                toProcess.clear();
+                spareQueue = toProcess;
+            } else {
+                depth++;
+            }
+        }
+    }
+
+    private void purge(Vector3i position, byte oldValue) {
+        Block block = world.getBlockAt(position);
+        increaseQueues[rules.getMaxValue() - oldValue].remove(pack(position));
+        byte fixedValue = rules.getFixedValue(block, position);
+        if (fixedValue > 0) {
+            increase(position, fixedValue);
+        } else {
+            world.setValueAt(position, NO_VALUE);
+        }
+
+        for (Side side : SIDES) {
+            byte expectedValue = rules.propagateValue(oldValue, side, block);
+            if (rules.canSpreadOutOf(block, side)) {
+                adjPos.set(position);
+                adjPos.add(side.getVector3i());
+                byte adjValue = world.getValueAt(adjPos);
+                if (adjValue == expectedValue) {
+                    Block adjBlock = world.getBlockAt(adjPos);
+                    if (rules.canSpreadInto(adjBlock, side.reverse())) {
+                        reduce(adjPos, expectedValue);
+                    }
+                } else if (adjValue > 0) {
+                    queueSpreadValue(adjPos, adjValue);
+                }
+            }
+        }
+    }
+
+    private void processIncrease() {
+        int depth = 0;
+        while (depth < rules.getMaxValue() - 1) {
+            byte value = (byte) (rules.getMaxValue() - depth);
+            PackedPositionSet toProcess = increaseQueues[depth];
+            if (!toProcess.isEmpty()) {
+                increaseQueues[depth] = spareQueue;
+
+                for (int i = 0; i < toProcess.iterationLength(); ++i) {
+                    long packed = toProcess.get(i);
+                    if (packed != PackedPositionSet.REMOVED) {
+                        unpack(packed, pos);
+                        push(pos, value);
+                    }
+                }
+                toProcess.clear();
+                spareQueue = toProcess;
+                if (increaseQueues[depth].isEmpty()) {
+                    depth++;
+                }
+            } else {
+                depth++;
+            }
+        }
+    }
+
+    private void push(Vector3i position, byte value) {
+        Block block = world.getBlockAt(position);
+        for (Side side : SIDES) {
+            byte spreadValue = rules.propagateValue(value, side, block);
+            if (rules.canSpreadOutOf(block, side)) {
+                adjPos.set(position);
+                adjPos.add(side.getVector3i());
+                byte adjValue = world.getValueAt(adjPos);
+                if (adjValue < spreadValue && adjValue != PropagatorWorldView.UNAVAILABLE) {
+                    Block adjBlock = world.getBlockAt(adjPos);
+                    if (rules.canSpreadInto(adjBlock, side.reverse())) {
+                        increase(adjPos, spreadValue);
+                    }
+                }
+            }
+        }
+    }
+
+    private void cleanUp() {
+        for (int i = 0; i < increaseQueues.length; ++i) {
+            increaseQueues[i] = clearQueue(increaseQueues[i]);
+            reduceQueues[i] = clearQueue(reduceQueues[i]);
+        }
+        spareQueue = clearQueue(spareQueue);
+    }
+
+    private static PackedPositionSet clearQueue(PackedPositionSet queue) {
+        if (queue.capacity() > RETAINED_CAPACITY) {
+            return new PackedPositionSet();
+        }
+        queue.clear();
+        return queue;
+    }
+
+    private void increase(Vector3i position, byte value) {
+        world.setValueAt(position, value);
+        queueSpreadValue(position, value);
+    }
+
+    private void queueSpreadValue(Vector3i position, byte value) {
+        if (value > 1) {
+            increaseQueues[rules.getMaxValue() - value].add(pack(position));
+        }
+    }
+
+    private void reduce(Vector3i position, byte oldValue) {
+        if (oldValue > 0) {
+            reduceQueues[rules.getMaxValue() - oldValue].add(pack(position));
+        }
+    }
+
+    @Override
+    public void propagateBetween(LitChunk chunk, LitChunk adjChunk, Side side, boolean propagateExternal) {
+        edgePropagator.propagateBetween(chunk, adjChunk, side, propagateExternal, this);
+    }
+
+    @Override
+    public void propagateFrom(Vector3i position, Block block) {
+        queueSpreadValue(position, rules.getFixedValue(block, position));
+    }
+
+    @Override
+    public void propagateFrom(Vector3i position, byte value) {
+        queueSpreadValue(position, value);
+    }
+
+    @Override
+    public void regenerate(Vector3i position, byte value) {
+        reduce(position, value);
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright 2017 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.world.propagation;
+
+import java.util.Arrays;
+
+/**
+ * An insertion-ordered set of non-negative longs, used to queue packed block positions without allocating per entry.
+ * <br><br>
+ * Entries are kept in insertion order in a dense array for iteration, and indexed by an open-addressing hash table with
+ * linear probing. Removed entries leave a {@link #REMOVED} marker in the dense array until the set is cleared.
+ */
+final class PackedPositionSet {
+    static final long REMOVED = -1;
+
+    private static final long EMPTY = -1;
+    private static final int INITIAL_CAPACITY = 16;
+
+    private long[] keys;
+    private int[] orderIndices;
+    private int mask;
+    private int size;
+
+    private long[] order = new long[INITIAL_CAPACITY];
+    private int orderLength;
+
+    PackedPositionSet() {
+        allocateTable(INITIAL_CAPACITY * 2);
+    }
+
+    /**
+     * @return Whether the value was added, false if it was already contained
+     * @throws IllegalArgumentException if the value is negative, as negative values mark empty and removed entries
+     */
+    boolean add(long value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Only non-negative values can be added, got " + value);
+        }
+        int slot = hash(value);
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == value) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        if (orderLength == order.length) {
+            order = Arrays.copyOf(order, order.length * 2);
+        }
+        keys[slot] = value;
+        orderIndices[slot] = orderLength;
+        order[orderLength++] = value;
+        size++;
+        if (orderLength * 2 > keys.length) {
+            rehash(keys.length * 2);
+        }
+        return true;
+    }
+
+    void remove(long value) {
+        int slot = hash(value);
+        while (keys[slot] != value) {
+            if (keys[slot] == EMPTY) {
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        order[orderIndices[slot]] = REMOVED;
+        size--;
+        deleteSlot(slot);
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @return The number of entries to iterate with {@link #get(int)}, including removed ones
+     */
+    int iterationLength() {
+        return orderLength;
+    }
+
+    /**
+     * @return The entry at the given position in insertion order, or {@link #REMOVED}
+     */
+    long get(int index) {
+        return order[index];
+    }
+
+    void clear() {
+        if (orderLength * 4 < keys.length) {
+            for (int i = 0; i < orderLength; ++i) {
+                if (order[i] != REMOVED) {
+                    int slot = hash(order[i]);
+                    while (keys[slot] != order[i]) {
+                        slot = (slot + 1) & mask;
+                    }
+                    deleteSlot(slot);
+                }
+            }
+        } else {
+            Arrays.fill(keys, EMPTY);
+        }
+        size = 0;
+        orderLength = 0;
+    }
+
+    /**
+     * @return The size of the hash table
+     */
+    int capacity() {
+        return keys.length;
+    }
+
+    private void deleteSlot(int slot) {
+        int gap = slot;
+        int next = (gap + 1) & mask;
+        while (keys[next] != EMPTY) {
+            int home = hash(keys[next]);
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                keys[gap] = keys[next];
+                orderIndices[gap] = orderIndices[next];
+                gap = next;
+            }
+            next = (next + 1) & mask;
+        }
+        keys[gap] = EMPTY;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        int[] oldIndices = orderIndices;
+        allocateTable(capacity);
+        for (int i = 0; i < oldKeys.length; ++i) {
+            if (oldKeys[i] != EMPTY) {
+                int slot = hash(oldKeys[i]);
+                while (keys[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                orderIndices[slot] = oldIndices[i];
+            }
+        }
+    }
+
+    private void allocateTable(int capacity) {
+        keys = new long[capacity];
+        Arrays.fill(keys, EMPTY);
+        orderIndices = new int[capacity];
+        mask = capacity - 1;
+    }
+
+    private int hash(long value) {
+        return (int) ((value * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+    }
+}
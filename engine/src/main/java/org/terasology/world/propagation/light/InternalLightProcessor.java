@@ -22,9 +22,9 @@
 import org.terasology.world.chunks.ChunkConstants;
 import org.terasology.world.chunks.LitChunk;
 import org.terasology.world.propagation.BatchPropagator;
+import org.terasology.world.propagation.PackedBatchPropagator;
 import org.terasology.world.propagation.PropagationRules;
 import org.terasology.world.propagation.SingleChunkView;
-import org.terasology.world.propagation.StandardBatchPropagator;
 
 /**
  * For doing an initial lighting sweep during chunk generation - bound to the chunk and assumed blank slate
@@ -45,7 +45,7 @@ public static void generateInternalLighting(LitChunk chunk) {
     }
 
     private static void populateLight(LitChunk chunk) {
-        BatchPropagator lightPropagator = new StandardBatchPropagator(LIGHT_RULES, new SingleChunkView(LIGHT_RULES, chunk));
+        BatchPropagator lightPropagator = new PackedBatchPropagator(LIGHT_RULES, new SingleChunkView(LIGHT_RULES, chunk));
         for (int x = 0; x < ChunkConstants.SIZE_X; x++) {
             for (int z = 0; z < ChunkConstants.SIZE_Z; z++) {
                 for (int y = 0; y < ChunkConstants.SIZE_Y; y++) {
@@ -62,7 +62,7 @@ private static void populateLight(LitChunk chunk) {
 
     private static void populateSunlight(LitChunk chunk) {
         PropagationRules sunlightRules = new SunlightPropagationRules(chunk);
-        BatchPropagator lightPropagator = new StandardBatchPropagator(sunlightRules, new SingleChunkView(sunlightRules, chunk));
+        BatchPropagator lightPropagator = new PackedBatchPropagator(sunlightRules, new SingleChunkView(sunlightRules, chunk));
 
         for (int x = 0; x < ChunkConstants.SIZE_X; x++) {
             for (int z = 0; z < ChunkConstants.SIZE_Z; z++) {
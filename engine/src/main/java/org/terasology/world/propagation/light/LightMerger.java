@@ -16,6 +16,7 @@
 package org.terasology.world.propagation.light;
 
 import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.terasology.math.Side;
@@ -25,11 +26,12 @@
 import org.terasology.world.chunks.internal.GeneratingChunkProvider;
 import org.terasology.world.propagation.BatchPropagator;
 import org.terasology.world.propagation.LocalChunkView;
+import org.terasology.world.propagation.PackedBatchPropagator;
 import org.terasology.world.propagation.PropagationRules;
 import org.terasology.world.propagation.PropagatorWorldView;
-import org.terasology.world.propagation.StandardBatchPropagator;
 import org.terasology.world.propagation.SunlightRegenBatchPropagator;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
@@ -37,13 +39,33 @@
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 
+/**
+ * Merges the light of chunks that became available with their neighbours, on background threads.
+ * <br><br>
+ * A merge reads and writes the 3x3x3 chunks around the merged chunk. Merges whose neighbourhoods do not overlap are
+ * independent, so they are collected into a batch that is processed in parallel and completed at once.
+ *
+ * @param <T> Data that is handed back when the merge of a chunk has completed
+ */
 public class LightMerger<T> {
     private static final int CENTER_INDEX = 13;
 
+    /**
+     * The distance in chunks along some axis from which on two chunks have no neighbours in common.
+     */
+    private static final int INDEPENDENT_DISTANCE = 3;
+
     private static final Logger logger = LoggerFactory.getLogger(LightMerger.class);
 
-    private ExecutorService executorService = Executors.newSingleThreadExecutor();
-    private Future<T> resultFuture;
+    private final int threads;
+    private ExecutorService executorService;
+    private final List<Vector3i> batchPositions = Lists.newArrayList();
+    private final List<Future<T>> batch = Lists.newArrayList();
+    private long batchStartTime;
+
+    private long mergedChunks;
+    private long completedBatches;
+    private long mergeTime;
 
     private GeneratingChunkProvider chunkProvider;
     private LightPropagationRules lightRules = new LightPropagationRules();
@@ -52,38 +74,118 @@
     private boolean running = true;
 
     public LightMerger(GeneratingChunkProvider chunkProvider) {
+        this(chunkProvider, Math.max(1, Runtime.getRuntime().availableProcessors() / 2));
+    }
+
+    /**
+     * @param threads The number of chunks that are merged in parallel at most
+     */
+    public LightMerger(GeneratingChunkProvider chunkProvider, int threads) {
         this.chunkProvider = chunkProvider;
+        this.threads = threads;
+        this.executorService = createExecutor();
     }
 
-    public void beginMerge(final Chunk chunk, final T data) {
-        resultFuture = executorService.submit(() -> {
+    private ExecutorService createExecutor() {
+        return Executors.newFixedThreadPool(threads, new ThreadFactoryBuilder().setNameFormat("Light-Merger-%d").setDaemon(true).build());
+    }
+
+    /**
+     * Starts merging the light of a chunk as part of the current batch, if it is independent of the batch's other merges.
+     *
+     * @param chunk The chunk whose neighbours are all available
+     * @param data  Data that is returned from {@link #completeMerges()} once the merge is done
+     * @return Whether the merge was started
+     */
+    public boolean beginMerge(final Chunk chunk, final T data) {
+        if (!canMerge(chunk.getPosition())) {
+            return false;
+        }
+        if (batch.isEmpty()) {
+            batchStartTime = System.nanoTime();
+        }
+        batchPositions.add(new Vector3i(chunk.getPosition()));
+        batch.add(executorService.submit(() -> {
             merge(chunk);
             return data;
-        });
+        }));
+        return true;
+    }
+
+    /**
+     * @return Whether the chunk at the given position could be added to the current batch
+     */
+    public boolean canMerge(Vector3i chunkPos) {
+        if (isBatchFull()) {
+            return false;
+        }
+        for (Vector3i pos : batchPositions) {
+            if (Math.abs(pos.x - chunkPos.x) < INDEPENDENT_DISTANCE
+                    && Math.abs(pos.y - chunkPos.y) < INDEPENDENT_DISTANCE
+                    && Math.abs(pos.z - chunkPos.z) < INDEPENDENT_DISTANCE) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public boolean isBatchFull() {
+        return batch.size() >= threads;
     }
 
-    public T completeMerge() {
-        if (resultFuture != null) {
-            try {
-                T result = resultFuture.get();
-                resultFuture = null;
-                return result;
-            } catch (InterruptedException | ExecutionException e) {
-                throw new RuntimeException("Error completing lighting merge", e);
+    /**
+     * Waits for all merges of the current batch to finish.
+     *
+     * @return The data of the merged chunks, in the order their merges were begun
+     */
+    public List<T> completeMerges() {
+        if (batch.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<T> results = Lists.newArrayListWithCapacity(batch.size());
+        try {
+            for (Future<T> merge : batch) {
+                results.add(merge.get());
             }
+        } catch (InterruptedException | ExecutionException e) {
+            throw new RuntimeException("Error completing lighting merge", e);
+        } finally {
+            batch.clear();
+            batchPositions.clear();
         }
-        return null;
+        mergeTime += System.nanoTime() - batchStartTime;
+        mergedChunks += results.size();
+        completedBatches++;
+        return results;
+    }
+
+    public long getMergedChunkCount() {
+        return mergedChunks;
+    }
+
+    /**
+     * @return The average number of chunks that were merged in parallel
+     */
+    public float getAverageBatchSize() {
+        return completedBatches == 0 ? 0 : (float) mergedChunks / completedBatches;
+    }
+
+    /**
+     * @return The number of chunks merged per second between beginning and completing the batches
+     */
+    public float getMergeThroughput() {
+        return mergeTime == 0 ? 0 : mergedChunks * (float) TimeUnit.SECONDS.toNanos(1) / mergeTime;
     }
 
     private void merge(Chunk chunk) {
         Chunk[] localChunks = assembleLocalChunks(chunk);
         localChunks[CENTER_INDEX] = chunk;
         List<BatchPropagator> propagators = Lists.newArrayList();
-        propagators.add(new StandardBatchPropagator(new LightPropagationRules(), new LocalChunkView(localChunks, lightRules)));
+        propagators.add(new PackedBatchPropagator(new LightPropagationRules(), new LocalChunkView(localChunks, lightRules)));
         PropagatorWorldView regenWorldView = new LocalChunkView(localChunks, sunlightRegenRules);
         PropagationRules sunlightRules = new SunlightPropagationRules(regenWorldView);
         PropagatorWorldView sunlightWorldView = new LocalChunkView(localChunks, sunlightRules);
-        BatchPropagator sunlightPropagator = new StandardBatchPropagator(sunlightRules, sunlightWorldView);
+        BatchPropagator sunlightPropagator = new PackedBatchPropagator(sunlightRules, sunlightWorldView);
         propagators.add(new SunlightRegenBatchPropagator(sunlightRegenRules, regenWorldView, sunlightPropagator, sunlightWorldView));
         propagators.add(sunlightPropagator);
 
@@ -131,6 +233,10 @@ private Chunk[] assembleLocalChunks(Chunk chunk) {
 
     public void shutdown() {
         running = false;
+        if (mergedChunks > 0) {
+            logger.info("Merged light of {} chunks, {} per batch on average, {} chunks/s", mergedChunks,
+                    String.format("%.1f", getAverageBatchSize()), String.format("%.1f", getMergeThroughput()));
+        }
         executorService.shutdown();
         try {
             executorService.awaitTermination(10, TimeUnit.SECONDS);
@@ -141,7 +247,7 @@ public void shutdown() {
 
     public void restart() {
         if (!running) {
-            executorService = Executors.newSingleThreadExecutor();
+            executorService = createExecutor();
             running = true;
         }
     }
@@ -69,6 +69,7 @@ varying vec3 normal;
 
 varying float blockHint;
 varying float isUpside;
+varying vec3 repeatedTile;
 
 uniform sampler2D textureAtlas;
 uniform sampler2D textureEffects;
@@ -76,6 +77,14 @@ uniform sampler2D textureLava;
 
 uniform float clip;
 
+#if defined (GL_ARB_shader_texture_lod)
+// Sampling with the gradients of the texture coordinates before wrapping them keeps the seams between repeated tiles
+// from selecting the smallest mipmap
+#define sampleAtlas(atlas, coord) texture2DGradARB(atlas, coord, texCoordDx, texCoordDy)
+#else
+#define sampleAtlas(atlas, coord) texture2D(atlas, coord)
+#endif
+
 void main() {
 
 // Only necessary for opaque objects
@@ -86,6 +95,19 @@ void main() {
 #endif
 
     vec2 texCoord = gl_TexCoord[0].xy;
+#if defined (GL_ARB_shader_texture_lod)
+    vec2 texCoordDx = dFdx(texCoord);
+    vec2 texCoordDy = dFdy(texCoord);
+#endif
+
+    // Quads merged by greedy meshing count their texture coordinates in tiles and repeat their tile
+    if (repeatedTile.z > 0.5) {
+        texCoord = repeatedTile.xy + (TILE_BORDER + fract(texCoord) * (1.0 - 2.0 * TILE_BORDER)) * TEXTURE_OFFSET;
+#if defined (GL_ARB_shader_texture_lod)
+        texCoordDx *= (1.0 - 2.0 * TILE_BORDER) * TEXTURE_OFFSET;
+        texCoordDy *= (1.0 - 2.0 * TILE_BORDER) * TEXTURE_OFFSET;
+#endif
+    }
 
     vec3 normalizedVPos = -normalize(vertexViewPos.xyz);
     vec2 projectedPos = projectVertexToTexCoord(vertexProjPos);
@@ -111,14 +133,14 @@ void main() {
 #if defined (PARALLAX_MAPPING)
     vec3 eyeTangentSpace = tbn * vertexViewPos.xyz;
 
-    float height =  parallaxScale * texture2D(textureAtlasHeight, texCoord).r - parallaxBias;
+    float height =  parallaxScale * sampleAtlas(textureAtlasHeight, texCoord).r - parallaxBias;
 	texCoord += height * normalize(eyeTangentSpace).xy * TEXTURE_OFFSET;
 #endif
 
-    normalOpaque = normalize(texture2D(textureAtlasNormal, texCoord).xyz * 2.0 - 1.0);
+    normalOpaque = normalize(sampleAtlas(textureAtlasNormal, texCoord).xyz * 2.0 - 1.0);
     normalOpaque = normalize(tbn * normalOpaque);
 
-    shininess = texture2D(textureAtlasNormal, texCoord).w;
+    shininess = sampleAtlas(textureAtlasNormal, texCoord).w;
 #endif
 
 #ifdef FEATURE_REFRACTIVE_PASS
@@ -166,7 +188,7 @@ void main() {
         color = texture2D(textureLava, texCoord.xy);
     /* APPLY DEFAULT TEXTURE FROM ATLAS */
     } else {
-        color = texture2D(textureAtlas, texCoord.xy);
+        color = sampleAtlas(textureAtlas, texCoord.xy);
 
 #if defined FEATURE_ALPHA_REJECT
         if (color.a < 0.1) {
@@ -106,11 +106,23 @@ varying vec3 sunVecView;
 
 varying float isUpside;
 varying float blockHint;
+varying vec3 repeatedTile;
 
 void main()
 {
 	gl_TexCoord[0] = gl_MultiTexCoord0;
-	blockHint = int(gl_TexCoord[0].z);
+
+    // Quads merged by greedy meshing encode the index of the tile they repeat above the block hint
+    float repeatedTileIndex = floor(gl_TexCoord[0].z / REPEATED_TILE_STRIDE) - 1.0;
+	blockHint = int(gl_TexCoord[0].z - (repeatedTileIndex + 1.0) * REPEATED_TILE_STRIDE);
+
+    if (repeatedTileIndex >= 0.0) {
+        float tilesPerRow = floor(1.0 / TEXTURE_OFFSET + 0.5);
+        float tileRow = floor((repeatedTileIndex + 0.5) / tilesPerRow);
+        repeatedTile = vec3(vec2(repeatedTileIndex - tileRow * tilesPerRow, tileRow) * TEXTURE_OFFSET, 1.0);
+    } else {
+        repeatedTile = vec3(0.0);
+    }
 
     gl_TexCoord[1] = gl_MultiTexCoord1;
 